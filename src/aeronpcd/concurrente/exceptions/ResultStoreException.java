@@ -0,0 +1,23 @@
+package aeronpcd.concurrente.exceptions;
+
+/**
+ * Excepción lanzada cuando no se puede guardar o leer el almacén de resultados.
+ */
+public class ResultStoreException extends Exception {
+
+    private final String directory;
+
+    public ResultStoreException(String directory, String message) {
+        super("Error en el almacén de resultados " + directory + ": " + message);
+        this.directory = directory;
+    }
+
+    public ResultStoreException(String directory, Throwable cause) {
+        super("Error en el almacén de resultados " + directory + ": " + cause.getMessage(), cause);
+        this.directory = directory;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+}
@@ -0,0 +1,11 @@
+package aeronpcd.concurrente.model;
+
+/**
+ * Clase de aeronave, que determina qué pistas y puertas puede utilizar.
+ */
+public enum AircraftClass {
+    /** Fuselaje estrecho (A320, B737): cualquier pista salvo las exclusivas de pesados. */
+    NARROW_BODY,
+    /** Fuselaje ancho (A350, B777): necesita pista larga y puerta ancha. */
+    WIDE_BODY
+}
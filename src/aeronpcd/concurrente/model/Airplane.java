@@ -8,23 +8,48 @@ import aeronpcd.concurrente.util.Logger;
  */
 public class Airplane extends Thread { // Cambio a Thread para concurrencia
 
+    /** Número de peticiones que componen el ciclo completo de un avión. */
+    public static final int TOTAL_REQUESTS = 5;
+
+    /** Duración por defecto de las maniobras (ms). */
+    public static final long LANDING_MS = 100;
+    public static final long BOARDING_MS = 100;
+    public static final long DEPARTING_MS = 100;
+
     private String id;
-    private AirplaneState state;
+    private volatile AirplaneState state;
     private ControlTower tower;
 
+    // Atributos que restringen las pistas y puertas compatibles
+    private AircraftClass aircraftClass = AircraftClass.NARROW_BODY;
+    private int terminal = 0; // Terminal requerida (0 = cualquiera)
+
+    // Duración de las maniobras de este avión (ms). La torre las usa para predecir
+    // cuándo se liberan los recursos. Las réplicas con semilla les aplican variabilidad.
+    private long landingMs = LANDING_MS;
+    private long boardingMs = BOARDING_MS;
+    private long departingMs = DEPARTING_MS;
+    private long arrivalDelayMs = 0; // Espera antes de pedir aterrizaje (llegadas escalonadas)
+
     // Recursos asignados por la torre
     private Runway assignedRunway;
     private Gate assignedGate;
 
     // Métricas de tiempo
-    private long startTime;
-    private long endTime;
+    private volatile long startTime;
+    private volatile long endTime;
     private long duracionEnMs;
 
     // Objeto de bloqueo para esperar a la torre
     private final Object confirmationLock = new Object();
     private boolean processedByOperator = false;
 
+    // Progreso del ciclo, leído sin cerrojos por las instantáneas de la torre
+    private volatile Request pendingRequest;   // Petición en espera de confirmación
+    private volatile int grantedRequests = 0;  // Peticiones concedidas por la torre
+    private int resumeStep = 0;                // Peticiones ya completadas al reanudar
+    private long elapsedBeforeResume = 0;      // Tiempo acumulado antes de la reanudación
+
     /**
      * Constructor del avión.
      * @param id Identificador único del avión (ej. "IBE-001").
@@ -41,38 +66,54 @@ public class Airplane extends Thread { // Cambio a Thread para concurrencia
      */
     @Override
     public void run() {
-        this.startTime = System.currentTimeMillis();
+        try {
+            // Llegada escalonada: el tiempo de ciclo empieza al llegar al aeropuerto
+            if (arrivalDelayMs > 0 && resumeStep <= 0) Thread.sleep(arrivalDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        this.startTime = System.currentTimeMillis() - elapsedBeforeResume;
 
         try {
+            // Al reanudar desde una instantánea se saltan las peticiones ya completadas
+            // (resumeStep). Las maniobras interrumpidas se repiten desde su inicio.
+
             // 1. SOLICITAR ATERRIZAJE (Pide Pista + Puerta)
-            requestAndWait(AirplaneState.LANDING_REQUESTED);
+            if (resumeStep <= 0) requestAndWait(AirplaneState.LANDING_REQUESTED);
 
-            // 2. ATERRIZAR (100 ms obligatorios)
-            setState(AirplaneState.LANDING);
-            Thread.sleep(100);
+            if (resumeStep <= 1) {
+                // 2. ATERRIZAR (100 ms obligatorios por defecto)
+                setState(AirplaneState.LANDING);
+                Thread.sleep(landingMs);
 
-            // 3. NOTIFICAR ATERRIZAJE (Libera Pista)
-            setState(AirplaneState.LANDED);  // El avión cambia su estado
-            requestAndWait(AirplaneState.LANDED);  // Luego notifica a la torre
+                // 3. NOTIFICAR ATERRIZAJE (Libera Pista)
+                setState(AirplaneState.LANDED);  // El avión cambia su estado
+                requestAndWait(AirplaneState.LANDED);  // Luego notifica a la torre
+            }
 
-            // 4. SUBEN PASAJEROS
-            setState(AirplaneState.BOARDING);
-            Thread.sleep(100);
+            if (resumeStep <= 2) {
+                // 4. SUBEN PASAJEROS
+                setState(AirplaneState.BOARDING);
+                Thread.sleep(boardingMs);
 
-            // 5. LIBERAR PUERTA (Termina embarque)
-            setState(AirplaneState.BOARDED);  // El avión cambia su estado
-            requestAndWait(AirplaneState.BOARDED);  // Luego notifica a la torre
+                // 5. LIBERAR PUERTA (Termina embarque)
+                setState(AirplaneState.BOARDED);  // El avión cambia su estado
+                requestAndWait(AirplaneState.BOARDED);  // Luego notifica a la torre
+            }
 
             // 6. SOLICITAR DESPEGUE (Pide nueva Pista)
-            requestAndWait(AirplaneState.TAKEOFF_REQUESTED);
+            if (resumeStep <= 3) requestAndWait(AirplaneState.TAKEOFF_REQUESTED);
 
-            // 7. DESPEGAR (100 ms obligatorios)
-            setState(AirplaneState.DEPARTING);
-            Thread.sleep(100);
+            if (resumeStep <= 4) {
+                // 7. DESPEGAR (100 ms obligatorios por defecto)
+                setState(AirplaneState.DEPARTING);
+                Thread.sleep(departingMs);
 
-            // 8. FINALIZAR (Libera Pista y queda en el aire)
-            setState(AirplaneState.DEPARTED);  // El avión cambia su estado PRIMERO
-            requestAndWait(AirplaneState.DEPARTED);  // Luego notifica a la torre para liberar pista
+                // 8. FINALIZAR (Libera Pista y queda en el aire)
+                setState(AirplaneState.DEPARTED);  // El avión cambia su estado PRIMERO
+                requestAndWait(AirplaneState.DEPARTED);  // Luego notifica a la torre para liberar pista
+            }
 
             // Ciclo completado
             this.endTime = System.currentTimeMillis();
@@ -95,11 +136,14 @@ public class Airplane extends Thread { // Cambio a Thread para concurrencia
     private void requestAndWait(AirplaneState requestType) throws InterruptedException {
         synchronized (confirmationLock) {
             processedByOperator = false;
-            tower.addRequest(new Request(this, requestType)); // Envía a la cola
+            Request req = new Request(this, requestType);
+            pendingRequest = req;
+            tower.addRequest(req); // Envía a la cola
 
             while (!processedByOperator) {
                 confirmationLock.wait(); // Bloqueo pasivo hasta notify del operario
             }
+            pendingRequest = null;
         }
     }
 
@@ -114,15 +158,90 @@ public class Airplane extends Thread { // Cambio a Thread para concurrencia
         }
     }
 
+    // --- Reanudación desde instantánea ---
+
+    /**
+     * Prepara el avión para reanudar su ciclo tras una caída.
+     * Debe llamarse antes de start().
+     * @param completedRequests Peticiones del ciclo ya concedidas (0..TOTAL_REQUESTS).
+     * @param elapsedMs Tiempo de ciclo acumulado antes de la caída.
+     */
+    public void resumeFrom(int completedRequests, long elapsedMs) {
+        this.resumeStep = completedRequests;
+        this.grantedRequests = completedRequests;
+        this.elapsedBeforeResume = elapsedMs;
+        // Último estado confirmado por la torre (la maniobra en curso se repetirá)
+        switch (completedRequests) {
+            case 0:  this.state = AirplaneState.IN_FLIGHT; break;
+            case 1:  this.state = AirplaneState.LANDING_REQUESTED; break;
+            case 2:  this.state = AirplaneState.LANDED; break;
+            case 3:  this.state = AirplaneState.BOARDED; break;
+            case 4:  this.state = AirplaneState.TAKEOFF_REQUESTED; break;
+            default:
+                // Ciclo ya terminado antes de la caída: se conserva la duración registrada
+                this.state = AirplaneState.DEPARTED;
+                this.duracionEnMs = elapsedMs;
+        }
+    }
+
+    /**
+     * Indica si el avión ya había completado su ciclo antes de reanudar.
+     * @return true si no queda ninguna petición por enviar.
+     */
+    public boolean isCycleCompleted() {
+        return resumeStep >= TOTAL_REQUESTS;
+    }
+
+    /**
+     * Indica si el avión ha dejado de atender sus peticiones sin completar el ciclo
+     * (su hilo terminó, por ejemplo interrumpido al agotar el tiempo máximo).
+     * Sus peticiones pendientes se pueden descartar.
+     * @return true si nadie espera ya la respuesta de la torre.
+     */
+    public boolean isAbandoned() {
+        return !isAlive();
+    }
+
+    /**
+     * Llamado por la Torre de Control (dentro de su monitor) al conceder una petición.
+     */
+    public void onRequestGranted() {
+        grantedRequests++;
+    }
+
+    /**
+     * Obtiene el número de peticiones del ciclo concedidas hasta ahora.
+     * @return Peticiones concedidas.
+     */
+    public int getGrantedRequests() { return grantedRequests; }
+
+    /**
+     * Obtiene la petición que el avión está esperando que se confirme.
+     * @return La petición pendiente, o null si no espera ninguna.
+     */
+    public Request getPendingRequest() { return pendingRequest; }
+
+    /**
+     * Obtiene el tiempo de ciclo transcurrido hasta ahora.
+     * @return Milisegundos desde el inicio del ciclo (o la duración total si ha terminado).
+     */
+    public long getElapsedMs() {
+        if (endTime != 0) return endTime - startTime;
+        if (startTime == 0) return elapsedBeforeResume;
+        return System.currentTimeMillis() - startTime;
+    }
+
     // --- Getters y Setters ---
 
     /**
-     * Cambia el estado del avión y registra el cambio en el log.
+     * Cambia el estado del avión, registra el cambio en el log y lo publica en el
+     * panel de vuelos de la ventana.
      * @param state Nuevo estado del avión.
      */
     public void setState(AirplaneState state) {
         this.state = state;
-        Logger.logAirplane(this.id, state.toString(), "Cambio de estado");
+        Logger.logAirplane(this.id, state, "Cambio de estado");
+        if (tower != null) tower.onAirplaneStateChanged(this);
     }
 
     /**
@@ -137,6 +256,66 @@ public class Airplane extends Thread { // Cambio a Thread para concurrencia
      */
     public String getAirplaneId() { return id; }
 
+    /**
+     * Obtiene la clase de aeronave.
+     * @return Clase del avión.
+     */
+    public AircraftClass getAircraftClass() { return aircraftClass; }
+
+    /**
+     * Establece la clase de aeronave. Debe llamarse antes de start().
+     * @param aircraftClass Clase del avión.
+     */
+    public void setAircraftClass(AircraftClass aircraftClass) { this.aircraftClass = aircraftClass; }
+
+    /**
+     * Obtiene la terminal en la que debe estacionar el avión.
+     * @return Número de terminal, o 0 si le sirve cualquiera.
+     */
+    public int getTerminal() { return terminal; }
+
+    /**
+     * Establece la terminal en la que debe estacionar el avión. Debe llamarse antes de start().
+     * @param terminal Número de terminal, o 0 para cualquiera.
+     */
+    public void setTerminal(int terminal) { this.terminal = terminal; }
+
+    /**
+     * Establece la duración de las maniobras del avión. Debe llamarse antes de start().
+     * @param landingMs Duración del aterrizaje (ms).
+     * @param boardingMs Duración del embarque (ms).
+     * @param departingMs Duración del despegue (ms).
+     */
+    public void setTimings(long landingMs, long boardingMs, long departingMs) {
+        this.landingMs = landingMs;
+        this.boardingMs = boardingMs;
+        this.departingMs = departingMs;
+    }
+
+    /**
+     * Obtiene la duración del aterrizaje del avión.
+     * @return Milisegundos.
+     */
+    public long getLandingMs() { return landingMs; }
+
+    /**
+     * Obtiene la duración del embarque del avión.
+     * @return Milisegundos.
+     */
+    public long getBoardingMs() { return boardingMs; }
+
+    /**
+     * Obtiene la duración del despegue del avión.
+     * @return Milisegundos.
+     */
+    public long getDepartingMs() { return departingMs; }
+
+    /**
+     * Establece la espera del avión antes de pedir aterrizaje. Debe llamarse antes de start().
+     * @param arrivalDelayMs Milisegundos desde el arranque hasta su llegada (0 = inmediata).
+     */
+    public void setArrivalDelayMs(long arrivalDelayMs) { this.arrivalDelayMs = Math.max(0, arrivalDelayMs); }
+
     /**
      * Asigna una pista al avión.
      * @param r La pista asignada.
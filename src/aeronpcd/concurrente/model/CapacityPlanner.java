@@ -0,0 +1,336 @@
+package aeronpcd.concurrente.model;
+
+import aeronpcd.concurrente.util.SampleStatistics;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Planificador de capacidad: busca el aeropuerto más barato (pistas × puertas ×
+ * operarios) que cumple un objetivo de servicio sobre el turnaround p95.
+ *
+ * FUNCIONAMIENTO:
+ * 1. Cada configuración candidata se evalúa con un análisis Monte Carlo corto
+ *    (réplicas en paralelo, sin ventana). Todas las candidatas usan las mismas
+ *    semillas (números aleatorios comunes), así que las diferencias entre ellas se
+ *    deben a los recursos y no al ruido. Cumple el objetivo si el extremo superior
+ *    del intervalo de confianza del 95% del p95 medio no supera el objetivo.
+ * 2. Se supone monotonía: añadir recursos nunca empeora el turnaround. Con ello:
+ *    - Para cada par (pistas, puertas) se busca por bisección el mínimo de operarios.
+ *    - Si un par no cumple ni con el máximo de operarios, tampoco cumple ningún par
+ *      con menos pistas y puertas: se descartan sin simular.
+ *    - El mínimo de operarios de un par es cota inferior para los pares con menos
+ *      pistas y puertas, lo que acorta su bisección.
+ * 3. Entre todas las configuraciones simuladas que cumplen se eliminan las
+ *    dominadas (igual de caras o más y sin menor latencia) y queda la frontera de
+ *    Pareto coste/latencia; su primer punto es el aeropuerto más barato.
+ */
+public class CapacityPlanner {
+
+    private final SimulationConfig profile;
+    private final long targetP95Ms;
+    private final int maxPistas;
+    private final int maxPuertas;
+    private final int maxOperarios;
+
+    private int replications = 5;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private long baseSeed = 42;
+    private double runwayCost = 10;
+    private double gateCost = 3;
+    private double operatorCost = 1;
+
+    private final Map<String, Candidate> evaluated = new LinkedHashMap<>();
+    private int pruned = 0;
+    private long elapsedMs;
+
+    /**
+     * Configuración evaluada: recursos, coste y turnaround p95 de sus réplicas.
+     */
+    public static class Candidate {
+        private final int pistas;
+        private final int puertas;
+        private final int operarios;
+        private final double cost;
+        private final SampleStatistics p95;
+        private final int validReplications;
+        private final boolean feasible;
+
+        Candidate(int pistas, int puertas, int operarios, double cost, SampleStatistics p95,
+                  int validReplications, boolean feasible) {
+            this.pistas = pistas;
+            this.puertas = puertas;
+            this.operarios = operarios;
+            this.cost = cost;
+            this.p95 = p95;
+            this.validReplications = validReplications;
+            this.feasible = feasible;
+        }
+
+        public int getPistas() { return pistas; }
+
+        public int getPuertas() { return puertas; }
+
+        public int getOperarios() { return operarios; }
+
+        public double getCost() { return cost; }
+
+        public SampleStatistics getP95() { return p95; }
+
+        public int getValidReplications() { return validReplications; }
+
+        public boolean isFeasible() { return feasible; }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d pistas, %d puertas, %d operarios | coste %.1f | p95 %.0f ± %.0f ms%s",
+                    pistas, puertas, operarios, cost, p95.getMean(), p95.getHalfWidth95(), feasible ? "" : " | NO CUMPLE");
+        }
+    }
+
+    /**
+     * Constructor del planificador.
+     * @param profile Perfil de tráfico: aviones, variabilidad, política y restricciones
+     *                (sus pistas, puertas y operarios se ignoran).
+     * @param targetP95Ms Objetivo: turnaround p95 máximo en ms.
+     * @param maxPistas Máximo de pistas a considerar.
+     * @param maxPuertas Máximo de puertas a considerar.
+     * @param maxOperarios Máximo de operarios a considerar.
+     */
+    public CapacityPlanner(SimulationConfig profile, long targetP95Ms, int maxPistas, int maxPuertas, int maxOperarios) {
+        this.profile = profile;
+        this.targetP95Ms = targetP95Ms;
+        this.maxPistas = Math.max(1, maxPistas);
+        this.maxPuertas = Math.max(1, maxPuertas);
+        this.maxOperarios = Math.max(1, maxOperarios);
+    }
+
+    /**
+     * Establece el número de réplicas por candidata y cuántas se ejecutan a la vez.
+     * @param replications Réplicas por configuración.
+     * @param parallelism Réplicas simultáneas.
+     */
+    public void setReplications(int replications, int parallelism) {
+        this.replications = Math.max(2, replications);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Establece la semilla base de las réplicas (común a todas las candidatas).
+     * @param baseSeed Semilla base.
+     */
+    public void setBaseSeed(long baseSeed) {
+        this.baseSeed = baseSeed;
+    }
+
+    /**
+     * Establece el coste unitario de cada recurso.
+     * @param runwayCost Coste de una pista.
+     * @param gateCost Coste de una puerta.
+     * @param operatorCost Coste de un operario.
+     */
+    public void setCosts(double runwayCost, double gateCost, double operatorCost) {
+        this.runwayCost = runwayCost;
+        this.gateCost = gateCost;
+        this.operatorCost = operatorCost;
+    }
+
+    // =========================================================================
+    // BÚSQUEDA
+    // =========================================================================
+
+    /**
+     * Ejecuta la búsqueda completa.
+     * @return Frontera de Pareto coste/latencia (de menor a mayor coste).
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera a las réplicas.
+     */
+    public List<Candidate> run() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        evaluated.clear();
+        pruned = 0;
+
+        // Mínimo de operarios que cumple por par (0 = no cumple, -1 = sin evaluar)
+        int[][] minOps = new int[maxPistas + 1][maxPuertas + 1];
+        for (int[] row : minOps) Arrays.fill(row, -1);
+
+        // De más recursos a menos: un par que no cumple descarta a todos los menores
+        for (int r = maxPistas; r >= 1; r--) {
+            for (int g = maxPuertas; g >= 1; g--) {
+                if (dominatedByInfeasible(minOps, r, g)) {
+                    minOps[r][g] = 0;
+                    pruned++;
+                    continue;
+                }
+                Candidate top = evaluate(r, g, maxOperarios);
+                if (!top.isFeasible()) {
+                    minOps[r][g] = 0;
+                    continue;
+                }
+                minOps[r][g] = minimumOperators(r, g, lowerBound(minOps, r, g), top);
+            }
+        }
+        elapsedMs = System.currentTimeMillis() - start;
+        return getFrontier();
+    }
+
+    /**
+     * Indica si un par queda descartado por un par mayor o igual que no cumple
+     * ni con el máximo de operarios.
+     */
+    private boolean dominatedByInfeasible(int[][] minOps, int r, int g) {
+        for (int r2 = r; r2 <= maxPistas; r2++) {
+            for (int g2 = g; g2 <= maxPuertas; g2++) {
+                if ((r2 != r || g2 != g) && minOps[r2][g2] == 0) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cota inferior de operarios de un par: el mayor mínimo de los pares con más
+     * (o igual) pistas y puertas ya resueltos.
+     */
+    private int lowerBound(int[][] minOps, int r, int g) {
+        int lo = 1;
+        for (int r2 = r; r2 <= maxPistas; r2++) {
+            for (int g2 = g; g2 <= maxPuertas; g2++) lo = Math.max(lo, minOps[r2][g2]);
+        }
+        return lo;
+    }
+
+    /**
+     * Bisección del mínimo de operarios de un par que cumple con el máximo.
+     * Todos los puntos que se simulan quedan registrados como candidatas.
+     * @param r Pistas.
+     * @param g Puertas.
+     * @param lo Cota inferior de operarios.
+     * @param top Evaluación del par con el máximo de operarios (cumple).
+     * @return Mínimo de operarios que cumple el objetivo.
+     */
+    private int minimumOperators(int r, int g, int lo, Candidate top) throws InterruptedException {
+        int hi = top.getOperarios(); // hi cumple
+        while (lo < hi) {
+            int mid = (lo + hi) / 2;
+            if (evaluate(r, g, mid).isFeasible()) hi = mid;
+            else lo = mid + 1;
+        }
+        return hi;
+    }
+
+    /**
+     * Evalúa una configuración (o devuelve la evaluación ya hecha).
+     * @param r Pistas.
+     * @param g Puertas.
+     * @param o Operarios.
+     * @return Candidata evaluada.
+     */
+    private Candidate evaluate(int r, int g, int o) throws InterruptedException {
+        String key = r + "/" + g + "/" + o;
+        Candidate cached = evaluated.get(key);
+        if (cached != null) return cached;
+
+        SimulationConfig config = profile.copyWith(profile.getNumAviones(), r, g, o);
+        // El perfil indica "puertas anchas" en absoluto; no puede superar las puertas del par
+        if (config.getWideGates() > g) config.setWideGates(g);
+        MonteCarloRunner runner = new MonteCarloRunner(config, replications, parallelism, baseSeed);
+        runner.setProgressEnabled(false);
+        runner.run();
+        SampleStatistics p95 = runner.aggregate(res -> res.getTurnaroundPercentile(95));
+        int valid = runner.getValidResults().size();
+        boolean feasible = valid == replications && p95.getMean() + p95.getHalfWidth95() <= targetP95Ms;
+
+        Candidate c = new Candidate(r, g, o, r * runwayCost + g * gateCost + o * operatorCost, p95, valid, feasible);
+        evaluated.put(key, c);
+        System.out.println("[PLANIFICADOR] " + c);
+        return c;
+    }
+
+    // =========================================================================
+    // RESULTADOS
+    // =========================================================================
+
+    /**
+     * Obtiene la frontera de Pareto: configuraciones simuladas que cumplen y que no
+     * están dominadas (ninguna otra es igual de barata o más y tiene menor latencia).
+     * @return Candidatas de menor a mayor coste, con latencia estrictamente decreciente.
+     */
+    public List<Candidate> getFrontier() {
+        List<Candidate> sorted = new ArrayList<>();
+        for (Candidate c : evaluated.values()) if (c.isFeasible()) sorted.add(c);
+        sorted.sort(Comparator.comparingDouble(Candidate::getCost)
+                .thenComparingDouble(c -> c.getP95().getMean()));
+        List<Candidate> frontier = new ArrayList<>();
+        double bestLatency = Double.POSITIVE_INFINITY;
+        for (Candidate c : sorted) {
+            if (c.getP95().getMean() < bestLatency) {
+                frontier.add(c);
+                bestLatency = c.getP95().getMean();
+            }
+        }
+        return frontier;
+    }
+
+    /**
+     * Genera el informe de la búsqueda: objetivo, coste de la búsqueda, frontera y
+     * todas las configuraciones simuladas.
+     * @return Texto del informe.
+     */
+    public String getReport() {
+        List<Candidate> frontier = getFrontier();
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== PLANIFICACIÓN DE CAPACIDAD ===\n");
+        sb.append(String.format(Locale.ROOT, "Tráfico: %d aviones | Maniobras ±%d%% | Llegadas en %d ms | Escala del reloj %.2f%n",
+                profile.getNumAviones(), profile.getTimingJitterPercent(), profile.getArrivalSpreadMs(), profile.getTimeScale()));
+        sb.append(String.format(Locale.ROOT, "Objetivo: turnaround p95 <= %d ms (IC 95%%, %d réplicas) | Costes: pista %.1f, puerta %.1f, operario %.1f%n",
+                targetP95Ms, replications, runwayCost, gateCost, operatorCost));
+        int space = maxPistas * maxPuertas * maxOperarios;
+        sb.append(String.format(Locale.ROOT, "Espacio: %d configuraciones | Simuladas: %d | Pares descartados sin simular: %d | Tiempo: %d ms%n%n",
+                space, evaluated.size(), pruned, elapsedMs));
+
+        if (frontier.isEmpty()) {
+            sb.append("Ninguna configuración cumple el objetivo dentro de los límites.\n");
+        } else {
+            sb.append("FRONTERA DE PARETO (coste / latencia)\n");
+            sb.append(String.format("%-8s %-8s %-10s %10s %12s %10s%n", "PISTAS", "PUERTAS", "OPERARIOS", "COSTE", "P95(ms)", "± IC 95%"));
+            for (Candidate c : frontier) {
+                sb.append(String.format(Locale.ROOT, "%-8d %-8d %-10d %10.1f %12.0f %10.0f%n",
+                        c.getPistas(), c.getPuertas(), c.getOperarios(), c.getCost(),
+                        c.getP95().getMean(), c.getP95().getHalfWidth95()));
+            }
+            sb.append("\nMás barata que cumple: ").append(frontier.get(0)).append('\n');
+        }
+
+        sb.append("\nCONFIGURACIONES SIMULADAS\n");
+        for (Candidate c : evaluated.values()) sb.append("  ").append(c).append('\n');
+        return sb.toString();
+    }
+
+    /**
+     * Escribe el informe con la misma nomenclatura y carpeta que los logs.
+     * @return Ruta del archivo escrito.
+     * @throws FileNotFoundException Si no se puede crear el archivo.
+     */
+    public String writeReport() throws FileNotFoundException {
+        String folderPath = "logs/concurrent/";
+        File folder = new File(folderPath);
+        if (!folder.exists()) {
+            folder.mkdirs();
+        }
+        String timeStamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String path = folderPath + String.format("aeron-PLANNER-%dAV-%dPIS-%dPUE-%dOPE-%s.plan",
+                profile.getNumAviones(), maxPistas, maxPuertas, maxOperarios, timeStamp);
+        try (PrintWriter writer = new PrintWriter(new File(path))) {
+            writer.print(getReport());
+        }
+        return path;
+    }
+}
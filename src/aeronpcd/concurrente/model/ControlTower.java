@@ -2,14 +2,28 @@ package aeronpcd.concurrente.model;
 
 import aeronpcd.concurrente.exceptions.FlightPanelException;
 import aeronpcd.concurrente.util.AirportState;
+import aeronpcd.concurrente.util.FlightBoardMmap;
 import aeronpcd.concurrente.util.FlightPanelJSON;
+import aeronpcd.concurrente.util.FlightTableModel;
 import aeronpcd.concurrente.util.Logger;
+import aeronpcd.concurrente.util.OccupancyTimeline;
+import aeronpcd.concurrente.util.QueueMonitor;
+import aeronpcd.concurrente.util.TowerJournal;
+import aeronpcd.concurrente.util.TowerMetrics;
+import aeronpcd.concurrente.util.TowerSnapshot;
 import aeronpcd.concurrente.util.Window;
+import java.lang.invoke.VarHandle;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * La Torre de Control gestiona la sincronización del aeropuerto.
@@ -24,9 +38,19 @@ public class ControlTower {
     private final List<Gate> gates;
     private final Window window;
     private List<Airplane> registeredAirplanes;
+
+    // Mapa de recursos para la GUI: se parchea al ocupar/liberar y solo se
+    // regenera cuando algo cambió (null sin ventana: no se pinta nada)
+    private final AirportState resourcesView;
+
+    // Historial de ocupación para la vista de Gantt (solo con ventana)
+    private final OccupancyTimeline occupancyTimeline;
+
+    // Tabla del panel de vuelos de la ventana: recibe un cambio por vuelo (solo con ventana)
+    private final FlightTableModel flightTable;
     
     // Panel de vuelos JSON para actualización instantánea
-    private final FlightPanelJSON flightPanel;
+    private FlightPanelJSON flightPanel;
 
     // --- ESTRUCTURAS DE SINCRONIZACIÓN ---
     // 1. LA COLA COMPARTIDA (Recurso crítico para Productor-Consumidor)
@@ -37,6 +61,54 @@ public class ControlTower {
     private final Semaphore queueMutex; 
     // Items: Cuenta elementos disponibles y bloquea consumidores si está vacía
     private final Semaphore requestsAvailable;
+    // Vista de monitorización: profundidad por tipo y cabeza publicada, legibles
+    // sin el mutex (GUI, pool elástico, verificación final)
+    private final QueueMonitor queueMonitor = new QueueMonitor(AirportState.MAX_QUEUE_LINES);
+
+    // 3. RUNTIME WORK-STEALING (opcional): si está activo, las peticiones van
+    // a las deques locales de los operarios en lugar de a la cola compartida
+    private WorkStealingOperatorPool workStealingPool;
+
+    // 4. DIARIO DE DECISIONES (opcional): registra cada decisión para reproducirla
+    private TowerJournal journal;
+
+    // 5. MÉTRICAS EN VIVO (opcional): contadores sin cerrojos para el endpoint HTTP
+    private TowerMetrics metrics;
+
+    // 6. PANEL BINARIO MAPEADO (opcional): filas con seqlock para lectores externos
+    private FlightBoardMmap flightBoard;
+
+    // 7. POLÍTICA DE CONCESIÓN (opcional): null = greedy (el primero con recursos libres).
+    // Las peticiones de asignación en espera solo se tocan dentro del monitor. Se
+    // indexan por vuelo y tipo, no por identidad: la red recrea la petición en cada
+    // reencolado y un mismo avión solo tiene una petición de cada tipo pendiente.
+    private volatile GrantPolicy grantPolicy;
+    private final Map<String, Request> contenders = new HashMap<>();
+
+    // 8. PLANIFICACIÓN DE ATERRIZAJES: GREEDY (pista y puerta libres a la vez) o
+    // LOOKAHEAD (pista ahora y puerta reservada que quedará libre antes de la toma)
+    private volatile LandingScheduler landingScheduler = LandingScheduler.GREEDY;
+    private long createdAt = System.currentTimeMillis();
+
+    // 9. COMPATIBILIDAD DE RECURSOS: índice de bits de pistas/puertas libres por
+    // atributo. Solo se consulta y actualiza dentro del monitor.
+    private ResourceMatcher matcher;
+    private long constraintWaits = 0; // Denegaciones con recursos libres pero incompatibles
+
+    // 10. CICLO DE VIDA: peticiones en manos de un operario y cierre de la cola
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean queueClosed = false;
+
+    // 11. ÉPOCA DEL MONITOR (seqlock): impar mientras processRequest modifica recursos.
+    // Permite capturar instantáneas consistentes sin bloquear a los operarios.
+    private volatile long epoch = 0;
+
+    // Pausa de los operarios tras reencolar una petición denegada (ms); se escala
+    // con el reloj de la simulación para que las ejecuciones aceleradas no la arrastren
+    private volatile long requeueBackoffMs = 50;
+
+    // Margen tras la toma de tierra durante el que se mantiene una reserva de puerta
+    private static final long RESERVATION_GRACE_MS = 2 * Airplane.BOARDING_MS;
 
     /**
      * Constructor de la Torre de Control.
@@ -52,8 +124,20 @@ public class ControlTower {
         // Inicialización de recursos
         this.runways = new ArrayList<>();
         this.gates = new ArrayList<>();
-        for (int i = 1; i <= NumRunways; i++) runways.add(new Runway("P" + i));
-        for (int i = 1; i <= numGates; i++) gates.add(new Gate("G" + i));
+        for (int i = 1; i <= NumRunways; i++) runways.add(new Runway("P" + i, i - 1));
+        for (int i = 1; i <= numGates; i++) gates.add(new Gate("G" + i, i - 1));
+        this.matcher = new ResourceMatcher(runways, gates);
+        this.resourcesView = window != null ? new AirportState(runways, gates) : null;
+        this.flightTable = window != null ? window.getFlightTableModel() : null;
+        if (window != null) {
+            List<String> lanes = new ArrayList<>();
+            for (Runway r : runways) lanes.add("Pista " + r.getId());
+            for (Gate g : gates) lanes.add("Puerta " + g.getId());
+            this.occupancyTimeline = new OccupancyTimeline(lanes);
+            window.showOccupancyTimeline(occupancyTimeline);
+        } else {
+            this.occupancyTimeline = null;
+        }
 
         // Inicialización de la lógica de Productor-Consumidor
         this.requestQueue = new LinkedList<>();
@@ -64,6 +148,82 @@ public class ControlTower {
         this.flightPanel = FlightPanelJSON.getInstance();
     }
 
+    /**
+     * Devuelve la torre a su estado inicial para reutilizarla en otra simulación
+     * (barridos de parámetros en la misma JVM) sin reconstruir pistas, puertas ni
+     * estructuras de sincronización:
+     * - Pistas y puertas libres, sin reservas ni ocupación acumulada.
+     * - Cola vacía y abierta, contadores a cero, sin aviones registrados.
+     * - Se desconectan los componentes opcionales (diario, métricas, panel binario,
+     *   work-stealing) y se toma el panel de vuelos de la simulación en curso.
+     * Se conservan la política, la planificación y los atributos de los recursos.
+     * Solo es válido con los operarios de la simulación anterior ya parados.
+     * @throws IllegalStateException Si aún hay peticiones en manos de un operario.
+     */
+    public synchronized void reset() {
+        if (inFlight.get() > 0) {
+            throw new IllegalStateException("No se puede reiniciar la torre con " + inFlight.get() + " peticiones en curso");
+        }
+        for (Runway r : runways) r.reset();
+        for (Gate g : gates) g.reset();
+        this.matcher = new ResourceMatcher(runways, gates);
+        if (resourcesView != null) resourcesView.reset();
+        if (occupancyTimeline != null) occupancyTimeline.clear();
+        if (flightTable != null) flightTable.clear();
+
+        queueMutex.acquireUninterruptibly();
+        try {
+            requestQueue.clear();
+            requestsAvailable.drainPermits();
+            queueMonitor.reset();
+        } finally {
+            queueMutex.release();
+        }
+        contenders.clear();
+        constraintWaits = 0;
+        queueClosed = false;
+        registeredAirplanes = null;
+        createdAt = System.currentTimeMillis();
+
+        workStealingPool = null;
+        journal = null;
+        metrics = null;
+        flightBoard = null;
+        flightPanel = FlightPanelJSON.getInstance();
+    }
+
+    /**
+     * Establece la pausa de los operarios tras reencolar una petición denegada.
+     * @param requeueBackoffMs Milisegundos (al menos 1).
+     */
+    public void setRequeueBackoffMs(long requeueBackoffMs) {
+        this.requeueBackoffMs = Math.max(1, requeueBackoffMs);
+    }
+
+    /**
+     * Obtiene la pausa de los operarios tras reencolar una petición denegada.
+     * @return Milisegundos.
+     */
+    public long getRequeueBackoffMs() {
+        return requeueBackoffMs;
+    }
+
+    /**
+     * Obtiene el número de pistas del aeropuerto.
+     * @return Número de pistas.
+     */
+    public int getNumRunways() {
+        return runways.size();
+    }
+
+    /**
+     * Obtiene el número de puertas de embarque del aeropuerto.
+     * @return Número de puertas.
+     */
+    public int getNumGates() {
+        return gates.size();
+    }
+
     /**
      * Registra los aviones en la torre de control y el panel de vuelos.
      * @throws FlightPanelException si no se puede actualizar el panel de vuelos JSON
@@ -72,6 +232,165 @@ public class ControlTower {
         this.registeredAirplanes = airplanes;
         // Registrar aviones en el panel JSON para actualización instantánea
         flightPanel.registerAirplanes(airplanes);
+        if (flightBoard != null) flightBoard.registerAirplanes(airplanes);
+        if (flightTable != null) flightTable.registerAirplanes(airplanes);
+    }
+
+    /**
+     * Llamado por un avión al cambiar de estado por sí mismo (maniobras que no pasan
+     * por la torre). Solo publica la fila del vuelo en la tabla de la ventana; no
+     * toma el monitor.
+     * @param airplane Avión que ha cambiado de estado.
+     */
+    public void onAirplaneStateChanged(Airplane airplane) {
+        if (flightTable != null) flightTable.update(airplane);
+    }
+
+    /**
+     * Establece la política de concesión de pistas y puertas.
+     * @param grantPolicy Política a aplicar, o null para el comportamiento greedy original.
+     */
+    public synchronized void setGrantPolicy(GrantPolicy grantPolicy) {
+        this.grantPolicy = grantPolicy;
+        contenders.clear();
+    }
+
+    /**
+     * Obtiene la política de concesión activa.
+     * @return La política, o null si la torre es greedy.
+     */
+    public GrantPolicy getGrantPolicy() {
+        return grantPolicy;
+    }
+
+    /**
+     * Asigna atributos a pistas y puertas (por defecto todas son largas y anchas,
+     * en una única terminal) y reconstruye el índice de compatibilidad.
+     * Debe llamarse antes de arrancar los aviones.
+     * @param heavyOnlyRunways Primeras pistas reservadas a aviones de fuselaje ancho.
+     * @param standardRunways Siguientes pistas cortas (solo fuselaje estrecho).
+     * @param wideGates Primeras puertas anchas; el resto son estrechas.
+     * @param numTerminals Terminales entre las que se reparten las puertas (en rueda).
+     */
+    public synchronized void configureResources(int heavyOnlyRunways, int standardRunways, int wideGates, int numTerminals) {
+        for (int i = 0; i < runways.size(); i++) {
+            RunwayClass rc = i < heavyOnlyRunways ? RunwayClass.HEAVY_ONLY
+                    : i < heavyOnlyRunways + standardRunways ? RunwayClass.STANDARD : RunwayClass.LONG;
+            runways.get(i).setRunwayClass(rc);
+        }
+        int terminals = Math.max(1, numTerminals);
+        for (int i = 0; i < gates.size(); i++) {
+            gates.get(i).setSize(i < wideGates ? GateSize.WIDE : GateSize.NARROW);
+            gates.get(i).setTerminal(1 + i % terminals);
+        }
+        this.matcher = new ResourceMatcher(runways, gates);
+    }
+
+    /**
+     * Comprueba si el aeropuerto tiene alguna pista y alguna puerta compatibles
+     * con el avión (aunque estén ocupadas).
+     * @param airplane Avión a comprobar.
+     * @return true si el avión puede completar su ciclo en este aeropuerto.
+     */
+    public synchronized boolean canServe(Airplane airplane) {
+        return matcher.canServe(airplane);
+    }
+
+    /**
+     * Obtiene el número de denegaciones debidas solo a la compatibilidad: había
+     * pista (y puerta) libre, pero ninguna admitía al avión.
+     * @return Esperas por restricciones de compatibilidad.
+     */
+    public synchronized long getConstraintWaits() {
+        return constraintWaits;
+    }
+
+    /**
+     * Selecciona la estrategia de asignación para las peticiones de aterrizaje.
+     * @param landingScheduler GREEDY o LOOKAHEAD.
+     */
+    public void setLandingScheduler(LandingScheduler landingScheduler) {
+        this.landingScheduler = landingScheduler;
+    }
+
+    /**
+     * Obtiene la estrategia de asignación de aterrizajes.
+     * @return Estrategia activa.
+     */
+    public LandingScheduler getLandingScheduler() {
+        return landingScheduler;
+    }
+
+    /**
+     * Calcula la utilización media de las pistas desde la creación de la torre.
+     * @return Fracción del tiempo (0..1) que las pistas han estado ocupadas.
+     */
+    public synchronized double getRunwayUtilization() {
+        long capacity = (System.currentTimeMillis() - createdAt) * runways.size();
+        if (capacity <= 0) return 0.0;
+        long busy = 0;
+        for (Runway r : runways) busy += r.getBusyMs();
+        return Math.min(1.0, (double) busy / capacity);
+    }
+
+    /**
+     * Obtiene los aviones registrados en la torre.
+     * @return Lista de aviones, o null si aún no se han registrado.
+     */
+    public List<Airplane> getRegisteredAirplanes() {
+        return registeredAirplanes;
+    }
+
+    /**
+     * Activa el runtime de operarios con robo de trabajo.
+     * A partir de este momento addRequest envía las peticiones al pool
+     * en lugar de a la cola compartida.
+     * @param pool Pool de operarios con deques locales.
+     */
+    public void setWorkStealingPool(WorkStealingOperatorPool pool) {
+        this.workStealingPool = pool;
+    }
+
+    /**
+     * Activa el diario binario de decisiones de la torre.
+     * @param journal Diario donde registrar encolados, extracciones, concesiones,
+     *                denegaciones y liberaciones.
+     */
+    public void setJournal(TowerJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Obtiene el diario de decisiones activo.
+     * @return El diario, o null si no está activo.
+     */
+    public TowerJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Activa las métricas en vivo de la torre.
+     * @param metrics Contadores a actualizar desde el camino caliente.
+     */
+    public void setMetrics(TowerMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Obtiene las métricas en vivo activas.
+     * @return Las métricas, o null si no están activas.
+     */
+    public TowerMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Activa el panel de vuelos binario mapeado en memoria.
+     * Debe llamarse antes de registerAirplanes para que se asignen los slots.
+     * @param flightBoard Panel binario a actualizar en cada cambio de estado.
+     */
+    public void setFlightBoard(FlightBoardMmap flightBoard) {
+        this.flightBoard = flightBoard;
     }
 
     // =========================================================================
@@ -85,12 +404,30 @@ public class ControlTower {
      * @param req La petición del avión a procesar.
      */
     public void addRequest(Request req) {
+        if (queueClosed) {
+            Logger.log("[SHUTDOWN] Cola cerrada: se descarta la petición de " + req.getAirplane().getAirplaneId() + " (" + req.getType() + ")");
+            return;
+        }
+        if (workStealingPool != null) {
+            // Runtime work-stealing: la petición va a la deque del operario preferido
+            if (journal != null) journal.recordEnqueue(req, 0);
+            if (metrics != null) metrics.onEnqueue();
+            queueMonitor.onEnqueue(req);
+            workStealingPool.submit(req);
+            Logger.logEnqueue(req.getAirplane().getAirplaneId(), req.getType());
+            printStatus("Nueva petición recibida");
+            return;
+        }
         try {
             // 1. Exclusión Mutua: Adquirir permiso para tocar la lista
             queueMutex.acquire();
             try {
                 requestQueue.add(req);
-                Logger.log("Avión " + req.getAirplane().getAirplaneId() + " encolado: " + req.getType());
+                queueMonitor.onEnqueue(req);
+                if (queueMonitor.headChangedByEnqueue(requestQueue.size())) queueMonitor.publishHead(requestQueue);
+                if (journal != null) journal.recordEnqueue(req, 0);
+                if (metrics != null) metrics.onEnqueue();
+                Logger.logEnqueue(req.getAirplane().getAirplaneId(), req.getType());
             } finally {
                 // 2. Liberar el cerrojo pase lo que pase
                 queueMutex.release();
@@ -114,7 +451,19 @@ public class ControlTower {
      * @throws InterruptedException Si el hilo se interrumpe mientras espera.
      */
     public Request getNextRequest() throws InterruptedException {
+        return getNextRequest(0);
+    }
+
+    /**
+     * Extrae la siguiente petición de la cola indicando el operario que la atiende.
+     * El identificador del operario solo se utiliza para el diario de decisiones.
+     * @param operarioId Identificador del operario consumidor.
+     * @return La siguiente petición en la cola, o null si la cola se ha cerrado.
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera.
+     */
+    public Request getNextRequest(int operarioId) throws InterruptedException {
         // 1. Espera pasiva: Si contador es 0, el hilo se duerme aquí.
+        // Con la cola cerrada (closeQueue) el permiso puede no tener petición: se devuelve null.
         requestsAvailable.acquire();
 
         Request req = null;
@@ -122,13 +471,275 @@ public class ControlTower {
         // 2. Exclusión Mutua: Entrar a la zona crítica para sacar el elemento
         queueMutex.acquire();
         try {
-            req = requestQueue.poll();
+            req = pollNext();
+            if (journal != null && req != null) journal.recordDequeue(req, operarioId);
+            if (metrics != null && req != null) metrics.onDequeue();
         } finally {
             queueMutex.release();
         }
         
         return req;
     }
+
+    /**
+     * Extrae la siguiente petición de la cola esperando como mucho un tiempo dado.
+     * Utilizado por el pool elástico, cuyos operarios deben poder aparcarse
+     * aunque no lleguen peticiones.
+     * @param operarioId Identificador del operario consumidor.
+     * @param timeoutMs Espera máxima en milisegundos.
+     * @return La siguiente petición, o null si no ha llegado ninguna a tiempo.
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera.
+     */
+    public Request pollNextRequest(int operarioId, long timeoutMs) throws InterruptedException {
+        if (!requestsAvailable.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) return null;
+
+        queueMutex.acquire();
+        try {
+            Request req = pollNext();
+            if (journal != null && req != null) journal.recordDequeue(req, operarioId);
+            if (metrics != null && req != null) metrics.onDequeue();
+            return req;
+        } finally {
+            queueMutex.release();
+        }
+    }
+
+    /**
+     * Obtiene el número de peticiones esperando en la cola (o en las deques del
+     * runtime work-stealing), sin tomar el mutex.
+     * @return Peticiones en la cola.
+     */
+    public int getQueueDepth() {
+        return queueMonitor.getDepth();
+    }
+
+    /**
+     * Obtiene la vista de monitorización de la cola (profundidad por tipo y cabeza).
+     * @return Vista de la cola, actualizada por la torre y los operarios.
+     */
+    public QueueMonitor getQueueMonitor() {
+        return queueMonitor;
+    }
+
+    // =========================================================================
+    // CICLO DE VIDA (DRENAJE Y CIERRE)
+    // =========================================================================
+
+    /**
+     * Marca que un operario ha tomado una petición y empieza a atenderla.
+     * Cada llamada debe ir seguida de endRequest(), también si se reencola.
+     */
+    public void beginRequest() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Marca que un operario ha terminado de atender una petición (concedida o reencolada).
+     */
+    public void endRequest() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Obtiene las peticiones que algún operario está atendiendo ahora mismo.
+     * @return Peticiones en curso.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Espera a que la torre quede sin trabajo: cola vacía y ninguna petición en
+     * curso en dos comprobaciones seguidas (una petición reencolada pasa un
+     * instante fuera de ambos contadores). En cada comprobación se descartan las
+     * peticiones de aviones cuyo hilo ya no vive (abortados), que nadie recogería.
+     * @param deadlineMs Instante límite (System.currentTimeMillis).
+     * @return true si se ha drenado antes del límite.
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera.
+     */
+    public boolean awaitDrained(long deadlineMs) throws InterruptedException {
+        int quiet = 0;
+        while (quiet < 2) {
+            discardAbandonedRequests();
+            quiet = getQueueDepth() == 0 && inFlight.get() == 0 ? quiet + 1 : 0;
+            if (quiet < 2) {
+                if (System.currentTimeMillis() >= deadlineMs) return false;
+                Thread.sleep(10);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Elimina de la cola las peticiones de aviones abandonados (Airplane.isAbandoned):
+     * hilos terminados sin completar su ciclo o avión remoto con la conexión cerrada.
+     * Cada descarte cuenta como extracción en el diario y en las métricas.
+     * @return Número de peticiones descartadas.
+     * @throws InterruptedException Si el hilo se interrumpe esperando el mutex.
+     */
+    public int discardAbandonedRequests() throws InterruptedException {
+        List<Request> discarded;
+        if (workStealingPool != null) {
+            discarded = workStealingPool.discardAbandoned();
+        } else {
+            discarded = new ArrayList<>();
+            queueMutex.acquire();
+            try {
+                Iterator<Request> it = requestQueue.iterator();
+                while (it.hasNext()) {
+                    Request req = it.next();
+                    // Se retira también su permiso; si un consumidor ya lo tomó, la petición se queda
+                    if (req.getAirplane().isAbandoned() && requestsAvailable.tryAcquire()) {
+                        it.remove();
+                        queueMonitor.onDequeue(req);
+                        if (journal != null) journal.recordDequeue(req, 0);
+                        if (metrics != null) metrics.onDequeue();
+                        discarded.add(req);
+                    }
+                }
+                if (!discarded.isEmpty()) queueMonitor.publishHead(requestQueue);
+            } finally {
+                queueMutex.release();
+            }
+        }
+        int removed = discarded.size();
+        // Fuera del mutex de la cola: el monitor nunca se toma con el mutex tomado
+        if (removed > 0) forgetContenders(discarded);
+        if (removed > 0) Logger.log("[SHUTDOWN] Descartadas " + removed + " peticiones de aviones abortados");
+        return removed;
+    }
+
+    /**
+     * Cierra la cola: las nuevas peticiones se descartan y los operarios
+     * bloqueados en getNextRequest se despiertan y reciben null (fin de turno).
+     * Las peticiones en espera de la política se olvidan: ya no se reintentarán.
+     * @param consumers Número de operarios que pueden estar esperando en la cola.
+     */
+    public void closeQueue(int consumers) {
+        queueClosed = true;
+        requestsAvailable.release(consumers);
+        synchronized (this) {
+            contenders.clear();
+        }
+    }
+
+    /**
+     * Indica si la cola está cerrada.
+     * @return true tras closeQueue().
+     */
+    public boolean isQueueClosed() {
+        return queueClosed;
+    }
+
+    /**
+     * Comprueba la coherencia final de la torre tras parar los operarios:
+     * - Cada pista o puerta ocupada pertenece a un avión que la tiene asignada
+     *   y que no ha terminado su ciclo.
+     * - El índice de compatibilidad coincide con el estado de los recursos.
+     * - No quedan reservas de puertas, peticiones en cola ni en curso.
+     * @return Lista de incoherencias (vacía si todo es correcto).
+     */
+    public synchronized List<String> verifyConsistency() {
+        List<String> problems = new ArrayList<>();
+        for (Runway r : runways) {
+            Airplane a = r.getCurrentPlane();
+            if (matcher.isRunwayFree(r.getIndex()) != r.isAvailable()) {
+                problems.add("Índice de compatibilidad desalineado en la pista " + r.getId());
+            }
+            if (r.isAvailable()) continue;
+            if (a == null || a.getAssignedRunway() != r) {
+                problems.add("Pista " + r.getId() + " ocupada sin avión asignado");
+            } else if (a.getAirplaneState() == AirplaneState.DEPARTED) {
+                problems.add("Pista " + r.getId() + " retenida por " + a.getAirplaneId() + ", que ya ha despegado");
+            } else if (a.isAbandoned()) {
+                problems.add("Pista " + r.getId() + " retenida por " + a.getAirplaneId() + ", que no terminó su ciclo");
+            }
+        }
+        long now = System.currentTimeMillis();
+        for (Gate g : gates) {
+            Airplane a = g.getCurrentPlane();
+            if (matcher.isGateFree(g.getIndex()) != g.isFree()) {
+                problems.add("Índice de compatibilidad desalineado en la puerta " + g.getId());
+            }
+            if (g.isReserved(now)) {
+                problems.add("Puerta " + g.getId() + " aún reservada para " + g.getReservedFor().getAirplaneId());
+            }
+            if (g.isFree()) continue;
+            if (a == null || a.getAssignedGate() != g) {
+                problems.add("Puerta " + g.getId() + " ocupada sin avión asignado");
+            } else if (a.getAirplaneState() == AirplaneState.DEPARTED) {
+                problems.add("Puerta " + g.getId() + " retenida por " + a.getAirplaneId() + ", que ya ha despegado");
+            } else if (a.isAbandoned()) {
+                problems.add("Puerta " + g.getId() + " retenida por " + a.getAirplaneId() + ", que no terminó su ciclo");
+            }
+        }
+        if (getQueueDepth() > 0) problems.add(getQueueDepth() + " peticiones sin atender en la cola");
+        if (inFlight.get() > 0) problems.add(inFlight.get() + " peticiones en curso al cerrar");
+        return problems;
+    }
+
+    /**
+     * Extrae la siguiente petición de la cola sin bloquearse.
+     * Utilizado por la torre en red, cuyo hilo de E/S no puede quedarse dormido
+     * en el semáforo 'requestsAvailable'.
+     * @return La siguiente petición, o null si la cola está vacía.
+     * @throws InterruptedException Si el hilo se interrumpe esperando el mutex.
+     */
+    public Request tryGetNextRequest() throws InterruptedException {
+        if (!requestsAvailable.tryAcquire()) return null;
+
+        queueMutex.acquire();
+        try {
+            Request req = pollNext();
+            if (journal != null && req != null) journal.recordDequeue(req, 0);
+            if (metrics != null && req != null) metrics.onDequeue();
+            return req;
+        } finally {
+            queueMutex.release();
+        }
+    }
+
+    /**
+     * Saca de la cola la siguiente petición a atender. Debe llamarse con queueMutex.
+     * Sin política de concesión es la cabeza de la cola (FIFO de llegada). Con
+     * política, las liberaciones van primero (siempre se conceden y liberan
+     * recursos) y después la petición de asignación más prioritaria, de modo que
+     * el orden de los reintentos lo decide la política y no el azar de la cola.
+     * @return La siguiente petición, o null si la cola está vacía.
+     */
+    private Request pollNext() {
+        GrantPolicy policy = grantPolicy;
+        Request next;
+        if (policy == null || requestQueue.size() < 2) {
+            next = requestQueue.poll();
+        } else {
+            next = GrantPolicy.selectNext(requestQueue, policy);
+            requestQueue.remove(next);
+        }
+        if (next != null) {
+            queueMonitor.onDequeue(next);
+            queueMonitor.publishHead(requestQueue);
+        }
+        return next;
+    }
+
+    /**
+     * Obtiene una copia de las peticiones que esperan en la cola (o en las deques
+     * del runtime work-stealing). A diferencia de la vista de la GUI, espera al
+     * mutex para que la copia sea completa; no toma el monitor de la torre.
+     * @return Copia de las peticiones pendientes.
+     * @throws InterruptedException Si el hilo se interrumpe esperando el mutex.
+     */
+    public List<Request> snapshotQueue() throws InterruptedException {
+        if (workStealingPool != null) return workStealingPool.snapshotPending();
+        queueMutex.acquire();
+        try {
+            return new ArrayList<>(requestQueue);
+        } finally {
+            queueMutex.release();
+        }
+    }
+
  // =========================================================================
     // PARTE 2: MONITORES (Gestión de Recursos Pistas/Puertas)
     // =========================================================================
@@ -149,26 +760,56 @@ public class ControlTower {
         AirplaneState oldState = airplane.getAirplaneState(); 
         
         boolean success = false;
+        // Con una política de concesión, una petición de asignación cede el turno
+        // si los recursos libres corresponden a peticiones en espera más prioritarias
+        boolean deferred = grantPolicy != null && deferToHigherPriority(req);
+        long decisionStart = metrics != null ? System.nanoTime() : 0;
+        epoch++; // Época impar: recursos en modificación
+        VarHandle.storeStoreFence(); // Nadie debe ver cambios de recursos con la época par anterior
 
         switch (requestType) {
             case LANDING_REQUESTED:
                 // CRÍTICO: Asignación ATÓMICA de Pista + Puerta
-                Runway freeRunway = findFreeRunway();
-                Gate freeGate = findFreeGate();
+                long now = System.currentTimeMillis();
+                Runway freeRunway = findFreeRunway(airplane);
+                Gate freeGate = findFreeGate(airplane, now);
                 
-                if (freeRunway != null && freeGate != null) {
-                    freeRunway.occupy(airplane);
-                    freeGate.occupy(airplane);
+                if (!deferred && freeRunway != null && freeGate != null) {
+                    occupyRunway(freeRunway, airplane, AirplaneState.LANDING);
+                    occupyGate(freeGate, airplane);
+                    freeGate.clearReservation();
+                    freeGate.setPredictedFreeAt(now + airplane.getLandingMs() + airplane.getBoardingMs());
                     airplane.setAssignedRunway(freeRunway);
                     airplane.setAssignedGate(freeGate);
                     success = true;
+                    if (journal != null) journal.recordGrant(req, operarioId, runways.indexOf(freeRunway), gates.indexOf(freeGate));
+                    if (metrics != null) metrics.onOccupancyChange(1, 1);
+                } else if (!deferred && freeRunway != null && landingScheduler == LandingScheduler.LOOKAHEAD) {
+                    // Sin puerta libre: se concede la pista si una puerta quedará libre
+                    // antes de la toma de tierra, y se le reserva al avión
+                    long touchdown = now + airplane.getLandingMs();
+                    Gate upcoming = findGateFreeBy(airplane, touchdown, now);
+                    if (upcoming != null) {
+                        occupyRunway(freeRunway, airplane, AirplaneState.LANDING);
+                        upcoming.reserve(airplane, touchdown + RESERVATION_GRACE_MS);
+                        airplane.setAssignedRunway(freeRunway);
+                        success = true;
+                        if (journal != null) journal.recordGrant(req, operarioId, runways.indexOf(freeRunway), -1);
+                        if (metrics != null) metrics.onOccupancyChange(1, 0);
+                    }
                 }
                 break;
 
             case LANDED:
+                // Con reserva (LOOKAHEAD) el avión aún no tiene puerta: la ocupa al tomar
+                // tierra. Si sigue ocupada, espera en la pista y la petición se reintenta.
+                if (airplane.getAssignedGate() == null && !claimGateOnTouchdown(req, operarioId)) break;
+                airplane.getAssignedGate().setPredictedFreeAt(System.currentTimeMillis() + airplane.getBoardingMs());
                 // Libera solo PISTA (operación idempotente: siempre éxito)
+                if (journal != null) journal.recordRelease(req, operarioId, runways.indexOf(airplane.getAssignedRunway()), -1);
                 if (airplane.getAssignedRunway() != null) {
-                    airplane.getAssignedRunway().release();
+                    if (metrics != null) metrics.onOccupancyChange(-1, 0);
+                    releaseRunway(airplane.getAssignedRunway());
                     airplane.setAssignedRunway(null);
                 }
                 success = true; // Liberar siempre tiene éxito
@@ -176,8 +817,10 @@ public class ControlTower {
 
             case BOARDED:
                 // Libera solo PUERTA (operación idempotente: siempre éxito)
+                if (journal != null) journal.recordRelease(req, operarioId, -1, gates.indexOf(airplane.getAssignedGate()));
                 if (airplane.getAssignedGate() != null) {
-                    airplane.getAssignedGate().release();
+                    if (metrics != null) metrics.onOccupancyChange(0, -1);
+                    releaseGate(airplane.getAssignedGate());
                     airplane.setAssignedGate(null);
                 }
                 success = true; // Liberar siempre tiene éxito
@@ -185,18 +828,22 @@ public class ControlTower {
 
             case TAKEOFF_REQUESTED:
                 // Pide nueva PISTA
-                Runway takeoffRunway = findFreeRunway();
-                if (takeoffRunway != null) {
-                    takeoffRunway.occupy(airplane);
+                Runway takeoffRunway = findFreeRunway(airplane);
+                if (!deferred && takeoffRunway != null) {
+                    occupyRunway(takeoffRunway, airplane, AirplaneState.DEPARTING);
                     airplane.setAssignedRunway(takeoffRunway);
                     success = true;
+                    if (journal != null) journal.recordGrant(req, operarioId, runways.indexOf(takeoffRunway), -1);
+                    if (metrics != null) metrics.onOccupancyChange(1, 0);
                 }
                 break;
 
             case DEPARTED:
                 // Libera PISTA final (operación idempotente: siempre éxito)
+                if (journal != null) journal.recordRelease(req, operarioId, runways.indexOf(airplane.getAssignedRunway()), -1);
                 if (airplane.getAssignedRunway() != null) {
-                    airplane.getAssignedRunway().release();
+                    if (metrics != null) metrics.onOccupancyChange(-1, 0);
+                    releaseRunway(airplane.getAssignedRunway());
                     airplane.setAssignedRunway(null);
                 }
                 success = true; // Liberar siempre tiene éxito
@@ -206,6 +853,23 @@ public class ControlTower {
                 break;
         }
 
+        if (success) {
+            airplane.onRequestGranted();
+            if (grantPolicy != null) contenders.remove(contenderKey(req));
+        } else {
+            if (journal != null) journal.recordDeny(req, operarioId);
+            if (!deferred && isConstraintWait(airplane, requestType)) {
+                constraintWaits++;
+                if (metrics != null) metrics.onConstraintWait();
+            }
+        }
+        if (metrics != null) {
+            long decisionNanos = System.nanoTime() - decisionStart;
+            if (success) metrics.onGrant(req.getTimestamp(), decisionNanos);
+            else metrics.onRequeue(decisionNanos);
+        }
+        epoch++; // Época par: recursos estables
+
         if (success) {
             // ═══════════════════════════════════════════════════════════════
             // ACTUALIZACIÓN INSTANTÁNEA DEL PANEL DE VUELOS (JSON)
@@ -216,6 +880,8 @@ public class ControlTower {
             } catch (FlightPanelException e) {
                 Logger.log("[ERROR] " + e.getMessage());
             }
+            if (flightBoard != null) flightBoard.update(airplane);
+            if (flightTable != null) flightTable.update(airplane);
             
             // --- LOG DETALLADO ---
             // Formato: [OP-X] ACCION | AVION (ESTADO_ANT -> ESTADO_NUEVO)
@@ -236,6 +902,115 @@ public class ControlTower {
         return success;
     }
 
+    /**
+     * Decide si una petición de asignación debe ceder los recursos libres a
+     * peticiones en espera con mayor prioridad según la política de concesión.
+     * Reserva, por orden de prioridad, los recursos que necesitaría cada petición
+     * más prioritaria que pueda atenderse ya, y comprueba si aún queda sitio.
+     * Solo cuentan los recursos compatibles con cada avión (ResourceMatcher): una
+     * petición no cede ante otra que nunca podría usar la misma pista o puerta.
+     * Debe llamarse dentro del monitor.
+     * @param req Petición que se está procesando.
+     * @return true si la petición debe denegarse para respetar la política.
+     */
+    private boolean deferToHigherPriority(Request req) {
+        AirplaneState type = req.getType();
+        if (type != AirplaneState.LANDING_REQUESTED && type != AirplaneState.TAKEOFF_REQUESTED) return false;
+        String key = contenderKey(req);
+        contenders.put(key, req);
+
+        long now = System.currentTimeMillis();
+        double own = grantPolicy.priority(req, now);
+        List<Request> ahead = new ArrayList<>();
+        Iterator<Map.Entry<String, Request>> it = contenders.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Request> e = it.next();
+            Request c = e.getValue();
+            // Un avión abandonado no volverá a pedir nada: no debe seguir reservando recursos
+            if (c.getAirplane().isAbandoned()) {
+                it.remove();
+            } else if (!e.getKey().equals(key) && grantPolicy.priority(c, now) > own) {
+                ahead.add(c);
+            }
+        }
+        if (ahead.isEmpty()) return false;
+        ahead.sort((a, b) -> Double.compare(grantPolicy.priority(b, now), grantPolicy.priority(a, now)));
+
+        BitSet runwaysLeft = new BitSet();
+        BitSet gatesLeft = new BitSet();
+        for (Runway r : runways) if (r.isAvailable()) runwaysLeft.set(r.getIndex());
+        for (Gate g : gates) if (g.isFree() && !g.isReserved(now)) gatesLeft.set(g.getIndex());
+        for (Request c : ahead) {
+            Airplane plane = c.getAirplane();
+            boolean landing = c.getType() == AirplaneState.LANDING_REQUESTED;
+            int runway = firstCommon(runwaysLeft, matcher.compatibleRunwaysFor(plane));
+            int gate = landing ? firstCommon(gatesLeft, matcher.compatibleGatesFor(plane)) : -1;
+            if (runway >= 0 && (!landing || gate >= 0)) {
+                runwaysLeft.clear(runway);
+                if (landing) gatesLeft.clear(gate);
+            }
+        }
+        Airplane ownPlane = req.getAirplane();
+        if (firstCommon(runwaysLeft, matcher.compatibleRunwaysFor(ownPlane)) < 0) return true;
+        return type == AirplaneState.LANDING_REQUESTED && firstCommon(gatesLeft, matcher.compatibleGatesFor(ownPlane)) < 0;
+    }
+
+    /**
+     * Clave de una petición en espera: vuelo y tipo de petición.
+     * @param req Petición.
+     * @return Clave de la petición en 'contenders'.
+     */
+    private static String contenderKey(Request req) {
+        return req.getAirplane().getAirplaneId() + "/" + req.getType();
+    }
+
+    /**
+     * Olvida las peticiones en espera que ya nunca se procesarán (descartadas).
+     * @param discarded Peticiones retiradas de la cola.
+     */
+    private synchronized void forgetContenders(List<Request> discarded) {
+        for (Request req : discarded) contenders.remove(contenderKey(req));
+    }
+
+    /**
+     * Primer índice presente en los dos conjuntos.
+     * @return Índice, o -1 si no tienen ninguno en común.
+     */
+    private static int firstCommon(BitSet a, BitSet b) {
+        for (int i = a.nextSetBit(0); i >= 0; i = a.nextSetBit(i + 1)) {
+            if (b.get(i)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Restaura la asignación de recursos de un avión al reanudar desde una instantánea.
+     * Si el diario está activo, la restauración se registra como una concesión
+     * para que el nuevo diario sea reproducible por sí solo.
+     * @param airplane Avión al que pertenecen los recursos.
+     * @param runwayIndex Índice de la pista que ocupaba, o -1.
+     * @param gateIndex Índice de la puerta que ocupaba, o -1.
+     */
+    public synchronized void restoreAssignment(Airplane airplane, int runwayIndex, int gateIndex) {
+        epoch++;
+        VarHandle.storeStoreFence();
+        if (runwayIndex >= 0) {
+            occupyRunway(runways.get(runwayIndex), airplane,
+                    gateIndex >= 0 ? AirplaneState.LANDING : AirplaneState.DEPARTING);
+            airplane.setAssignedRunway(runways.get(runwayIndex));
+        }
+        if (gateIndex >= 0) {
+            occupyGate(gates.get(gateIndex), airplane);
+            airplane.setAssignedGate(gates.get(gateIndex));
+        }
+        if (journal != null) {
+            AirplaneState type = gateIndex >= 0 ? AirplaneState.LANDING_REQUESTED : AirplaneState.TAKEOFF_REQUESTED;
+            journal.recordGrant(new Request(airplane, type), 0, runwayIndex, gateIndex);
+        }
+        if (metrics != null) metrics.onOccupancyChange(runwayIndex >= 0 ? 1 : 0, gateIndex >= 0 ? 1 : 0);
+        epoch++;
+    }
+
     /**
      * Traduce un estado de avión a una acción legible en español.
      * Utilizado para generar mensajes de log más profesionales y claros.
@@ -255,85 +1030,218 @@ public class ControlTower {
         }
     }
     /**
-     * Busca una pista libre disponible.
-     * @return Una pista disponible, o null si todas están ocupadas.
+     * Busca una pista libre compatible con el avión.
+     * @param airplane Avión que solicita la pista.
+     * @return Una pista disponible, o null si no hay ninguna compatible libre.
+     */
+    private Runway findFreeRunway(Airplane airplane) {
+        int index = matcher.findRunway(airplane);
+        return index >= 0 ? runways.get(index) : null;
+    }
+
+    /**
+     * Busca una puerta libre y compatible que pueda asignarse al avión.
+     * Se salta las puertas libres con una reserva vigente para otro avión y
+     * prefiere la que el propio avión tenga reservada.
+     * @param airplane Avión que solicita la puerta.
+     * @param now Instante actual en ms.
+     * @return Una puerta disponible, o null si no hay ninguna.
      */
-    private Runway findFreeRunway() {
-        for (Runway r : runways) if (r.isAvailable()) return r;
-        return null;
+    private Gate findFreeGate(Airplane airplane, long now) {
+        Gate candidate = null;
+        BitSet free = matcher.freeGatesFor(airplane);
+        for (int i = free.nextSetBit(0); i >= 0; i = free.nextSetBit(i + 1)) {
+            Gate g = gates.get(i);
+            if (!g.isAvailableFor(airplane, now)) continue;
+            if (g.getReservedFor() == airplane) return g;
+            if (candidate == null) candidate = g;
+        }
+        return candidate;
+    }
+
+    /**
+     * Busca una puerta compatible y ocupada que, según la previsión, quedará libre
+     * antes de un instante dado y que no esté ya reservada.
+     * @param airplane Avión que necesitará la puerta.
+     * @param deadline Instante (ms) en que se necesita la puerta.
+     * @param now Instante actual en ms.
+     * @return La puerta que se liberará antes, o null si ninguna llega a tiempo.
+     */
+    private Gate findGateFreeBy(Airplane airplane, long deadline, long now) {
+        Gate best = null;
+        BitSet compatible = matcher.compatibleGatesFor(airplane);
+        for (int i = compatible.nextSetBit(0); i >= 0; i = compatible.nextSetBit(i + 1)) {
+            Gate g = gates.get(i);
+            if (g.isFree() || g.isReserved(now)) continue;
+            long freeAt = g.getPredictedFreeAt();
+            if (freeAt > 0 && freeAt <= deadline && (best == null || freeAt < best.getPredictedFreeAt())) best = g;
+        }
+        return best;
+    }
+
+    /**
+     * Indica si una petición denegada esperaba solo por compatibilidad: había
+     * recursos libres del tipo necesario, pero ninguno admitía al avión.
+     * @param airplane Avión de la petición.
+     * @param type Tipo de petición.
+     * @return true si la espera se debe a las restricciones de pista o puerta.
+     */
+    private boolean isConstraintWait(Airplane airplane, AirplaneState type) {
+        switch (type) {
+            case LANDING_REQUESTED:
+                return matcher.anyRunwayFree() && matcher.anyGateFree()
+                        && (matcher.findRunway(airplane) < 0 || matcher.freeGatesFor(airplane).isEmpty());
+            case TAKEOFF_REQUESTED:
+                return matcher.anyRunwayFree() && matcher.findRunway(airplane) < 0;
+            case LANDED:
+                return matcher.anyGateFree() && matcher.freeGatesFor(airplane).isEmpty();
+            default:
+                return false;
+        }
+    }
+
+    // --- Ocupación de recursos (mantiene el índice de compatibilidad
+    //     y el historial de la vista de Gantt: pistas en los primeros carriles, puertas después) ---
+
+    private void occupyRunway(Runway runway, Airplane airplane, AirplaneState phase) {
+        runway.occupy(airplane);
+        matcher.setRunwayFree(runway.getIndex(), false);
+        if (resourcesView != null) resourcesView.setRunwayBusy(runway.getIndex(), true);
+        if (occupancyTimeline != null) occupancyTimeline.occupy(runway.getIndex(), airplane.getAirplaneId(), phase);
+    }
+
+    private void releaseRunway(Runway runway) {
+        runway.release();
+        matcher.setRunwayFree(runway.getIndex(), true);
+        if (resourcesView != null) resourcesView.setRunwayBusy(runway.getIndex(), false);
+        if (occupancyTimeline != null) occupancyTimeline.release(runway.getIndex());
+    }
+
+    private void occupyGate(Gate gate, Airplane airplane) {
+        gate.occupy(airplane);
+        matcher.setGateFree(gate.getIndex(), false);
+        if (resourcesView != null) resourcesView.setGateBusy(gate.getIndex(), true);
+        if (occupancyTimeline != null) {
+            occupancyTimeline.occupy(runways.size() + gate.getIndex(), airplane.getAirplaneId(), AirplaneState.BOARDING);
+        }
+    }
+
+    private void releaseGate(Gate gate) {
+        gate.release();
+        matcher.setGateFree(gate.getIndex(), true);
+        if (resourcesView != null) resourcesView.setGateBusy(gate.getIndex(), false);
+        if (occupancyTimeline != null) occupancyTimeline.release(runways.size() + gate.getIndex());
     }
 
     /**
-     * Busca una puerta libre disponible.
-     * @return Una puerta disponible, o null si todas están ocupadas.
+     * Asigna la puerta a un avión que ha tomado tierra sin puerta (reserva LOOKAHEAD
+     * o reanudación). Usa la puerta reservada si ya está libre o, si no, cualquier
+     * otra puerta disponible. Debe llamarse dentro del monitor.
+     * @param req Petición LANDED del avión.
+     * @param operarioId Operario que procesa la petición.
+     * @return true si el avión tiene ya puerta, false si debe esperar en la pista.
      */
-    private Gate findFreeGate() {
-        for (Gate g : gates) if (g.isFree()) return g;
-        return null;
+    private boolean claimGateOnTouchdown(Request req, int operarioId) {
+        Airplane airplane = req.getAirplane();
+        Gate gate = findFreeGate(airplane, System.currentTimeMillis());
+        if (gate == null) return false;
+        for (Gate g : gates) if (g.getReservedFor() == airplane) g.clearReservation();
+        occupyGate(gate, airplane);
+        airplane.setAssignedGate(gate);
+        if (journal != null) journal.recordGrant(req, operarioId, -1, gates.indexOf(gate));
+        if (metrics != null) metrics.onOccupancyChange(0, 1);
+        return true;
     }
 
     // =========================================================================
-    // PARTE 3: INTERFAZ GRÁFICA (LECTURA SEGURA)
+    // PARTE 3: INSTANTÁNEAS (LECTURA POR ÉPOCAS)
     // =========================================================================
 
     /**
-     * Actualiza la interfaz gráfica con el estado actual de la torre.
-     * Obtiene una copia segura de la cola de peticiones y actualiza los 3 paneles
-     * (eventos, estado de torre y panel de vuelos).
-     * @param headerMsg Mensaje de encabezado a mostrar en el log de eventos.
+     * Captura una instantánea consistente de la torre sin detener a los operarios.
+     *
+     * Lectura optimista tipo seqlock: se lee la época, se copian la propiedad de
+     * pistas y puertas, la posición del diario y el progreso de cada avión, y se
+     * vuelve a leer la época. Si cambió (o era impar), un operario estaba dentro
+     * del monitor y la copia se repite. Los operarios nunca esperan al lector.
+     * La cola se guarda en su forma lógica: la petición pendiente de cada avión.
+     * @param numOperarios Número de operarios de la simulación (solo informativo).
+     * @return Instantánea de la torre.
      */
-    private void printStatus(String headerMsg) {
-        // Obtenemos una copia segura de la cola usando el semáforo Mutex
-        // para evitar que la GUI lea mientras un hilo escribe.
-        List<Request> queueSnapshot = new ArrayList<>();
-        try {
-            if (queueMutex.tryAcquire()) { // Intentamos cogerlo sin bloquearnos
-                try {
-                    queueSnapshot.addAll(requestQueue);
-                } finally {
-                    queueMutex.release();
-                }
-            } else {
-                // Si está muy ocupado, pintamos lo que había (o lista vacía) para no congelar la GUI
+    public TowerSnapshot captureSnapshot(int numOperarios) {
+        List<Airplane> airplanes = registeredAirplanes != null ? registeredAirplanes : new ArrayList<>();
+        int n = airplanes.size();
+        while (true) {
+            long before = epoch;
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
             }
-        } catch (Exception e) { }
 
-        String resourceMap = AirportState.showResourcesStatus(runways, gates);
-        String queueMap = AirportState.showRequestQueue(queueSnapshot);
-        
-        if (window != null) {
-            window.addAirplaneEvent(headerMsg);
-            String towerText = "ESTADO TORRE (SEMÁFOROS + MONITORES)\n" + resourceMap + "\n" + queueMap;
-            window.updateTowerArea(towerText);
-            window.updateFlightPanel(generateFlightPanelText());
+            int[] runwayOwner = new int[runways.size()];
+            int[] gateOwner = new int[gates.size()];
+            for (int i = 0; i < runwayOwner.length; i++) {
+                runwayOwner[i] = runways.get(i).isAvailable() ? -1 : airplanes.indexOf(runways.get(i).getCurrentPlane());
+            }
+            for (int i = 0; i < gateOwner.length; i++) {
+                gateOwner[i] = gates.get(i).isFree() ? -1 : airplanes.indexOf(gates.get(i).getCurrentPlane());
+            }
+            long journalPosition = journal != null ? journal.getPosition() : -1;
+
+            String[] ids = new String[n];
+            AirplaneState[] states = new AirplaneState[n];
+            int[] granted = new int[n];
+            long[] elapsed = new long[n];
+            AirplaneState[] pendingTypes = new AirplaneState[n];
+            long[] pendingTimestamps = new long[n];
+            for (int i = 0; i < n; i++) {
+                Airplane plane = airplanes.get(i);
+                ids[i] = plane.getAirplaneId();
+                states[i] = plane.getAirplaneState();
+                granted[i] = plane.getGrantedRequests();
+                elapsed[i] = plane.getElapsedMs();
+                Request pending = plane.getPendingRequest();
+                pendingTypes[i] = pending != null ? pending.getType() : null;
+                pendingTimestamps[i] = pending != null ? pending.getTimestamp() : 0;
+            }
+
+            // Los campos de pistas y puertas no son volatile: la barrera impide que
+            // sus lecturas se reordenen después de la segunda lectura de la época
+            VarHandle.loadLoadFence();
+            if (epoch == before) {
+                return new TowerSnapshot(System.currentTimeMillis(), journalPosition, numOperarios, ids, states,
+                        granted, elapsed, pendingTypes, pendingTimestamps, runwayOwner, gateOwner);
+            }
         }
     }
 
+    // =========================================================================
+    // PARTE 4: INTERFAZ GRÁFICA (LECTURA SEGURA)
+    // =========================================================================
+
     /**
-     * Genera el texto del panel de vuelos con la información de todos los aviones registrados.
-     * Incluye el estado actual, pista y puerta asignada de cada avión.
-     * @return Texto formateado del panel de vuelos.
+     * Actualiza la interfaz gráfica con el estado actual de la torre.
+     * Lee la vista de monitorización de la cola y actualiza los paneles de eventos
+     * y de estado de torre. El panel de vuelos no se regenera aquí: recibe solo las
+     * filas de los vuelos que cambian (FlightTableModel).
+     * @param headerMsg Mensaje de encabezado a mostrar en el log de eventos.
      */
-    private String generateFlightPanelText() {
-        StringBuilder sb = new StringBuilder();
-        // Cabecera ajustada al estilo realista
-        sb.append(String.format("%-10s %-20s %-8s %-8s\n", "VUELO", "ESTADO", "PISTA", "PUERTA"));
-        sb.append("══════════════════════════════════════════════════\n");
-        
-        if (registeredAirplanes != null) {
-            // Sincronizamos sobre la lista si fuera dinámica (aquí es fija tras inicio)
-            for (Airplane plane : registeredAirplanes) {
-                Runway r = plane.getAssignedRunway();
-                Gate g = plane.getAssignedGate();
-                
-                sb.append(String.format("%-10s %-20s %-8s %-8s\n", 
-                    plane.getAirplaneId(), 
-                    plane.getAirplaneState(),
-                    (r != null ? r.getId() : "-"),
-                    (g != null ? g.getId() : "-"))); 
-            }
-        }
-        return sb.toString();
+    private void printStatus(String headerMsg) {
+        // Sin ventana (simulaciones sin GUI) no hay nada que pintar
+        if (window == null) return;
+
+        // La cola se lee de su vista de monitorización: profundidad exacta y
+        // cabeza publicada, sin competir por el mutex con productores y operarios
+        List<Request> head = workStealingPool != null
+                ? workStealingPool.samplePending(queueMonitor.getHeadCapacity())
+                : queueMonitor.getHead();
+        String resourceMap = resourcesView.render();
+        String queueMap = AirportState.showRequestQueue(head, queueMonitor.getDepth())
+                + "\n" + AirportState.showDepthByType(queueMonitor);
+
+        window.addAirplaneEvent(headerMsg);
+        String towerText = "ESTADO TORRE (SEMÁFOROS + MONITORES)\n" + resourceMap + "\n" + queueMap;
+        window.updateTowerArea(towerText);
     }
     
 
@@ -0,0 +1,274 @@
+package aeronpcd.concurrente.model;
+
+import aeronpcd.concurrente.util.Logger;
+import aeronpcd.concurrente.util.TowerMetrics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool de operarios elástico sobre la cola compartida de la Torre de Control.
+ *
+ * FUNCIONAMIENTO:
+ * 1. Se crean de antemano 'max' operarios, pero solo los 'activos' (ids 1..activos)
+ *    consumen de la cola; el resto permanece aparcado en un monitor del pool.
+ * 2. Un hilo controlador toma una muestra cada SAMPLE_MS con la profundidad de la
+ *    cola y los contadores de cada operario (procesadas, reencoladas, tiempo de
+ *    trabajo y latencia hasta la concesión) y decide si crecer o encoger.
+ * 3. Histéresis: crecer exige varias muestras seguidas con cola larga o latencia
+ *    alta Y operarios sin tiempo libre (la pausa tras reencolar cuenta como
+ *    ocupado: el operario no puede atender la cola); encoger exige más muestras
+ *    seguidas con la cola vacía y baja utilización. Tras cada cambio hay un
+ *    periodo de enfriamiento.
+ * 4. Un operario que deja de estar activo termina la petición en curso y se aparca.
+ */
+public class ElasticOperatorPool implements OperatorPool {
+
+    private static final long SAMPLE_MS = 100;          // Periodo de muestreo del controlador
+    private static final long POLL_MS = 20;             // Espera máxima de un operario en la cola
+    private static final int GROW_DEPTH_PER_OPERATOR = 2; // Peticiones en cola por operario activo
+    private static final long GROW_LATENCY_MS = 250;    // Latencia media hasta la concesión
+    private static final double GROW_UTILIZATION = 0.6; // Utilización mínima para crecer
+    private static final double SHRINK_UTILIZATION = 0.3; // Utilización máxima para encoger
+    private static final int GROW_SAMPLES = 2;
+    private static final int SHRINK_SAMPLES = 5;
+    private static final int COOLDOWN_SAMPLES = 3;
+
+    private final ControlTower tower;
+    private final int minOperarios;
+    private final int maxOperarios;
+    private final List<Worker> workers = new ArrayList<>();
+    private final Object parkLock = new Object();
+    private volatile int active;
+    private volatile boolean running = false;
+    private Thread controller;
+    private long startNanos;
+
+    // Estado del controlador (solo lo toca su hilo)
+    private int overSamples = 0;
+    private int underSamples = 0;
+    private int cooldown = 0;
+    private long lastBusyNanos = 0;
+    private long lastGrants = 0;
+    private long lastLatencyMs = 0;
+    private int resizes = 0;
+    private int peak;
+
+    /**
+     * Constructor del pool elástico.
+     * @param tower Torre de Control de la que consumen los operarios.
+     * @param minOperarios Operarios activos como mínimo (y al arrancar).
+     * @param maxOperarios Operarios activos como máximo.
+     */
+    public ElasticOperatorPool(ControlTower tower, int minOperarios, int maxOperarios) {
+        this.tower = tower;
+        this.maxOperarios = Math.max(1, maxOperarios);
+        this.minOperarios = Math.max(1, Math.min(minOperarios, this.maxOperarios));
+        this.active = this.minOperarios;
+        this.peak = this.minOperarios;
+        for (int i = 1; i <= this.maxOperarios; i++) {
+            workers.add(new Worker(i));
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        startNanos = System.nanoTime();
+        for (Worker w : workers) w.start();
+        controller = new Thread(this::controlLoop, "ElasticController");
+        controller.setDaemon(true);
+        controller.start();
+        Logger.log(String.format("Pool elástico: %d..%d operarios (activos %d)", minOperarios, maxOperarios, active));
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        controller.interrupt();
+        synchronized (parkLock) {
+            parkLock.notifyAll();
+        }
+        for (Worker w : workers) w.interrupt();
+        report();
+    }
+
+    @Override
+    public boolean shutdown(long drainTimeoutMs) {
+        long deadline = System.currentTimeMillis() + drainTimeoutMs;
+        boolean drained;
+        try {
+            drained = tower.awaitDrained(deadline);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            drained = false;
+        }
+        // Los operarios activos salen en la siguiente espera de POLL_MS; los aparcados, al despertar
+        tower.closeQueue(workers.size());
+        running = false;
+        controller.interrupt();
+        synchronized (parkLock) {
+            parkLock.notifyAll();
+        }
+        boolean clean = OperatorPool.joinUntil(workers, deadline) && drained;
+        report();
+        return clean;
+    }
+
+    /**
+     * Registra los contadores de cada operario y el historial de redimensionado.
+     */
+    private void report() {
+        long elapsed = Math.max(1, System.nanoTime() - startNanos);
+        for (Worker w : workers) {
+            Logger.log(String.format("Operario %d: procesadas %d, reencoladas %d, ocupado %.1f%%",
+                    w.id, w.processed.get(), w.requeued.get(), 100.0 * w.busyNanos.get() / elapsed));
+        }
+        Logger.log(String.format("Pool elástico: pico %d operarios, %d redimensionados, activos al final %d",
+                peak, resizes, active));
+    }
+
+    @Override
+    public int getOperatorCount() {
+        return active;
+    }
+
+    // =========================================================================
+    // CONTROLADOR
+    // =========================================================================
+
+    /**
+     * Bucle del controlador: muestrea y redimensiona hasta que se detiene el pool.
+     */
+    private void controlLoop() {
+        try {
+            while (running) {
+                Thread.sleep(SAMPLE_MS);
+                sample();
+            }
+        } catch (InterruptedException e) {
+            // Fin del pool
+        }
+    }
+
+    /**
+     * Toma una muestra de la cola y de los contadores de los operarios y aplica
+     * la histéresis para decidir el número de operarios activos.
+     */
+    private void sample() {
+        long busy = 0, grants = 0, latencyMs = 0;
+        for (Worker w : workers) {
+            busy += w.busyNanos.get();
+            grants += w.processed.get();
+            latencyMs += w.latencyMs.get();
+        }
+        int current = active;
+        int depth = tower.getQueueDepth();
+        double utilization = (busy - lastBusyNanos) / (SAMPLE_MS * 1e6 * current);
+        long windowGrants = grants - lastGrants;
+        double meanLatency = windowGrants > 0 ? (double) (latencyMs - lastLatencyMs) / windowGrants : 0;
+        lastBusyNanos = busy;
+        lastGrants = grants;
+        lastLatencyMs = latencyMs;
+
+        boolean over = (depth > current * GROW_DEPTH_PER_OPERATOR || meanLatency > GROW_LATENCY_MS)
+                && utilization >= GROW_UTILIZATION;
+        boolean under = depth == 0 && utilization < SHRINK_UTILIZATION;
+        overSamples = over ? overSamples + 1 : 0;
+        underSamples = under ? underSamples + 1 : 0;
+
+        if (cooldown > 0) {
+            cooldown--;
+        } else if (overSamples >= GROW_SAMPLES && current < maxOperarios) {
+            // Crecimiento proporcional al exceso de cola (al menos un operario)
+            int step = Math.max(1, (depth - current * GROW_DEPTH_PER_OPERATOR) / GROW_DEPTH_PER_OPERATOR);
+            resize(Math.min(maxOperarios, current + step), depth, utilization, meanLatency);
+        } else if (underSamples >= SHRINK_SAMPLES && current > minOperarios) {
+            resize(current - 1, depth, utilization, meanLatency);
+        }
+    }
+
+    /**
+     * Cambia el número de operarios activos y despierta a los aparcados.
+     * @param target Nuevo número de operarios activos.
+     * @param depth Profundidad de la cola en la muestra.
+     * @param utilization Utilización de los operarios activos en la muestra.
+     * @param meanLatency Latencia media hasta la concesión en la muestra (ms).
+     */
+    private void resize(int target, int depth, double utilization, double meanLatency) {
+        Logger.log(String.format("[ELASTIC] Operarios %d -> %d (cola %d, utilización %.0f%%, latencia %.0f ms)",
+                active, target, depth, utilization * 100, meanLatency));
+        synchronized (parkLock) {
+            active = target;
+            parkLock.notifyAll();
+        }
+        peak = Math.max(peak, target);
+        resizes++;
+        overSamples = 0;
+        underSamples = 0;
+        cooldown = COOLDOWN_SAMPLES;
+    }
+
+    // =========================================================================
+    // OPERARIO
+    // =========================================================================
+
+    /**
+     * Operario del pool elástico: consume de la cola compartida mientras está
+     * activo y se aparca cuando el controlador lo deja fuera.
+     */
+    private class Worker extends Thread {
+        private final int id;
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong requeued = new AtomicLong();
+        private final AtomicLong busyNanos = new AtomicLong();
+        private final AtomicLong latencyMs = new AtomicLong();
+
+        Worker(int id) {
+            this.id = id;
+            setName("Operario-" + id);
+        }
+
+        @Override
+        public void run() {
+            Logger.log("Operario " + id + " iniciando turno.");
+            try {
+                while (running) {
+                    if (id > active) {
+                        synchronized (parkLock) {
+                            while (running && id > active) parkLock.wait();
+                        }
+                        continue;
+                    }
+
+                    Request req = tower.pollNextRequest(id, POLL_MS);
+                    if (req == null) continue;
+                    tower.beginRequest();
+                    long busyStart = System.nanoTime();
+                    Logger.logServe(id, req.getAirplane().getAirplaneId());
+
+                    boolean ok = tower.processRequest(req, id);
+                    if (ok) {
+                        req.getAirplane().confirmRequestProcessed();
+                        processed.incrementAndGet();
+                        latencyMs.addAndGet(System.currentTimeMillis() - req.getTimestamp());
+                    } else {
+                        Logger.logRequeue(id, req.getAirplane().getAirplaneId());
+                        tower.addRequest(req);
+                        requeued.incrementAndGet();
+                    }
+                    TowerMetrics metrics = tower.getMetrics();
+                    if (metrics != null) metrics.onOperatorBusy(System.nanoTime() - busyStart);
+                    tower.endRequest();
+
+                    // Igual que Operator: pausa tras reencolar para no saturar la cola
+                    if (!ok) Thread.sleep(tower.getRequeueBackoffMs());
+                    busyNanos.addAndGet(System.nanoTime() - busyStart);
+                }
+            } catch (InterruptedException e) {
+                // Fin del turno
+            }
+            Logger.log("Operario " + id + " finaliza su turno.");
+        }
+    }
+}
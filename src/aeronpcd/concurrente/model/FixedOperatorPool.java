@@ -0,0 +1,55 @@
+package aeronpcd.concurrente.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pool clásico de operarios: un número fijo de hilos Operator que consumen
+ * de la cola compartida de la Torre de Control.
+ */
+public class FixedOperatorPool implements OperatorPool {
+
+    private final ControlTower tower;
+    private final List<Operator> operators = new ArrayList<>();
+
+    /**
+     * Constructor del pool fijo.
+     * @param tower Torre de Control de la que consumen los operarios.
+     * @param numOperarios Número de operarios a crear.
+     */
+    public FixedOperatorPool(ControlTower tower, int numOperarios) {
+        this.tower = tower;
+        for (int i = 1; i <= numOperarios; i++) {
+            operators.add(new Operator(i, tower));
+        }
+    }
+
+    @Override
+    public void start() {
+        for (Operator op : operators) op.start();
+    }
+
+    @Override
+    public void stop() {
+        for (Operator op : operators) op.interrupt();
+    }
+
+    @Override
+    public boolean shutdown(long drainTimeoutMs) {
+        long deadline = System.currentTimeMillis() + drainTimeoutMs;
+        boolean drained;
+        try {
+            drained = tower.awaitDrained(deadline);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            drained = false;
+        }
+        tower.closeQueue(operators.size());
+        return OperatorPool.joinUntil(operators, deadline) && drained;
+    }
+
+    @Override
+    public int getOperatorCount() {
+        return operators.size();
+    }
+}
@@ -8,13 +8,31 @@ public class Gate {
     private String id;        // Identificador (ej. PUE1) 
     private boolean isFree;   // Estado de disponibilidad
     private Airplane currentPlane; // Avión que ocupa la puerta (útil para el panel de vuelos)
+    private final int index;       // Posición en la lista de la torre (bit en ResourceMatcher)
+    private GateSize size = GateSize.WIDE; // Tamaño (qué aviones admite)
+    private int terminal = 1;      // Terminal a la que pertenece
+
+    // Planificación con anticipación (solo se accede dentro del monitor de la torre)
+    private long predictedFreeAt = 0;      // Instante previsto de liberación (ms), 0 si libre
+    private Airplane reservedFor;          // Avión que tiene reservada la puerta
+    private long reservationExpiresAt = 0; // Fin de la reserva (ms)
 
     /**
      * Constructor para inicializar la puerta con un identificador único.
      * @param id El nombre de la puerta.
      */
     public Gate(String id) {
+        this(id, -1);
+    }
+
+    /**
+     * Constructor de la puerta con su posición en la torre.
+     * @param id El nombre de la puerta.
+     * @param index Índice de la puerta en la lista de la torre.
+     */
+    public Gate(String id, int index) {
         this.id = id;
+        this.index = index;
         this.isFree = true; // Por defecto, las puertas empiezan libres
         this.currentPlane = null;
     }
@@ -35,6 +53,82 @@ public class Gate {
     public void release() {
         this.isFree = true;
         this.currentPlane = null;
+        this.predictedFreeAt = 0;
+    }
+
+    // --- Reservas (planificación con anticipación) ---
+
+    /**
+     * Reserva la puerta para el siguiente avión hasta un instante límite.
+     * Mientras la reserva esté vigente, la puerta no se asigna a ningún otro avión
+     * aunque quede libre.
+     * @param plane Avión para el que se reserva.
+     * @param expiresAt Instante (ms) en que caduca la reserva si no se ha usado.
+     */
+    public void reserve(Airplane plane, long expiresAt) {
+        this.reservedFor = plane;
+        this.reservationExpiresAt = expiresAt;
+    }
+
+    /**
+     * Anula la reserva de la puerta (se ha usado o ya no es necesaria).
+     */
+    public void clearReservation() {
+        this.reservedFor = null;
+        this.reservationExpiresAt = 0;
+    }
+
+    /**
+     * Devuelve la puerta a su estado inicial (libre y sin reserva)
+     * para reutilizar la torre en otra simulación.
+     */
+    public void reset() {
+        release();
+        clearReservation();
+    }
+
+    /**
+     * Verifica si la puerta tiene una reserva vigente.
+     * @param now Instante actual en ms.
+     * @return true si está reservada y la reserva no ha caducado.
+     */
+    public boolean isReserved(long now) {
+        return reservedFor != null && now < reservationExpiresAt;
+    }
+
+    /**
+     * Verifica si la puerta puede asignarse ya a un avión: está libre y no
+     * tiene una reserva vigente para otro avión.
+     * @param plane Avión que solicita la puerta.
+     * @param now Instante actual en ms.
+     * @return true si la puerta se le puede asignar.
+     */
+    public boolean isAvailableFor(Airplane plane, long now) {
+        return isFree && (!isReserved(now) || reservedFor == plane);
+    }
+
+    /**
+     * Obtiene el avión que tiene reservada la puerta.
+     * @return El avión de la reserva, o null si no hay reserva.
+     */
+    public Airplane getReservedFor() {
+        return reservedFor;
+    }
+
+    /**
+     * Fija el instante previsto en que el avión actual dejará la puerta.
+     * @param predictedFreeAt Instante previsto (ms).
+     */
+    public void setPredictedFreeAt(long predictedFreeAt) {
+        this.predictedFreeAt = predictedFreeAt;
+    }
+
+    /**
+     * Obtiene el instante previsto en que la puerta quedará libre.
+     * @return Instante previsto (ms), o 0 si está libre o no hay previsión.
+     */
+    public long getPredictedFreeAt() {
+        return predictedFreeAt;
     }
 
     // --- Getters y Setters ---
@@ -47,6 +141,46 @@ public class Gate {
         return id;
     }
 
+    /**
+     * Obtiene el índice de la puerta en la lista de la torre.
+     * @return Índice de la puerta, o -1 si se creó sin índice.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Obtiene el tamaño de la puerta.
+     * @return Tamaño de la puerta.
+     */
+    public GateSize getSize() {
+        return size;
+    }
+
+    /**
+     * Establece el tamaño de la puerta.
+     * @param size Nuevo tamaño.
+     */
+    public void setSize(GateSize size) {
+        this.size = size;
+    }
+
+    /**
+     * Obtiene la terminal a la que pertenece la puerta.
+     * @return Número de terminal (desde 1).
+     */
+    public int getTerminal() {
+        return terminal;
+    }
+
+    /**
+     * Establece la terminal a la que pertenece la puerta.
+     * @param terminal Número de terminal (desde 1).
+     */
+    public void setTerminal(int terminal) {
+        this.terminal = terminal;
+    }
+
     /**
      * Verifica si la puerta está disponible.
      * @return true si la puerta está libre, false si está ocupada.
@@ -0,0 +1,20 @@
+package aeronpcd.concurrente.model;
+
+/**
+ * Tamaño de una puerta de embarque.
+ */
+public enum GateSize {
+    /** Puerta estrecha: solo aviones de fuselaje estrecho. */
+    NARROW,
+    /** Puerta ancha: admite cualquier avión (valor por defecto). */
+    WIDE;
+
+    /**
+     * Indica si un avión de la clase dada puede estacionar en una puerta de este tamaño.
+     * @param aircraftClass Clase del avión.
+     * @return true si son compatibles.
+     */
+    public boolean accepts(AircraftClass aircraftClass) {
+        return this == WIDE || aircraftClass == AircraftClass.NARROW_BODY;
+    }
+}
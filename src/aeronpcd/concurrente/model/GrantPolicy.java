@@ -0,0 +1,94 @@
+package aeronpcd.concurrente.model;
+
+/**
+ * Política de concesión de pistas y puertas de la Torre de Control.
+ *
+ * La torre mantiene el conjunto de peticiones de asignación (LANDING_REQUESTED y
+ * TAKEOFF_REQUESTED) que han llegado al monitor y aún no se han concedido. Antes
+ * de conceder una, reserva mentalmente los recursos libres para las peticiones
+ * en espera con MAYOR prioridad que puedan atenderse ya; si no queda sitio, la
+ * petición se deniega y el operario la reencola. Así el orden de los reintentos
+ * deja de depender del azar de la cola.
+ *
+ * Las liberaciones (LANDED, BOARDED, DEPARTED) nunca pasan por la política.
+ */
+public interface GrantPolicy {
+
+    /**
+     * Calcula la prioridad de una petición (mayor = se atiende antes).
+     * Se llama dentro del monitor de la torre.
+     * @param req Petición de asignación en espera.
+     * @param nowMs Instante actual (System.currentTimeMillis).
+     * @return Prioridad de la petición.
+     */
+    double priority(Request req, long nowMs);
+
+    /**
+     * Elige la siguiente petición a atender entre las pendientes (sin extraerla).
+     * Las liberaciones van primero, porque siempre se conceden y liberan recursos;
+     * después, la petición de asignación más prioritaria.
+     * @param pending Peticiones pendientes, en orden de llegada.
+     * @param policy Política de concesión.
+     * @return La petición elegida, o null si no hay ninguna.
+     */
+    static Request selectNext(Iterable<Request> pending, GrantPolicy policy) {
+        long now = System.currentTimeMillis();
+        Request best = null;
+        double bestPriority = 0;
+        for (Request r : pending) {
+            AirplaneState type = r.getType();
+            if (type != AirplaneState.LANDING_REQUESTED && type != AirplaneState.TAKEOFF_REQUESTED) {
+                return r;
+            }
+            double p = policy.priority(r, now);
+            if (best == null || p > bestPriority) {
+                best = r;
+                bestPriority = p;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * FIFO estricto por la marca de tiempo original de la petición.
+     * Como Request conserva su marca de tiempo al reencolarse, el avión que más
+     * tiempo lleva esperando es siempre el siguiente, por muchas veces que haya
+     * perdido la carrera por una puerta.
+     */
+    class Fifo implements GrantPolicy {
+        @Override
+        public double priority(Request req, long nowMs) {
+            return -req.getTimestamp();
+        }
+    }
+
+    /**
+     * Prioridad por tipo con envejecimiento.
+     * Los despegues parten con ventaja (liberan la pista enseguida y completan el
+     * ciclo), pero cada AGING_MS de espera suma un punto, de modo que ningún
+     * aterrizaje puede quedar relegado indefinidamente.
+     */
+    class AgeWeighted implements GrantPolicy {
+        private static final double TAKEOFF_BONUS = 1.0;
+        private static final double AGING_MS = 250.0;
+
+        @Override
+        public double priority(Request req, long nowMs) {
+            double base = req.getType() == AirplaneState.TAKEOFF_REQUESTED ? TAKEOFF_BONUS : 0.0;
+            return base + (nowMs - req.getTimestamp()) / AGING_MS;
+        }
+    }
+
+    /**
+     * Primero el trabajo restante más corto.
+     * El trabajo restante es el número de peticiones que le quedan al avión para
+     * completar su ciclo; a igualdad, gana la petición más antigua.
+     */
+    class ShortestRemainingWork implements GrantPolicy {
+        @Override
+        public double priority(Request req, long nowMs) {
+            int remaining = Airplane.TOTAL_REQUESTS - req.getAirplane().getGrantedRequests();
+            return -remaining * 1e9 + (nowMs - req.getTimestamp());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package aeronpcd.concurrente.model;
+
+/**
+ * Políticas de concesión de recursos disponibles en la Torre de Control.
+ */
+public enum GrantPolicyType {
+    /** Concede al primero que llega con recursos libres (comportamiento original). */
+    GREEDY,
+    /** FIFO estricto por la marca de tiempo original de la petición, entre reintentos. */
+    FIFO,
+    /** Prioridad por tipo de petición que crece con la antigüedad (envejecimiento). */
+    AGE_WEIGHTED,
+    /** Primero los aviones a los que les queda menos trabajo para completar su ciclo. */
+    SHORTEST_REMAINING_WORK;
+
+    /**
+     * Crea la política correspondiente.
+     * @return La política, o null para GREEDY (la torre no aplica ninguna ordenación).
+     */
+    public GrantPolicy create() {
+        switch (this) {
+            case FIFO:                    return new GrantPolicy.Fifo();
+            case AGE_WEIGHTED:            return new GrantPolicy.AgeWeighted();
+            case SHORTEST_REMAINING_WORK: return new GrantPolicy.ShortestRemainingWork();
+            default:                      return null;
+        }
+    }
+}
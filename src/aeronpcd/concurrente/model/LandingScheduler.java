@@ -0,0 +1,14 @@
+package aeronpcd.concurrente.model;
+
+/**
+ * Estrategias de asignación de pista y puerta para las peticiones de aterrizaje.
+ */
+public enum LandingScheduler {
+    /** Pista y puerta libres a la vez en el momento de la petición (comportamiento original). */
+    GREEDY,
+    /**
+     * Concede la pista si alguna puerta quedará libre antes de la toma de tierra,
+     * según la duración conocida del embarque, y reserva esa puerta para el avión.
+     */
+    LOOKAHEAD
+}
@@ -2,8 +2,13 @@ package aeronpcd.concurrente.model;
 
 import aeronpcd.concurrente.exceptions.*;
 import aeronpcd.concurrente.util.*;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 /**
  * Clase principal para ejecutar la simulación en modo concurrente.
@@ -20,55 +25,253 @@ public class MainConcurrente {
      * @param numOperarios Número de operarios concurrentes de la torre.
      */
     public static void runSimulation(int numAviones, int numPistas, int numPuertas, int numOperarios) {
+        runSimulation(new SimulationConfig(numAviones, numPistas, numPuertas, numOperarios));
+    }
+
+    /**
+     * Ejecuta la simulación concurrente del aeropuerto con una configuración completa.
+     * @param config Parámetros de la simulación (recursos, operarios y runtime).
+     */
+    public static void runSimulation(SimulationConfig config) {
+        execute(config, null, null);
+    }
+
+    /**
+     * Ejecuta una simulación aislada dentro de un SimulationContext: log, panel de
+     * vuelos y ficheros propios, sin ventana, y la torre del contexto reutilizada si
+     * la ejecución anterior tenía las mismas pistas y puertas. Varias llamadas con
+     * contextos distintos pueden ejecutarse a la vez desde hilos distintos.
+     * @param config Parámetros de la simulación (se fuerza el modo sin ventana).
+     * @param context Contexto de la ejecución (uno por hilo lanzador).
+     * @return Resultado de la simulación, o null si falló.
+     */
+    public static SimulationResult runIsolated(SimulationConfig config, SimulationContext context) {
+        config.setHeadless(true);
+        SimulationContext previous = SimulationContext.bind(context);
+        try {
+            return execute(config, null, null);
+        } finally {
+            SimulationContext.bind(previous);
+        }
+    }
+
+    /**
+     * Reanuda una simulación concurrente interrumpida a partir de su última
+     * instantánea y, si existe, de la cola del diario de decisiones posterior a ella.
+     * La configuración del aeropuerto se toma de la instantánea. Los aviones que ya
+     * habían terminado no se relanzan y el resto continúa desde su última petición
+     * concedida, con las pistas y puertas que tenían asignadas.
+     * @param snapshotPath Ruta de la instantánea (.snapshot).
+     * @param journalPath Ruta del diario de la ejecución interrumpida, o null.
+     * @param snapshotIntervalMs Intervalo de nuevas instantáneas en ms (0 = desactivadas).
+     */
+    public static void resumeSimulation(String snapshotPath, String journalPath, long snapshotIntervalMs) {
+        TowerSnapshot snapshot;
+        JournalReplayer tail = null;
+        try {
+            snapshot = TowerSnapshot.read(new File(snapshotPath));
+            if (journalPath != null && !journalPath.isEmpty()) {
+                tail = new JournalReplayer(journalPath).seedFromSnapshot(snapshot).replay();
+            }
+        } catch (IOException e) {
+            System.err.println("No se pudo reanudar la simulación: " + e.getMessage());
+            return;
+        }
+
+        SimulationConfig config = new SimulationConfig(snapshot.getNumFlights(), snapshot.getNumRunways(),
+                snapshot.getNumGates(), snapshot.getNumOperarios());
+        config.setJournalEnabled(tail != null);
+        config.setSnapshotIntervalMs(snapshotIntervalMs);
+        execute(config, snapshot, tail);
+    }
+
+    /**
+     * Ejecuta una simulación nueva o reanudada.
+     * @param config Parámetros de la simulación.
+     * @param snapshot Instantánea desde la que reanudar, o null para empezar de cero.
+     * @param tail Cola del diario ya reproducida sobre la instantánea, o null.
+     * @return Resultado de la simulación, o null si falló.
+     */
+    private static SimulationResult execute(SimulationConfig config, TowerSnapshot snapshot, JournalReplayer tail) {
+        int numAviones = config.getNumAviones();
+        int numPistas = config.getNumPistas();
+        int numPuertas = config.getNumPuertas();
+        int numOperarios = config.getNumOperarios();
         
         List<Airplane> airplaneThreads = new ArrayList<>();
-        List<Operator> operatorThreads = new ArrayList<>();
+        OperatorPool operatorPool = null;
+        TowerJournal journal = null;
+        SnapshotManager snapshotManager = null;
+        MetricsServer metricsServer = null;
+        FlightStreamServer flightStream = null;
+        TowerWatchdog watchdog = null;
         long tiempoInicio = System.currentTimeMillis();
 
         try {
             // Inicialización con parámetros dinámicos
             try {
-                Logger.setup("CONCURRENT", numAviones, numPistas, numPuertas, numOperarios);
+                Logger.setup("CONCURRENT", numAviones, numPistas, numPuertas, numOperarios, config.isBinaryLogEnabled());
             } catch (LogWriteException e) {
                 System.err.println(e.getMessage());
-                return;
+                return null;
             }
-            Logger.log("=== INICIO DE SIMULACIÓN CONCURRENTE ===");
+            if (config.isMergedLogEnabled()) Logger.enableMergedOutput();
+            Logger.enableRotation(new LogRotation(config.getLogSegmentBytes(), config.getLogSegmentMs(), config.getLogArchiveBytes()));
+            Logger.log(snapshot == null ? "=== INICIO DE SIMULACIÓN CONCURRENTE ===" : "=== REANUDACIÓN DE SIMULACIÓN CONCURRENTE ===");
             
+            FlightPanelJSON.getInstance().setFileOutputEnabled(config.isFlightPanelFileEnabled());
             FlightPanelJSON.getInstance().configure("CONCURRENT", numAviones, numPistas, numPuertas, numOperarios);
             
-            Window window = new Window();
+            Window window = config.isHeadless() ? null : new Window();
             
-            // Pasamos las pistas/puertas dinámicas al constructor
-            ControlTower tower = new ControlTower(window, numPistas, numPuertas);
+            // Pasamos las pistas/puertas dinámicas al constructor. Dentro de un
+            // SimulationContext (sin ventana) se reutiliza la torre de la ejecución anterior
+            SimulationContext context = SimulationContext.current();
+            ControlTower tower = context != null && window == null
+                    ? context.acquireTower(numPistas, numPuertas)
+                    : new ControlTower(window, numPistas, numPuertas);
+
+            // Política de concesión de pistas y puertas
+            tower.setGrantPolicy(config.getGrantPolicy().create());
+            Logger.log("Política de concesión: " + config.getGrantPolicy());
+            tower.setLandingScheduler(config.getLandingScheduler());
+            tower.setRequeueBackoffMs(Math.round(50 * config.getTimeScale()));
+            Logger.log("Planificación de aterrizajes: " + config.getLandingScheduler());
+
+            // Atributos de pistas y puertas (por defecto, todas admiten cualquier avión)
+            tower.configureResources(config.getHeavyOnlyRunways(), config.getStandardRunways(),
+                    config.getWideGates(), config.getNumTerminals());
+            if (config.getWideBodyPercent() > 0 || config.getNumTerminals() > 1) {
+                Logger.log(String.format("Restricciones: %d%% fuselaje ancho | Pistas solo pesados: %d | Pistas cortas: %d | Puertas anchas: %d | Terminales: %d",
+                        config.getWideBodyPercent(), config.getHeavyOnlyRunways(), config.getStandardRunways(),
+                        config.getWideGates(), config.getNumTerminals()));
+            }
+
+            // Diario binario de decisiones (opcional)
+            if (config.isJournalEnabled()) {
+                try {
+                    journal = new TowerJournal("CONCURRENT", numAviones, numPistas, numPuertas, numOperarios);
+                    tower.setJournal(journal);
+                    Logger.log("[JOURNAL] Registrando decisiones en " + journal.getFilePath());
+                } catch (IOException e) {
+                    Logger.log("[JOURNAL] [ERROR] No se pudo crear el diario: " + e.getMessage());
+                }
+            }
+
+            // Métricas en vivo por HTTP (opcional)
+            if (config.getMetricsPort() > 0) {
+                TowerMetrics metrics = new TowerMetrics(numPistas, numPuertas, numOperarios);
+                tower.setMetrics(metrics);
+                try {
+                    metricsServer = new MetricsServer(metrics, config.getMetricsPort());
+                    metricsServer.setQueueMonitor(tower.getQueueMonitor());
+                    metricsServer.start();
+                } catch (IOException e) {
+                    Logger.log("[METRICS] [ERROR] No se pudo abrir el puerto " + config.getMetricsPort() + ": " + e.getMessage());
+                }
+            }
+
+            // Panel de vuelos binario mapeado en memoria (opcional)
+            if (config.isFlightBoardEnabled()) {
+                try {
+                    FlightBoardMmap board = new FlightBoardMmap("CONCURRENT", numAviones, numPistas, numPuertas, numOperarios);
+                    tower.setFlightBoard(board);
+                    Logger.log("[BOARD] Panel binario en " + board.getFilePath());
+                } catch (IOException e) {
+                    Logger.log("[BOARD] [ERROR] No se pudo crear el panel binario: " + e.getMessage());
+                }
+            }
+
+            // Stream SSE del panel de vuelos (opcional)
+            if (config.getFlightStreamPort() > 0) {
+                try {
+                    flightStream = new FlightStreamServer(FlightPanelJSON.getInstance().getBus(), config.getFlightStreamPort());
+                    flightStream.start();
+                } catch (IOException e) {
+                    Logger.log("[PANEL SSE] [ERROR] No se pudo abrir el puerto " + config.getFlightStreamPort() + ": " + e.getMessage());
+                }
+            }
 
-            // Crear Operarios dinámicos
-            for (int i = 1; i <= numOperarios; i++) {
-                Operator op = new Operator(i, tower);
-                operatorThreads.add(op);
-                op.start();
+            // Crear Operarios dinámicos según el runtime elegido
+            if (config.getOperatorRuntime() == OperatorRuntime.WORK_STEALING) {
+                operatorPool = new WorkStealingOperatorPool(tower, numOperarios);
+            } else if (config.getOperatorRuntime() == OperatorRuntime.ELASTIC) {
+                operatorPool = new ElasticOperatorPool(tower, config.getMinOperarios(), numOperarios);
+            } else {
+                operatorPool = new FixedOperatorPool(tower, numOperarios);
             }
+            Logger.log("Runtime de operarios: " + config.getOperatorRuntime());
+            operatorPool.start();
 
             // Crear Aviones dinámicos
             for (int i = 1; i <= numAviones; i++) {
-                String id = String.format("IBE-%03d", i);
+                String id = snapshot != null ? snapshot.getFlightId(i - 1) : String.format("IBE-%03d", i);
                 Airplane plane = new Airplane(id, tower);
+                // Reparto uniforme de los aviones de fuselaje ancho y de las terminales
+                if (i * config.getWideBodyPercent() / 100 != (i - 1) * config.getWideBodyPercent() / 100) {
+                    plane.setAircraftClass(AircraftClass.WIDE_BODY);
+                }
+                if (config.getNumTerminals() > 1) plane.setTerminal(1 + (i - 1) % config.getNumTerminals());
+                if (!tower.canServe(plane)) {
+                    throw new IllegalStateException("El aeropuerto no tiene pista o puerta compatible con " + id
+                            + " (" + plane.getAircraftClass() + ", terminal " + plane.getTerminal() + ")");
+                }
                 airplaneThreads.add(plane);
             }
 
+            // Duración de maniobras y llegadas: variabilidad con semilla y escala del reloj
+            if (config.getSeed() != 0 || config.getTimeScale() != 1.0) {
+                assignTimings(airplaneThreads, config);
+                Logger.log(String.format("Variabilidad: semilla %d | Maniobras ±%d%% | Llegadas en %d ms | Escala del reloj %.2f",
+                        config.getSeed(), config.getTimingJitterPercent(), config.getArrivalSpreadMs(), config.getTimeScale()));
+            }
+
+            // Reanudación: progreso de cada avión y propiedad de pistas/puertas
+            if (snapshot != null) {
+                restoreState(tower, airplaneThreads, snapshot, tail);
+            }
+
             try {
                 tower.registerAirplanes(airplaneThreads);
             } catch (FlightPanelException e) {
                 Logger.log("[ERROR] " + e.getMessage());
             }
 
-            // Lanzar hilos
-            for (Airplane plane : airplaneThreads) plane.start();
+            // Vigilante de interbloqueos e inanición (opcional)
+            if (config.isWatchdogEnabled()) {
+                watchdog = new TowerWatchdog(tower, "CONCURRENT", numAviones, numPistas, numPuertas, numOperarios);
+                watchdog.start();
+            }
+
+            // Instantáneas periódicas (opcional)
+            if (config.getSnapshotIntervalMs() > 0) {
+                snapshotManager = new SnapshotManager(tower, config.getSnapshotIntervalMs(), "CONCURRENT",
+                        numAviones, numPistas, numPuertas, numOperarios);
+                snapshotManager.start();
+            }
+
+            // Lanzar hilos (al reanudar, los aviones que ya terminaron no se relanzan)
+            for (Airplane plane : airplaneThreads) {
+                if (!plane.isCycleCompleted()) plane.start();
+            }
 
-            // Wait (Join)
+            // Wait (Join), acotado por el tiempo máximo de ejecución si está configurado
+            long joinDeadline = config.getRunTimeoutMs() > 0 ? tiempoInicio + config.getRunTimeoutMs() : Long.MAX_VALUE;
             for (Airplane plane : airplaneThreads) {
-                try { plane.join(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+                try {
+                    if (joinDeadline == Long.MAX_VALUE) plane.join();
+                    else plane.join(Math.max(1, joinDeadline - System.currentTimeMillis()));
+                } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
             }
+            abortUnfinished(airplaneThreads);
+
+            // Parada ordenada de los operarios: drenaje con plazo y cierre de la cola
+            boolean clean = operatorPool.shutdown(config.getDrainTimeoutMs());
+            operatorPool = null;
+            List<String> problems = tower.verifyConsistency();
+            Logger.log("[SHUTDOWN] Operarios parados " + (clean ? "limpiamente" : "tras agotar el plazo de drenaje")
+                    + (problems.isEmpty() ? " | Estado de pistas y puertas coherente" : ""));
+            for (String problem : problems) Logger.log("[SHUTDOWN] [INCOHERENCIA] " + problem);
             
             // Verificación post-vuelo
             for (Airplane plane : airplaneThreads) {
@@ -78,31 +281,155 @@ public class MainConcurrente {
             }
 
             // CSV Final
-            try {
-                ReportManager.generateCSV(airplaneThreads, "CONCURRENT", numPistas, numPuertas, numOperarios);
-            } catch (CSVWriteException e) {
-                System.err.println(e.getMessage());
+            if (config.isReportEnabled()) {
+                try {
+                    ReportManager.generateCSV(airplaneThreads, "CONCURRENT", numPistas, numPuertas, numOperarios);
+                } catch (CSVWriteException e) {
+                    System.err.println(e.getMessage());
+                }
             }
-            
-            // Parar operarios
-            for (Operator op : operatorThreads) op.interrupt();
+
 
             // Tiempo total de ejecución
             long tiempoFin = System.currentTimeMillis();
             long tiempoTotal = tiempoFin - tiempoInicio;
+            if (config.isResultStoreEnabled()) {
+                try {
+                    ReportManager.storeResults(airplaneThreads, "CONCURRENT", config.getGrantPolicy().name(),
+                            numPistas, numPuertas, numOperarios, tiempoTotal, clean && problems.isEmpty());
+                } catch (ResultStoreException e) {
+                    System.err.println(e.getMessage());
+                }
+            }
             Logger.log("");
             Logger.log("════════════════════════════════════════════════════════════");
             Logger.log(String.format("TIEMPO TOTAL DE EJECUCIÓN: %d ms (%.2f segundos)", tiempoTotal, tiempoTotal / 1000.0));
             Logger.log(String.format("Aviones gestionados: %d | Pistas: %d | Puertas: %d | Operarios: %d", numAviones, numPistas, numPuertas, numOperarios));
+            Logger.log("Política " + config.getGrantPolicy() + " -> " + ReportManager.turnaroundSummary(airplaneThreads));
+            Logger.log(String.format("Planificación %s -> Utilización de pistas: %.1f%% | Esperas por compatibilidad: %d",
+                    config.getLandingScheduler(), tower.getRunwayUtilization() * 100, tower.getConstraintWaits()));
             Logger.log("════════════════════════════════════════════════════════════");
             Logger.log("");
             Logger.log("=== FIN DE LA SIMULACIÓN CONCURRENTE ===");
 
+            return new SimulationResult(config, context != null ? context.getRunId() : 0, tiempoTotal,
+                    ReportManager.turnaroundTimes(airplaneThreads), tower.getRunwayUtilization(),
+                    tower.getConstraintWaits(), true, clean, problems.size());
+
         } catch (Exception e) {
             System.err.println("ERROR CRÍTICO CONCURRENTE: " + e.getMessage());
             e.printStackTrace();
         } finally {
+            // Si la simulación falló antes de la parada ordenada, los operarios se paran aquí
+            if (operatorPool != null && !operatorPool.shutdown(config.getDrainTimeoutMs())) {
+                Logger.log("[SHUTDOWN] Operarios interrumpidos tras agotar el plazo de drenaje");
+            }
+            if (watchdog != null) watchdog.stop();
+            if (snapshotManager != null) snapshotManager.stop();
+            if (metricsServer != null) metricsServer.stop();
+            if (flightStream != null) flightStream.stop();
+            if (journal != null) journal.close();
             Logger.close();
         }
+        return null;
+    }
+
+    /**
+     * Asigna a cada avión la duración de sus maniobras y su instante de llegada.
+     * Con semilla, las duraciones varían de forma uniforme (±jitter) y las llegadas
+     * se reparten en la ventana configurada; la misma semilla da los mismos tiempos.
+     * Todo se multiplica por la escala del reloj.
+     * @param airplanes Aviones de la simulación, en orden.
+     * @param config Parámetros de la simulación.
+     */
+    private static void assignTimings(List<Airplane> airplanes, SimulationConfig config) {
+        Random random = config.getSeed() != 0 ? new Random(config.getSeed()) : null;
+        for (Airplane plane : airplanes) {
+            plane.setTimings(scaledDuration(Airplane.LANDING_MS, config, random),
+                    scaledDuration(Airplane.BOARDING_MS, config, random),
+                    scaledDuration(Airplane.DEPARTING_MS, config, random));
+            if (random != null && config.getArrivalSpreadMs() > 0) {
+                plane.setArrivalDelayMs(Math.round(random.nextDouble() * config.getArrivalSpreadMs() * config.getTimeScale()));
+            }
+        }
+    }
+
+    /**
+     * Aplica la escala del reloj y, si hay semilla, la variabilidad a una duración.
+     * @param baseMs Duración por defecto (ms).
+     * @param config Parámetros de la simulación.
+     * @param random Generador de la réplica, o null sin variabilidad.
+     * @return Duración en ms (al menos 1).
+     */
+    private static long scaledDuration(long baseMs, SimulationConfig config, Random random) {
+        double factor = config.getTimeScale();
+        if (random != null) factor *= 1 + config.getTimingJitterPercent() / 100.0 * (2 * random.nextDouble() - 1);
+        return Math.max(1, Math.round(baseMs * factor));
+    }
+
+    /**
+     * Interrumpe los aviones que no han terminado tras el tiempo máximo de ejecución,
+     * para que la simulación pueda cerrarse en vez de quedarse colgada.
+     * @param airplanes Aviones de la simulación.
+     */
+    private static void abortUnfinished(List<Airplane> airplanes) {
+        List<Airplane> pending = new ArrayList<>();
+        for (Airplane plane : airplanes) if (plane.isAlive()) pending.add(plane);
+        if (pending.isEmpty()) return;
+
+        StringBuilder ids = new StringBuilder();
+        for (Airplane plane : pending) {
+            ids.append(' ').append(plane.getAirplaneId()).append('(').append(plane.getAirplaneState()).append(')');
+            plane.interrupt();
+        }
+        Logger.log("[SHUTDOWN] Tiempo máximo agotado: " + pending.size() + " aviones sin terminar:" + ids);
+        for (Airplane plane : pending) {
+            try { plane.join(1000); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        }
+    }
+
+    /**
+     * Restaura el estado de la torre y de los aviones a partir de una instantánea.
+     * Si hay cola del diario, el progreso y la propiedad de recursos se adelantan
+     * hasta la última decisión registrada antes de la caída.
+     * @param tower Torre de control recién creada.
+     * @param airplanes Aviones, en el mismo orden que en la instantánea.
+     * @param snapshot Instantánea de partida.
+     * @param tail Cola del diario reproducida sobre la instantánea, o null.
+     */
+    private static void restoreState(ControlTower tower, List<Airplane> airplanes,
+                                     TowerSnapshot snapshot, JournalReplayer tail) {
+        Map<String, Airplane> byId = new HashMap<>();
+        int completed = 0;
+        for (int i = 0; i < airplanes.size(); i++) {
+            Airplane plane = airplanes.get(i);
+            byId.put(plane.getAirplaneId(), plane);
+            int granted = snapshot.getGrantedRequests(i) + (tail != null ? tail.getProgress(plane.getAirplaneId()) : 0);
+            plane.resumeFrom(Math.min(granted, Airplane.TOTAL_REQUESTS), snapshot.getElapsedMs(i));
+            if (plane.isCycleCompleted()) completed++;
+        }
+
+        // Propiedad de recursos: la del diario si lo hay, si no la de la instantánea
+        Map<Airplane, int[]> assignments = new HashMap<>();
+        for (int r = 0; r < snapshot.getNumRunways(); r++) {
+            Airplane owner = tail != null ? byId.get(tail.getRunwayOwnerId(r))
+                    : (snapshot.getRunwayOwner(r) >= 0 ? airplanes.get(snapshot.getRunwayOwner(r)) : null);
+            if (owner != null) assignments.computeIfAbsent(owner, a -> new int[] {-1, -1})[0] = r;
+        }
+        for (int g = 0; g < snapshot.getNumGates(); g++) {
+            Airplane owner = tail != null ? byId.get(tail.getGateOwnerId(g))
+                    : (snapshot.getGateOwner(g) >= 0 ? airplanes.get(snapshot.getGateOwner(g)) : null);
+            if (owner != null) assignments.computeIfAbsent(owner, a -> new int[] {-1, -1})[1] = g;
+        }
+        for (Map.Entry<Airplane, int[]> e : assignments.entrySet()) {
+            tower.restoreAssignment(e.getKey(), e.getValue()[0], e.getValue()[1]);
+        }
+        if (tail != null && !tail.isConsistent()) {
+            Logger.log("[SNAPSHOT] [AVISO] La cola del diario contiene inconsistencias:\n" + tail.getSummary());
+        }
+
+        Logger.log(String.format("[SNAPSHOT] Reanudando: %d aviones terminados, %d con recursos asignados, %d peticiones pendientes en la instantánea%s",
+                completed, assignments.size(), snapshot.getPendingCount(),
+                tail != null ? " (diario reproducido hasta el registro " + tail.getPosition() + ")" : ""));
     }
-}
\ No newline at end of file
+}
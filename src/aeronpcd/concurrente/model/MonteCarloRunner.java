@@ -0,0 +1,261 @@
+package aeronpcd.concurrente.model;
+
+import aeronpcd.concurrente.util.SampleStatistics;
+import aeronpcd.concurrente.util.SimulationContext;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Análisis Monte Carlo de una configuración del aeropuerto.
+ *
+ * FUNCIONAMIENTO:
+ * 1. Cada réplica es la misma configuración con una semilla distinta (derivada de
+ *    la semilla base, así que el análisis completo es reproducible): cambian la
+ *    duración de las maniobras y el instante de llegada de cada avión.
+ * 2. Las réplicas se reparten entre un pool fijo de hilos lanzadores. Cada hilo
+ *    tiene su propio SimulationContext (log, panel y torre aislados y reutilizados
+ *    entre sus réplicas), así que varias simulaciones corren a la vez en la JVM.
+ * 3. Al terminar se agregan con streams paralelos la media y el intervalo de
+ *    confianza del 95% de turnaround, rendimiento y utilización, y se escribe un
+ *    único resumen.
+ *
+ * Las réplicas se ejecutan siempre sin ventana, sin puertos HTTP y sin ficheros
+ * auxiliares (diario, instantáneas, panel binario, CSV): solo cuenta su resultado.
+ */
+public class MonteCarloRunner {
+
+    private final SimulationConfig base;
+    private final int replications;
+    private final int parallelism;
+    private final long baseSeed;
+    private boolean logEnabled = false;
+    private boolean progressEnabled = true;
+
+    private final List<SimulationResult> results = new ArrayList<>();
+    private final List<Long> seeds = new ArrayList<>();
+    private long elapsedMs;
+
+    // Métricas agregadas: nombre y extractor sobre el resultado de una réplica
+    private static final String[] METRIC_NAMES = {
+        "Turnaround medio (ms)", "Turnaround p95 (ms)", "Duración total (ms)",
+        "Rendimiento (aviones/s)", "Utilización de pistas (%)", "Esperas por compatibilidad"
+    };
+    private static final List<ToDoubleFunction<SimulationResult>> METRICS = List.of(
+        SimulationResult::getMeanTurnaround,
+        r -> r.getTurnaroundPercentile(95),
+        r -> r.getTotalMs(),
+        SimulationResult::getThroughput,
+        r -> r.getRunwayUtilization() * 100,
+        r -> r.getConstraintWaits()
+    );
+
+    /**
+     * Constructor del análisis.
+     * @param base Configuración a replicar (no se modifica).
+     * @param replications Número de réplicas.
+     * @param parallelism Réplicas simultáneas (hilos lanzadores).
+     * @param baseSeed Semilla de la que se derivan las de las réplicas.
+     */
+    public MonteCarloRunner(SimulationConfig base, int replications, int parallelism, long baseSeed) {
+        this.base = base;
+        this.replications = Math.max(1, replications);
+        this.parallelism = Math.max(1, parallelism);
+        this.baseSeed = baseSeed;
+    }
+
+    /**
+     * Activa el log de cada réplica (un archivo por réplica). Desactivado por defecto.
+     * @param logEnabled true para escribir el log de cada réplica.
+     */
+    public void setLogEnabled(boolean logEnabled) {
+        this.logEnabled = logEnabled;
+    }
+
+    /**
+     * Activa o desactiva los mensajes de progreso por consola (activados por defecto).
+     * @param progressEnabled true para informar cada 10% de réplicas.
+     */
+    public void setProgressEnabled(boolean progressEnabled) {
+        this.progressEnabled = progressEnabled;
+    }
+
+    // =========================================================================
+    // EJECUCIÓN
+    // =========================================================================
+
+    /**
+     * Ejecuta todas las réplicas y espera a que terminen.
+     * @return Resultados en orden de réplica (null en las que fallaron).
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera.
+     */
+    public List<SimulationResult> run() throws InterruptedException {
+        results.clear();
+        seeds.clear();
+        SplittableRandom seeder = new SplittableRandom(baseSeed);
+        for (int i = 0; i < replications; i++) {
+            long seed = seeder.nextLong();
+            seeds.add(seed != 0 ? seed : 1); // 0 significa "sin variabilidad"
+        }
+
+        // Un contexto por hilo lanzador: sus réplicas se ejecutan una tras otra y
+        // reutilizan la torre cuando coinciden pistas y puertas
+        ThreadLocal<SimulationContext> contexts = ThreadLocal.withInitial(() -> new SimulationContext(logEnabled));
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "MonteCarlo-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        long start = System.currentTimeMillis();
+        AtomicInteger done = new AtomicInteger();
+        int step = Math.max(1, replications / 10);
+        List<Future<SimulationResult>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < replications; i++) {
+                SimulationConfig config = replicaConfig(seeds.get(i));
+                futures.add(pool.submit(() -> {
+                    SimulationResult result = MainConcurrente.runIsolated(config, contexts.get());
+                    int n = done.incrementAndGet();
+                    if (progressEnabled && (n % step == 0 || n == replications)) {
+                        System.out.println("[MONTE CARLO] Réplicas completadas: " + n + "/" + replications);
+                    }
+                    return result;
+                }));
+            }
+            for (Future<SimulationResult> f : futures) {
+                try {
+                    results.add(f.get());
+                } catch (ExecutionException e) {
+                    results.add(null);
+                    System.err.println("[MONTE CARLO] Réplica fallida: " + e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        elapsedMs = System.currentTimeMillis() - start;
+        return results;
+    }
+
+    /**
+     * Crea la configuración de una réplica: la base con su semilla y sin
+     * componentes que compartan puertos o ficheros con las demás réplicas.
+     * @param seed Semilla de la réplica.
+     * @return Configuración de la réplica.
+     */
+    private SimulationConfig replicaConfig(long seed) {
+        SimulationConfig c = base.copy();
+        c.setSeed(seed);
+        c.setHeadless(true);
+        c.setMetricsPort(0);
+        c.setFlightStreamPort(0);
+        c.setJournalEnabled(false);
+        c.setSnapshotIntervalMs(0);
+        c.setFlightBoardEnabled(false);
+        c.setWatchdogEnabled(false);
+        c.setFlightPanelFileEnabled(false);
+        c.setReportEnabled(false);
+        return c;
+    }
+
+    // =========================================================================
+    // AGREGACIÓN
+    // =========================================================================
+
+    /**
+     * Obtiene los resultados válidos (completos, con parada limpia y coherentes).
+     * @return Resultados a agregar.
+     */
+    public List<SimulationResult> getValidResults() {
+        List<SimulationResult> valid = new ArrayList<>();
+        for (SimulationResult r : results) if (r != null && r.isValid()) valid.add(r);
+        return valid;
+    }
+
+    /**
+     * Agrega una métrica sobre las réplicas válidas.
+     * @param metric Extractor de la métrica.
+     * @return Media, desviación e intervalo de confianza del 95%.
+     */
+    public SampleStatistics aggregate(ToDoubleFunction<SimulationResult> metric) {
+        return SampleStatistics.of(getValidResults().parallelStream().mapToDouble(metric).toArray());
+    }
+
+    /**
+     * Genera el resumen del análisis: configuración, una línea por métrica con su
+     * intervalo de confianza y la tabla de réplicas.
+     * @return Texto del resumen.
+     */
+    public String getSummary() {
+        List<SimulationResult> valid = getValidResults();
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== ANÁLISIS MONTE CARLO ===\n");
+        sb.append(String.format(Locale.ROOT, "Configuración: %dAV-%dPIS-%dPUE-%dOPE | Runtime %s | Política %s | Planificación %s%n",
+                base.getNumAviones(), base.getNumPistas(), base.getNumPuertas(), base.getNumOperarios(),
+                base.getOperatorRuntime(), base.getGrantPolicy(), base.getLandingScheduler()));
+        sb.append(String.format(Locale.ROOT, "Variabilidad: maniobras ±%d%% | Llegadas en %d ms | Escala del reloj %.2f | Semilla base %d%n",
+                base.getTimingJitterPercent(), base.getArrivalSpreadMs(), base.getTimeScale(), baseSeed));
+        sb.append(String.format(Locale.ROOT, "Réplicas: %d (válidas %d) | Hilos: %d | Tiempo del análisis: %d ms%n%n",
+                results.size(), valid.size(), parallelism, elapsedMs));
+
+        sb.append(String.format(Locale.ROOT, "%-28s %12s %12s %25s %10s %10s %10s%n",
+                "MÉTRICA", "MEDIA", "± IC 95%", "INTERVALO", "DESV.", "MÍN", "MÁX"));
+        for (int i = 0; i < METRICS.size(); i++) {
+            SampleStatistics s = aggregate(METRICS.get(i));
+            double h = s.getHalfWidth95();
+            sb.append(String.format(Locale.ROOT, "%-28s %12.2f %12.2f %25s %10.2f %10.2f %10.2f%n",
+                    METRIC_NAMES[i], s.getMean(), h,
+                    String.format(Locale.ROOT, "[%.2f, %.2f]", s.getMean() - h, s.getMean() + h),
+                    s.getStdDev(), s.getMin(), s.getMax()));
+        }
+
+        sb.append("\nRÉPLICAS\n");
+        sb.append(String.format("%-6s %-22s %10s %12s %10s %10s %s%n",
+                "#", "SEMILLA", "TOTAL(ms)", "TURN.MEDIO", "TURN.P95", "PISTAS%", "VÁLIDA"));
+        for (int i = 0; i < results.size(); i++) {
+            SimulationResult r = results.get(i);
+            if (r == null) {
+                sb.append(String.format("%-6d %-22d %10s%n", i + 1, seeds.get(i), "FALLIDA"));
+                continue;
+            }
+            sb.append(String.format(Locale.ROOT, "%-6d %-22d %10d %12.0f %10d %10.1f %s%n",
+                    i + 1, seeds.get(i), r.getTotalMs(), r.getMeanTurnaround(), r.getTurnaroundPercentile(95),
+                    r.getRunwayUtilization() * 100, r.isValid() ? "sí" : "no"));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Escribe el resumen con la misma nomenclatura y carpeta que los logs.
+     * @return Ruta del archivo escrito.
+     * @throws FileNotFoundException Si no se puede crear el archivo.
+     */
+    public String writeSummary() throws FileNotFoundException {
+        String folderPath = "logs/concurrent/";
+        File folder = new File(folderPath);
+        if (!folder.exists()) {
+            folder.mkdirs();
+        }
+        String timeStamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String path = folderPath + String.format("aeron-MONTECARLO-%dAV-%dPIS-%dPUE-%dOPE-%s.summary",
+                base.getNumAviones(), base.getNumPistas(), base.getNumPuertas(), base.getNumOperarios(), timeStamp);
+        try (PrintWriter writer = new PrintWriter(new File(path))) {
+            writer.print(getSummary());
+        }
+        return path;
+    }
+}
@@ -1,6 +1,7 @@
 package aeronpcd.concurrente.model;
 
 import aeronpcd.concurrente.util.Logger;
+import aeronpcd.concurrente.util.TowerMetrics;
 
 /**
  * Representa a un Operario de la Torre de Control.
@@ -35,28 +36,46 @@ public class Operator extends Thread {
             while (!isInterrupted()) {
                 // 1. Obtener siguiente petición (bloqueante por semáforo)
                 // Si no hay nada en la cola, el hilo se queda dormido aquí
-                Request req = tower.getNextRequest();
+                Request req = tower.getNextRequest(id);
+                if (req == null) break; // Cola cerrada: fin de turno ordenado
+                tower.beginRequest();
+                long busyStart = System.nanoTime();
                 
                 // 2. Intentar procesarla (asignar recursos con monitor)
-                Logger.log("Operario " + id + " atiende petición de Avión " + req.getAirplane().getAirplaneId());
+                Logger.logServe(id, req.getAirplane().getAirplaneId());
 
                 boolean processed = tower.processRequest(req, id);
                 
                 if (processed) {
                     // Si tuvo éxito (había recursos), avisamos al avión
                     req.getAirplane().confirmRequestProcessed();
+                    recordBusy(busyStart);
+                    tower.endRequest();
                 } else {
                     // Si no había recursos (no hay pista/puerta libre),
                     // reencolamos la petición para intentarlo más tarde
-                    Logger.log("Operario " + id + ": Recursos ocupados, reencolando petición de " + req.getAirplane().getAirplaneId());
+                    Logger.logRequeue(id, req.getAirplane().getAirplaneId());
                     tower.addRequest(req); 
+                    recordBusy(busyStart);
+                    tower.endRequest();
                     
                     // Esperamos un poco para no saturar la cola reintentando constantemente
-                    Thread.sleep(50); 
+                    Thread.sleep(tower.getRequeueBackoffMs());
                 }
             }
+            Logger.log("Operario " + id + " finaliza su turno.");
         } catch (InterruptedException e) {
             Logger.log("Operario " + id + " finaliza su turno (interrumpido).");
         }
     }
+
+    /**
+     * Acumula en las métricas de la torre (si están activas) el tiempo de trabajo
+     * del operario en la petición actual, sin contar la espera tras un reencolado.
+     * @param busyStart Instante (System.nanoTime) en que el operario obtuvo la petición.
+     */
+    private void recordBusy(long busyStart) {
+        TowerMetrics metrics = tower.getMetrics();
+        if (metrics != null) metrics.onOperatorBusy(System.nanoTime() - busyStart);
+    }
 }
\ No newline at end of file
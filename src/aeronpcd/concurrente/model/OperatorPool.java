@@ -0,0 +1,63 @@
+package aeronpcd.concurrente.model;
+
+import java.util.List;
+
+/**
+ * Conjunto de operarios que atienden las peticiones de la Torre de Control.
+ * Permite a MainConcurrente arrancar y parar los operarios sin depender
+ * del runtime concreto (cola compartida o work-stealing).
+ */
+public interface OperatorPool {
+
+    /**
+     * Arranca los hilos operarios del pool.
+     */
+    void start();
+
+    /**
+     * Detiene los hilos operarios del pool inmediatamente (interrupción).
+     */
+    void stop();
+
+    /**
+     * Detiene el pool de forma ordenada y con tiempo acotado:
+     * 1. Espera a que la torre drene (cola vacía y ninguna petición en curso).
+     * 2. Cierra la cola para que los operarios terminen su turno sin interrupción.
+     * 3. Espera a los hilos hasta el límite; los rezagados se interrumpen.
+     * @param drainTimeoutMs Tiempo máximo total para drenar y parar.
+     * @return true si el pool se ha parado limpiamente dentro del plazo.
+     */
+    boolean shutdown(long drainTimeoutMs);
+
+    /**
+     * Obtiene el número de operarios del pool.
+     * @return Número de operarios.
+     */
+    int getOperatorCount();
+
+    /**
+     * Espera a que terminen los hilos hasta un instante límite e interrumpe los
+     * que sigan vivos.
+     * @param threads Hilos a esperar.
+     * @param deadlineMs Instante límite (System.currentTimeMillis).
+     * @return true si todos terminaron a tiempo.
+     */
+    static boolean joinUntil(List<? extends Thread> threads, long deadlineMs) {
+        boolean clean = true;
+        try {
+            for (Thread t : threads) {
+                long remaining = deadlineMs - System.currentTimeMillis();
+                if (remaining > 0) t.join(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Thread t : threads) {
+            if (t.isAlive()) {
+                clean = false;
+                t.interrupt();
+            }
+        }
+        return clean;
+    }
+}
@@ -0,0 +1,17 @@
+package aeronpcd.concurrente.model;
+
+/**
+ * Runtime de operarios disponible para la simulación concurrente.
+ * 
+ * - SHARED_QUEUE: Todos los operarios consumen de la cola compartida de la torre
+ *   (semáforos requestsAvailable + queueMutex). Es el diseño original.
+ * - WORK_STEALING: Cada operario tiene su propia deque local; los aviones envían
+ *   sus peticiones a un operario preferido y los operarios ociosos roban trabajo.
+ * - ELASTIC: Cola compartida con un número de operarios activos que varía entre un
+ *   mínimo y el máximo configurado según la profundidad de la cola y la latencia.
+ */
+public enum OperatorRuntime {
+    SHARED_QUEUE,
+    WORK_STEALING,
+    ELASTIC
+}
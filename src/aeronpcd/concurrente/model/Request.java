@@ -27,6 +27,20 @@ public class Request {
         this.timestamp = System.currentTimeMillis();
     }
 
+    /**
+     * Constructor de una petición que conserva la marca de tiempo de otra anterior
+     * (reencolados y peticiones que llegan por red).
+     * 
+     * @param airplane Avión que realiza la petición.
+     * @param type Tipo de acción solicitada.
+     * @param timestamp Marca de tiempo (ms) de creación de la petición original.
+     */
+    public Request(Airplane airplane, AirplaneState type, long timestamp) {
+        this.airplane = airplane;
+        this.type = type;
+        this.timestamp = timestamp;
+    }
+
     // Getters
     
     /**
@@ -47,6 +61,16 @@ public class Request {
         return type;
     }
 
+    /**
+     * Obtiene la marca de tiempo de creación de la petición.
+     * Se conserva en los reencolados, así que mide la espera total de la petición.
+     * 
+     * @return Milisegundos (System.currentTimeMillis) cuando se creó la petición.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
     /**
      * Representación en texto de la petición para debugging y logging.
      * 
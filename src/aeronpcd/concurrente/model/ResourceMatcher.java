@@ -0,0 +1,178 @@
+package aeronpcd.concurrente.model;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Índice de compatibilidad entre aviones, pistas y puertas.
+ *
+ * Mantiene un conjunto de bits de recursos libres y, por cada atributo (clase de
+ * avión, terminal), el conjunto de recursos compatibles. Buscar una pista o una
+ * puerta es intersecar conjuntos de bits (operaciones sobre palabras de 64 bits)
+ * y tomar el primer bit, en lugar de recorrer las listas comprobando cada recurso.
+ *
+ * No es seguro para varios hilos: la torre solo lo usa dentro de su monitor.
+ */
+public class ResourceMatcher {
+
+    private static final AircraftClass[] CLASSES = AircraftClass.values();
+
+    private final BitSet freeRunways = new BitSet();
+    private final BitSet freeGates = new BitSet();
+
+    // Pistas compatibles por clase de avión (índice = ordinal)
+    private final BitSet[] runwaysFor = new BitSet[CLASSES.length];
+    // Puertas compatibles por clase de avión y terminal (terminal 0 = cualquiera)
+    private final BitSet[][] gatesFor;
+
+    // Conjunto de trabajo reutilizado en cada búsqueda (evita reservar memoria)
+    private final BitSet scratch = new BitSet();
+    private static final BitSet EMPTY = new BitSet();
+
+    /**
+     * Construye el índice a partir de los atributos actuales de los recursos.
+     * Todos los recursos libres se marcan como libres.
+     * @param runways Pistas de la torre (su índice en la lista es su bit).
+     * @param gates Puertas de la torre (su índice en la lista es su bit).
+     */
+    public ResourceMatcher(List<Runway> runways, List<Gate> gates) {
+        int maxTerminal = 0;
+        for (Gate g : gates) maxTerminal = Math.max(maxTerminal, g.getTerminal());
+        this.gatesFor = new BitSet[CLASSES.length][maxTerminal + 1];
+
+        for (AircraftClass c : CLASSES) {
+            BitSet r = new BitSet();
+            for (int i = 0; i < runways.size(); i++) if (runways.get(i).getRunwayClass().accepts(c)) r.set(i);
+            runwaysFor[c.ordinal()] = r;
+            for (int t = 0; t <= maxTerminal; t++) {
+                BitSet g = new BitSet();
+                for (int i = 0; i < gates.size(); i++) {
+                    Gate gate = gates.get(i);
+                    if (gate.getSize().accepts(c) && (t == 0 || gate.getTerminal() == t)) g.set(i);
+                }
+                gatesFor[c.ordinal()][t] = g;
+            }
+        }
+        for (int i = 0; i < runways.size(); i++) freeRunways.set(i, runways.get(i).isAvailable());
+        for (int i = 0; i < gates.size(); i++) freeGates.set(i, gates.get(i).isFree());
+    }
+
+    // =========================================================================
+    // ACTUALIZACIÓN
+    // =========================================================================
+
+    /**
+     * Marca una pista como libre u ocupada.
+     * @param index Índice de la pista.
+     * @param free true si queda libre.
+     */
+    public void setRunwayFree(int index, boolean free) {
+        freeRunways.set(index, free);
+    }
+
+    /**
+     * Marca una puerta como libre u ocupada.
+     * @param index Índice de la puerta.
+     * @param free true si queda libre.
+     */
+    public void setGateFree(int index, boolean free) {
+        freeGates.set(index, free);
+    }
+
+    // =========================================================================
+    // CONSULTAS
+    // =========================================================================
+
+    /**
+     * Busca una pista libre compatible con el avión.
+     * @param airplane Avión que solicita la pista.
+     * @return Índice de la pista, o -1 si no hay ninguna.
+     */
+    public int findRunway(Airplane airplane) {
+        scratch.clear();
+        scratch.or(freeRunways);
+        scratch.and(runwaysFor[airplane.getAircraftClass().ordinal()]);
+        return scratch.nextSetBit(0);
+    }
+
+    /**
+     * Calcula las puertas libres compatibles con el avión (clase y terminal).
+     * El conjunto devuelto se reutiliza: solo es válido hasta la siguiente consulta.
+     * @param airplane Avión que solicita la puerta.
+     * @return Conjunto de índices de puertas candidatas.
+     */
+    public BitSet freeGatesFor(Airplane airplane) {
+        scratch.clear();
+        scratch.or(freeGates);
+        scratch.and(compatibleGatesFor(airplane));
+        return scratch;
+    }
+
+    /**
+     * Obtiene todas las pistas compatibles con el avión, libres u ocupadas.
+     * El conjunto es interno y precalculado: no debe modificarse.
+     * @param airplane Avión.
+     * @return Conjunto de índices de pistas compatibles.
+     */
+    public BitSet compatibleRunwaysFor(Airplane airplane) {
+        return runwaysFor[airplane.getAircraftClass().ordinal()];
+    }
+
+    /**
+     * Obtiene todas las puertas compatibles con el avión, libres u ocupadas.
+     * El conjunto es interno y precalculado: no debe modificarse.
+     * @param airplane Avión.
+     * @return Conjunto de índices de puertas compatibles (vacío si su terminal no existe).
+     */
+    public BitSet compatibleGatesFor(Airplane airplane) {
+        BitSet[] byTerminal = gatesFor[airplane.getAircraftClass().ordinal()];
+        int terminal = Math.max(0, airplane.getTerminal());
+        return terminal < byTerminal.length ? byTerminal[terminal] : EMPTY;
+    }
+
+    /**
+     * Indica si el índice tiene una pista marcada como libre.
+     * @param index Índice de la pista.
+     * @return true si está marcada como libre.
+     */
+    public boolean isRunwayFree(int index) {
+        return freeRunways.get(index);
+    }
+
+    /**
+     * Indica si el índice tiene una puerta marcada como libre.
+     * @param index Índice de la puerta.
+     * @return true si está marcada como libre.
+     */
+    public boolean isGateFree(int index) {
+        return freeGates.get(index);
+    }
+
+    /**
+     * Indica si hay alguna pista libre, sea o no compatible.
+     * @return true si hay al menos una pista libre.
+     */
+    public boolean anyRunwayFree() {
+        return !freeRunways.isEmpty();
+    }
+
+    /**
+     * Indica si hay alguna puerta libre, sea o no compatible.
+     * @return true si hay al menos una puerta libre.
+     */
+    public boolean anyGateFree() {
+        return !freeGates.isEmpty();
+    }
+
+    /**
+     * Indica si el aeropuerto tiene recursos compatibles con el avión, aunque
+     * ahora estén ocupados. Un avión sin pista o puerta compatible no podría
+     * completar nunca su ciclo.
+     * @param airplane Avión a comprobar.
+     * @return true si existe al menos una pista y una puerta compatibles.
+     */
+    public boolean canServe(Airplane airplane) {
+        return !runwaysFor[airplane.getAircraftClass().ordinal()].isEmpty()
+                && !compatibleGatesFor(airplane).isEmpty();
+    }
+}
@@ -9,15 +9,41 @@ public class Runway {
     private String id;             // Identificador (ej. "PIS1") 
     private boolean isFree;        // Estado de disponibilidad
     private Airplane currentPlane; // Avión que ocupa la pista actualmente
+    private final int index;       // Posición en la lista de la torre (bit en ResourceMatcher)
+    private RunwayClass runwayClass = RunwayClass.LONG; // Longitud (qué aviones admite)
+
+    // Tiempo de ocupación acumulado (para medir la utilización de las pistas)
+    private long occupiedSince = 0;
+    private long busyMs = 0;
 
     /**
      * Constructor de la pista.
      * @param id Identificador único de la pista.
      */
     public Runway(String id) {
+        this(id, -1);
+    }
+
+    /**
+     * Constructor de la pista con su posición en la torre.
+     * @param id Identificador único de la pista.
+     * @param index Índice de la pista en la lista de la torre.
+     */
+    public Runway(String id, int index) {
         this.id = id;
+        this.index = index;
+        this.isFree = true;
+        this.currentPlane = null;
+    }
+
+    /**
+     * Devuelve la pista a su estado inicial (libre y sin ocupación acumulada)
+     * para reutilizar la torre en otra simulación.
+     */
+    public void reset() {
         this.isFree = true;
         this.currentPlane = null;
+        this.busyMs = 0;
     }
 
     /**
@@ -29,6 +55,7 @@ public class Runway {
     public void occupy(Airplane plane) {
         this.isFree = false;
         this.currentPlane = plane;
+        this.occupiedSince = System.currentTimeMillis();
     }
 
     /**
@@ -37,6 +64,7 @@ public class Runway {
      * o cuando termina de despegar (DEPARTED).
      */
     public void release() {
+        if (!isFree) busyMs += System.currentTimeMillis() - occupiedSince;
         this.isFree = true;
         this.currentPlane = null;
     }
@@ -52,6 +80,33 @@ public class Runway {
         return id;
     }
 
+    /**
+     * Obtiene el índice de la pista en la lista de la torre.
+     * 
+     * @return Índice de la pista, o -1 si se creó sin índice.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Obtiene la clase de longitud de la pista.
+     * 
+     * @return Clase de la pista.
+     */
+    public RunwayClass getRunwayClass() {
+        return runwayClass;
+    }
+
+    /**
+     * Establece la clase de longitud de la pista.
+     * 
+     * @param runwayClass Nueva clase de la pista.
+     */
+    public void setRunwayClass(RunwayClass runwayClass) {
+        this.runwayClass = runwayClass;
+    }
+
     /**
      * Verifica si la pista está disponible para una nueva operación.
      * 
@@ -70,6 +125,16 @@ public class Runway {
         return currentPlane;
     }
 
+    /**
+     * Obtiene el tiempo total que la pista ha estado ocupada.
+     * Incluye la ocupación en curso, si la hay.
+     * 
+     * @return Milisegundos de ocupación acumulados.
+     */
+    public long getBusyMs() {
+        return isFree ? busyMs : busyMs + System.currentTimeMillis() - occupiedSince;
+    }
+
     /**
      * Representación en texto del estado de la pista.
      * 
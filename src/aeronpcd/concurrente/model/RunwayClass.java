@@ -0,0 +1,26 @@
+package aeronpcd.concurrente.model;
+
+/**
+ * Clase de longitud de una pista.
+ */
+public enum RunwayClass {
+    /** Pista corta: solo aviones de fuselaje estrecho. */
+    STANDARD,
+    /** Pista larga: admite cualquier avión (valor por defecto). */
+    LONG,
+    /** Pista larga reservada a aviones de fuselaje ancho. */
+    HEAVY_ONLY;
+
+    /**
+     * Indica si un avión de la clase dada puede usar una pista de esta clase.
+     * @param aircraftClass Clase del avión.
+     * @return true si son compatibles.
+     */
+    public boolean accepts(AircraftClass aircraftClass) {
+        switch (this) {
+            case STANDARD:   return aircraftClass == AircraftClass.NARROW_BODY;
+            case HEAVY_ONLY: return aircraftClass == AircraftClass.WIDE_BODY;
+            default:         return true;
+        }
+    }
+}
@@ -0,0 +1,547 @@
+package aeronpcd.concurrente.model;
+
+/**
+ * Parámetros de una simulación concurrente.
+ * Agrupa los valores que antes se pasaban uno a uno a MainConcurrente.runSimulation
+ * para poder añadir opciones nuevas sin cambiar la firma del método.
+ */
+public class SimulationConfig {
+
+    private final int numAviones;
+    private final int numPistas;
+    private final int numPuertas;
+    private final int numOperarios;
+
+    // Runtime de operarios (por defecto, la cola compartida original)
+    private OperatorRuntime operatorRuntime = OperatorRuntime.SHARED_QUEUE;
+
+    // Mínimo de operarios activos del runtime ELASTIC (el máximo es numOperarios)
+    private int minOperarios = 1;
+
+    // Política de concesión de pistas y puertas (por defecto, la greedy original)
+    private GrantPolicyType grantPolicy = GrantPolicyType.GREEDY;
+
+    // Asignación de pista y puerta al aterrizar (por defecto, ambas libres a la vez)
+    private LandingScheduler landingScheduler = LandingScheduler.GREEDY;
+
+    // Atributos de recursos y aviones (por defecto, todos compatibles entre sí)
+    private int wideBodyPercent = 0;    // Porcentaje de aviones de fuselaje ancho
+    private int heavyOnlyRunways = 0;   // Pistas exclusivas de fuselaje ancho
+    private int standardRunways = 0;    // Pistas cortas (solo fuselaje estrecho)
+    private int wideGates = -1;         // Puertas anchas (-1 = todas)
+    private int numTerminals = 1;       // Terminales (puertas y aviones repartidos en rueda)
+
+    // Parada: tiempo máximo de la simulación (0 = sin límite) y plazo de drenaje de los operarios
+    private long runTimeoutMs = 0;
+    private long drainTimeoutMs = 2000;
+
+    // Diario binario de decisiones de la torre (para reproducción determinista)
+    private boolean journalEnabled = false;
+
+    // Intervalo de instantáneas periódicas de la torre en ms (0 = desactivadas)
+    private long snapshotIntervalMs = 0;
+
+    // Puerto del endpoint HTTP de métricas en vivo (0 = desactivado)
+    private int metricsPort = 0;
+
+    // Puerto del stream SSE del panel de vuelos (0 = desactivado)
+    private int flightStreamPort = 0;
+
+    // Volcado del panel de vuelos al archivo JSON en cada cambio
+    private boolean flightPanelFileEnabled = true;
+
+    // Panel de vuelos binario mapeado en memoria para lectores de otros procesos
+    private boolean flightBoardEnabled = false;
+
+    // Vigilante de interbloqueos, inanición y avisos perdidos
+    private boolean watchdogEnabled = false;
+
+    // Sin ventana gráfica (ejecuciones en lote o en paralelo en la misma JVM)
+    private boolean headless = false;
+
+    // Informe CSV final con el tiempo de cada avión
+    private boolean reportEnabled = true;
+
+    // Resultado de la ejecución en el almacén columnar (logs/results/), también en lote
+    private boolean resultStoreEnabled = true;
+
+    // Log fusionado: búferes por hilo sin cerrojos y salida ordenada por instante
+    private boolean mergedLogEnabled = false;
+
+    // Log binario estructurado (.blog) en lugar de texto; se lee con LogRenderer
+    private boolean binaryLogEnabled = false;
+
+    // Rotación del log: tamaño y antigüedad de cada segmento (0 = sin límite) y
+    // tamaño máximo de los segmentos comprimidos (0 = se conservan todos)
+    private long logSegmentBytes = 0;
+    private long logSegmentMs = 0;
+    private long logArchiveBytes = 0;
+
+    // Variabilidad de las réplicas: semilla (0 = sin variabilidad, tiempos fijos),
+    // desviación de las maniobras en % y ventana de llegadas escalonadas en ms
+    private long seed = 0;
+    private int timingJitterPercent = 0;
+    private long arrivalSpreadMs = 0;
+
+    // Escala del reloj de las maniobras (1.0 = tiempo real; 0.1 = diez veces más rápido)
+    private double timeScale = 1.0;
+
+    /**
+     * Constructor de la configuración con los parámetros básicos del aeropuerto.
+     * @param numAviones Número de aviones a simular.
+     * @param numPistas Número de pistas disponibles.
+     * @param numPuertas Número de puertas de embarque disponibles.
+     * @param numOperarios Número de operarios concurrentes de la torre.
+     */
+    public SimulationConfig(int numAviones, int numPistas, int numPuertas, int numOperarios) {
+        this.numAviones = numAviones;
+        this.numPistas = numPistas;
+        this.numPuertas = numPuertas;
+        this.numOperarios = numOperarios;
+    }
+
+    /**
+     * Crea una copia de la configuración.
+     * @return Configuración nueva con los mismos valores.
+     */
+    public SimulationConfig copy() {
+        return copyWith(numAviones, numPistas, numPuertas, numOperarios);
+    }
+
+    /**
+     * Crea una copia de la configuración con otros recursos básicos y el resto de
+     * opciones iguales (barridos de parámetros y réplicas).
+     * @param numAviones Número de aviones.
+     * @param numPistas Número de pistas.
+     * @param numPuertas Número de puertas.
+     * @param numOperarios Número de operarios.
+     * @return Configuración nueva.
+     */
+    public SimulationConfig copyWith(int numAviones, int numPistas, int numPuertas, int numOperarios) {
+        SimulationConfig c = new SimulationConfig(numAviones, numPistas, numPuertas, numOperarios);
+        c.operatorRuntime = operatorRuntime;
+        c.setMinOperarios(minOperarios);
+        c.grantPolicy = grantPolicy;
+        c.landingScheduler = landingScheduler;
+        c.wideBodyPercent = wideBodyPercent;
+        c.heavyOnlyRunways = heavyOnlyRunways;
+        c.standardRunways = standardRunways;
+        c.wideGates = wideGates;
+        c.numTerminals = numTerminals;
+        c.runTimeoutMs = runTimeoutMs;
+        c.drainTimeoutMs = drainTimeoutMs;
+        c.journalEnabled = journalEnabled;
+        c.snapshotIntervalMs = snapshotIntervalMs;
+        c.metricsPort = metricsPort;
+        c.flightStreamPort = flightStreamPort;
+        c.flightPanelFileEnabled = flightPanelFileEnabled;
+        c.flightBoardEnabled = flightBoardEnabled;
+        c.watchdogEnabled = watchdogEnabled;
+        c.headless = headless;
+        c.reportEnabled = reportEnabled;
+        c.resultStoreEnabled = resultStoreEnabled;
+        c.mergedLogEnabled = mergedLogEnabled;
+        c.binaryLogEnabled = binaryLogEnabled;
+        c.logSegmentBytes = logSegmentBytes;
+        c.logSegmentMs = logSegmentMs;
+        c.logArchiveBytes = logArchiveBytes;
+        c.seed = seed;
+        c.timingJitterPercent = timingJitterPercent;
+        c.arrivalSpreadMs = arrivalSpreadMs;
+        c.timeScale = timeScale;
+        return c;
+    }
+
+    /**
+     * Obtiene el número de aviones a simular.
+     * @return Número de aviones.
+     */
+    public int getNumAviones() { return numAviones; }
+
+    /**
+     * Obtiene el número de pistas del aeropuerto.
+     * @return Número de pistas.
+     */
+    public int getNumPistas() { return numPistas; }
+
+    /**
+     * Obtiene el número de puertas de embarque del aeropuerto.
+     * @return Número de puertas.
+     */
+    public int getNumPuertas() { return numPuertas; }
+
+    /**
+     * Obtiene el número de operarios de la torre.
+     * @return Número de operarios.
+     */
+    public int getNumOperarios() { return numOperarios; }
+
+    /**
+     * Obtiene el runtime de operarios seleccionado.
+     * @return Runtime de operarios.
+     */
+    public OperatorRuntime getOperatorRuntime() { return operatorRuntime; }
+
+    /**
+     * Selecciona el runtime de operarios.
+     * @param operatorRuntime Runtime de operarios a utilizar.
+     */
+    public void setOperatorRuntime(OperatorRuntime operatorRuntime) { this.operatorRuntime = operatorRuntime; }
+
+    /**
+     * Obtiene el mínimo de operarios activos del pool elástico.
+     * @return Mínimo de operarios (el máximo es getNumOperarios()).
+     */
+    public int getMinOperarios() { return minOperarios; }
+
+    /**
+     * Establece el mínimo de operarios activos del pool elástico.
+     * @param minOperarios Mínimo de operarios, entre 1 y getNumOperarios().
+     */
+    public void setMinOperarios(int minOperarios) { this.minOperarios = Math.max(1, Math.min(minOperarios, numOperarios)); }
+
+    /**
+     * Obtiene la política de concesión de pistas y puertas.
+     * @return Política de concesión.
+     */
+    public GrantPolicyType getGrantPolicy() { return grantPolicy; }
+
+    /**
+     * Selecciona la política de concesión de pistas y puertas.
+     * @param grantPolicy Política de concesión a utilizar.
+     */
+    public void setGrantPolicy(GrantPolicyType grantPolicy) { this.grantPolicy = grantPolicy; }
+
+    /**
+     * Obtiene la estrategia de asignación de pista y puerta para los aterrizajes.
+     * @return Estrategia de aterrizaje.
+     */
+    public LandingScheduler getLandingScheduler() { return landingScheduler; }
+
+    /**
+     * Selecciona la estrategia de asignación de pista y puerta para los aterrizajes.
+     * @param landingScheduler GREEDY o LOOKAHEAD.
+     */
+    public void setLandingScheduler(LandingScheduler landingScheduler) { this.landingScheduler = landingScheduler; }
+
+    /**
+     * Obtiene el porcentaje de aviones de fuselaje ancho.
+     * @return Porcentaje (0..100).
+     */
+    public int getWideBodyPercent() { return wideBodyPercent; }
+
+    /**
+     * Establece el porcentaje de aviones de fuselaje ancho.
+     * @param wideBodyPercent Porcentaje (0..100).
+     */
+    public void setWideBodyPercent(int wideBodyPercent) { this.wideBodyPercent = Math.max(0, Math.min(100, wideBodyPercent)); }
+
+    /**
+     * Obtiene el número de pistas exclusivas de aviones de fuselaje ancho.
+     * @return Número de pistas HEAVY_ONLY.
+     */
+    public int getHeavyOnlyRunways() { return heavyOnlyRunways; }
+
+    /**
+     * Establece el número de pistas exclusivas de aviones de fuselaje ancho.
+     * @param heavyOnlyRunways Número de pistas HEAVY_ONLY.
+     */
+    public void setHeavyOnlyRunways(int heavyOnlyRunways) { this.heavyOnlyRunways = heavyOnlyRunways; }
+
+    /**
+     * Obtiene el número de pistas cortas (solo fuselaje estrecho).
+     * @return Número de pistas STANDARD.
+     */
+    public int getStandardRunways() { return standardRunways; }
+
+    /**
+     * Establece el número de pistas cortas (solo fuselaje estrecho).
+     * @param standardRunways Número de pistas STANDARD.
+     */
+    public void setStandardRunways(int standardRunways) { this.standardRunways = standardRunways; }
+
+    /**
+     * Obtiene el número de puertas anchas.
+     * @return Número de puertas anchas (todas, si no se ha fijado).
+     */
+    public int getWideGates() { return wideGates < 0 ? numPuertas : wideGates; }
+
+    /**
+     * Establece el número de puertas anchas; el resto serán estrechas.
+     * @param wideGates Número de puertas anchas (-1 para todas).
+     */
+    public void setWideGates(int wideGates) { this.wideGates = wideGates; }
+
+    /**
+     * Obtiene el número de terminales.
+     * @return Número de terminales (al menos 1).
+     */
+    public int getNumTerminals() { return numTerminals; }
+
+    /**
+     * Establece el número de terminales. Con más de una, cada avión debe
+     * estacionar en su terminal.
+     * @param numTerminals Número de terminales (al menos 1).
+     */
+    public void setNumTerminals(int numTerminals) { this.numTerminals = Math.max(1, numTerminals); }
+
+    /**
+     * Obtiene el tiempo máximo de la simulación.
+     * @return Milisegundos, o 0 si no hay límite.
+     */
+    public long getRunTimeoutMs() { return runTimeoutMs; }
+
+    /**
+     * Establece el tiempo máximo de la simulación; al agotarse, los aviones que
+     * no han terminado se interrumpen y la torre se cierra.
+     * @param runTimeoutMs Milisegundos (0 para no limitar).
+     */
+    public void setRunTimeoutMs(long runTimeoutMs) { this.runTimeoutMs = Math.max(0, runTimeoutMs); }
+
+    /**
+     * Obtiene el plazo para drenar y parar los operarios.
+     * @return Milisegundos.
+     */
+    public long getDrainTimeoutMs() { return drainTimeoutMs; }
+
+    /**
+     * Establece el plazo para drenar y parar los operarios; los que sigan vivos
+     * al agotarse se interrumpen.
+     * @param drainTimeoutMs Milisegundos.
+     */
+    public void setDrainTimeoutMs(long drainTimeoutMs) { this.drainTimeoutMs = Math.max(0, drainTimeoutMs); }
+
+    /**
+     * Indica si se registra el diario binario de decisiones de la torre.
+     * @return true si el diario está activo.
+     */
+    public boolean isJournalEnabled() { return journalEnabled; }
+
+    /**
+     * Activa o desactiva el diario binario de decisiones de la torre.
+     * @param journalEnabled true para registrar el diario.
+     */
+    public void setJournalEnabled(boolean journalEnabled) { this.journalEnabled = journalEnabled; }
+
+    /**
+     * Obtiene el intervalo entre instantáneas periódicas de la torre.
+     * @return Intervalo en milisegundos, o 0 si están desactivadas.
+     */
+    public long getSnapshotIntervalMs() { return snapshotIntervalMs; }
+
+    /**
+     * Establece el intervalo entre instantáneas periódicas de la torre.
+     * @param snapshotIntervalMs Intervalo en milisegundos (0 para desactivarlas).
+     */
+    public void setSnapshotIntervalMs(long snapshotIntervalMs) { this.snapshotIntervalMs = snapshotIntervalMs; }
+
+    /**
+     * Obtiene el puerto del endpoint HTTP de métricas en vivo.
+     * @return Puerto TCP, o 0 si el endpoint está desactivado.
+     */
+    public int getMetricsPort() { return metricsPort; }
+
+    /**
+     * Establece el puerto del endpoint HTTP de métricas en vivo.
+     * @param metricsPort Puerto TCP (0 para desactivarlo).
+     */
+    public void setMetricsPort(int metricsPort) { this.metricsPort = metricsPort; }
+
+    /**
+     * Obtiene el puerto del stream SSE del panel de vuelos.
+     * @return Puerto TCP, o 0 si el stream está desactivado.
+     */
+    public int getFlightStreamPort() { return flightStreamPort; }
+
+    /**
+     * Establece el puerto del stream SSE del panel de vuelos.
+     * @param flightStreamPort Puerto TCP (0 para desactivarlo).
+     */
+    public void setFlightStreamPort(int flightStreamPort) { this.flightStreamPort = flightStreamPort; }
+
+    /**
+     * Indica si el panel de vuelos se vuelca al archivo JSON en cada cambio.
+     * @return true si se escribe el archivo.
+     */
+    public boolean isFlightPanelFileEnabled() { return flightPanelFileEnabled; }
+
+    /**
+     * Activa o desactiva el volcado del panel de vuelos al archivo JSON.
+     * @param flightPanelFileEnabled true para escribir el archivo.
+     */
+    public void setFlightPanelFileEnabled(boolean flightPanelFileEnabled) { this.flightPanelFileEnabled = flightPanelFileEnabled; }
+
+    /**
+     * Indica si se publica el panel de vuelos binario mapeado en memoria.
+     * @return true si el panel binario está activo.
+     */
+    public boolean isFlightBoardEnabled() { return flightBoardEnabled; }
+
+    /**
+     * Activa o desactiva el panel de vuelos binario mapeado en memoria.
+     * @param flightBoardEnabled true para publicar el panel binario.
+     */
+    public void setFlightBoardEnabled(boolean flightBoardEnabled) { this.flightBoardEnabled = flightBoardEnabled; }
+
+    /**
+     * Indica si el vigilante de interbloqueos e inanición está activo.
+     * @return true si el vigilante está activo.
+     */
+    public boolean isWatchdogEnabled() { return watchdogEnabled; }
+
+    /**
+     * Activa o desactiva el vigilante de interbloqueos e inanición.
+     * @param watchdogEnabled true para activar el vigilante.
+     */
+    public void setWatchdogEnabled(boolean watchdogEnabled) { this.watchdogEnabled = watchdogEnabled; }
+
+    /**
+     * Indica si la simulación se ejecuta sin ventana gráfica.
+     * @return true si no se abre la ventana.
+     */
+    public boolean isHeadless() { return headless; }
+
+    /**
+     * Activa o desactiva la ejecución sin ventana gráfica.
+     * @param headless true para no abrir la ventana (ejecuciones en lote).
+     */
+    public void setHeadless(boolean headless) { this.headless = headless; }
+
+    /**
+     * Indica si se genera el informe CSV final.
+     * @return true si se escribe el CSV.
+     */
+    public boolean isReportEnabled() { return reportEnabled; }
+
+    /**
+     * Activa o desactiva el informe CSV final (las réplicas en lote solo devuelven su resultado).
+     * @param reportEnabled true para escribir el CSV.
+     */
+    public void setReportEnabled(boolean reportEnabled) { this.reportEnabled = reportEnabled; }
+
+    /**
+     * Indica si el resultado se guarda en el almacén columnar.
+     * @return true si se anexa una fila a logs/results/ al terminar.
+     */
+    public boolean isResultStoreEnabled() { return resultStoreEnabled; }
+
+    /**
+     * Activa o desactiva el almacén columnar de resultados (activo también en las
+     * réplicas en lote, para poder compararlas después).
+     * @param resultStoreEnabled true para guardar el resultado.
+     */
+    public void setResultStoreEnabled(boolean resultStoreEnabled) { this.resultStoreEnabled = resultStoreEnabled; }
+
+    /**
+     * Indica si el log se escribe en modo fusionado.
+     * @return true si cada hilo registra en su búfer y un hilo fusionador escribe.
+     */
+    public boolean isMergedLogEnabled() { return mergedLogEnabled; }
+
+    /**
+     * Activa o desactiva el log fusionado (sin contención entre hilos al registrar
+     * y con las líneas ordenadas por el instante del evento).
+     * @param mergedLogEnabled true para usar el modo fusionado.
+     */
+    public void setMergedLogEnabled(boolean mergedLogEnabled) { this.mergedLogEnabled = mergedLogEnabled; }
+
+    /**
+     * Indica si el log se escribe en formato binario estructurado.
+     * @return true si se genera un .blog en lugar de un .log.
+     */
+    public boolean isBinaryLogEnabled() { return binaryLogEnabled; }
+
+    /**
+     * Activa o desactiva el log binario estructurado (sin formatear texto al
+     * registrar; LogRenderer lo convierte al texto de siempre).
+     * @param binaryLogEnabled true para escribir el .blog.
+     */
+    public void setBinaryLogEnabled(boolean binaryLogEnabled) { this.binaryLogEnabled = binaryLogEnabled; }
+
+    /**
+     * Obtiene el tamaño a partir del cual se rota el log.
+     * @return Bytes por segmento, o 0 si no se rota por tamaño.
+     */
+    public long getLogSegmentBytes() { return logSegmentBytes; }
+
+    /**
+     * Establece el tamaño a partir del cual se rota el log.
+     * @param logSegmentBytes Bytes por segmento (0 = sin límite).
+     */
+    public void setLogSegmentBytes(long logSegmentBytes) { this.logSegmentBytes = Math.max(0, logSegmentBytes); }
+
+    /**
+     * Obtiene la antigüedad a partir de la cual se rota el log.
+     * @return Milisegundos por segmento, o 0 si no se rota por tiempo.
+     */
+    public long getLogSegmentMs() { return logSegmentMs; }
+
+    /**
+     * Establece la antigüedad a partir de la cual se rota el log.
+     * @param logSegmentMs Milisegundos por segmento (0 = sin límite).
+     */
+    public void setLogSegmentMs(long logSegmentMs) { this.logSegmentMs = Math.max(0, logSegmentMs); }
+
+    /**
+     * Obtiene el tamaño máximo de los segmentos comprimidos del log.
+     * @return Bytes, o 0 si se conservan todos.
+     */
+    public long getLogArchiveBytes() { return logArchiveBytes; }
+
+    /**
+     * Establece el tamaño máximo de los segmentos comprimidos; al superarlo se
+     * borran los más antiguos.
+     * @param logArchiveBytes Bytes (0 = sin límite).
+     */
+    public void setLogArchiveBytes(long logArchiveBytes) { this.logArchiveBytes = Math.max(0, logArchiveBytes); }
+
+    /**
+     * Obtiene la semilla de la variabilidad de la simulación.
+     * @return Semilla, o 0 si los tiempos son fijos.
+     */
+    public long getSeed() { return seed; }
+
+    /**
+     * Establece la semilla de la variabilidad (duración de maniobras y llegadas).
+     * La misma semilla reproduce los mismos tiempos de cada avión.
+     * @param seed Semilla, o 0 para tiempos fijos.
+     */
+    public void setSeed(long seed) { this.seed = seed; }
+
+    /**
+     * Obtiene la desviación máxima de la duración de las maniobras.
+     * @return Porcentaje (0 = duraciones fijas).
+     */
+    public int getTimingJitterPercent() { return timingJitterPercent; }
+
+    /**
+     * Establece la desviación máxima (uniforme, ±) de la duración de las maniobras.
+     * Solo se aplica con semilla.
+     * @param timingJitterPercent Porcentaje entre 0 y 90.
+     */
+    public void setTimingJitterPercent(int timingJitterPercent) { this.timingJitterPercent = Math.max(0, Math.min(90, timingJitterPercent)); }
+
+    /**
+     * Obtiene la ventana de llegadas escalonadas.
+     * @return Milisegundos (0 = todos los aviones llegan a la vez).
+     */
+    public long getArrivalSpreadMs() { return arrivalSpreadMs; }
+
+    /**
+     * Establece la ventana en la que llegan los aviones (uniforme). Solo se aplica con semilla.
+     * @param arrivalSpreadMs Milisegundos desde el arranque (0 = llegada simultánea).
+     */
+    public void setArrivalSpreadMs(long arrivalSpreadMs) { this.arrivalSpreadMs = Math.max(0, arrivalSpreadMs); }
+
+    /**
+     * Obtiene la escala del reloj de las maniobras.
+     * @return Factor sobre las duraciones (1.0 = tiempo real).
+     */
+    public double getTimeScale() { return timeScale; }
+
+    /**
+     * Establece la escala del reloj de las maniobras y de las llegadas.
+     * @param timeScale Factor entre 0.01 y 1.0 (menor = simulación más rápida).
+     */
+    public void setTimeScale(double timeScale) { this.timeScale = Math.max(0.01, Math.min(1.0, timeScale)); }
+}
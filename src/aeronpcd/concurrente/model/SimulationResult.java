@@ -0,0 +1,106 @@
+package aeronpcd.concurrente.model;
+
+import aeronpcd.concurrente.util.ReportManager;
+
+/**
+ * Resultado de una simulación concurrente, para comparar ejecuciones sin leer
+ * sus ficheros (barridos de parámetros y réplicas en la misma JVM).
+ */
+public class SimulationResult {
+
+    private final SimulationConfig config;
+    private final long runId;
+    private final long totalMs;
+    private final long[] turnaroundMs;     // Tiempos de ciclo ordenados de menor a mayor
+    private final double runwayUtilization;
+    private final long constraintWaits;
+    private final boolean completed;       // Todos los aviones despegaron
+    private final boolean cleanShutdown;   // Operarios parados dentro del plazo de drenaje
+    private final int inconsistencies;     // Incoherencias de la verificación final
+
+    /**
+     * Constructor del resultado.
+     * @param config Configuración de la simulación.
+     * @param runId Número de ejecución (0 fuera de un SimulationContext).
+     * @param totalMs Tiempo total de ejecución en ms.
+     * @param turnaroundMs Tiempos de ciclo de los aviones, ordenados.
+     * @param runwayUtilization Utilización media de las pistas (0..1).
+     * @param constraintWaits Esperas por restricciones de compatibilidad.
+     * @param completed true si todos los aviones completaron su ciclo.
+     * @param cleanShutdown true si los operarios pararon dentro del plazo.
+     * @param inconsistencies Número de incoherencias detectadas al cerrar.
+     */
+    public SimulationResult(SimulationConfig config, long runId, long totalMs, long[] turnaroundMs,
+                            double runwayUtilization, long constraintWaits, boolean completed,
+                            boolean cleanShutdown, int inconsistencies) {
+        this.config = config;
+        this.runId = runId;
+        this.totalMs = totalMs;
+        this.turnaroundMs = turnaroundMs;
+        this.runwayUtilization = runwayUtilization;
+        this.constraintWaits = constraintWaits;
+        this.completed = completed;
+        this.cleanShutdown = cleanShutdown;
+        this.inconsistencies = inconsistencies;
+    }
+
+    public SimulationConfig getConfig() { return config; }
+
+    public long getRunId() { return runId; }
+
+    public long getTotalMs() { return totalMs; }
+
+    public double getRunwayUtilization() { return runwayUtilization; }
+
+    public long getConstraintWaits() { return constraintWaits; }
+
+    public boolean isCompleted() { return completed; }
+
+    public boolean isCleanShutdown() { return cleanShutdown; }
+
+    public int getInconsistencies() { return inconsistencies; }
+
+    /**
+     * Indica si la ejecución es válida para comparar: completa, parada limpia y coherente.
+     * @return true si el resultado es fiable.
+     */
+    public boolean isValid() {
+        return completed && cleanShutdown && inconsistencies == 0;
+    }
+
+    /**
+     * Calcula el rendimiento del aeropuerto en la ejecución.
+     * @return Aviones atendidos por segundo.
+     */
+    public double getThroughput() {
+        return totalMs > 0 ? config.getNumAviones() * 1000.0 / totalMs : 0;
+    }
+
+    /**
+     * Calcula un percentil del tiempo de ciclo.
+     * @param p Percentil entre 0 y 100.
+     * @return Tiempo en ms, o 0 si no hay aviones.
+     */
+    public long getTurnaroundPercentile(double p) {
+        return turnaroundMs.length == 0 ? 0 : ReportManager.percentile(turnaroundMs, p);
+    }
+
+    /**
+     * Calcula el tiempo de ciclo medio.
+     * @return Media en ms, o 0 si no hay aviones.
+     */
+    public double getMeanTurnaround() {
+        if (turnaroundMs.length == 0) return 0;
+        long sum = 0;
+        for (long t : turnaroundMs) sum += t;
+        return (double) sum / turnaroundMs.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("R%d %dAV-%dPIS-%dPUE-%dOPE: %d ms | turnaround media %.0f p95 %d | pistas %.1f%%%s",
+                runId, config.getNumAviones(), config.getNumPistas(), config.getNumPuertas(), config.getNumOperarios(),
+                totalMs, getMeanTurnaround(), getTurnaroundPercentile(95), runwayUtilization * 100,
+                isValid() ? "" : " | NO VÁLIDA");
+    }
+}
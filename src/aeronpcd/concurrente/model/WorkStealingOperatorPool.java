@@ -0,0 +1,292 @@
+package aeronpcd.concurrente.model;
+
+import aeronpcd.concurrente.util.Logger;
+import aeronpcd.concurrente.util.TowerJournal;
+import aeronpcd.concurrente.util.TowerMetrics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runtime alternativo de operarios basado en deques locales con robo de trabajo.
+ *
+ * FUNCIONAMIENTO:
+ * 1. Cada operario tiene su propia deque (ConcurrentLinkedDeque, sin cerrojos).
+ * 2. Los aviones envían sus peticiones a un operario PREFERIDO (hash del ID del avión),
+ *    de modo que las peticiones consecutivas de un avión (LANDING_REQUESTED, LANDED...)
+ *    caen en el mismo operario y reaprovechan su caché.
+ * 3. El operario consume su deque por la cabeza (FIFO). Si está vacía, roba de la
+ *    cola de las deques de los demás operarios.
+ * 4. Si no hay trabajo en ninguna deque, el operario se aparca (LockSupport) hasta
+ *    que le llegue una petición. El aparcamiento es temporizado para que un aviso
+ *    perdido nunca deje al operario dormido indefinidamente.
+ *
+ * NOTA: ForkJoinPool implementa el mismo esquema internamente, pero no permite
+ * enviar una tarea a un worker concreto, que es justo lo que necesita la afinidad
+ * avión-operario. Por eso las deques y el robo se gestionan aquí de forma explícita.
+ */
+public class WorkStealingOperatorPool implements OperatorPool {
+
+    /** Tiempo máximo que un operario ocioso permanece aparcado antes de revisar las deques. */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final ControlTower tower;
+    private final List<Worker> workers = new ArrayList<>();
+    private volatile boolean running = false;
+
+    /**
+     * Constructor del pool con robo de trabajo.
+     * Registra el pool en la torre para que addRequest le envíe las peticiones.
+     * @param tower Torre de Control que procesa las peticiones.
+     * @param numOperarios Número de operarios (uno por deque).
+     */
+    public WorkStealingOperatorPool(ControlTower tower, int numOperarios) {
+        this.tower = tower;
+        for (int i = 1; i <= numOperarios; i++) {
+            workers.add(new Worker(i));
+        }
+        tower.setWorkStealingPool(this);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (Worker w : workers) w.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Worker w : workers) w.interrupt();
+        report();
+    }
+
+    @Override
+    public boolean shutdown(long drainTimeoutMs) {
+        long deadline = System.currentTimeMillis() + drainTimeoutMs;
+        boolean drained;
+        try {
+            drained = tower.awaitDrained(deadline);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            drained = false;
+        }
+        // Sin semáforo que desbloquear: basta con bajar la bandera y despertar a los aparcados
+        tower.closeQueue(0);
+        running = false;
+        for (Worker w : workers) LockSupport.unpark(w);
+        boolean clean = OperatorPool.joinUntil(workers, deadline) && drained;
+        report();
+        return clean;
+    }
+
+    /**
+     * Registra los contadores de cada operario.
+     */
+    private void report() {
+        for (Worker w : workers) {
+            Logger.log(String.format("Operario %d: procesadas %d, robadas %d",
+                    w.id, w.processed.get(), w.stolen.get()));
+        }
+    }
+
+    @Override
+    public int getOperatorCount() {
+        return workers.size();
+    }
+
+    /**
+     * Envía una petición a la deque del operario preferido del avión.
+     * Si ese operario está ocupado, despierta a un operario ocioso para que la robe.
+     * @param req La petición a encolar.
+     */
+    public void submit(Request req) {
+        Worker preferred = preferredWorker(req.getAirplane());
+        preferred.deque.offerLast(req);
+
+        if (preferred.idle) {
+            LockSupport.unpark(preferred);
+        } else {
+            for (Worker w : workers) {
+                if (w.idle) {
+                    LockSupport.unpark(w);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Cuenta las peticiones pendientes en todas las deques (aproximado, sin cerrojos).
+     * @return Peticiones pendientes.
+     */
+    public int pendingCount() {
+        int pending = 0;
+        for (Worker w : workers) pending += w.deque.size();
+        return pending;
+    }
+
+    /**
+     * Elimina de las deques las peticiones de aviones abandonados (Airplane.isAbandoned).
+     * Cada descarte cuenta como extracción en el diario y en las métricas.
+     * @return Peticiones eliminadas.
+     */
+    public List<Request> discardAbandoned() {
+        TowerJournal journal = tower.getJournal();
+        TowerMetrics metrics = tower.getMetrics();
+        List<Request> removed = new ArrayList<>();
+        for (Worker w : workers) {
+            for (Request req : w.deque) {
+                if (req.getAirplane().isAbandoned() && w.deque.removeFirstOccurrence(req)) {
+                    tower.getQueueMonitor().onDequeue(req);
+                    if (journal != null) journal.recordDequeue(req, 0);
+                    if (metrics != null) metrics.onDequeue();
+                    removed.add(req);
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Obtiene una copia de las peticiones pendientes en todas las deques.
+     * Solo se usa para la visualización; el orden es aproximado.
+     * @return Lista con las peticiones pendientes.
+     */
+    public List<Request> snapshotPending() {
+        List<Request> pending = new ArrayList<>();
+        for (Worker w : workers) pending.addAll(w.deque);
+        return pending;
+    }
+
+    /**
+     * Obtiene una muestra acotada de las peticiones pendientes para la
+     * visualización: recorre las deques sin cerrojos y para al llegar al máximo.
+     * @param max Número máximo de peticiones.
+     * @return Hasta max peticiones pendientes (orden aproximado).
+     */
+    public List<Request> samplePending(int max) {
+        List<Request> sample = new ArrayList<>(max);
+        for (Worker w : workers) {
+            for (Request req : w.deque) {
+                if (sample.size() == max) return sample;
+                sample.add(req);
+            }
+        }
+        return sample;
+    }
+
+    /**
+     * Selecciona el operario preferido de un avión a partir de su ID.
+     * @param airplane El avión que envía la petición.
+     * @return El operario asignado al avión.
+     */
+    private Worker preferredWorker(Airplane airplane) {
+        int index = Math.floorMod(airplane.getAirplaneId().hashCode(), workers.size());
+        return workers.get(index);
+    }
+
+    /**
+     * Intenta robar una petición de la cola de otro operario.
+     * Recorre las deques empezando por el vecino del ladrón para repartir los robos.
+     * @param thief El operario que intenta robar.
+     * @return La petición robada, o null si todas las deques están vacías.
+     */
+    private Request steal(Worker thief) {
+        int n = workers.size();
+        for (int k = 1; k < n; k++) {
+            Worker victim = workers.get((thief.id - 1 + k) % n);
+            Request req = victim.deque.pollLast();
+            if (req != null) return req;
+        }
+        return null;
+    }
+
+    /**
+     * Hilo operario con deque local.
+     */
+    private class Worker extends Thread {
+
+        private final int id;
+        private final ConcurrentLinkedDeque<Request> deque = new ConcurrentLinkedDeque<>();
+        private volatile boolean idle = false;
+
+        // Contadores del operario (se informan al parar el pool)
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger stolen = new AtomicInteger();
+
+        Worker(int id) {
+            this.id = id;
+            setName("Operario-WS-" + id);
+        }
+
+        /**
+         * Extrae la siguiente petición de la deque propia.
+         * Sin política de concesión es la cabeza (FIFO); con política, la elegida por
+         * GrantPolicy.selectNext. Si otro operario la roba a la vez, remove falla
+         * y se reintenta.
+         * @return La petición, o null si la deque está vacía.
+         */
+        private Request pollOwn() {
+            GrantPolicy policy = tower.getGrantPolicy();
+            if (policy == null) return deque.pollFirst();
+            while (true) {
+                Request best = GrantPolicy.selectNext(deque, policy);
+                if (best == null || deque.removeFirstOccurrence(best)) return best;
+            }
+        }
+
+        @Override
+        public void run() {
+            Logger.log("Operario " + id + " iniciando turno (work-stealing).");
+            try {
+                while (running && !isInterrupted()) {
+                    // 1. Trabajo propio (con política de concesión, la petición más prioritaria)
+                    Request req = pollOwn();
+
+                    // 2. Robo de trabajo
+                    if (req == null) {
+                        req = steal(this);
+                        if (req != null) stolen.incrementAndGet();
+                    }
+
+                    // 3. Sin trabajo: aparcar hasta que llegue una petición
+                    if (req == null) {
+                        idle = true;
+                        if (deque.isEmpty()) LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                        idle = false;
+                        continue;
+                    }
+
+                    tower.beginRequest();
+                    tower.getQueueMonitor().onDequeue(req);
+                    if (tower.getJournal() != null) tower.getJournal().recordDequeue(req, id);
+                    TowerMetrics metrics = tower.getMetrics();
+                    if (metrics != null) metrics.onDequeue();
+                    long busyStart = System.nanoTime();
+                    Logger.logServe(id, req.getAirplane().getAirplaneId());
+                    processed.incrementAndGet();
+
+                    if (tower.processRequest(req, id)) {
+                        req.getAirplane().confirmRequestProcessed();
+                        if (metrics != null) metrics.onOperatorBusy(System.nanoTime() - busyStart);
+                        tower.endRequest();
+                    } else {
+                        // Sin recursos: la petición vuelve a la deque del operario preferido
+                        Logger.logRequeue(id, req.getAirplane().getAirplaneId());
+                        tower.addRequest(req);
+                        if (metrics != null) metrics.onOperatorBusy(System.nanoTime() - busyStart);
+                        tower.endRequest();
+                        Thread.sleep(tower.getRequeueBackoffMs());
+                    }
+                }
+                Logger.log("Operario " + id + " finaliza su turno.");
+            } catch (InterruptedException e) {
+                Logger.log("Operario " + id + " finaliza su turno (interrumpido).");
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package aeronpcd.concurrente.net;
+
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Conexión NIO no bloqueante que intercambia tramas TowerMessage.
+ *
+ * - LECTURA: acumula bytes en un buffer y extrae todas las tramas completas.
+ * - ESCRITURA: cualquier hilo puede encolar tramas (send); el hilo del selector
+ *   las vacía en lote, de modo que varias peticiones en vuelo viajan juntas
+ *   en una sola escritura (pipelining).
+ */
+class FrameConnection {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final Selector selector;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private final ConcurrentLinkedQueue<ByteBuffer> outbox = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<FrameConnection> dirty;
+    private ByteBuffer pendingWrite;
+    private SelectionKey key;
+
+    /**
+     * Constructor de la conexión.
+     * @param channel Canal ya configurado en modo no bloqueante.
+     * @param selector Selector del hilo de E/S que atiende el canal.
+     * @param dirty Cola compartida de conexiones con escrituras pendientes.
+     */
+    FrameConnection(SocketChannel channel, Selector selector, ConcurrentLinkedQueue<FrameConnection> dirty) {
+        this.channel = channel;
+        this.selector = selector;
+        this.dirty = dirty;
+    }
+
+    void setKey(SelectionKey key) { this.key = key; }
+
+    SocketChannel getChannel() { return channel; }
+
+    /**
+     * Encola un mensaje para su envío. Seguro desde cualquier hilo.
+     * @param msg Mensaje a enviar.
+     */
+    void send(TowerMessage msg) {
+        outbox.add(msg.encode());
+        dirty.add(this);
+        selector.wakeup();
+    }
+
+    /**
+     * Activa el interés de escritura si hay tramas pendientes.
+     * Solo se llama desde el hilo del selector.
+     */
+    void armWrite() {
+        if (key != null && key.isValid() && (pendingWrite != null || !outbox.isEmpty())) {
+            key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+        }
+    }
+
+    /**
+     * Lee del canal y devuelve las tramas completas recibidas.
+     * Una trama que no cabe en el buffer de lectura o mal formada se rechaza con
+     * ProtocolException (quien lee cierra entonces la conexión).
+     * @return Lista de mensajes decodificados (puede estar vacía).
+     * @throws IOException Si el canal se ha cerrado, falla la lectura o llega una trama inválida.
+     */
+    List<TowerMessage> read() throws IOException {
+        int n = channel.read(readBuffer);
+        if (n < 0) throw new IOException("Conexión cerrada por el extremo remoto");
+
+        List<TowerMessage> messages = new ArrayList<>();
+        readBuffer.flip();
+        while (readBuffer.remaining() >= 4) {
+            int length = readBuffer.getInt(readBuffer.position());
+            if (length < TowerMessage.HEADER_SIZE - 4 || length > READ_BUFFER_SIZE - 4) {
+                throw new ProtocolException("Trama de " + length + " bytes fuera de rango");
+            }
+            if (readBuffer.remaining() < 4 + length) break;
+            int start = readBuffer.position() + 4;
+            messages.add(TowerMessage.decode(readBuffer.slice(start, length)));
+            readBuffer.position(start + length);
+        }
+        readBuffer.compact();
+        return messages;
+    }
+
+    /**
+     * Escribe en lote todas las tramas encoladas que admita el canal.
+     * Si el canal no acepta más bytes, conserva el resto para la siguiente vuelta.
+     * @throws IOException Si falla la escritura.
+     */
+    void flush() throws IOException {
+        while (true) {
+            if (pendingWrite == null) {
+                pendingWrite = drainOutbox();
+                if (pendingWrite == null) break;
+            }
+            channel.write(pendingWrite);
+            if (pendingWrite.hasRemaining()) return; // canal lleno, seguimos con OP_WRITE
+            pendingWrite = null;
+        }
+        key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+    }
+
+    /**
+     * Agrupa las tramas encoladas en un único buffer para una sola escritura.
+     * @return Buffer con todas las tramas, o null si no había ninguna.
+     */
+    private ByteBuffer drainOutbox() {
+        ByteBuffer first = outbox.poll();
+        if (first == null || outbox.isEmpty()) return first;
+
+        List<ByteBuffer> batch = new ArrayList<>();
+        batch.add(first);
+        int total = first.remaining();
+        ByteBuffer next;
+        while (total < READ_BUFFER_SIZE && (next = outbox.poll()) != null) {
+            batch.add(next);
+            total += next.remaining();
+        }
+        ByteBuffer merged = ByteBuffer.allocate(total);
+        for (ByteBuffer b : batch) merged.put(b);
+        merged.flip();
+        return merged;
+    }
+
+    /**
+     * Indica si la conexión ya se ha cerrado (por el cliente o por close()).
+     * @return true si el canal está cerrado.
+     */
+    boolean isClosed() {
+        return !channel.isOpen();
+    }
+
+    /**
+     * Cierra el canal ignorando errores.
+     */
+    void close() {
+        try {
+            if (key != null) key.cancel();
+            channel.close();
+        } catch (IOException ignored) { }
+    }
+}
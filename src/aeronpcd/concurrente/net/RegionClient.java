@@ -0,0 +1,122 @@
+package aeronpcd.concurrente.net;
+
+import aeronpcd.concurrente.exceptions.LogWriteException;
+import aeronpcd.concurrente.model.Airplane;
+import aeronpcd.concurrente.model.AirplaneState;
+import aeronpcd.concurrente.model.Operator;
+import aeronpcd.concurrente.util.Logger;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Simulación de una región con varios aeropuertos, cada uno en su propio proceso.
+ *
+ * Cada vuelo recorre las torres en el orden indicado: completa su ciclo completo
+ * (aterrizaje, embarque y despegue) en una torre y a continuación es traspasado
+ * a la siguiente, donde vuelve a empezar en IN_FLIGHT.
+ *
+ * Ejemplo en localhost con tres JVMs:
+ * <pre>
+ *  java aeronpcd.concurrente.net.TowerServer 7001 3 5 5
+ *  java aeronpcd.concurrente.net.TowerServer 7002 2 4 5
+ *  java aeronpcd.concurrente.net.RegionClient 20 0 localhost:7001 localhost:7002
+ * </pre>
+ *
+ * El segundo argumento indica cuántos operarios remotos lanzar contra cada torre
+ * desde este proceso (además de los operarios locales de cada TowerServer).
+ */
+public class RegionClient {
+
+    /**
+     * Punto de entrada del cliente de región.
+     * @param args aviones operariosRemotos host:puerto [host:puerto ...]
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 3) {
+            System.err.println("Uso: RegionClient <aviones> <operariosRemotos> <host:puerto> [host:puerto ...]");
+            return;
+        }
+        int numAviones = Integer.parseInt(args[0]);
+        int remoteOperators = Integer.parseInt(args[1]);
+
+        try {
+            Logger.setup("REGION", numAviones, 0, 0, remoteOperators);
+        } catch (LogWriteException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+
+        List<RemoteControlTower> towers = new ArrayList<>();
+        List<Operator> operators = new ArrayList<>();
+        try {
+            for (int i = 2; i < args.length; i++) {
+                String[] hostPort = args[i].split(":");
+                towers.add(new RemoteControlTower(hostPort[0], Integer.parseInt(hostPort[1])));
+            }
+        } catch (IOException e) {
+            System.err.println("No se pudo conectar con la torre: " + e.getMessage());
+            towers.forEach(RemoteControlTower::close);
+            Logger.close();
+            return;
+        }
+
+        // Operarios remotos (opcional): consumen de la cola de cada torre por red
+        int opId = 100;
+        for (RemoteControlTower tower : towers) {
+            for (int i = 0; i < remoteOperators; i++) {
+                Operator op = new Operator(++opId, tower);
+                op.setDaemon(true);
+                operators.add(op);
+                op.start();
+            }
+        }
+
+        long inicio = System.currentTimeMillis();
+        List<Thread> flights = new ArrayList<>();
+        List<String> failed = new ArrayList<>();
+        for (int i = 1; i <= numAviones; i++) {
+            String id = String.format("IBE-%03d", i);
+            Thread flight = new Thread(() -> flyRegion(id, towers, failed), "Vuelo-" + id);
+            flights.add(flight);
+            flight.start();
+        }
+        for (Thread flight : flights) flight.join();
+
+        long total = System.currentTimeMillis() - inicio;
+        Logger.log(String.format("REGIÓN COMPLETADA: %d vuelos x %d torres en %d ms (fallidos: %d)",
+                numAviones, towers.size(), total, failed.size()));
+        System.out.println(String.format("Región completada en %d ms. Vuelos fallidos: %s", total, failed));
+
+        for (Operator op : operators) op.interrupt();
+        towers.forEach(RemoteControlTower::close);
+        Logger.close();
+    }
+
+    /**
+     * Ciclo de un vuelo a través de todas las torres de la región.
+     * En cada torre se crea un nuevo hilo Airplane (los hilos no se pueden reiniciar).
+     * @param id ID del vuelo.
+     * @param towers Torres remotas en orden de visita.
+     * @param failed Lista donde se anotan los vuelos que no completan su ciclo.
+     */
+    private static void flyRegion(String id, List<RemoteControlTower> towers, List<String> failed) {
+        try {
+            for (int leg = 0; leg < towers.size(); leg++) {
+                RemoteControlTower tower = towers.get(leg);
+                if (leg > 0) {
+                    Logger.log("Avión " + id + " traspasado de " + towers.get(leg - 1).getAddress() + " a " + tower.getAddress());
+                }
+                Airplane plane = new Airplane(id, tower);
+                plane.start();
+                plane.join();
+                if (plane.getAirplaneState() != AirplaneState.DEPARTED) {
+                    synchronized (failed) { failed.add(id); }
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package aeronpcd.concurrente.net;
+
+import aeronpcd.concurrente.model.Airplane;
+import aeronpcd.concurrente.model.ControlTower;
+import aeronpcd.concurrente.model.Gate;
+import aeronpcd.concurrente.model.Request;
+import aeronpcd.concurrente.model.Runway;
+import aeronpcd.concurrente.util.Logger;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Proxy de una Torre de Control que se ejecuta en otro proceso (TowerServer).
+ *
+ * Extiende ControlTower para que Airplane y Operator funcionen sin cambios:
+ * - addRequest: envía ENQUEUE sin esperar respuesta. El avión sigue bloqueado en su
+ *   confirmationLock hasta que llega el GRANT correspondiente.
+ * - getNextRequest: extrae peticiones de la cola remota (POLL) para operarios remotos.
+ * - processRequest: ejecuta la petición en el monitor de la torre remota (PROCESS).
+ *
+ * PIPELINING: todas las llamadas viajan por una única conexión NIO con un
+ * identificador de correlación, de modo que puede haber muchas peticiones en
+ * vuelo a la vez y las respuestas pueden llegar en cualquier orden.
+ */
+public class RemoteControlTower extends ControlTower {
+
+    /** Espera entre sondeos cuando la cola remota está vacía. */
+    private static final long POLL_BACKOFF_MS = 10;
+
+    /** Espera máxima de la respuesta a una llamada (POLL o PROCESS). */
+    private static final long CALL_TIMEOUT_MS = 30_000;
+
+    private final String address;
+    private final Selector selector;
+    private final FrameConnection conn;
+    private final ConcurrentLinkedQueue<FrameConnection> dirty = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger corrSeq = new AtomicInteger();
+
+    // Aviones locales esperando un GRANT, por identificador de correlación
+    private final Map<Integer, Airplane> pendingGrants = new ConcurrentHashMap<>();
+    // Llamadas síncronas (PROCESS, POLL) esperando respuesta
+    private final Map<Integer, CompletableFuture<TowerMessage>> pendingCalls = new ConcurrentHashMap<>();
+
+    // Réplicas locales de pistas, puertas y vuelos remotos (solo para mostrar IDs)
+    private final Map<String, Runway> runwayMirrors = new ConcurrentHashMap<>();
+    private final Map<String, Gate> gateMirrors = new ConcurrentHashMap<>();
+    private final Map<String, RemoteFlight> flightMirrors = new ConcurrentHashMap<>();
+
+    private volatile boolean running = true;
+    private final Thread ioThread;
+
+    /**
+     * Conecta con una torre remota.
+     * @param host Host de la torre (normalmente localhost).
+     * @param port Puerto de la torre.
+     * @throws IOException Si no se puede establecer la conexión.
+     */
+    public RemoteControlTower(String host, int port) throws IOException {
+        super(null, 0, 0);
+        this.address = host + ":" + port;
+        this.selector = Selector.open();
+
+        SocketChannel channel = SocketChannel.open();
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.connect(new InetSocketAddress(host, port));
+        channel.configureBlocking(false);
+
+        this.conn = new FrameConnection(channel, selector, dirty);
+        conn.setKey(channel.register(selector, SelectionKey.OP_READ, conn));
+
+        this.ioThread = new Thread(this::ioLoop, "RemoteTower-io-" + port);
+        ioThread.setDaemon(true);
+        ioThread.start();
+        Logger.log("[RED] Conectado a torre remota " + address);
+    }
+
+    /**
+     * Obtiene la dirección de la torre remota.
+     * @return Cadena host:puerto.
+     */
+    public String getAddress() {
+        return address;
+    }
+
+    /**
+     * Los aviones se registran en el panel de la torre remota al enviar su
+     * primera petición, así que aquí no hay nada que registrar localmente.
+     */
+    @Override
+    public void registerAirplanes(List<Airplane> airplanes) {
+        // Sin panel local
+    }
+
+    /**
+     * Envía la petición a la torre remota sin esperar respuesta (pipelining).
+     * Si la petición se extrajo con POLL y no pudo procesarse, se reencola remotamente.
+     * @param req La petición del avión.
+     */
+    @Override
+    public void addRequest(Request req) {
+        Airplane airplane = req.getAirplane();
+        if (!running) {
+            Logger.log("[RED] Torre remota " + address + " cerrada: se descarta la petición de " + airplane.getAirplaneId());
+            return;
+        }
+        TowerMessage msg;
+        if (airplane instanceof RemoteFlight) {
+            msg = new TowerMessage(TowerMessage.REQUEUE, corrSeq.incrementAndGet());
+        } else {
+            msg = new TowerMessage(TowerMessage.ENQUEUE, corrSeq.incrementAndGet());
+            pendingGrants.put(msg.getCorrId(), airplane);
+        }
+        msg.setFlightId(airplane.getAirplaneId());
+        msg.setRequestType(req.getType());
+        msg.setAirplaneState(airplane.getAirplaneState());
+        msg.setTimestamp(req.getTimestamp());
+        conn.send(msg);
+        Logger.log("Avión " + airplane.getAirplaneId() + " encolado en " + address + ": " + req.getType());
+    }
+
+    /**
+     * Extrae la siguiente petición de la cola de la torre remota.
+     * Si la cola está vacía, reintenta tras una breve espera.
+     * @param operarioId Identificador del operario remoto (no viaja por la red).
+     * @return La siguiente petición (sobre una réplica del avión remoto), o null si
+     *         la torre remota ya no responde (el operario termina su turno).
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera.
+     */
+    @Override
+    public Request getNextRequest(int operarioId) throws InterruptedException {
+        while (true) {
+            TowerMessage polled = call(new TowerMessage(TowerMessage.POLL, corrSeq.incrementAndGet()));
+            if (polled == null) return null;
+            if (!polled.getFlightId().isEmpty()) {
+                RemoteFlight flight = flightMirrors.computeIfAbsent(polled.getFlightId(), id -> new RemoteFlight(id, this));
+                return new Request(flight, polled.getRequestType(), polled.getTimestamp());
+            }
+            Thread.sleep(POLL_BACKOFF_MS);
+        }
+    }
+
+    /**
+     * Procesa la petición en el monitor de la torre remota.
+     * No es synchronized: el monitor que importa es el de la torre remota,
+     * y así varias llamadas pueden ir en vuelo a la vez.
+     * @param req La petición a procesar.
+     * @param operarioId Identificador del operario que procesa la petición.
+     * @return true si la torre remota concedió la petición (false también si no responde).
+     */
+    @Override
+    public boolean processRequest(Request req, int operarioId) {
+        Airplane airplane = req.getAirplane();
+        TowerMessage msg = new TowerMessage(TowerMessage.PROCESS, corrSeq.incrementAndGet());
+        msg.setFlightId(airplane.getAirplaneId());
+        msg.setRequestType(req.getType());
+        // Sin estado: la réplica del operario no lo conoce; el de la sombra lo fija el ENQUEUE del avión real
+        msg.setOperatorId(operarioId);
+        msg.setTimestamp(req.getTimestamp());
+        try {
+            TowerMessage result = call(msg);
+            if (result == null) return false;
+            if (result.isSuccess()) applyAssignment(airplane, result);
+            return result.isSuccess();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Cierra la conexión con la torre remota.
+     */
+    public void close() {
+        running = false;
+        selector.wakeup();
+        conn.close();
+        failPendingCalls(new IOException("Conexión con " + address + " cerrada"));
+    }
+
+    // =========================================================================
+    // E/S Y CORRELACIÓN DE RESPUESTAS
+    // =========================================================================
+
+    /**
+     * Envía un mensaje y espera su respuesta (como mucho CALL_TIMEOUT_MS).
+     * @param msg Mensaje a enviar.
+     * @return Respuesta de la torre remota, o null si la conexión se ha perdido o
+     *         no responde a tiempo.
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera.
+     */
+    private TowerMessage call(TowerMessage msg) throws InterruptedException {
+        CompletableFuture<TowerMessage> future = new CompletableFuture<>();
+        pendingCalls.put(msg.getCorrId(), future);
+        // Una llamada registrada justo después de cerrar no la vería failPendingCalls
+        if (!running) future.completeExceptionally(new IOException("Conexión con " + address + " cerrada"));
+        else conn.send(msg);
+        try {
+            return future.get(CALL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Logger.log("[RED] [ERROR] Torre remota " + address + " no disponible: " + e.getCause().getMessage());
+            return null;
+        } catch (TimeoutException e) {
+            Logger.log("[RED] [ERROR] Torre remota " + address + " sin respuesta en " + CALL_TIMEOUT_MS + " ms");
+            return null;
+        } finally {
+            pendingCalls.remove(msg.getCorrId());
+        }
+    }
+
+    /**
+     * Hace fallar todas las llamadas en espera (conexión perdida o cerrada).
+     * @param cause Motivo del fallo.
+     */
+    private void failPendingCalls(IOException cause) {
+        for (CompletableFuture<TowerMessage> f : pendingCalls.values()) f.completeExceptionally(cause);
+    }
+
+    /**
+     * Bucle del selector del cliente: lee respuestas y vacía el envío en lote.
+     */
+    private void ioLoop() {
+        try {
+            while (running) {
+                selector.select();
+                FrameConnection pending;
+                while ((pending = dirty.poll()) != null) pending.armWrite();
+
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isReadable()) {
+                        for (TowerMessage msg : conn.read()) onMessage(msg);
+                    }
+                    if (key.isValid() && key.isWritable()) conn.flush();
+                }
+            }
+        } catch (IOException e) {
+            if (running) Logger.log("[RED] [ERROR] Conexión con " + address + " perdida: " + e.getMessage());
+        } finally {
+            // Sin hilo de E/S ya no llegará ninguna respuesta
+            running = false;
+            failPendingCalls(new IOException("Conexión con " + address + " perdida"));
+            try {
+                selector.close();
+            } catch (IOException ignored) { }
+        }
+    }
+
+    /**
+     * Atiende una respuesta de la torre remota.
+     * @param msg Mensaje recibido.
+     */
+    private void onMessage(TowerMessage msg) {
+        if (msg.getType() == TowerMessage.GRANT) {
+            Airplane airplane = pendingGrants.remove(msg.getCorrId());
+            if (airplane != null) {
+                applyAssignment(airplane, msg);
+                airplane.confirmRequestProcessed();
+            }
+        } else {
+            CompletableFuture<TowerMessage> future = pendingCalls.remove(msg.getCorrId());
+            if (future != null) future.complete(msg);
+        }
+    }
+
+    /**
+     * Refleja en el avión local la pista y puerta que tiene asignadas en la torre remota.
+     * @param airplane Avión local.
+     * @param msg GRANT o RESULT con los recursos asignados.
+     */
+    private void applyAssignment(Airplane airplane, TowerMessage msg) {
+        String runwayId = msg.getRunwayId();
+        String gateId = msg.getGateId();
+        airplane.setAssignedRunway(runwayId.isEmpty() ? null : runwayMirrors.computeIfAbsent(runwayId, Runway::new));
+        airplane.setAssignedGate(gateId.isEmpty() ? null : gateMirrors.computeIfAbsent(gateId, Gate::new));
+    }
+}
@@ -0,0 +1,82 @@
+package aeronpcd.concurrente.net;
+
+import aeronpcd.concurrente.model.Airplane;
+import aeronpcd.concurrente.model.AirplaneState;
+import aeronpcd.concurrente.model.ControlTower;
+
+/**
+ * Avión "sombra" que representa en un proceso a un avión que vive en otro.
+ * Nunca se arranca como hilo: solo sirve para que la torre pueda asignarle
+ * pistas y puertas igual que a un avión local.
+ *
+ * - En el SERVIDOR: está vinculado a la conexión del cliente dueño del avión.
+ *   Cuando un operario confirma su petición, se envía un GRANT por la red.
+ * - En el CLIENTE: representa peticiones extraídas con POLL por operarios remotos.
+ *   No tiene conexión vinculada, así que la confirmación local no hace nada
+ *   (el avión real recibe su GRANT desde la torre).
+ *
+ * Como nunca es un hilo vivo, se considera abandonada solo cuando se cierra la
+ * conexión del cliente dueño del avión real (isAbandoned).
+ */
+class RemoteFlight extends Airplane {
+
+    private volatile FrameConnection owner;
+    private volatile FrameConnection connection;
+    private volatile int pendingCorrId;
+
+    /**
+     * Constructor del avión sombra.
+     * @param id Identificador del vuelo.
+     * @param tower Torre a la que pertenece la sombra.
+     */
+    RemoteFlight(String id, ControlTower tower) {
+        super(id, tower);
+    }
+
+    /**
+     * Vincula la sombra a la petición en curso de su avión real.
+     * @param owner Conexión del cliente que espera el GRANT.
+     * @param corrId Identificador de correlación de la petición.
+     */
+    void bind(FrameConnection owner, int corrId) {
+        this.owner = owner;
+        this.connection = owner;
+        this.pendingCorrId = corrId;
+    }
+
+    /**
+     * La sombra está abandonada cuando la conexión de su cliente se ha cerrado.
+     * En el cliente (sin conexión vinculada) nunca se considera abandonada.
+     * @return true si el cliente dueño del avión real se ha desconectado.
+     */
+    @Override
+    public boolean isAbandoned() {
+        FrameConnection conn = connection;
+        return conn != null && conn.isClosed();
+    }
+
+    /**
+     * Refleja en la sombra el estado que el avión real tenía al enviar la petición.
+     * @param state Estado del avión real.
+     */
+    void mirrorState(AirplaneState state) {
+        if (state != null && state != getAirplaneState()) setState(state);
+    }
+
+    /**
+     * Llamado por el operario que concede la petición: avisa al avión real
+     * enviando un GRANT con la pista y puerta que tiene asignadas ahora.
+     */
+    @Override
+    public void confirmRequestProcessed() {
+        FrameConnection conn = owner;
+        if (conn == null) return;
+        owner = null;
+
+        TowerMessage grant = new TowerMessage(TowerMessage.GRANT, pendingCorrId);
+        grant.setSuccess(true);
+        grant.setRunwayId(getAssignedRunway() != null ? getAssignedRunway().getId() : null);
+        grant.setGateId(getAssignedGate() != null ? getAssignedGate().getId() : null);
+        conn.send(grant);
+    }
+}
@@ -0,0 +1,248 @@
+package aeronpcd.concurrente.net;
+
+import aeronpcd.concurrente.model.AirplaneState;
+import java.net.ProtocolException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Mensaje del protocolo binario entre torres remotas y sus clientes.
+ *
+ * Formato de trama (big-endian):
+ * <pre>
+ *  int   longitud   (bytes que siguen a este campo)
+ *  byte  tipo       (ENQUEUE, REQUEUE, PROCESS, POLL, GRANT, RESULT, POLLED)
+ *  int   corrId     (identificador de correlación para el pipelining)
+ *  ...   cuerpo     (depende del tipo)
+ * </pre>
+ *
+ * Los IDs de vuelo, pista y puerta se codifican como cadenas cortas:
+ * 1 byte de longitud + bytes UTF-8 (longitud 0 = sin valor, como mucho
+ * MAX_STRING_BYTES). Las tramas recibidas se validan: un estado o una longitud
+ * fuera de rango se rechaza con ProtocolException.
+ * Los estados de avión viajan como el ordinal del enum AirplaneState (1 byte).
+ * Las peticiones (ENQUEUE, REQUEUE, PROCESS, POLLED) llevan además la marca de
+ * tiempo de creación de la petición (long), que se conserva en los reencolados.
+ */
+public class TowerMessage {
+
+    // --- TIPOS DE MENSAJE: cliente -> torre ---
+    /** Encola una petición de un avión; la torre responde con GRANT al procesarla. */
+    public static final byte ENQUEUE = 1;
+    /** Reencola una petición extraída con POLL que no se pudo procesar. */
+    public static final byte REQUEUE = 2;
+    /** Procesa una petición directamente en el monitor de la torre (respuesta RESULT). */
+    public static final byte PROCESS = 3;
+    /** Extrae la siguiente petición de la cola de la torre (respuesta POLLED). */
+    public static final byte POLL = 4;
+
+    // --- TIPOS DE MENSAJE: torre -> cliente ---
+    /** La petición encolada con ENQUEUE ha sido concedida por un operario. */
+    public static final byte GRANT = 10;
+    /** Resultado de un PROCESS. */
+    public static final byte RESULT = 11;
+    /** Petición extraída por un POLL (vuelo vacío si la cola estaba vacía). */
+    public static final byte POLLED = 12;
+
+    /** Tamaño de la cabecera de trama: longitud + tipo + corrId. */
+    public static final int HEADER_SIZE = 4 + 1 + 4;
+
+    /** Longitud máxima en bytes UTF-8 de un identificador (vuelo, pista o puerta). */
+    public static final int MAX_STRING_BYTES = 255;
+
+    private static final AirplaneState[] STATES = AirplaneState.values();
+
+    private byte type;
+    private int corrId;
+    private String flightId = "";
+    private AirplaneState requestType;
+    private AirplaneState airplaneState;
+    private int operatorId;
+    private boolean success;
+    private String runwayId = "";
+    private String gateId = "";
+    private long timestamp;
+
+    /**
+     * Constructor de un mensaje vacío del tipo indicado.
+     * @param type Tipo de mensaje.
+     * @param corrId Identificador de correlación.
+     */
+    public TowerMessage(byte type, int corrId) {
+        this.type = type;
+        this.corrId = corrId;
+    }
+
+    // =========================================================================
+    // CODIFICACIÓN
+    // =========================================================================
+
+    /**
+     * Codifica el mensaje como una trama completa (incluida la longitud).
+     * @return Buffer listo para escribir en el canal.
+     */
+    public ByteBuffer encode() {
+        byte[] flight = bytes(flightId);
+        byte[] runway = bytes(runwayId);
+        byte[] gate = bytes(gateId);
+
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_SIZE + 16 + flight.length + runway.length + gate.length + 3);
+        buf.putInt(0); // longitud, se rellena al final
+        buf.put(type);
+        buf.putInt(corrId);
+
+        switch (type) {
+            case ENQUEUE:
+            case REQUEUE:
+                putShortString(buf, flight);
+                buf.put((byte) requestType.ordinal());
+                buf.put((byte) airplaneState.ordinal());
+                buf.putLong(timestamp);
+                break;
+            case PROCESS:
+                putShortString(buf, flight);
+                buf.put((byte) requestType.ordinal());
+                buf.putShort((short) operatorId);
+                buf.putLong(timestamp);
+                break;
+            case GRANT:
+            case RESULT:
+                buf.put((byte) (success ? 1 : 0));
+                putShortString(buf, runway);
+                putShortString(buf, gate);
+                break;
+            case POLLED:
+                putShortString(buf, flight);
+                buf.put((byte) (requestType != null ? requestType.ordinal() : 0));
+                buf.putLong(timestamp);
+                break;
+            default:
+                // POLL no tiene cuerpo
+                break;
+        }
+
+        buf.putInt(0, buf.position() - 4);
+        buf.flip();
+        return buf;
+    }
+
+    /**
+     * Decodifica una trama completa (sin el campo de longitud) del buffer.
+     * @param buf Buffer posicionado al inicio del tipo de mensaje y limitado al final de la trama.
+     * @return Mensaje decodificado.
+     * @throws ProtocolException Si la trama está truncada o contiene valores fuera de rango.
+     */
+    public static TowerMessage decode(ByteBuffer buf) throws ProtocolException {
+        try {
+            return decodeFields(buf);
+        } catch (BufferUnderflowException e) {
+            throw new ProtocolException("Trama truncada");
+        }
+    }
+
+    private static TowerMessage decodeFields(ByteBuffer buf) throws ProtocolException {
+        TowerMessage msg = new TowerMessage(buf.get(), buf.getInt());
+        switch (msg.type) {
+            case ENQUEUE:
+            case REQUEUE:
+                msg.flightId = getShortString(buf);
+                msg.requestType = state(buf);
+                msg.airplaneState = state(buf);
+                msg.timestamp = buf.getLong();
+                break;
+            case PROCESS:
+                msg.flightId = getShortString(buf);
+                msg.requestType = state(buf);
+                msg.operatorId = buf.getShort();
+                msg.timestamp = buf.getLong();
+                break;
+            case GRANT:
+            case RESULT:
+                msg.success = buf.get() == 1;
+                msg.runwayId = getShortString(buf);
+                msg.gateId = getShortString(buf);
+                break;
+            case POLLED:
+                msg.flightId = getShortString(buf);
+                msg.requestType = state(buf);
+                msg.timestamp = buf.getLong();
+                break;
+            default:
+                break;
+        }
+        return msg;
+    }
+
+    private static byte[] bytes(String s) {
+        byte[] value = s == null ? new byte[0] : s.getBytes(StandardCharsets.UTF_8);
+        if (value.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Identificador de " + value.length + " bytes (máximo " + MAX_STRING_BYTES + "): " + s);
+        }
+        return value;
+    }
+
+    private static void putShortString(ByteBuffer buf, byte[] value) {
+        buf.put((byte) value.length);
+        buf.put(value);
+    }
+
+    private static String getShortString(ByteBuffer buf) throws ProtocolException {
+        int len = buf.get() & 0xFF;
+        if (len == 0) return "";
+        if (len > buf.remaining()) throw new ProtocolException("Cadena de " + len + " bytes en una trama de " + buf.remaining());
+        byte[] value = new byte[len];
+        buf.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static AirplaneState state(ByteBuffer buf) throws ProtocolException {
+        int ordinal = buf.get();
+        if (ordinal < 0 || ordinal >= STATES.length) throw new ProtocolException("Estado de avión desconocido: " + ordinal);
+        return STATES[ordinal];
+    }
+
+    // =========================================================================
+    // GETTERS Y SETTERS
+    // =========================================================================
+
+    public byte getType() { return type; }
+
+    public int getCorrId() { return corrId; }
+
+    public String getFlightId() { return flightId; }
+
+    public void setFlightId(String flightId) { this.flightId = flightId; }
+
+    public AirplaneState getRequestType() { return requestType; }
+
+    public void setRequestType(AirplaneState requestType) { this.requestType = requestType; }
+
+    public AirplaneState getAirplaneState() { return airplaneState; }
+
+    public void setAirplaneState(AirplaneState airplaneState) { this.airplaneState = airplaneState; }
+
+    public int getOperatorId() { return operatorId; }
+
+    public void setOperatorId(int operatorId) { this.operatorId = operatorId; }
+
+    public boolean isSuccess() { return success; }
+
+    public void setSuccess(boolean success) { this.success = success; }
+
+    public String getRunwayId() { return runwayId; }
+
+    public void setRunwayId(String runwayId) { this.runwayId = runwayId == null ? "" : runwayId; }
+
+    public String getGateId() { return gateId; }
+
+    public void setGateId(String gateId) { this.gateId = gateId == null ? "" : gateId; }
+
+    /**
+     * Obtiene la marca de tiempo de creación de la petición.
+     * @return Milisegundos (System.currentTimeMillis de la torre que creó la petición).
+     */
+    public long getTimestamp() { return timestamp; }
+
+    public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+}
@@ -0,0 +1,274 @@
+package aeronpcd.concurrente.net;
+
+import aeronpcd.concurrente.exceptions.LogWriteException;
+import aeronpcd.concurrente.model.ControlTower;
+import aeronpcd.concurrente.model.FixedOperatorPool;
+import aeronpcd.concurrente.model.OperatorPool;
+import aeronpcd.concurrente.model.Request;
+import aeronpcd.concurrente.util.FlightPanelJSON;
+import aeronpcd.concurrente.util.Logger;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Torre de Control de un aeropuerto expuesta por red (modo torre en red).
+ *
+ * Cada aeropuerto de la región se ejecuta en su propio proceso con una
+ * ControlTower local y sus operarios. Los aviones de otros procesos se
+ * comunican con ella mediante RemoteControlTower usando el protocolo TowerMessage.
+ *
+ * ARQUITECTURA:
+ * 1. Un hilo de E/S con Selector atiende todas las conexiones (NIO no bloqueante).
+ * 2. Las tramas recibidas se despachan a un hilo de trabajo para que el selector
+ *    nunca se bloquee en el monitor de la torre ni en la escritura del panel JSON.
+ * 3. Las respuestas (GRANT, RESULT, POLLED) se encolan en la conexión y se
+ *    escriben en lote desde el hilo de E/S.
+ *
+ * Uso: java aeronpcd.concurrente.net.TowerServer puerto pistas puertas operarios
+ */
+public class TowerServer {
+
+    private final ControlTower tower;
+    private final int port;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final ConcurrentLinkedQueue<FrameConnection> dirty = new ConcurrentLinkedQueue<>();
+    private final ExecutorService dispatcher;
+
+    // Aviones sombra de los vuelos remotos, por ID de vuelo
+    private final Map<String, RemoteFlight> flights = new ConcurrentHashMap<>();
+
+    private volatile boolean running = false;
+    private Thread ioThread;
+
+    /**
+     * Constructor del servidor de torre.
+     * @param tower Torre de Control local que procesa las peticiones remotas.
+     * @param port Puerto TCP en el que escuchar (0 = puerto libre cualquiera).
+     * @throws IOException Si no se puede abrir el puerto.
+     */
+    public TowerServer(ControlTower tower, int port) throws IOException {
+        this.tower = tower;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.bind(new InetSocketAddress("localhost", port));
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.port = ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+        this.dispatcher = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "TowerServer-dispatch");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Obtiene el puerto en el que escucha el servidor.
+     * @return Puerto TCP local.
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Arranca el hilo de E/S del servidor.
+     */
+    public void start() {
+        running = true;
+        ioThread = new Thread(this::ioLoop, "TowerServer-io-" + port);
+        ioThread.start();
+        Logger.log("[RED] Torre escuchando en localhost:" + port);
+    }
+
+    /**
+     * Detiene el servidor y cierra todas las conexiones.
+     */
+    public void stop() {
+        running = false;
+        selector.wakeup();
+        dispatcher.shutdownNow();
+        try {
+            if (ioThread != null) ioThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Bucle del selector: acepta conexiones, lee tramas y vacía escrituras pendientes.
+     */
+    private void ioLoop() {
+        try {
+            while (running) {
+                selector.select();
+
+                // Conexiones con respuestas encoladas por otros hilos
+                FrameConnection pending;
+                while ((pending = dirty.poll()) != null) pending.armWrite();
+
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (!key.isValid()) continue;
+
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    FrameConnection conn = (FrameConnection) key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            for (TowerMessage msg : conn.read()) {
+                                dispatcher.execute(() -> handle(conn, msg));
+                            }
+                        }
+                        if (key.isValid() && key.isWritable()) conn.flush();
+                    } catch (IOException e) {
+                        Logger.log("[RED] Conexión cerrada: " + e.getMessage());
+                        conn.close();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            Logger.log("[RED] [ERROR] Selector de la torre: " + e.getMessage());
+        } finally {
+            try {
+                selector.close();
+                serverChannel.close();
+            } catch (IOException ignored) { }
+        }
+    }
+
+    /**
+     * Acepta una nueva conexión de cliente y la registra en el selector.
+     * @throws IOException Si falla la aceptación.
+     */
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) return;
+        channel.configureBlocking(false);
+        channel.setOption(java.net.StandardSocketOptions.TCP_NODELAY, true);
+        FrameConnection conn = new FrameConnection(channel, selector, dirty);
+        conn.setKey(channel.register(selector, SelectionKey.OP_READ, conn));
+        Logger.log("[RED] Cliente conectado: " + channel.getRemoteAddress());
+    }
+
+    /**
+     * Atiende un mensaje recibido (hilo dispatcher).
+     * @param conn Conexión por la que llegó el mensaje.
+     * @param msg Mensaje decodificado.
+     */
+    private void handle(FrameConnection conn, TowerMessage msg) {
+        try {
+            switch (msg.getType()) {
+                case TowerMessage.ENQUEUE: {
+                    RemoteFlight flight = flightFor(msg.getFlightId());
+                    flight.mirrorState(msg.getAirplaneState());
+                    flight.bind(conn, msg.getCorrId());
+                    tower.addRequest(new Request(flight, msg.getRequestType()));
+                    break;
+                }
+                case TowerMessage.REQUEUE: {
+                    RemoteFlight flight = flightFor(msg.getFlightId());
+                    // Conserva la antigüedad de la petición extraída con POLL
+                    tower.addRequest(new Request(flight, msg.getRequestType(), msg.getTimestamp()));
+                    break;
+                }
+                case TowerMessage.PROCESS: {
+                    // El estado de la sombra solo lo actualiza el ENQUEUE del avión real:
+                    // el operario remoto trabaja sobre una réplica sin estado actualizado
+                    RemoteFlight flight = flightFor(msg.getFlightId());
+                    boolean ok = tower.processRequest(new Request(flight, msg.getRequestType(), msg.getTimestamp()), msg.getOperatorId());
+
+                    TowerMessage result = new TowerMessage(TowerMessage.RESULT, msg.getCorrId());
+                    result.setSuccess(ok);
+                    result.setRunwayId(flight.getAssignedRunway() != null ? flight.getAssignedRunway().getId() : null);
+                    result.setGateId(flight.getAssignedGate() != null ? flight.getAssignedGate().getId() : null);
+                    conn.send(result);
+
+                    // Si la petición venía de la cola, el avión real espera su GRANT
+                    if (ok) flight.confirmRequestProcessed();
+                    break;
+                }
+                case TowerMessage.POLL: {
+                    Request req = tower.tryGetNextRequest();
+                    TowerMessage polled = new TowerMessage(TowerMessage.POLLED, msg.getCorrId());
+                    if (req != null) {
+                        polled.setFlightId(req.getAirplane().getAirplaneId());
+                        polled.setRequestType(req.getType());
+                        polled.setTimestamp(req.getTimestamp());
+                    }
+                    conn.send(polled);
+                    break;
+                }
+                default:
+                    Logger.log("[RED] Mensaje desconocido: " + msg.getType());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Obtiene (o crea) el avión sombra de un vuelo remoto.
+     * @param flightId ID del vuelo.
+     * @return Avión sombra asociado.
+     */
+    private RemoteFlight flightFor(String flightId) {
+        return flights.computeIfAbsent(flightId, id -> new RemoteFlight(id, tower));
+    }
+
+    /**
+     * Punto de entrada para lanzar una torre en su propio proceso.
+     * @param args puerto pistas puertas operarios
+     */
+    public static void main(String[] args) {
+        if (args.length < 4) {
+            System.err.println("Uso: TowerServer <puerto> <pistas> <puertas> <operarios>");
+            return;
+        }
+        int port = Integer.parseInt(args[0]);
+        int numPistas = Integer.parseInt(args[1]);
+        int numPuertas = Integer.parseInt(args[2]);
+        int numOperarios = Integer.parseInt(args[3]);
+
+        try {
+            Logger.setup("NETWORK", 0, numPistas, numPuertas, numOperarios);
+        } catch (LogWriteException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+        FlightPanelJSON.getInstance().configure("NETWORK", 0, numPistas, numPuertas, numOperarios);
+
+        ControlTower tower = new ControlTower(null, numPistas, numPuertas);
+        OperatorPool operators = new FixedOperatorPool(tower, numOperarios);
+        try {
+            TowerServer server = new TowerServer(tower, port);
+            operators.start();
+            server.start();
+            System.out.println("TORRE EN RED ESCUCHANDO EN localhost:" + server.getPort());
+
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.stop();
+                operators.shutdown(2000); // Drenaje acotado antes de cerrar el log
+                Logger.close();
+            }));
+        } catch (IOException e) {
+            System.err.println("No se pudo abrir el puerto " + port + ": " + e.getMessage());
+            operators.stop();
+            Logger.close();
+        }
+    }
+
+}
@@ -1,29 +1,215 @@
 package aeronpcd.concurrente.util;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import aeronpcd.concurrente.model.AirplaneState;
 import aeronpcd.concurrente.model.Gate;
 import aeronpcd.concurrente.model.Request;
 import aeronpcd.concurrente.model.Runway;
 
 
+/**
+ * Representación en texto del estado de la torre (recursos y cola) para la GUI.
+ *
+ * El mapa de recursos es incremental: la disposición (ids, columnas, bordes) se
+ * calcula una vez al crear el objeto y se guarda en un búfer de caracteres con la
+ * posición de la celda de cada pista y puerta. Cuando un recurso cambia de estado
+ * solo se reescribe su celda, y el texto se regenera únicamente si algo cambió
+ * desde el último render. La cola se pinta truncada a las primeras peticiones.
+ */
 public class AirportState {
 
+    private static final String FREE = "🟢";
+    private static final String BUSY = "🔴";
+    private static final String COLUMN_SEPARATOR = "   ";
+
+    /** Peticiones de la cola que se pintan; el resto se resume con su número. */
+    public static final int MAX_QUEUE_LINES = 10;
+
+    // Etiquetas de cada tipo de petición, indexadas por ordinal
+    private static final String[] TYPE_LABELS = new String[AirplaneState.values().length];
+    static {
+        for (AirplaneState t : AirplaneState.values()) TYPE_LABELS[t.ordinal()] = typeLabel(t);
+    }
+
+    // Bordes y relleno precalculados (se crean bajo demanda la primera vez que se usa cada ancho)
+    private static final int CACHED_WIDTHS = 256;
+    private static final String[] BORDERS = new String[CACHED_WIDTHS];
+    private static final char[] SPACES = new char[CACHED_WIDTHS];
+    static {
+        Arrays.fill(SPACES, ' ');
+    }
+
+    // --- Estado del mapa de recursos incremental ---
+    private final StringBuilder buffer = new StringBuilder();
+    private final int[] runwayCells;     // Posición en el búfer del icono de cada pista
+    private final int[] gateCells;       // Posición en el búfer del icono de cada puerta
+    private final boolean[] runwayBusy;
+    private final boolean[] gateBusy;
+    private String cached;               // Último texto generado (válido si !dirty)
+    private boolean dirty = true;
+
+    /**
+     * Crea el mapa de recursos con la disposición fija de las pistas y puertas
+     * y su estado actual.
+     * @param runways Pistas del aeropuerto (en orden de índice).
+     * @param gates Puertas del aeropuerto (en orden de índice).
+     */
+    public AirportState(List<Runway> runways, List<Gate> gates) {
+        this.runwayCells = new int[runways.size()];
+        this.gateCells = new int[gates.size()];
+        this.runwayBusy = new boolean[runways.size()];
+        this.gateBusy = new boolean[gates.size()];
+
+        String[] runwayIds = new String[runways.size()];
+        for (int i = 0; i < runwayIds.length; i++) {
+            runwayIds[i] = runways.get(i).getId();
+            runwayBusy[i] = !runways.get(i).isAvailable();
+        }
+        String[] gateIds = new String[gates.size()];
+        for (int i = 0; i < gateIds.length; i++) {
+            gateIds[i] = gates.get(i).getId();
+            gateBusy[i] = gates.get(i).isOccupied();
+        }
+
+        String runwayIdLine = idLine(runwayIds);
+        String gateIdLine = idLine(gateIds);
+        String runwayTitle = runwayIds.length == 0 ? "Pistas: (vacías)" : "Pistas:";
+        String gateTitle = gateIds.length == 0 ? "Puertas: (vacías)" : "Puertas:";
+
+        // Ancho fijo: la línea de iconos nunca es más ancha que la de ids
+        int max = "Estado de recursos:".length();
+        max = Math.max(max, runwayTitle.length());
+        max = Math.max(max, gateTitle.length());
+        max = Math.max(max, runwayIdLine.length());
+        max = Math.max(max, gateIdLine.length());
+
+        buffer.append("\n");
+        buffer.append("╔").append(border(max)).append("╗\n");
+        appendLine(buffer, "Estado de recursos:", max);
+        appendSection(runwayTitle, runwayIds, runwayIdLine, runwayBusy, runwayCells, max);
+        appendLine(buffer, "", max);
+        appendSection(gateTitle, gateIds, gateIdLine, gateBusy, gateCells, max);
+        buffer.append("╚").append(border(max)).append("╝");
+    }
+
+    /**
+     * Añade al búfer el título, la línea de ids y la de iconos de una sección,
+     * guardando la posición del icono de cada recurso.
+     */
+    private void appendSection(String title, String[] ids, String idLine, boolean[] busy, int[] cells, int width) {
+        appendLine(buffer, title, width);
+        if (ids.length == 0) return;
+        appendLine(buffer, idLine, width);
+        int lineStart = buffer.length();
+        for (int i = 0; i < ids.length; i++) {
+            cells[i] = buffer.length();
+            buffer.append(busy[i] ? BUSY : FREE);
+            pad(buffer, columnWidth(ids[i]) - FREE.length());
+            if (i < ids.length - 1) buffer.append(COLUMN_SEPARATOR);
+        }
+        pad(buffer, width - (buffer.length() - lineStart));
+        buffer.append("\n");
+    }
+
+    private static String idLine(String[] ids) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < ids.length; i++) {
+            sb.append(ids[i]);
+            pad(sb, columnWidth(ids[i]) - ids[i].length());
+            if (i < ids.length - 1) sb.append(COLUMN_SEPARATOR);
+        }
+        return sb.toString();
+    }
+
+    private static int columnWidth(String id) {
+        return Math.max(id.length(), FREE.length());
+    }
+
+    // =========================================================================
+    // ACTUALIZACIÓN INCREMENTAL
+    // =========================================================================
+
+    /**
+     * Actualiza la celda de una pista. No hace nada si el estado no cambia.
+     * @param index Índice de la pista.
+     * @param busy true si la pista queda ocupada.
+     */
+    public synchronized void setRunwayBusy(int index, boolean busy) {
+        if (runwayBusy[index] == busy) return;
+        runwayBusy[index] = busy;
+        patch(runwayCells[index], busy);
+    }
+
+    /**
+     * Actualiza la celda de una puerta. No hace nada si el estado no cambia.
+     * @param index Índice de la puerta.
+     * @param busy true si la puerta queda ocupada.
+     */
+    public synchronized void setGateBusy(int index, boolean busy) {
+        if (gateBusy[index] == busy) return;
+        gateBusy[index] = busy;
+        patch(gateCells[index], busy);
+    }
+
+    /**
+     * Marca todos los recursos como libres (reinicio de la torre).
+     */
+    public synchronized void reset() {
+        for (int i = 0; i < runwayBusy.length; i++) setRunwayBusy(i, false);
+        for (int i = 0; i < gateBusy.length; i++) setGateBusy(i, false);
+    }
+
+    // Los dos iconos ocupan lo mismo, así que se sobrescriben en su sitio
+    private void patch(int cell, boolean busy) {
+        String icon = busy ? BUSY : FREE;
+        for (int i = 0; i < icon.length(); i++) buffer.setCharAt(cell + i, icon.charAt(i));
+        dirty = true;
+    }
+
+    /**
+     * Obtiene el mapa de recursos. Solo se regenera el texto si alguna celda
+     * cambió desde la llamada anterior.
+     * @return Texto del mapa de recursos.
+     */
+    public synchronized String render() {
+        if (dirty) {
+            cached = buffer.toString();
+            dirty = false;
+        }
+        return cached;
+    }
+
+    // =========================================================================
+    // RENDERIZADO COMPLETO (SIN ESTADO)
+    // =========================================================================
 
 	/**
      * Muestra el contenido de la cola de peticiones (FIFO) con una separación
      * visible arriba y abajo para que se vea claramente la cola.
+     * Solo se listan las primeras MAX_QUEUE_LINES peticiones; el resto se resume
+     * en una línea con su número.
      */
     public static String showRequestQueue(List<Request> requestQueue) {
-        int n = requestQueue.size();
-        List<String> lines = new ArrayList<>();
+        return showRequestQueue(requestQueue, requestQueue.size());
+    }
+
+    /**
+     * Muestra la cola a partir de su cabeza y su profundidad (vista de
+     * monitorización de la torre), sin necesidad de copiar la cola completa.
+     * @param head Primeras peticiones de la cola, en orden.
+     * @param depth Número total de peticiones en la cola.
+     */
+    public static String showRequestQueue(List<Request> head, int depth) {
+        // La cabeza puede ir un paso por detrás de la profundidad: se pinta lo que hay
+        int shown = Math.min(head.size(), MAX_QUEUE_LINES);
+        int n = Math.max(depth, shown);
         String title = "Cola de peticiones (" + n + ")";
         if (n == 0) {
             String empty = title + ": vacía";
             // sin márgenes laterales, el ancho es justo el de la línea
-            int innerWidth = empty.length();
-            String border = repeat('═', innerWidth);
+            String border = border(empty.length());
             StringBuilder sbEmpty = new StringBuilder();
             sbEmpty.append("╔").append(border).append("╗\n");
             sbEmpty.append(empty).append("\n");
@@ -31,31 +217,16 @@ public class AirportState {
             return sbEmpty.toString();
         }
 
-        lines.add(title + ":");
-        int i = 1;
-        for (Request r : requestQueue) {
-            String tipo;
-            switch (r.getType()) {
-            case LANDING:
-                tipo = "Aterrizaje 🛬";
-                break;
-            case LANDED:
-                tipo = "Aterrizado ✅";
-                break;
-            case BOARDED:
-                tipo = "Embarcado 🧳";
-                break;
-            case TAKEOFF_ASSIGNED:
-                tipo = "Despegue 🛫";
-                break;
-            case DEPARTED:
-                tipo = "Despegado ✈️";
-                break;
-            default:
-                tipo = r.getType().toString();
-                break;
-            }
-            lines.add("  " + i++ + ") " + tipo + " — " + r.getAirplane());
+        String[] lines = new String[shown + (n > shown ? 2 : 1)];
+        lines[0] = title + ":";
+        int i = 0;
+        for (Request r : head) {
+            if (i == shown) break;
+            lines[i + 1] = "  " + (i + 1) + ") " + TYPE_LABELS[r.getType().ordinal()] + " — " + r.getAirplane();
+            i++;
+        }
+        if (n > shown) {
+            lines[shown + 1] = "  ... y " + (n - shown) + " más";
         }
 
         // calcular ancho máximo de las líneas para la barra superior/inferior
@@ -65,135 +236,87 @@ public class AirportState {
                 max = l.length();
         }
 
-        String border = repeat('═', max);
+        String border = border(max);
         StringBuilder sb = new StringBuilder();
         sb.append("\n");
         sb.append("╔").append(border).append("╗\n");
         for (String l : lines) {
-            sb.append(l);
-            // rellenar espacios a la derecha para que coincida con el ancho del borde
-            int padding = max - l.length();
-            if (padding > 0) {
-                sb.append(repeat(' ', padding));
-            }
-            sb.append("\n");
+            appendLine(sb, l, max);
         }
         sb.append("╚").append(border).append("╝");
 
         return sb.toString();
     }
 
-    private static String repeat(char ch, int count) {
-        StringBuilder sb = new StringBuilder(count);
-        for (int i = 0; i < count; i++) {
-            sb.append(ch);
+    /**
+     * Muestra el estado de las pistas y de las puertas sin conservar nada entre
+     * llamadas. Para repintados frecuentes es preferible una instancia de
+     * AirportState actualizada con setRunwayBusy/setGateBusy.
+     */
+    public static String showResourcesStatus(List<Runway> runways, List<Gate> gates) {
+        return new AirportState(runways, gates).render();
+    }
+
+    /**
+     * Muestra la profundidad de la cola desglosada por tipo de petición.
+     * @param monitor Vista de monitorización de la cola.
+     * @return Línea con el número de peticiones de cada tipo.
+     */
+    public static String showDepthByType(QueueMonitor monitor) {
+        StringBuilder sb = new StringBuilder("Por tipo:");
+        for (AirplaneState t : QueueMonitor.REQUEST_TYPES) {
+            sb.append("  ").append(TYPE_LABELS[t.ordinal()]).append(' ').append(monitor.getDepth(t));
         }
         return sb.toString();
     }
 
-    // metodo para ver el estado de las pistas y de las puertas
-    public static String showResourcesStatus(List<Runway> runways, List<Gate> gates) {
-        List<String> lines = new ArrayList<>();
-        lines.add("Estado de recursos:");
-
-        // Pistas: ids en una línea, iconos justo debajo alineados por columna
-        if (runways.isEmpty()) {
-            lines.add("Pistas: (vacías)");
-        } else {
-            lines.add("Pistas:");
-            int nR = runways.size();
-            String[] idsR = new String[nR];
-            String[] iconsR = new String[nR];
-            int[] colW = new int[nR];
-
-            for (int i = 0; i < nR; i++) {
-                Runway r = runways.get(i);
-                idsR[i] = r.getId();
-                iconsR[i] = r.isAvailable() ? "🟢" : "🔴";
-                colW[i] = Math.max(idsR[i].length(), iconsR[i].length());
-            }
-
-            StringBuilder idLine = new StringBuilder();
-            StringBuilder iconLine = new StringBuilder();
-            for (int i = 0; i < nR; i++) {
-                idLine.append(idsR[i]);
-                iconLine.append(iconsR[i]);
-                int padId = colW[i] - idsR[i].length();
-                int padIcon = colW[i] - iconsR[i].length();
-                if (padId > 0)
-                    idLine.append(repeat(' ', padId));
-                if (padIcon > 0)
-                    iconLine.append(repeat(' ', padIcon));
-                if (i < nR - 1) {
-                    idLine.append("   "); // separación entre columnas
-                    iconLine.append("   ");
-                }
-            }
-            lines.add(idLine.toString());
-            lines.add(iconLine.toString());
+    private static String typeLabel(AirplaneState type) {
+        switch (type) {
+        case LANDING:
+            return "Aterrizaje 🛬";
+        case LANDED:
+            return "Aterrizado ✅";
+        case BOARDED:
+            return "Embarcado 🧳";
+        case TAKEOFF_ASSIGNED:
+            return "Despegue 🛫";
+        case DEPARTED:
+            return "Despegado ✈️";
+        default:
+            return type.toString();
         }
+    }
 
-        // Separador visual entre secciones
-        lines.add("");
-
-        // Puertas: mismo formato que pistas
-        if (gates.isEmpty()) {
-            lines.add("Puertas: (vacías)");
-        } else {
-            lines.add("Puertas:");
-            int nG = gates.size();
-            String[] idsG = new String[nG];
-            String[] iconsG = new String[nG];
-            int[] colWg = new int[nG];
-
-            for (int i = 0; i < nG; i++) {
-                Gate g = gates.get(i);
-                idsG[i] = g.getId();
-                iconsG[i] = g.isOccupied() ? "🔴" : "🟢";
-                colWg[i] = Math.max(idsG[i].length(), iconsG[i].length());
-            }
-
-            StringBuilder idLineG = new StringBuilder();
-            StringBuilder iconLineG = new StringBuilder();
-            for (int i = 0; i < nG; i++) {
-                idLineG.append(idsG[i]);
-                iconLineG.append(iconsG[i]);
-                int padId = colWg[i] - idsG[i].length();
-                int padIcon = colWg[i] - iconsG[i].length();
-                if (padId > 0)
-                    idLineG.append(repeat(' ', padId));
-                if (padIcon > 0)
-                    iconLineG.append(repeat(' ', padIcon));
-                if (i < nG - 1) {
-                    idLineG.append("   ");
-                    iconLineG.append("   ");
-                }
-            }
-            lines.add(idLineG.toString());
-            lines.add(iconLineG.toString());
-        }
+    // rellenar espacios a la derecha para que coincida con el ancho del borde
+    private static void appendLine(StringBuilder sb, String line, int width) {
+        sb.append(line);
+        pad(sb, width - line.length());
+        sb.append("\n");
+    }
 
-        // calcular ancho máximo de las líneas para la barra superior/inferior
-        int max = 0;
-        for (String l : lines) {
-            if (l.length() > max)
-                max = l.length();
+    private static void pad(StringBuilder sb, int count) {
+        while (count > 0) {
+            int chunk = Math.min(count, SPACES.length);
+            sb.append(SPACES, 0, chunk);
+            count -= chunk;
         }
+    }
 
-        String border = repeat('═', max);
-        StringBuilder sb = new StringBuilder();
-        sb.append("\n");
-        sb.append("╔").append(border).append("╗\n");
-        for (String l : lines) {
-            sb.append(l);
-            int padding = max - l.length();
-            if (padding > 0) {
-                sb.append(repeat(' ', padding));
-            }
-            sb.append("\n");
+    private static String border(int width) {
+        if (width >= CACHED_WIDTHS) return repeat('═', width);
+        String border = BORDERS[width];
+        if (border == null) {
+            border = repeat('═', width);
+            BORDERS[width] = border;
         }
-        sb.append("╚").append(border).append("╝");
+        return border;
+    }
 
+    private static String repeat(char ch, int count) {
+        StringBuilder sb = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            sb.append(ch);
+        }
         return sb.toString();
     }
 
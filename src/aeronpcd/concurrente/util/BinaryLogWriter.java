@@ -0,0 +1,150 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.model.AirplaneState;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Log binario estructurado (.blog).
+ *
+ * En lugar de líneas de texto guarda cada evento como un registro de tamaño fijo
+ * con sus campos (tipo de evento, índice de vuelo, ordinales de estado, operario,
+ * referencia de texto e instante). Los IDs de vuelo y los textos libres se
+ * guardan una sola vez en registros de definición y después se referencian por
+ * índice, así que registrar un evento no formatea ninguna cadena. LogRenderer
+ * reconstruye a partir del fichero el log de texto de siempre, o lo filtra y resume.
+ *
+ * Formato (big-endian):
+ * <pre>
+ * Cabecera: int MAGIC | int VERSION | long inicio (epoch ms) | long inicio (nanoTime)
+ * DEF_FLIGHT: byte 0x70 | int índice | int longitud | bytes UTF-8 del ID
+ * DEF_TEXT:   byte 0x71 | int índice | int longitud | bytes UTF-8 del texto
+ * Evento:     byte ordinal de LogEvent | long ns desde el inicio | int vuelo (-1)
+ *             | byte estado (-1) | byte estado 2 (-1) | short operario (-1) | int texto (-1)
+ * </pre>
+ *
+ * No es seguro entre hilos: Logger serializa las escrituras (o las hace el fusionador).
+ */
+public class BinaryLogWriter {
+
+    /** Identificador del formato al inicio del fichero. */
+    public static final int MAGIC = 0x4145524C; // "AERL"
+    public static final int VERSION = 1;
+    public static final byte DEF_FLIGHT = 0x70;
+    public static final byte DEF_TEXT = 0x71;
+
+    // Textos distintos que se recuerdan; a partir de aquí los nuevos se definen
+    // pero no se guardan (mensajes con datos variables que no se repiten)
+    private static final int MAX_CACHED_TEXTS = 8192;
+
+    private final DataOutputStream out;
+    private final String filePath;
+    private final long startNanos;
+    private final Map<String, Integer> flights = new HashMap<>();
+    private final Map<String, Integer> texts = new HashMap<>();
+    private int nextText = 0;
+
+    /**
+     * Crea el fichero y escribe la cabecera.
+     * @param filePath Ruta del fichero .blog.
+     * @throws IOException Si no se puede crear el fichero.
+     */
+    public BinaryLogWriter(String filePath) throws IOException {
+        this.filePath = filePath;
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(new File(filePath)), 1 << 16));
+        this.startNanos = System.nanoTime();
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(System.currentTimeMillis());
+        out.writeLong(startNanos);
+    }
+
+    /**
+     * Obtiene la ruta del fichero.
+     * @return Ruta del fichero .blog.
+     */
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Escribe un evento.
+     * @param nanos Instante del evento (System.nanoTime()).
+     * @param event Tipo de evento.
+     * @param flight ID del vuelo, o null.
+     * @param state Estado, o null.
+     * @param state2 Segundo estado, o null.
+     * @param operator ID del operario, o -1.
+     * @param text Texto libre, o null.
+     * @throws IOException Si falla la escritura.
+     */
+    public void write(long nanos, LogEvent event, String flight, AirplaneState state, AirplaneState state2,
+                      int operator, String text) throws IOException {
+        int flightRef = flight != null ? flightIndex(flight) : -1;
+        int textRef = text != null ? textIndex(text) : -1;
+        out.writeByte(event.ordinal());
+        out.writeLong(nanos - startNanos);
+        out.writeInt(flightRef);
+        out.writeByte(state != null ? state.ordinal() : -1);
+        out.writeByte(state2 != null ? state2.ordinal() : -1);
+        out.writeShort(operator);
+        out.writeInt(textRef);
+    }
+
+    private int flightIndex(String flight) throws IOException {
+        Integer index = flights.get(flight);
+        if (index == null) {
+            index = flights.size();
+            flights.put(flight, index);
+            define(DEF_FLIGHT, index, flight);
+        }
+        return index;
+    }
+
+    private int textIndex(String text) throws IOException {
+        Integer index = texts.get(text);
+        if (index != null) return index;
+        int i = nextText++;
+        if (texts.size() < MAX_CACHED_TEXTS) texts.put(text, i);
+        define(DEF_TEXT, i, text);
+        return i;
+    }
+
+    private void define(byte tag, int index, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(tag);
+        out.writeInt(index);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Obtiene los bytes escritos en el fichero (incluidos los pendientes de volcar).
+     * @return Tamaño del fichero tras volcar el búfer.
+     */
+    public long size() {
+        return out.size();
+    }
+
+    /**
+     * Vuelca al disco los registros pendientes.
+     * @throws IOException Si falla la escritura.
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Cierra el fichero.
+     * @throws IOException Si falla el cierre.
+     */
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,280 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.model.Airplane;
+import aeronpcd.concurrente.model.AirplaneState;
+import aeronpcd.concurrente.model.Gate;
+import aeronpcd.concurrente.model.Runway;
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Panel de vuelos binario en un fichero mapeado en memoria, con lectores sin cerrojos.
+ *
+ * Cada vuelo ocupa un slot fijo de 64 bytes (una línea de caché, para que dos
+ * vuelos nunca compartan línea). Cada slot lleva un contador de versión estilo
+ * seqlock:
+ * - Escritor: CAS de la versión de par a impar, escribe los campos en su sitio
+ *   y publica la versión par siguiente. Varios escritores sobre el mismo slot se
+ *   excluyen con la propia CAS, sin cerrojos.
+ * - Lector (este u otro proceso): lee la versión, copia la fila, vuelve a leer
+ *   la versión; si era impar o ha cambiado, repite. Nunca bloquea al escritor.
+ *
+ * Formato (orden de bytes nativo, porque los lectores son procesos locales):
+ * <pre>
+ * Cabecera (64 bytes): int MAGIC ("AERB") | int VERSION | int slots | int SLOT_SIZE
+ * Slot (64 bytes):     long versión | long nanos de la última actualización |
+ *                      byte estado | 3 bytes libres | 12 bytes ID del vuelo |
+ *                      8 bytes ID de pista | 8 bytes ID de puerta | 16 bytes libres
+ * </pre>
+ *
+ * Uso del lector: java aeronpcd.concurrente.util.FlightBoardMmap fichero.board [intervaloMs]
+ */
+public class FlightBoardMmap {
+
+    public static final int MAGIC = 0x41455242; // "AERB"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 64;
+    public static final int SLOT_SIZE = 64;
+
+    private static final int OFF_VERSION = 0;
+    private static final int OFF_NANOS = 8;
+    private static final int OFF_STATE = 16;
+    private static final int OFF_FLIGHT = 20;
+    private static final int OFF_RUNWAY = 32;
+    private static final int OFF_GATE = 40;
+    private static final int FLIGHT_BYTES = 12;
+    private static final int RESOURCE_BYTES = 8;
+
+    private static final AirplaneState[] STATES = AirplaneState.values();
+
+    // Acceso atómico a los longs del buffer mapeado (versión de cada slot)
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final String filePath;
+    private final MappedByteBuffer data;
+    private final int slots;
+    private final Map<String, Integer> slotByFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Crea el panel binario para el escritor (la torre).
+     * Usa la misma nomenclatura y carpeta que los logs.
+     * @param mode Modo de ejecución (CONCURRENT).
+     * @param nAviones Número de aviones (un slot por avión).
+     * @param nPistas Número de pistas.
+     * @param nPuertas Número de puertas.
+     * @param nOperarios Número de operarios.
+     * @throws IOException Si no se puede crear o mapear el fichero.
+     */
+    public FlightBoardMmap(String mode, int nAviones, int nPistas, int nPuertas, int nOperarios) throws IOException {
+        String folderPath = "logs/" + (mode.equalsIgnoreCase("SEQUENTIAL") ? "secuencial/" : "concurrent/");
+        File folder = new File(folderPath);
+        if (!folder.exists()) {
+            folder.mkdirs();
+        }
+        String timeStamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String fileName = String.format("aeron-%s-%dAV-%dPIS-%dPUE-%dOPE-%s%s.board",
+                mode.toUpperCase(), nAviones, nPistas, nPuertas, nOperarios, timeStamp, SimulationContext.runSuffix());
+        this.filePath = folderPath + fileName;
+        this.slots = nAviones;
+
+        try (FileChannel channel = FileChannel.open(new File(filePath).toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            this.data = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slots * SLOT_SIZE);
+        }
+        data.order(ByteOrder.nativeOrder());
+        data.putInt(4, VERSION);
+        data.putInt(8, slots);
+        data.putInt(12, SLOT_SIZE);
+        // El MAGIC se escribe el último: un lector que lo ve tiene la cabecera completa
+        VarHandle.releaseFence();
+        data.putInt(0, MAGIC);
+    }
+
+    /**
+     * Abre un panel existente en modo solo lectura (para otros procesos).
+     * @param file Fichero .board.
+     * @throws IOException Si el fichero no existe o no es un panel binario.
+     */
+    public FlightBoardMmap(File file) throws IOException {
+        this.filePath = file.getPath();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            this.data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        data.order(ByteOrder.nativeOrder());
+        if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC || data.getInt(12) != SLOT_SIZE) {
+            throw new IOException("El fichero " + file + " no es un panel de vuelos binario");
+        }
+        this.slots = data.getInt(8);
+    }
+
+    /**
+     * Obtiene la ruta del fichero del panel.
+     * @return Ruta relativa del fichero.
+     */
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Obtiene el número de slots del panel.
+     * @return Número de slots (uno por vuelo).
+     */
+    public int getSlotCount() {
+        return slots;
+    }
+
+    // =========================================================================
+    // ESCRITURA (TORRE)
+    // =========================================================================
+
+    /**
+     * Asigna un slot a cada avión y escribe su estado inicial.
+     * @param airplanes Aviones de la simulación (como mucho uno por slot).
+     */
+    public void registerAirplanes(List<Airplane> airplanes) {
+        for (int i = 0; i < airplanes.size() && i < slots; i++) {
+            slotByFlight.put(airplanes.get(i).getAirplaneId(), i);
+            update(airplanes.get(i));
+        }
+    }
+
+    /**
+     * Actualiza en su sitio la fila de un avión (estado, pista y puerta).
+     * @param airplane Avión cuyo estado ha cambiado.
+     */
+    public void update(Airplane airplane) {
+        Integer slot = slotByFlight.get(airplane.getAirplaneId());
+        if (slot == null) return;
+        int base = HEADER_SIZE + slot * SLOT_SIZE;
+
+        // 1. Versión par -> impar (exclusión entre escritores del mismo slot)
+        long version;
+        do {
+            version = (long) LONGS.getVolatile(data, base + OFF_VERSION);
+        } while ((version & 1) != 0 || !LONGS.compareAndSet(data, base + OFF_VERSION, version, version + 1));
+
+        // 2. Escritura de la fila en su sitio
+        Runway runway = airplane.getAssignedRunway();
+        Gate gate = airplane.getAssignedGate();
+        data.putLong(base + OFF_NANOS, System.nanoTime());
+        data.put(base + OFF_STATE, (byte) airplane.getAirplaneState().ordinal());
+        putAscii(base + OFF_FLIGHT, FLIGHT_BYTES, airplane.getAirplaneId());
+        putAscii(base + OFF_RUNWAY, RESOURCE_BYTES, runway != null ? runway.getId() : "");
+        putAscii(base + OFF_GATE, RESOURCE_BYTES, gate != null ? gate.getId() : "");
+
+        // 3. Publicación: versión impar -> par siguiente (release)
+        LONGS.setRelease(data, base + OFF_VERSION, version + 2);
+    }
+
+    private void putAscii(int off, int length, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < length; i++) data.put(off + i, i < bytes.length ? bytes[i] : 0);
+    }
+
+    // =========================================================================
+    // LECTURA (SIN CERROJOS)
+    // =========================================================================
+
+    /**
+     * Fila leída de forma consistente de un slot.
+     */
+    public static class Row {
+        public long version;
+        public long updateNanos;
+        public AirplaneState state;
+        public String flightId;
+        public String runwayId;
+        public String gateId;
+    }
+
+    /**
+     * Lee un slot de forma consistente, reintentando si un escritor lo estaba
+     * modificando.
+     * @param slot Índice del slot.
+     * @param row Fila donde copiar los valores.
+     * @return true si el slot contiene un vuelo, false si está vacío.
+     */
+    public boolean readRow(int slot, Row row) {
+        int base = HEADER_SIZE + slot * SLOT_SIZE;
+        byte[] flight = new byte[FLIGHT_BYTES];
+        byte[] runway = new byte[RESOURCE_BYTES];
+        byte[] gate = new byte[RESOURCE_BYTES];
+        while (true) {
+            long before = (long) LONGS.getAcquire(data, base + OFF_VERSION);
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (before == 0) return false;
+
+            long nanos = data.getLong(base + OFF_NANOS);
+            byte state = data.get(base + OFF_STATE);
+            data.get(base + OFF_FLIGHT, flight);
+            data.get(base + OFF_RUNWAY, runway);
+            data.get(base + OFF_GATE, gate);
+
+            VarHandle.loadLoadFence();
+            if ((long) LONGS.getVolatile(data, base + OFF_VERSION) == before) {
+                row.version = before;
+                row.updateNanos = nanos;
+                row.state = state >= 0 && state < STATES.length ? STATES[state] : null;
+                row.flightId = ascii(flight);
+                row.runwayId = ascii(runway);
+                row.gateId = ascii(gate);
+                return true;
+            }
+        }
+    }
+
+    private static String ascii(byte[] bytes) {
+        int len = 0;
+        while (len < bytes.length && bytes[len] != 0) len++;
+        return new String(bytes, 0, len, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Lector de línea de comandos: muestra el panel periódicamente.
+     * @param args Ruta del fichero .board y, opcionalmente, intervalo de refresco en ms
+     *             (sin intervalo se muestra una sola vez).
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Uso: FlightBoardMmap <fichero.board> [intervaloMs]");
+            return;
+        }
+        try {
+            FlightBoardMmap board = new FlightBoardMmap(new File(args[0]));
+            long interval = args.length > 1 ? Long.parseLong(args[1]) : 0;
+            Row row = new Row();
+            do {
+                StringBuilder sb = new StringBuilder();
+                sb.append(String.format("%-10s %-20s %-8s %-8s %s%n", "VUELO", "ESTADO", "PISTA", "PUERTA", "VERSIÓN"));
+                sb.append("══════════════════════════════════════════════════\n");
+                for (int i = 0; i < board.getSlotCount(); i++) {
+                    if (!board.readRow(i, row)) continue;
+                    sb.append(String.format("%-10s %-20s %-8s %-8s %d%n", row.flightId, row.state,
+                            row.runwayId.isEmpty() ? "-" : row.runwayId,
+                            row.gateId.isEmpty() ? "-" : row.gateId, row.version / 2));
+                }
+                System.out.print(sb);
+                if (interval > 0) Thread.sleep(interval);
+            } while (interval > 0);
+        } catch (IOException e) {
+            System.err.println("No se pudo abrir el panel: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
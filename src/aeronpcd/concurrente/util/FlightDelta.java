@@ -0,0 +1,51 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.model.AirplaneState;
+
+/**
+ * Cambio de estado de un vuelo publicado en el bus del panel de vuelos.
+ * Inmutable: el mismo objeto se entrega a todos los suscriptores.
+ */
+public class FlightDelta {
+
+    private final String flightId;
+    private final AirplaneState oldState;
+    private final AirplaneState newState;
+    private final long seq;
+
+    /**
+     * Constructor del cambio de estado.
+     * @param flightId ID del vuelo.
+     * @param oldState Estado anterior (null si el vuelo acaba de registrarse).
+     * @param newState Estado nuevo.
+     * @param seq Número de secuencia global del bus (estrictamente creciente).
+     */
+    public FlightDelta(String flightId, AirplaneState oldState, AirplaneState newState, long seq) {
+        this.flightId = flightId;
+        this.oldState = oldState;
+        this.newState = newState;
+        this.seq = seq;
+    }
+
+    public String getFlightId() { return flightId; }
+
+    public AirplaneState getOldState() { return oldState; }
+
+    public AirplaneState getNewState() { return newState; }
+
+    public long getSeq() { return seq; }
+
+    /**
+     * Representación JSON del cambio.
+     * @return Objeto JSON en una sola línea.
+     */
+    public String toJson() {
+        return String.format("{\"seq\": %d, \"flight\": \"%s\", \"old\": %s, \"new\": \"%s\"}",
+                seq, flightId, oldState != null ? "\"" + oldState + "\"" : "null", newState);
+    }
+
+    @Override
+    public String toString() {
+        return "#" + seq + " " + flightId + ": " + oldState + " -> " + newState;
+    }
+}
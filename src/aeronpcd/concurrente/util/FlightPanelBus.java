@@ -0,0 +1,163 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.model.AirplaneState;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bus publicación/suscripción en memoria del panel de vuelos.
+ *
+ * Cada cambio de estado se publica como un FlightDelta con un número de secuencia
+ * global. Cada suscriptor tiene su propio buffer acotado:
+ * - El publicador (la torre, dentro de su monitor) nunca se bloquea: si el buffer
+ *   de un suscriptor lento se llena, se vacía y el suscriptor queda marcado para
+ *   RESINCRONIZAR (recibe el panel completo y continúa con los cambios siguientes).
+ * - Así un consumidor lento pierde cambios intermedios, pero nunca ve un estado
+ *   roto ni frena la simulación.
+ *
+ * Protocolo del suscriptor: antes de aplicar cada lote comprueba takeResync(); si
+ * hay que resincronizar, pide snapshot() y descarta los cambios del lote con
+ * secuencia menor o igual que la del snapshot.
+ */
+public class FlightPanelBus {
+
+    /** Capacidad por defecto del buffer de cada suscriptor. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final CopyOnWriteArrayList<Subscription> subscribers = new CopyOnWriteArrayList<>();
+    private final Map<String, AirplaneState> states = new TreeMap<>();
+    private long seq = 0;
+
+    /**
+     * Publica un cambio de estado a todos los suscriptores.
+     * @param flightId ID del vuelo.
+     * @param oldState Estado anterior (null si el vuelo acaba de registrarse).
+     * @param newState Estado nuevo.
+     */
+    public synchronized void publish(String flightId, AirplaneState oldState, AirplaneState newState) {
+        FlightDelta delta = new FlightDelta(flightId, oldState, newState, ++seq);
+        states.put(flightId, newState);
+        for (Subscription sub : subscribers) sub.offer(delta);
+    }
+
+    /**
+     * Vacía el panel para una nueva simulación. La secuencia sigue creciendo y los
+     * suscriptores existentes se resincronizan con el panel vacío.
+     */
+    public synchronized void reset() {
+        states.clear();
+        for (Subscription sub : subscribers) {
+            sub.buffer.clear();
+            sub.resyncNeeded = true;
+        }
+    }
+
+    /**
+     * Crea una suscripción nueva. Su primer elemento es siempre una resincronización,
+     * de modo que el suscriptor empieza con el panel completo.
+     * @param capacity Capacidad del buffer de cambios.
+     * @return La suscripción.
+     */
+    public Subscription subscribe(int capacity) {
+        Subscription sub = new Subscription(capacity);
+        subscribers.add(sub);
+        return sub;
+    }
+
+    /**
+     * Obtiene el panel completo y la secuencia del último cambio incluido.
+     * @param out Mapa donde copiar los estados (se vacía antes).
+     * @return Número de secuencia del último cambio reflejado en el panel.
+     */
+    public synchronized long snapshot(Map<String, AirplaneState> out) {
+        out.clear();
+        out.putAll(states);
+        return seq;
+    }
+
+    /**
+     * Obtiene el número de suscriptores activos.
+     * @return Número de suscriptores.
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Suscripción al bus con buffer acotado.
+     */
+    public class Subscription implements AutoCloseable {
+
+        private final BlockingQueue<FlightDelta> buffer;
+        private volatile boolean resyncNeeded = true;
+        private long dropped = 0;
+
+        private Subscription(int capacity) {
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * Entrega un cambio sin bloquear al publicador.
+         * @param delta Cambio publicado.
+         */
+        private void offer(FlightDelta delta) {
+            if (!buffer.offer(delta)) {
+                // Buffer lleno: se descartan los cambios y el suscriptor se resincroniza
+                resyncNeeded = true;
+                dropped += buffer.size() + 1;
+                buffer.clear();
+            }
+        }
+
+        /**
+         * Indica si el suscriptor debe pedir el panel completo (snapshot) antes de
+         * seguir aplicando cambios. Se rearma al consultarlo.
+         * @return true si hay que resincronizar.
+         */
+        public boolean takeResync() {
+            if (!resyncNeeded) return false;
+            resyncNeeded = false;
+            return true;
+        }
+
+        /**
+         * Espera cambios y los extrae todos de una vez.
+         * @param timeoutMs Tiempo máximo de espera si no hay ninguno.
+         * @return Cambios en orden de secuencia (vacía si venció la espera).
+         * @throws InterruptedException Si el hilo se interrumpe mientras espera.
+         */
+        public List<FlightDelta> poll(long timeoutMs) throws InterruptedException {
+            List<FlightDelta> batch = new ArrayList<>();
+            FlightDelta first = buffer.poll(timeoutMs, TimeUnit.MILLISECONDS);
+            if (first != null) {
+                batch.add(first);
+                buffer.drainTo(batch);
+            }
+            return batch;
+        }
+
+        /**
+         * Obtiene el número de cambios descartados por desbordamiento.
+         * @return Cambios descartados.
+         */
+        public long getDropped() {
+            synchronized (FlightPanelBus.this) {
+                return dropped;
+            }
+        }
+
+        /**
+         * Cancela la suscripción.
+         */
+        @Override
+        public void close() {
+            subscribers.remove(this);
+        }
+    }
+}
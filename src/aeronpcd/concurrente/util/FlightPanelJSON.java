@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Sistema de actualización en tiempo real del Panel de Vuelos mediante JSON.
@@ -27,6 +27,10 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  *   "IBE-002": "BOARDING",
  *   ...
  * }
+ *
+ * Además, cada cambio se publica en un bus en memoria (FlightPanelBus) para los
+ * consumidores que prefieren recibir los cambios (por ejemplo, el stream SSE de
+ * FlightStreamServer) en lugar de releer el archivo. El archivo es opcional.
  */
 public class FlightPanelJSON {
 
@@ -43,12 +47,14 @@ public class FlightPanelJSON {
     
     /**
      * Lock para escritura segura al archivo JSON.
-     * Permite múltiples lectores simultáneos pero acceso exclusivo en escritura.
+     * Solo hay escritores (los lectores externos no pueden coordinarse con un lock
+     * del proceso), así que basta un lock exclusivo. Los lectores externos que
+     * necesiten filas consistentes deben usar FlightBoardMmap o el stream SSE.
      */
-    private final ReentrantReadWriteLock fileLock;
+    private final ReentrantLock fileLock;
     
     /**
-     * Instancia única del gestor del panel JSON (Singleton).
+     * Instancia global del gestor del panel JSON (Singleton fuera de un SimulationContext).
      */
     private static FlightPanelJSON instance;
     
@@ -56,29 +62,66 @@ public class FlightPanelJSON {
      * Bandera que indica si el panel ha sido configurado correctamente.
      */
     private boolean isConfigured = false;
+
+    /**
+     * Bus de cambios de estado para consumidores en tiempo real.
+     */
+    private final FlightPanelBus bus = new FlightPanelBus();
+
+    /**
+     * Indica si el panel se sigue volcando al archivo JSON en cada cambio.
+     */
+    private volatile boolean fileOutputEnabled = true;
     
     /**
-     * Constructor privado del Singleton.
+     * Constructor del panel.
      * Inicializa las estructuras de datos para almacenar y gestionar estados de vuelos.
+     * Lo usan el Singleton global y cada SimulationContext (un panel por contexto).
      */
-    private FlightPanelJSON() {
+    public FlightPanelJSON() {
         this.flightStates = new ConcurrentHashMap<>();
-        this.fileLock = new ReentrantReadWriteLock();
+        this.fileLock = new ReentrantLock();
     }
     
     /**
-     * Obtiene la instancia única del gestor del panel JSON.
-     * Implementa el patrón Singleton con sincronización thread-safe.
+     * Obtiene el panel de la simulación en curso: el del SimulationContext enlazado
+     * al hilo si lo hay y, si no, la instancia global (Singleton thread-safe).
      * 
-     * @return Instancia única de FlightPanelJSON.
+     * @return Panel de vuelos de la simulación en curso.
      */
-    public static synchronized FlightPanelJSON getInstance() {
+    public static FlightPanelJSON getInstance() {
+        SimulationContext context = SimulationContext.current();
+        if (context != null) return context.getFlightPanel();
+        return getGlobalInstance();
+    }
+
+    private static synchronized FlightPanelJSON getGlobalInstance() {
         if (instance == null) {
             instance = new FlightPanelJSON();
         }
         return instance;
     }
     
+    /**
+     * Obtiene el bus de cambios de estado del panel.
+     * 
+     * @return Bus de publicación/suscripción del panel de vuelos.
+     */
+    public FlightPanelBus getBus() {
+        return bus;
+    }
+
+    /**
+     * Activa o desactiva el volcado del panel al archivo JSON.
+     * Con el volcado desactivado, los cambios solo se publican en el bus.
+     * Debe llamarse antes de configure().
+     * 
+     * @param enabled true para escribir el archivo en cada cambio.
+     */
+    public void setFileOutputEnabled(boolean enabled) {
+        this.fileOutputEnabled = enabled;
+    }
+
     /**
      * Configura el panel de vuelos con los parámetros de simulación.
      * Crea la ruta del archivo JSON y genera el nombre siguiendo el mismo patrón que Logger.
@@ -97,22 +140,38 @@ public class FlightPanelJSON {
         
         // Mismo formato de nombre que Logger
         String timeStamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String fileName = String.format("aeron-%s-%dAV-%dPIS-%dPUE-%dOPE-%s.json",
-                mode.toUpperCase(), nAviones, nPistas, nPuertas, nOperarios, timeStamp);
+        String fileName = String.format("aeron-%s-%dAV-%dPIS-%dPUE-%dOPE-%s%s.json",
+                mode.toUpperCase(), nAviones, nPistas, nPuertas, nOperarios, timeStamp, SimulationContext.runSuffix());
         
+        // Cada simulación empieza con el panel vacío (la anterior pudo dejar vuelos)
+        reset();
         this.jsonFilePath = folderPath + fileName;
         this.isConfigured = true;
         
         initializeFile();
     }
     
+    /**
+     * Vacía el panel de vuelos para reutilizarlo en otra simulación.
+     * El archivo JSON de la simulación anterior no se modifica.
+     */
+    public void reset() {
+        fileLock.lock();
+        try {
+            flightStates.clear();
+            bus.reset();
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
     /**
      * Inicializa el archivo JSON y crea los directorios necesarios.
      * Si la configuración no está completa, este método no hace nada.
      * Maneja excepciones internamente registrando en el Logger.
      */
     private void initializeFile() {
-        if (!isConfigured) return;
+        if (!isConfigured || !fileOutputEnabled) return;
         
         try {
             File folder = new File(jsonFilePath).getParentFile();
@@ -139,9 +198,10 @@ public class FlightPanelJSON {
      */
     public void registerAirplanes(List<Airplane> airplanes) throws FlightPanelException {
         for (Airplane plane : airplanes) {
-            flightStates.put(plane.getAirplaneId(), plane.getAirplaneState());
+            AirplaneState oldState = flightStates.put(plane.getAirplaneId(), plane.getAirplaneState());
+            bus.publish(plane.getAirplaneId(), oldState, plane.getAirplaneState());
         }
-        writeJSON();
+        if (fileOutputEnabled) writeJSON();
         Logger.log("[PANEL JSON] Registrados " + airplanes.size() + " aviones");
     }
     
@@ -161,18 +221,19 @@ public class FlightPanelJSON {
         // Actualizar en memoria (operación atómica del ConcurrentHashMap)
         AirplaneState oldState = flightStates.put(airplaneId, newState);
         
-        // Escribir al archivo JSON inmediatamente
-        writeJSON();
+        // Escribir al archivo JSON inmediatamente (si el volcado está activo)
+        if (fileOutputEnabled) writeJSON();
         
-        // Log de la actualización
+        // Publicar el cambio y registrarlo en el log
         if (oldState != newState) {
-            Logger.log("[PANEL JSON] " + airplaneId + ": " + oldState + " -> " + newState);
+            bus.publish(airplaneId, oldState, newState);
+            Logger.logPanelChange(airplaneId, oldState, newState);
         }
     }
     
     /**
      * Escribe el estado actual de todos los vuelos al archivo JSON.
-     * Usa un lock de escritura (ReentrantReadWriteLock) para garantizar consistencia
+     * Usa un lock exclusivo (ReentrantLock) para garantizar consistencia
      * entre múltiples actualizaciones concurrentes.
      * 
      * El archivo JSON resultante contiene todas las entradas ordenadas alfabéticamente
@@ -181,7 +242,7 @@ public class FlightPanelJSON {
      * @throws FlightPanelException Si no se puede escribir en el archivo JSON.
      */
     private void writeJSON() throws FlightPanelException {
-        fileLock.writeLock().lock();
+        fileLock.lock();
         try {
             StringBuilder json = new StringBuilder();
             json.append("{\n");
@@ -208,7 +269,7 @@ public class FlightPanelJSON {
             writeToFile(json.toString());
             
         } finally {
-            fileLock.writeLock().unlock();
+            fileLock.unlock();
         }
     }
     
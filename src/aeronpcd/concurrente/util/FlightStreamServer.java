@@ -0,0 +1,150 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.model.AirplaneState;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Stream en vivo del panel de vuelos mediante Server-Sent Events (SSE).
+ *
+ * Endpoint /flights/stream (text/event-stream):
+ * - event: snapshot  -> panel completo {"seq": N, "flights": {...}} al conectar
+ *                       y cada vez que el cliente tiene que resincronizarse.
+ * - event: delta     -> un cambio {"seq", "flight", "old", "new"} por mensaje,
+ *                       con id = seq.
+ * - Comentario ": keepalive" si no hay cambios durante KEEPALIVE_MS.
+ *
+ * Cada conexión es un suscriptor de FlightPanelBus con su propio buffer acotado;
+ * un cliente lento recibe una resincronización en lugar de frenar a la torre.
+ * Los cambios pendientes se escriben en lote con un único flush, así que los
+ * clientes reciben las actualizaciones sin pasar por disco.
+ */
+public class FlightStreamServer {
+
+    private static final long KEEPALIVE_MS = 15000;
+
+    private final FlightPanelBus bus;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private volatile boolean running = true;
+
+    /**
+     * Crea el servidor del stream (no lo arranca).
+     * @param bus Bus del panel de vuelos.
+     * @param port Puerto TCP en el que escuchar (solo en la interfaz local).
+     * @throws IOException Si no se puede abrir el puerto.
+     */
+    public FlightStreamServer(FlightPanelBus bus, int port) throws IOException {
+        this.bus = bus;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        // Cada conexión SSE ocupa un hilo mientras está abierta
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "FlightStream");
+            t.setDaemon(true);
+            return t;
+        });
+        server.createContext("/flights/stream", this::stream);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Arranca el servidor.
+     */
+    public void start() {
+        server.start();
+        Logger.log("[PANEL SSE] Stream del panel en http://localhost:" + getPort() + "/flights/stream");
+    }
+
+    /**
+     * Detiene el servidor y cierra las conexiones abiertas.
+     */
+    public void stop() {
+        running = false;
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Obtiene el puerto real en el que escucha el servidor.
+     * @return Puerto TCP.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Atiende una conexión SSE hasta que el cliente se desconecta.
+     * @param exchange Intercambio HTTP.
+     * @throws IOException Si falla la respuesta inicial.
+     */
+    private void stream(HttpExchange exchange) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(405, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+
+        Map<String, AirplaneState> panel = new TreeMap<>();
+        long lastSeq = 0;
+        try (OutputStream out = exchange.getResponseBody();
+             FlightPanelBus.Subscription sub = bus.subscribe(FlightPanelBus.DEFAULT_CAPACITY)) {
+            List<FlightDelta> batch = List.of();
+            while (running) {
+                StringBuilder sb = new StringBuilder();
+                if (sub.takeResync()) {
+                    lastSeq = bus.snapshot(panel);
+                    sb.append("event: snapshot\ndata: ").append(snapshotJson(lastSeq, panel)).append("\n\n");
+                }
+                for (FlightDelta delta : batch) {
+                    if (delta.getSeq() <= lastSeq) continue; // ya incluido en el snapshot
+                    lastSeq = delta.getSeq();
+                    sb.append("id: ").append(delta.getSeq()).append("\nevent: delta\ndata: ")
+                      .append(delta.toJson()).append("\n\n");
+                }
+                if (sb.length() == 0 && batch.isEmpty()) sb.append(": keepalive\n\n");
+                if (sb.length() > 0) {
+                    out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+                batch = sub.poll(KEEPALIVE_MS);
+            }
+        } catch (IOException e) {
+            // Cliente desconectado
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Genera el JSON del panel completo.
+     * @param seq Secuencia del último cambio incluido.
+     * @param panel Estados de los vuelos.
+     * @return Objeto JSON en una sola línea.
+     */
+    private static String snapshotJson(long seq, Map<String, AirplaneState> panel) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"seq\": ").append(seq).append(", \"flights\": {");
+        boolean first = true;
+        for (Map.Entry<String, AirplaneState> e : panel.entrySet()) {
+            if (!first) sb.append(", ");
+            sb.append('"').append(e.getKey()).append("\": \"").append(e.getValue()).append('"');
+            first = false;
+        }
+        return sb.append("}}").toString();
+    }
+}
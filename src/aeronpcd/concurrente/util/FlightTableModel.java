@@ -0,0 +1,162 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.model.Airplane;
+import aeronpcd.concurrente.model.Gate;
+import aeronpcd.concurrente.model.Runway;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Modelo de tabla del Panel de Vuelos de la ventana (una fila por vuelo).
+ *
+ * OBJETIVO: Que el coste de refrescar el panel dependa de los vuelos que cambian
+ * y no del tamaño de la flota. Antes cada evento regeneraba y volvía a maquetar
+ * el texto completo del panel en el EDT.
+ *
+ * IMPLEMENTACIÓN:
+ * - Los hilos de aviones y operarios publican la fila nueva de un vuelo con
+ *   update(); no tocan Swing ni toman cerrojos: la fila queda pendiente en un
+ *   mapa concurrente y, si es su primer cambio en este fotograma, su ID se encola
+ *   (así se conserva el orden de registro de los vuelos nuevos).
+ * - Un javax.swing.Timer de un solo disparo aplica en el EDT, como mucho una vez
+ *   por fotograma (FRAME_MS), todos los cambios pendientes: de cada vuelo solo se
+ *   aplica su última fila, y solo se notifica a la JTable si algún campo cambió,
+ *   de modo que únicamente se repintan esas filas.
+ * - Las filas visibles solo se leen y escriben en el EDT.
+ */
+public class FlightTableModel extends AbstractTableModel {
+
+    /** Intervalo mínimo entre dos aplicaciones de cambios (ms). */
+    public static final int FRAME_MS = 40;
+
+    private static final String[] COLUMNS = {"VUELO", "ESTADO", "PISTA", "PUERTA"};
+
+    // Lado EDT: filas visibles {vuelo, estado, pista, puerta}
+    private final List<String[]> rows = new ArrayList<>();
+    private final Map<String, Integer> rowByFlight = new HashMap<>();
+
+    // Lado productores: última fila pendiente de cada vuelo y orden de llegada
+    private final ConcurrentHashMap<String, String[]> pending = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> dirty = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private volatile boolean clearRequested = false;
+
+    private final Timer frameTimer;
+
+    /**
+     * Constructor del modelo (vacío hasta que se registren los aviones).
+     */
+    public FlightTableModel() {
+        frameTimer = new Timer(FRAME_MS, e -> flush());
+        frameTimer.setRepeats(false);
+    }
+
+    // =========================================================================
+    // PUBLICACIÓN (HILOS DE LA SIMULACIÓN)
+    // =========================================================================
+
+    /**
+     * Publica las filas de todos los aviones de una simulación, en orden.
+     * @param airplanes Aviones registrados en la torre.
+     */
+    public void registerAirplanes(List<Airplane> airplanes) {
+        for (Airplane plane : airplanes) update(plane);
+    }
+
+    /**
+     * Publica la fila actual de un avión (estado, pista y puerta).
+     * No bloquea: el cambio se aplica en el siguiente fotograma.
+     * @param airplane Avión cuyo estado o recursos han cambiado.
+     */
+    public void update(Airplane airplane) {
+        Runway r = airplane.getAssignedRunway();
+        Gate g = airplane.getAssignedGate();
+        String id = airplane.getAirplaneId();
+        String[] row = {id, String.valueOf(airplane.getAirplaneState()),
+                r != null ? r.getId() : "-", g != null ? g.getId() : "-"};
+        if (pending.put(id, row) == null) dirty.add(id);
+        schedule();
+    }
+
+    /**
+     * Vacía el panel (nueva simulación). Los cambios aún pendientes se descartan.
+     */
+    public void clear() {
+        clearRequested = true;
+        dirty.clear();
+        pending.clear();
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) SwingUtilities.invokeLater(frameTimer::start);
+    }
+
+    // =========================================================================
+    // APLICACIÓN DE CAMBIOS (EDT)
+    // =========================================================================
+
+    /**
+     * Aplica los cambios pendientes y notifica solo las filas afectadas.
+     */
+    private void flush() {
+        // Se rearma antes de vaciar: lo que llegue durante el vaciado pide otro fotograma
+        scheduled.set(false);
+        if (clearRequested) {
+            clearRequested = false;
+            rows.clear();
+            rowByFlight.clear();
+            fireTableDataChanged();
+        }
+        int firstInserted = rows.size();
+        String id;
+        while ((id = dirty.poll()) != null) {
+            String[] row = pending.remove(id);
+            if (row == null) continue;
+            Integer index = rowByFlight.get(id);
+            if (index == null) {
+                rowByFlight.put(id, rows.size());
+                rows.add(row);
+            } else if (index < firstInserted && !Arrays.equals(rows.get(index), row)) {
+                rows.set(index, row);
+                fireTableRowsUpdated(index, index);
+            } else {
+                rows.set(index, row); // Fila insertada en este mismo fotograma
+            }
+        }
+        if (rows.size() > firstInserted) fireTableRowsInserted(firstInserted, rows.size() - 1);
+    }
+
+    // =========================================================================
+    // TableModel
+    // =========================================================================
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return rows.get(row)[column];
+    }
+}
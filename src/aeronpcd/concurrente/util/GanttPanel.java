@@ -0,0 +1,230 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.model.AirplaneState;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import javax.swing.*;
+
+/**
+ * Vista de Gantt de la ocupación de pistas y puertas (OccupancyTimeline).
+ *
+ * Un carril por recurso con una barra por ocupación: el tono identifica el vuelo
+ * y la luminosidad la fase (aterrizaje, embarque o despegue). Junto al nombre de
+ * cada carril se muestra su ocupación en la ventana visible.
+ *
+ * Interacción:
+ * - Rueda del ratón: acerca o aleja (cambia la duración de la ventana).
+ * - Arrastrar: desplaza la ventana en el tiempo y deja de seguir el instante actual.
+ * - Doble clic: vuelve a seguir el instante actual.
+ * - Pasar el ratón sobre una barra: vuelo, fase y duración.
+ *
+ * RENDIMIENTO: cada repintado consulta solo los intervalos de la ventana visible
+ * (búsqueda binaria por carril) y agrupa los que caen en la misma columna de
+ * píxeles, así que el coste depende del ancho del panel y no del total de
+ * intervalos registrados.
+ */
+public class GanttPanel extends JComponent {
+
+    private static final int LABEL_WIDTH = 120;
+    private static final int AXIS_HEIGHT = 20;
+    private static final int LANE_HEIGHT = 18;
+    private static final int LANE_GAP = 4;
+    private static final int REPAINT_MS = 100;
+    private static final long MIN_WINDOW_MS = 500;
+    private static final long MAX_WINDOW_MS = 60 * 60 * 1000;
+
+    private static final Color BACKGROUND = Color.WHITE;
+    private static final Color GRID = new Color(225, 225, 225);
+    private static final Color TEXT = new Color(40, 40, 40);
+    private static final Color TITLE = new Color(0, 51, 102); // Azul marino, como los títulos de Window
+
+    private final OccupancyTimeline timeline;
+    private final OccupancyTimeline.Intervals scratch = new OccupancyTimeline.Intervals();
+
+    // Ventana visible: [windowEnd - windowMs, windowEnd]; si follow, windowEnd = ahora
+    private long windowMs = 30_000;
+    private long windowEnd = 0;
+    private boolean follow = true;
+    private int dragX = -1;
+
+    /**
+     * Constructor del panel.
+     * @param timeline Historial de ocupación a mostrar.
+     */
+    public GanttPanel(OccupancyTimeline timeline) {
+        this.timeline = timeline;
+        setPreferredSize(new Dimension(800, AXIS_HEIGHT + timeline.getLaneCount() * (LANE_HEIGHT + LANE_GAP) + LANE_GAP));
+        setToolTipText(""); // Activa los tooltips (getToolTipText por posición)
+        setOpaque(true);
+        setFont(new Font("SansSerif", Font.PLAIN, 11));
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragX = e.getX();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (dragX < 0) return;
+                long shift = (long) ((dragX - e.getX()) * msPerPixel());
+                if (follow) windowEnd = timeline.now();
+                follow = false;
+                windowEnd = Math.max(windowMs / 4, windowEnd + shift);
+                dragX = e.getX();
+                repaint();
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                dragX = -1;
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    follow = true;
+                    repaint();
+                }
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                double factor = Math.pow(1.25, e.getPreciseWheelRotation());
+                windowMs = Math.max(MIN_WINDOW_MS, Math.min(MAX_WINDOW_MS, (long) (windowMs * factor)));
+                repaint();
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+
+        // Repintado periódico solo mientras el panel es visible
+        new Timer(REPAINT_MS, e -> { if (follow && isShowing()) repaint(); }).start();
+    }
+
+    private double msPerPixel() {
+        return (double) windowMs / Math.max(1, getWidth() - LABEL_WIDTH);
+    }
+
+    private long visibleEnd() {
+        return follow ? Math.max(windowMs, timeline.now()) : windowEnd;
+    }
+
+    // =========================================================================
+    // PINTADO
+    // =========================================================================
+
+    @Override
+    protected void paintComponent(Graphics g0) {
+        Graphics2D g = (Graphics2D) g0.create();
+        try {
+            int width = getWidth();
+            int plotWidth = width - LABEL_WIDTH;
+            g.setColor(BACKGROUND);
+            g.fillRect(0, 0, width, getHeight());
+            if (plotWidth <= 0) return;
+
+            long to = visibleEnd();
+            long from = to - windowMs;
+            long now = timeline.now();
+            double pxPerMs = (double) plotWidth / windowMs;
+
+            paintAxis(g, from, to, pxPerMs);
+            g.setFont(getFont().deriveFont(Font.PLAIN, 11f));
+            FontMetrics fm = g.getFontMetrics();
+
+            for (int lane = 0; lane < timeline.getLaneCount(); lane++) {
+                int y = AXIS_HEIGHT + LANE_GAP + lane * (LANE_HEIGHT + LANE_GAP);
+                g.setColor(TEXT);
+                g.drawString(String.format("%s %3.0f%%", timeline.getLaneName(lane),
+                        timeline.getOccupancy(lane, Math.max(0, from), Math.min(to, now)) * 100),
+                        4, y + LANE_HEIGHT - 5);
+                g.setColor(GRID);
+                g.drawLine(LABEL_WIDTH, y + LANE_HEIGHT + LANE_GAP / 2, width, y + LANE_HEIGHT + LANE_GAP / 2);
+
+                int n = timeline.query(lane, from, to, scratch);
+                // Los intervalos de menos de un píxel que caen en la misma columna se pintan una vez
+                int lastColumn = -1;
+                for (int i = 0; i < n; i++) {
+                    long start = Math.max(from, scratch.getStart(i));
+                    long end = Math.min(to, scratch.getEnd(i) == OccupancyTimeline.OPEN ? now : scratch.getEnd(i));
+                    int x0 = LABEL_WIDTH + (int) ((start - from) * pxPerMs);
+                    int x1 = LABEL_WIDTH + (int) ((end - from) * pxPerMs);
+                    if (x1 <= x0) {
+                        if (x0 == lastColumn) continue;
+                        x1 = x0 + 1;
+                    }
+                    lastColumn = x1 - 1;
+                    String flight = scratch.getFlight(i);
+                    g.setColor(barColor(flight, scratch.getPhase(i)));
+                    g.fillRect(x0, y, x1 - x0, LANE_HEIGHT);
+                    int textWidth = fm.stringWidth(flight);
+                    if (x1 - x0 > textWidth + 4) {
+                        g.setColor(Color.WHITE);
+                        g.drawString(flight, x0 + 2, y + LANE_HEIGHT - 5);
+                    }
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private void paintAxis(Graphics2D g, long from, long to, double pxPerMs) {
+        g.setFont(getFont().deriveFont(Font.BOLD, 11f));
+        g.setColor(TITLE);
+        g.drawString(follow ? "OCUPACIÓN (en vivo)" : "OCUPACIÓN (doble clic: en vivo)", 4, AXIS_HEIGHT - 6);
+
+        // Marcas cada 1, 2, 5, 10... segundos, con al menos 80 px entre ellas
+        long step = 1000;
+        long[] steps = {1, 2, 5};
+        outer:
+        for (long scale = 1000; ; scale *= 10) {
+            for (long s : steps) {
+                step = s * scale;
+                if (step * pxPerMs >= 80) break outer;
+            }
+        }
+        g.setFont(getFont().deriveFont(Font.PLAIN, 10f));
+        for (long t = Math.max(0, (from / step) * step); t <= to; t += step) {
+            if (t < from) continue;
+            int x = LABEL_WIDTH + (int) ((t - from) * pxPerMs);
+            g.setColor(GRID);
+            g.drawLine(x, AXIS_HEIGHT, x, getHeight());
+            g.setColor(TEXT);
+            g.drawString((t / 1000) + " s", x + 2, AXIS_HEIGHT - 6);
+        }
+    }
+
+    /**
+     * Color de una barra: tono por vuelo, luminosidad por fase.
+     */
+    private static Color barColor(String flight, AirplaneState phase) {
+        float hue = ((flight.hashCode() * 0x9E3779B9) >>> 8) / (float) (1 << 24);
+        float brightness = phase == AirplaneState.BOARDING ? 0.85f : phase == AirplaneState.DEPARTING ? 0.55f : 0.7f;
+        return Color.getHSBColor(hue, 0.65f, brightness);
+    }
+
+    // =========================================================================
+    // TOOLTIP
+    // =========================================================================
+
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        int lane = (e.getY() - AXIS_HEIGHT - LANE_GAP) / (LANE_HEIGHT + LANE_GAP);
+        if (e.getX() < LABEL_WIDTH || lane < 0 || lane >= timeline.getLaneCount()) return null;
+        long to = visibleEnd();
+        long t = to - windowMs + (long) ((e.getX() - LABEL_WIDTH) * msPerPixel());
+        // Margen de un par de píxeles para poder señalar barras muy estrechas
+        long slack = (long) (2 * msPerPixel());
+        OccupancyTimeline.Intervals hit = new OccupancyTimeline.Intervals();
+        if (timeline.query(lane, t - slack, t + slack + 1, hit) == 0) return timeline.getLaneName(lane) + ": libre";
+        long end = hit.getEnd(0) == OccupancyTimeline.OPEN ? timeline.now() : hit.getEnd(0);
+        return String.format("%s: %s (%s) %.1f s - %.1f s, %d ms%s", timeline.getLaneName(lane), hit.getFlight(0),
+                hit.getPhase(0), hit.getStart(0) / 1000.0, end / 1000.0, end - hit.getStart(0),
+                hit.getEnd(0) == OccupancyTimeline.OPEN ? " (en curso)" : "");
+    }
+}
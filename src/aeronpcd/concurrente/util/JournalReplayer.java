@@ -0,0 +1,461 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.model.AirplaneState;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Motor de reproducción determinista de un diario de la torre (TowerJournal).
+ *
+ * Re-ejecuta en un único hilo, a máxima velocidad, todas las decisiones
+ * registradas sobre un modelo en memoria de pistas, puertas y cola:
+ * - ENQUEUE/DEQUEUE: reconstruye la cola y detecta extracciones fuera de orden FIFO.
+ * - GRANT: comprueba que los recursos concedidos estaban realmente libres
+ *   (con LOOKAHEAD, la puerta reservada se concede con la petición LANDED).
+ * - DENY: detecta denegaciones evitables (había recursos libres en ese instante).
+ * - RELEASE: comprueba que el recurso liberado pertenecía al vuelo.
+ *
+ * Las inconsistencias se cuentan como violaciones; un diario correcto de una
+ * ejecución completa termina con todos los recursos libres y la cola vacía.
+ *
+ * MODO COLA (reanudación): partiendo de una instantánea (TowerSnapshot) se
+ * siembra la propiedad de recursos y se aplica solo la cola del diario posterior
+ * a la instantánea, contando el progreso de cada vuelo tras la captura.
+ *
+ * Uso: java aeronpcd.concurrente.util.JournalReplayer fichero.journal
+ */
+public class JournalReplayer {
+
+    private static final AirplaneState[] STATES = AirplaneState.values();
+    private static final int MAX_REPORTED_VIOLATIONS = 20;
+
+    private final String filePath;
+    private final MappedByteBuffer data;
+    private final long recordCount;
+    private final int numRunways;
+    private final int numGates;
+    private final long startNanos;
+
+    // --- MODELO REPRODUCIDO ---
+    private final int[] runwayOwner;
+    private final int[] gateOwner;
+    private final List<String> flights = new ArrayList<>();
+    private final ArrayDeque<Long> queue = new ArrayDeque<>();
+    private int[] grants = new int[16];
+    private int[] denies = new int[16];
+    private int[] denyStreak = new int[16];
+    private int[] maxDenyStreak = new int[16];
+    private int[] progress = new int[16];
+
+    // --- MODO COLA ---
+    private boolean tailMode = false;
+
+    // --- RESULTADOS ---
+    private long position = 0;
+    private long lastNanos;
+    private long enqueues, dequeues, grantCount, denyCount, releases;
+    private long outOfOrderDequeues, avoidableDenies;
+    private final List<String> violations = new ArrayList<>();
+    private long violationCount = 0;
+
+    /**
+     * Abre un diario para reproducirlo.
+     * @param filePath Ruta del fichero .journal.
+     * @throws IOException Si el fichero no existe o no es un diario válido.
+     */
+    public JournalReplayer(String filePath) throws IOException {
+        this.filePath = filePath;
+        try (FileChannel channel = FileChannel.open(new File(filePath).toPath(), StandardOpenOption.READ)) {
+            this.data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (data.capacity() < TowerJournal.HEADER_SIZE || data.getInt(0) != TowerJournal.MAGIC) {
+            throw new IOException("El fichero " + filePath + " no es un diario de la torre");
+        }
+        this.numRunways = data.getInt(8);
+        this.numGates = data.getInt(12);
+        this.startNanos = data.getLong(24);
+        this.lastNanos = startNanos;
+
+        long declared = data.getLong(32);
+        long capacity = (data.capacity() - TowerJournal.HEADER_SIZE) / TowerJournal.RECORD_SIZE;
+        // Si la ejecución no cerró el diario (caída), se recorre hasta el primer hueco vacío
+        this.recordCount = declared > 0 ? Math.min(declared, capacity) : capacity;
+
+        this.runwayOwner = new int[numRunways];
+        this.gateOwner = new int[numGates];
+        Arrays.fill(runwayOwner, -1);
+        Arrays.fill(gateOwner, -1);
+    }
+
+    /**
+     * Reproduce el diario completo desde la posición actual.
+     * @return this, para encadenar la consulta de resultados.
+     */
+    public JournalReplayer replay() {
+        return replayUntil(recordCount);
+    }
+
+    /**
+     * Reproduce el diario hasta una posición (número de registro, exclusivo).
+     * @param end Posición final.
+     * @return this, para encadenar la consulta de resultados.
+     */
+    public JournalReplayer replayUntil(long end) {
+        long limit = Math.min(end, recordCount);
+        while (position < limit) {
+            int off = (int) (TowerJournal.HEADER_SIZE + position * TowerJournal.RECORD_SIZE);
+            byte event = data.get(off + 8);
+            if (event == 0) {
+                // Registro incompleto: fin del diario. En modo cola puede ser un hueco
+                // reservado por un hilo que no llegó a escribirlo antes de la caída.
+                if (!tailMode) break;
+                position++;
+                continue;
+            }
+            apply(off, event);
+            position++;
+        }
+        return this;
+    }
+
+    /**
+     * Aplica un registro al modelo.
+     * @param off Desplazamiento del registro en el fichero.
+     * @param event Tipo de evento.
+     */
+    private void apply(int off, byte event) {
+        lastNanos = data.getLong(off);
+        AirplaneState type = STATES[data.get(off + 9)];
+        int flight = data.getInt(off + 12);
+        int runway = data.getShort(off + 16);
+        int gate = data.getShort(off + 18);
+
+        switch (event) {
+            case TowerJournal.FLIGHT:
+                byte[] id = new byte[TowerJournal.FLIGHT_ID_BYTES];
+                for (int i = 0; i < id.length; i++) id[i] = data.get(off + 20 + i);
+                int len = 0;
+                while (len < id.length && id[len] != 0) len++;
+                defineFlight(flight, new String(id, 0, len, StandardCharsets.US_ASCII));
+                break;
+
+            case TowerJournal.ENQUEUE:
+                enqueues++;
+                if (!tailMode) queue.addLast(key(flight, type));
+                break;
+
+            case TowerJournal.DEQUEUE:
+                dequeues++;
+                if (tailMode) break; // La cola anterior a la instantánea es desconocida
+                Long head = queue.peekFirst();
+                long expected = key(flight, type);
+                if (head != null && head == expected) {
+                    queue.pollFirst();
+                } else if (removeFirst(expected)) {
+                    outOfOrderDequeues++;
+                } else {
+                    violation("Extracción de una petición no encolada: " + describe(flight, type));
+                }
+                break;
+
+            case TowerJournal.GRANT:
+                grantCount++;
+                grants[flight]++;
+                // Puerta ocupada al tomar tierra (LOOKAHEAD): la misma petición LANDED
+                // registra después su RELEASE, que es la que cuenta como progreso
+                if (type != AirplaneState.LANDED) progress[flight]++;
+                denyStreak[flight] = 0;
+                if (runway >= 0) claim(runwayOwner, runway, flight, "pista", type);
+                if (gate >= 0) claim(gateOwner, gate, flight, "puerta", type);
+                break;
+
+            case TowerJournal.DENY:
+                denyCount++;
+                denies[flight]++;
+                denyStreak[flight]++;
+                maxDenyStreak[flight] = Math.max(maxDenyStreak[flight], denyStreak[flight]);
+                if (couldGrant(type)) avoidableDenies++;
+                break;
+
+            case TowerJournal.RELEASE:
+                releases++;
+                progress[flight]++;
+                if (runway >= 0) free(runwayOwner, runway, flight, "pista", type);
+                if (gate >= 0) free(gateOwner, gate, flight, "puerta", type);
+                break;
+
+            default:
+                violation("Evento desconocido " + event + " en el registro " + position);
+        }
+    }
+
+    // =========================================================================
+    // MODO COLA (REANUDACIÓN DESDE INSTANTÁNEA)
+    // =========================================================================
+
+    /**
+     * Prepara la reproducción de la cola del diario posterior a una instantánea.
+     * Recorre los registros FLIGHT de todo el diario para conocer los índices de
+     * los vuelos, siembra la propiedad de pistas y puertas con la de la instantánea
+     * y se sitúa en la posición del diario en la que se capturó.
+     * @param snapshot Instantánea tomada durante la ejecución que generó el diario.
+     * @return this, para encadenar replay().
+     * @throws IOException Si la instantánea no corresponde a este diario.
+     */
+    public JournalReplayer seedFromSnapshot(TowerSnapshot snapshot) throws IOException {
+        if (snapshot.getNumRunways() != numRunways || snapshot.getNumGates() != numGates) {
+            throw new IOException("La instantánea no corresponde al diario " + filePath);
+        }
+        scanFlights();
+        for (int i = 0; i < numRunways; i++) runwayOwner[i] = journalIndex(snapshot, snapshot.getRunwayOwner(i));
+        for (int i = 0; i < numGates; i++) gateOwner[i] = journalIndex(snapshot, snapshot.getGateOwner(i));
+        tailMode = true;
+        position = Math.max(0, snapshot.getJournalPosition());
+        return this;
+    }
+
+    /**
+     * Define todos los vuelos del diario leyendo solo los registros FLIGHT.
+     */
+    private void scanFlights() {
+        for (long p = 0; p < recordCount; p++) {
+            int off = (int) (TowerJournal.HEADER_SIZE + p * TowerJournal.RECORD_SIZE);
+            if (data.get(off + 8) == TowerJournal.FLIGHT) {
+                long saved = lastNanos;
+                apply(off, TowerJournal.FLIGHT);
+                lastNanos = saved;
+            }
+        }
+    }
+
+    /**
+     * Traduce el índice de un vuelo en la instantánea a su índice en el diario.
+     * @param snapshot Instantánea.
+     * @param snapshotIndex Índice del vuelo en la instantánea, o -1.
+     * @return Índice en el diario, o -1 si el recurso estaba libre.
+     */
+    private int journalIndex(TowerSnapshot snapshot, int snapshotIndex) {
+        if (snapshotIndex < 0) return -1;
+        String id = snapshot.getFlightId(snapshotIndex);
+        int index = flights.indexOf(id);
+        if (index < 0) {
+            // Vuelo sin registros en el diario: se le asigna un índice nuevo
+            index = flights.size();
+            defineFlight(index, id);
+        }
+        return index;
+    }
+
+    /**
+     * Obtiene el vuelo que ocupa una pista en el modelo reproducido.
+     * @param runway Índice de la pista.
+     * @return ID del vuelo, o null si está libre.
+     */
+    public String getRunwayOwnerId(int runway) {
+        return runwayOwner[runway] >= 0 ? flightId(runwayOwner[runway]) : null;
+    }
+
+    /**
+     * Obtiene el vuelo que ocupa una puerta en el modelo reproducido.
+     * @param gate Índice de la puerta.
+     * @return ID del vuelo, o null si está libre.
+     */
+    public String getGateOwnerId(int gate) {
+        return gateOwner[gate] >= 0 ? flightId(gateOwner[gate]) : null;
+    }
+
+    /**
+     * Obtiene las peticiones concedidas (GRANT + RELEASE) a un vuelo en lo reproducido.
+     * En modo cola son las concedidas después de la instantánea.
+     * @param flightId ID del vuelo.
+     * @return Número de peticiones concedidas.
+     */
+    public int getProgress(String flightId) {
+        int index = flights.indexOf(flightId);
+        return index >= 0 ? progress[index] : 0;
+    }
+
+    // =========================================================================
+    // MODELO
+    // =========================================================================
+
+    private void defineFlight(int index, String id) {
+        while (flights.size() <= index) flights.add(null);
+        flights.set(index, id);
+        if (index >= grants.length) {
+            int size = Math.max(index + 1, grants.length * 2);
+            grants = Arrays.copyOf(grants, size);
+            denies = Arrays.copyOf(denies, size);
+            denyStreak = Arrays.copyOf(denyStreak, size);
+            maxDenyStreak = Arrays.copyOf(maxDenyStreak, size);
+            progress = Arrays.copyOf(progress, size);
+        }
+    }
+
+    private void claim(int[] owners, int index, int flight, String kind, AirplaneState type) {
+        if (owners[index] != -1) {
+            violation("Concedida " + kind + " " + (index + 1) + " ya ocupada por " + flightId(owners[index])
+                    + " a " + describe(flight, type));
+        }
+        owners[index] = flight;
+    }
+
+    private void free(int[] owners, int index, int flight, String kind, AirplaneState type) {
+        if (owners[index] != flight) {
+            violation("Liberada " + kind + " " + (index + 1) + " que no pertenecía a " + describe(flight, type));
+        }
+        owners[index] = -1;
+    }
+
+    /**
+     * Comprueba si el modelo tenía recursos para conceder una petición denegada.
+     * @param type Tipo de petición.
+     * @return true si la denegación era evitable.
+     */
+    private boolean couldGrant(AirplaneState type) {
+        boolean runwayFree = indexOfFree(runwayOwner) >= 0;
+        if (type == AirplaneState.LANDING_REQUESTED) return runwayFree && indexOfFree(gateOwner) >= 0;
+        if (type == AirplaneState.TAKEOFF_REQUESTED) return runwayFree;
+        if (type == AirplaneState.LANDED) return indexOfFree(gateOwner) >= 0; // Espera de puerta reservada
+        return true;
+    }
+
+    private static int indexOfFree(int[] owners) {
+        for (int i = 0; i < owners.length; i++) if (owners[i] == -1) return i;
+        return -1;
+    }
+
+    private boolean removeFirst(long key) {
+        Iterator<Long> it = queue.iterator();
+        while (it.hasNext()) {
+            if (it.next() == key) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long key(int flight, AirplaneState type) {
+        return ((long) flight << 8) | type.ordinal();
+    }
+
+    private String flightId(int flight) {
+        return flight >= 0 && flight < flights.size() && flights.get(flight) != null ? flights.get(flight) : "#" + flight;
+    }
+
+    private String describe(int flight, AirplaneState type) {
+        return flightId(flight) + " (" + type + ")";
+    }
+
+    private void violation(String message) {
+        violationCount++;
+        if (violations.size() < MAX_REPORTED_VIOLATIONS) {
+            violations.add("[registro " + position + "] " + message);
+        }
+    }
+
+    // =========================================================================
+    // RESULTADOS
+    // =========================================================================
+
+    /**
+     * Indica si la reproducción no encontró inconsistencias.
+     * @return true si no hubo violaciones.
+     */
+    public boolean isConsistent() {
+        return violationCount == 0;
+    }
+
+    /**
+     * Obtiene la posición alcanzada (número de registros aplicados).
+     * @return Posición en el diario.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Obtiene el número de pistas registrado en la cabecera del diario.
+     * @return Número de pistas.
+     */
+    public int getNumRunways() {
+        return numRunways;
+    }
+
+    /**
+     * Obtiene el número de puertas registrado en la cabecera del diario.
+     * @return Número de puertas.
+     */
+    public int getNumGates() {
+        return numGates;
+    }
+
+    /**
+     * Genera un resumen legible de la reproducción.
+     * @return Texto con contadores, violaciones y vuelos más penalizados.
+     */
+    public String getSummary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== REPRODUCCIÓN DEL DIARIO ===\n");
+        sb.append("Fichero: ").append(filePath).append("\n");
+        sb.append(String.format("Registros: %d | Pistas: %d | Puertas: %d | Vuelos: %d%n",
+                position, numRunways, numGates, flights.size()));
+        sb.append(String.format("Duración registrada: %.1f ms%n", (lastNanos - startNanos) / 1e6));
+        sb.append(String.format("Encolados: %d | Extraídos: %d (fuera de orden: %d)%n", enqueues, dequeues, outOfOrderDequeues));
+        sb.append(String.format("Concesiones: %d | Denegaciones: %d (evitables: %d) | Liberaciones: %d%n",
+                grantCount, denyCount, avoidableDenies, releases));
+        sb.append(String.format("Cola al final: %d | Pistas ocupadas: %d | Puertas ocupadas: %d%n",
+                queue.size(), numRunways - countFree(runwayOwner), numGates - countFree(gateOwner)));
+
+        // Vuelos con la mayor racha de denegaciones (patologías de contención)
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < flights.size(); i++) order.add(i);
+        order.sort((a, b) -> Integer.compare(maxDenyStreak[b], maxDenyStreak[a]));
+        sb.append("Vuelos con más denegaciones seguidas:\n");
+        for (int i = 0; i < Math.min(5, order.size()); i++) {
+            int f = order.get(i);
+            sb.append(String.format("  %-10s racha máx: %d | denegaciones: %d | concesiones: %d%n",
+                    flightId(f), maxDenyStreak[f], denies[f], grants[f]));
+        }
+
+        sb.append("Violaciones: ").append(violationCount).append("\n");
+        for (String v : violations) sb.append("  ").append(v).append("\n");
+        return sb.toString();
+    }
+
+    private static int countFree(int[] owners) {
+        int n = 0;
+        for (int o : owners) if (o == -1) n++;
+        return n;
+    }
+
+    /**
+     * Reproduce un diario desde línea de comandos e imprime el resumen.
+     * @param args Ruta del fichero .journal.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Uso: JournalReplayer <fichero.journal>");
+            return;
+        }
+        try {
+            long t0 = System.nanoTime();
+            JournalReplayer replayer = new JournalReplayer(args[0]).replay();
+            long t1 = System.nanoTime();
+            System.out.print(replayer.getSummary());
+            System.out.println(String.format("Reproducido en %.2f ms", (t1 - t0) / 1e6));
+        } catch (IOException e) {
+            System.err.println("No se pudo leer el diario: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package aeronpcd.concurrente.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archivo de los segmentos rotados de un log.
+ *
+ * FUNCIONAMIENTO:
+ * 1. Logger cierra el segmento activo, lo renombra a {base}.{n}.{ext} y lo entrega
+ *    aquí; la compresión GZIP se hace en un único hilo propio, así que rotar no
+ *    bloquea a los hilos de la simulación más que lo que cuesta renombrar el archivo.
+ * 2. Al terminar cada compresión se borra el segmento sin comprimir y, si la
+ *    política fija un tamaño máximo, los segmentos comprimidos más antiguos.
+ * 3. El índice {base}.index relaciona cada segmento con su intervalo de tiempo
+ *    (epoch ms, una línea por segmento). Se reescribe completo en cada cambio e
+ *    incluye al final el archivo activo.
+ */
+public class LogArchiver {
+
+    /**
+     * Entrada del índice: un segmento y su intervalo de tiempo.
+     */
+    public static class Segment {
+        private final int number;
+        private final long fromMs;
+        private final long toMs;
+        private final String fileName;
+        private final long bytes;
+
+        Segment(int number, long fromMs, long toMs, String fileName, long bytes) {
+            this.number = number;
+            this.fromMs = fromMs;
+            this.toMs = toMs;
+            this.fileName = fileName;
+            this.bytes = bytes;
+        }
+
+        public int getNumber() { return number; }
+
+        public long getFromMs() { return fromMs; }
+
+        public long getToMs() { return toMs; }
+
+        public String getFileName() { return fileName; }
+
+        public long getBytes() { return bytes; }
+    }
+
+    private final String basePath;
+    private final LogRotation rotation;
+    private final File indexFile;
+    private final List<Segment> archived = new ArrayList<>();
+    private final ExecutorService worker;
+    private Segment active;
+    private long archivedBytes = 0;
+
+    /**
+     * Constructor del archivo de un log.
+     * @param basePath Ruta del log sin extensión (aeron-...-{timestamp}{sufijo}).
+     * @param rotation Política de rotación (límite del archivo comprimido).
+     */
+    public LogArchiver(String basePath, LogRotation rotation) {
+        this.basePath = basePath;
+        this.rotation = rotation;
+        this.indexFile = new File(basePath + ".index");
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "Log-Archiver");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Obtiene la ruta del índice.
+     * @return Ruta del archivo .index.
+     */
+    public String getIndexPath() {
+        return indexFile.getPath();
+    }
+
+    /**
+     * Entrega un segmento cerrado y renombrado para comprimirlo en segundo plano.
+     * @param segment Archivo del segmento.
+     * @param number Número del segmento (desde 1).
+     * @param fromMs Instante del primer registro del segmento.
+     * @param toMs Instante de la rotación.
+     */
+    public void archive(File segment, int number, long fromMs, long toMs) {
+        worker.execute(() -> compress(segment, number, fromMs, toMs));
+    }
+
+    /**
+     * Registra el archivo activo al cerrar el log (queda sin comprimir) y espera
+     * a que terminen las compresiones pendientes.
+     * @param activeFile Archivo activo.
+     * @param number Número que le corresponde.
+     * @param fromMs Instante de su primer registro.
+     * @param toMs Instante del cierre.
+     */
+    public void finish(File activeFile, int number, long fromMs, long toMs) {
+        worker.execute(() -> {
+            synchronized (this) {
+                active = new Segment(number, fromMs, toMs, activeFile.getName(), activeFile.length());
+                writeIndex();
+            }
+        });
+        worker.shutdown();
+        try {
+            if (!worker.awaitTermination(30, TimeUnit.SECONDS)) {
+                System.err.println("[LOG] La compresión de segmentos de " + basePath + " no terminó a tiempo");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // =========================================================================
+    // HILO DE COMPRESIÓN
+    // =========================================================================
+
+    private void compress(File segment, int number, long fromMs, long toMs) {
+        File target = new File(segment.getPath() + ".gz");
+        try (InputStream in = new BufferedInputStream(new FileInputStream(segment), 1 << 16);
+             OutputStream out = new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(target), 1 << 16), 1 << 16)) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            // Se conserva el segmento sin comprimir
+            System.err.println("[LOG] No se pudo comprimir " + segment + ": " + e.getMessage());
+            target.delete();
+            target = segment;
+        }
+        if (target != segment) segment.delete();
+
+        synchronized (this) {
+            archived.add(new Segment(number, fromMs, toMs, target.getName(), target.length()));
+            archivedBytes += target.length();
+            // Límite del archivo: se borran los segmentos más antiguos (siempre queda el último)
+            long max = rotation.getMaxArchiveBytes();
+            while (max > 0 && archivedBytes > max && archived.size() > 1) {
+                Segment oldest = archived.remove(0);
+                archivedBytes -= oldest.getBytes();
+                new File(indexFile.getParentFile(), oldest.getFileName()).delete();
+            }
+            writeIndex();
+        }
+    }
+
+    private void writeIndex() {
+        try (PrintWriter w = new PrintWriter(indexFile)) {
+            w.println("# segmento\tdesde_ms\thasta_ms\tarchivo\tbytes");
+            for (Segment s : archived) writeEntry(w, s);
+            if (active != null) writeEntry(w, active);
+        } catch (IOException e) {
+            System.err.println("[LOG] No se pudo escribir el índice " + indexFile + ": " + e.getMessage());
+        }
+    }
+
+    private static void writeEntry(PrintWriter w, Segment s) {
+        w.println(s.getNumber() + "\t" + s.getFromMs() + "\t" + s.getToMs() + "\t" + s.getFileName() + "\t" + s.getBytes());
+    }
+
+    // =========================================================================
+    // CONSULTA DEL ÍNDICE
+    // =========================================================================
+
+    /**
+     * Lee un índice y devuelve los segmentos que se solapan con un intervalo.
+     * @param indexPath Ruta del archivo .index.
+     * @param fromMs Inicio del intervalo (epoch ms).
+     * @param toMs Fin del intervalo (epoch ms).
+     * @return Segmentos con registros en el intervalo, en orden.
+     * @throws IOException Si no se puede leer el índice.
+     */
+    public static List<Segment> findSegments(String indexPath, long fromMs, long toMs) throws IOException {
+        List<Segment> found = new ArrayList<>();
+        try (BufferedReader r = new BufferedReader(new FileReader(indexPath))) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] f = line.split("\t");
+                if (f.length < 5) continue;
+                Segment s = new Segment(Integer.parseInt(f[0]), Long.parseLong(f[1]), Long.parseLong(f[2]),
+                        f[3], Long.parseLong(f[4]));
+                if (s.getFromMs() <= toMs && s.getToMs() >= fromMs) found.add(s);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,61 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.model.AirplaneState;
+
+/**
+ * Tipos de evento del log. Cada evento guarda sus campos sin formatear (vuelo,
+ * estados, operario y texto libre) y sabe producir las líneas de texto del
+ * formato del log, de modo que el formateo puede hacerse después, en otro hilo
+ * (log fusionado) o en otro proceso (log binario y LogRenderer).
+ *
+ * El ordinal de cada evento es su código en el log binario: los nuevos eventos
+ * se añaden siempre al final.
+ */
+public enum LogEvent {
+    LINE,           // Línea libre: texto
+    AIRPLANE,       // Evento de avión: vuelo, estado, texto
+    TOWER,          // Evento de operario: vuelo = id del operario, texto
+    FLIGHT_PANEL,   // Actualización del panel de vuelos: vuelo, texto = estado
+    ENQUEUE,        // Petición encolada: vuelo, estado = tipo de petición
+    SERVE,          // Un operario toma una petición: operario, vuelo
+    REQUEUE,        // Petición reencolada por falta de recursos: operario, vuelo
+    PANEL_CHANGE;   // Cambio de estado en el panel JSON: vuelo, estado anterior, estado nuevo
+
+    /**
+     * Genera las líneas del log de un evento.
+     * @param flight ID del vuelo (o del operario en TOWER), o null.
+     * @param state Estado o tipo de petición, o null.
+     * @param state2 Segundo estado (PANEL_CHANGE), o null.
+     * @param operator ID del operario (SERVE, REQUEUE).
+     * @param text Texto libre, o null.
+     * @return Líneas a escribir, en orden.
+     */
+    public String[] format(String flight, AirplaneState state, AirplaneState state2, int operator, String text) {
+        switch (this) {
+            case AIRPLANE:
+                // Ejemplo PDF: Avión [IBE-001 - IN_FLIGHT] Inicia ciclo
+                return new String[] { "Avión [" + flight + " - " + state + "] " + text };
+            case TOWER:
+                // Ejemplo PDF: Operario [OP-001] esperando nueva petición...
+                return new String[] { "Operario [" + flight + "] " + text };
+            case FLIGHT_PANEL:
+                // El PDF muestra que cada vez que se actualiza, se imprime esto (sin intercalar):
+                return new String[] {
+                    "Panel de vuelos",
+                    "\"Flight\", \"Status\"", // Cabecera CSV
+                    "\"" + flight + "\", \"" + text + "\"", // Datos CSV
+                    "" // Espacio extra para legibilidad
+                };
+            case ENQUEUE:
+                return new String[] { "Avión " + flight + " encolado: " + state };
+            case SERVE:
+                return new String[] { "Operario " + operator + " atiende petición de Avión " + flight };
+            case REQUEUE:
+                return new String[] { "Operario " + operator + ": Recursos ocupados, reencolando petición de " + flight };
+            case PANEL_CHANGE:
+                return new String[] { "[PANEL JSON] " + flight + ": " + state + " -> " + state2 };
+            default:
+                return new String[] { text };
+        }
+    }
+}
@@ -0,0 +1,702 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.exceptions.ResultStoreException;
+import aeronpcd.concurrente.model.AirplaneState;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Importador de logs de texto (.log) de ejecuciones anteriores.
+ *
+ * OBJETIVO: Comparar ejecuciones antiguas con las actuales sin repetirlas. A
+ * partir de las líneas que escribe Logger reconstruye la línea temporal de cada
+ * vuelo, sus reencolados y la actividad de cada operario, y guarda la ejecución
+ * en el almacén de resultados (ResultStore) con la misma fila que escribe una
+ * ejecución en vivo.
+ *
+ * IMPLEMENTACIÓN:
+ * - El fichero se mapea en memoria por ventanas de WINDOW_BYTES y se recorre byte
+ *   a byte buscando saltos de línea; cada línea se reconoce por su prefijo sin
+ *   decodificarla, y solo se crean cadenas para los IDs de vuelo y los estados.
+ * - Los logs de texto no llevan instantes: la línea temporal se ordena por número
+ *   de línea (el orden en que se escribieron los eventos).
+ * - Los tiempos de ciclo salen de las líneas "Completó ciclo en N ms" (modo
+ *   secuencial) o, si no las hay, del CSV que la ejecución dejó junto al log.
+ * - Los caracteres acentuados se aceptan en UTF-8, en Latin-1 o sustituidos por
+ *   '?' (logs escritos con otra codificación por defecto).
+ *
+ * Uso: java aeronpcd.concurrente.util.LogImporter fichero.log|directorio...
+ *      [--vuelo ID] [--almacen DIRECTORIO] [--sin-almacen]
+ */
+public class LogImporter {
+
+    // Ventana de mapeo; una línea no puede ser más larga que esto
+    private static final int WINDOW_BYTES = 64 << 20;
+
+    // Política registrada en el almacén cuando el log no la indica
+    private static final String UNKNOWN_POLICY = "IMPORTADO";
+
+    private static final Pattern FILE_NAME = Pattern.compile(
+            "aeron-([A-Z]+)-(\\d+)AV-(\\d+)PIS-(\\d+)PUE-(\\d+)OPE-(\\d{8}_\\d{6})");
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private static final AirplaneState[] STATES = AirplaneState.values();
+    private static final Map<String, AirplaneState> STATES_BY_NAME = new HashMap<>();
+    static {
+        for (AirplaneState s : STATES) STATES_BY_NAME.put(s.name(), s);
+    }
+
+    // =========================================================================
+    // RESULTADO DE LA IMPORTACIÓN
+    // =========================================================================
+
+    /**
+     * Línea temporal y contadores de un vuelo.
+     * Cada entrada es un evento (LogEvent) con su número de línea, el estado
+     * asociado y el operario que lo generó (-1 si no lo hay).
+     */
+    public static class Flight {
+        private final String id;
+        private int size = 0;
+        private int[] lines = new int[16];
+        private byte[] events = new byte[16];
+        private byte[] states = new byte[16];
+        private short[] operators = new short[16];
+        private int enqueues = 0;
+        private int serves = 0;
+        private int requeues = 0;
+        private int grants = 0;
+        private AirplaneState lastState;
+        private long turnaroundMs = -1;
+
+        private Flight(String id) {
+            this.id = id;
+        }
+
+        private void add(int line, LogEvent event, AirplaneState state, int operator) {
+            if (size == lines.length) {
+                int n = size * 2;
+                lines = Arrays.copyOf(lines, n);
+                events = Arrays.copyOf(events, n);
+                states = Arrays.copyOf(states, n);
+                operators = Arrays.copyOf(operators, n);
+            }
+            lines[size] = line;
+            events[size] = (byte) event.ordinal();
+            states[size] = (byte) (state != null ? state.ordinal() : -1);
+            operators[size] = (short) operator;
+            size++;
+        }
+
+        public String getId() { return id; }
+
+        public int getEventCount() { return size; }
+
+        public int getLine(int i) { return lines[i]; }
+
+        public LogEvent getEvent(int i) { return LogEvent.values()[events[i]]; }
+
+        public AirplaneState getState(int i) { return states[i] >= 0 ? STATES[states[i]] : null; }
+
+        public int getOperator(int i) { return operators[i]; }
+
+        public int getEnqueues() { return enqueues; }
+
+        public int getServes() { return serves; }
+
+        public int getRequeues() { return requeues; }
+
+        public int getGrants() { return grants; }
+
+        public AirplaneState getLastState() { return lastState; }
+
+        /**
+         * Obtiene el tiempo de ciclo del vuelo.
+         * @return Tiempo en ms, o -1 si el log no lo indica.
+         */
+        public long getTurnaroundMs() { return turnaroundMs; }
+
+        /**
+         * Indica si el vuelo completó su ciclo según el log.
+         * @return true si llegó a DEPARTED.
+         */
+        public boolean isCompleted() { return lastState == AirplaneState.DEPARTED; }
+    }
+
+    /**
+     * Actividad de un operario.
+     */
+    public static class OperatorActivity {
+        private final int id;
+        private int serves = 0;
+        private int requeues = 0;
+        private int grants = 0;
+        private int shiftStartLine = -1;
+        private int shiftEndLine = -1;
+        private boolean interrupted = false;
+        private final Map<String, Integer> grantsByAction = new TreeMap<>();
+
+        private OperatorActivity(int id) {
+            this.id = id;
+        }
+
+        public int getId() { return id; }
+
+        public int getServes() { return serves; }
+
+        public int getRequeues() { return requeues; }
+
+        public int getGrants() { return grants; }
+
+        public int getShiftStartLine() { return shiftStartLine; }
+
+        public int getShiftEndLine() { return shiftEndLine; }
+
+        public boolean isInterrupted() { return interrupted; }
+
+        /**
+         * Concesiones por acción ("AUTORIZA ATERRIZAJE", ...), si el log las incluye.
+         * @return Copia del recuento por acción.
+         */
+        public Map<String, Integer> getGrantsByAction() { return new TreeMap<>(grantsByAction); }
+    }
+
+    private final String filePath;
+    private final Map<String, Flight> flights = new LinkedHashMap<>();
+    private final Map<Integer, OperatorActivity> operators = new TreeMap<>();
+
+    // Configuración y totales de la ejecución
+    private String mode;
+    private String policy = UNKNOWN_POLICY;
+    private int numAviones = -1;
+    private int numPistas = -1;
+    private int numPuertas = -1;
+    private int numOperarios = -1;
+    private long totalMs = -1;
+    private long startEpochMs = -1;
+    private boolean finished = false;
+    private int inconsistencies = 0;
+    private int lineCount = 0;
+    private int unrecognized = 0;
+
+    // Contadores con el mismo significado que TowerMetrics
+    private long enqueues = 0;
+    private long dequeues = 0;
+    private long grants = 0;
+    private long requeues = 0;
+
+    /**
+     * Constructor del importador de un log.
+     * @param filePath Ruta del fichero .log.
+     */
+    public LogImporter(String filePath) {
+        this.filePath = filePath;
+        Matcher m = FILE_NAME.matcher(new File(filePath).getName());
+        if (m.find()) {
+            mode = m.group(1);
+            numAviones = Integer.parseInt(m.group(2));
+            numPistas = Integer.parseInt(m.group(3));
+            numPuertas = Integer.parseInt(m.group(4));
+            numOperarios = Integer.parseInt(m.group(5));
+            startEpochMs = LocalDateTime.parse(m.group(6), FILE_TIMESTAMP)
+                    .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+    }
+
+    // =========================================================================
+    // LECTURA DEL FICHERO
+    // =========================================================================
+
+    /**
+     * Recorre el log y reconstruye vuelos, operarios y totales.
+     * @return Este importador, con los resultados.
+     * @throws IOException Si no se puede leer el fichero.
+     */
+    public LogImporter read() throws IOException {
+        try (FileChannel ch = FileChannel.open(new File(filePath).toPath(), StandardOpenOption.READ)) {
+            long size = ch.size();
+            long pos = 0;
+            while (pos < size) {
+                int length = (int) Math.min(WINDOW_BYTES, size - pos);
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, pos, length);
+                boolean last = pos + length == size;
+                int lineStart = 0;
+                for (int i = 0; i < length; i++) {
+                    if (buf.get(i) == '\n') {
+                        parseLine(buf, lineStart, i);
+                        lineStart = i + 1;
+                    }
+                }
+                if (last) {
+                    if (lineStart < length) parseLine(buf, lineStart, length);
+                    pos = size;
+                } else if (lineStart == 0) {
+                    throw new IOException("Línea de más de " + WINDOW_BYTES + " bytes en " + filePath);
+                } else {
+                    pos += lineStart; // La línea incompleta se relee en la siguiente ventana
+                }
+            }
+        }
+        if (grants == 0) {
+            // Logs sin líneas [OP-N]: cada petición atendida y no reencolada es una concesión
+            grants = dequeues - requeues;
+            for (OperatorActivity o : operators.values()) o.grants = o.serves - o.requeues;
+        }
+        if (!hasTurnarounds()) readCompanionCsv();
+        return this;
+    }
+
+    /**
+     * Reconoce una línea por su prefijo y actualiza el estado de la importación.
+     * @param b Ventana mapeada.
+     * @param s Inicio de la línea.
+     * @param e Fin de la línea (exclusivo, sin el salto).
+     */
+    private void parseLine(MappedByteBuffer b, int s, int e) {
+        int line = ++lineCount;
+        if (e > s && b.get(e - 1) == '\r') e--;
+        if (e == s) return;
+        int p;
+
+        if ((p = match(b, s, e, "Avi~n [")) >= 0) {
+            // Avión [ID - ESTADO] texto
+            int sep = indexOf(b, p, e, " - ");
+            int close = sep >= 0 ? indexOf(b, sep + 3, e, "] ") : -1;
+            if (close < 0) { unrecognized++; return; }
+            Flight f = flight(string(b, p, sep));
+            AirplaneState state = STATES_BY_NAME.get(string(b, sep + 3, close));
+            int t = match(b, close + 2, e, "Complet~ ciclo en ");
+            if (t >= 0) {
+                f.turnaroundMs = parseLong(b, t, e);
+            } else {
+                f.add(line, LogEvent.AIRPLANE, state, -1);
+                if (state != null) f.lastState = state;
+            }
+        } else if ((p = match(b, s, e, "Avi~n ")) >= 0) {
+            // Avión ID encolado: TIPO
+            int sep = indexOf(b, p, e, " encolado: ");
+            if (sep < 0) { unrecognized++; return; }
+            Flight f = flight(string(b, p, sep));
+            f.add(line, LogEvent.ENQUEUE, STATES_BY_NAME.get(string(b, sep + 11, e)), -1);
+            f.enqueues++;
+            enqueues++;
+        } else if ((p = match(b, s, e, "Operario ")) >= 0) {
+            parseOperatorLine(b, p, e, line);
+        } else if ((p = match(b, s, e, "[OP-")) >= 0) {
+            // [OP-N] ACCIÓN | ID (ANTERIOR -> NUEVO)
+            int close = indexOf(b, p, e, "] ");
+            int bar = close >= 0 ? indexOf(b, close + 2, e, " | ") : -1;
+            int paren = bar >= 0 ? indexOf(b, bar + 3, e, " (") : -1;
+            int arrow = paren >= 0 ? indexOf(b, paren + 2, e, " -> ") : -1;
+            if (arrow < 0) { unrecognized++; return; }
+            int op = (int) parseLong(b, p, close);
+            OperatorActivity o = operator(op);
+            o.grants++;
+            o.grantsByAction.merge(string(b, close + 2, bar).trim(), 1, Integer::sum);
+            Flight f = flight(string(b, bar + 3, paren));
+            int end = b.get(e - 1) == ')' ? e - 1 : e;
+            f.add(line, LogEvent.TOWER, STATES_BY_NAME.get(string(b, arrow + 4, end)), op);
+            f.grants++;
+            grants++;
+        } else if ((p = match(b, s, e, "[PANEL JSON] ")) >= 0) {
+            // [PANEL JSON] ID: ANTERIOR -> NUEVO (el resto de líneas del panel no son eventos)
+            int colon = indexOf(b, p, e, ": ");
+            int arrow = colon >= 0 ? indexOf(b, colon + 2, e, " -> ") : -1;
+            if (arrow < 0) return;
+            flight(string(b, p, colon)).add(line, LogEvent.PANEL_CHANGE, STATES_BY_NAME.get(string(b, arrow + 4, e)), -1);
+        } else if ((p = match(b, s, e, "TIEMPO TOTAL DE EJECUCI~N: ")) >= 0) {
+            totalMs = parseLong(b, p, e);
+        } else if ((p = match(b, s, e, "Aviones gestionados: ")) >= 0) {
+            // Aviones gestionados: N | Pistas: N | Puertas: N | Operarios: N
+            String[] parts = string(b, p, e).split("\\|");
+            if (parts.length == 4) {
+                numAviones = (int) parseLong(parts[0]);
+                numPistas = (int) parseLong(parts[1]);
+                numPuertas = (int) parseLong(parts[2]);
+                numOperarios = (int) parseLong(parts[3]);
+            }
+        } else if ((p = match(b, s, e, "Pol~tica ")) >= 0) {
+            int arrow = indexOf(b, p, e, " -> ");
+            if (arrow > p) policy = string(b, p, arrow);
+        } else if ((p = match(b, s, e, "=== INICIO DE SIMULACI~N ")) >= 0) {
+            mode = match(b, p, e, "SECUENCIAL") >= 0 ? "SEQUENTIAL" : "CONCURRENT";
+        } else if (match(b, s, e, "=== FIN DE LA SIMULACI~N") >= 0) {
+            finished = true;
+        } else if (match(b, s, e, "[SHUTDOWN] [INCOHERENCIA]") >= 0) {
+            inconsistencies++;
+        }
+    }
+
+    /**
+     * Líneas de operario: atiende, reencola, inicio y fin de turno.
+     */
+    private void parseOperatorLine(MappedByteBuffer b, int p, int e, int line) {
+        int numEnd = p;
+        while (numEnd < e && b.get(numEnd) >= '0' && b.get(numEnd) <= '9') numEnd++;
+        if (numEnd == p) return; // Operario [OP-ID] texto: evento libre de la torre
+        int op = (int) parseLong(b, p, numEnd);
+        OperatorActivity o = operator(op);
+        int q;
+        if ((q = match(b, numEnd, e, " atiende petici~n de Avi~n ")) >= 0) {
+            Flight f = flight(string(b, q, e));
+            f.add(line, LogEvent.SERVE, null, op);
+            f.serves++;
+            o.serves++;
+            dequeues++;
+        } else if ((q = match(b, numEnd, e, ": Recursos ocupados, reencolando petici~n de ")) >= 0) {
+            Flight f = flight(string(b, q, e));
+            f.add(line, LogEvent.REQUEUE, null, op);
+            f.requeues++;
+            o.requeues++;
+            requeues++;
+        } else if (match(b, numEnd, e, " iniciando turno") >= 0) {
+            o.shiftStartLine = line;
+        } else if (match(b, numEnd, e, " finaliza su turno") >= 0) {
+            o.shiftEndLine = line;
+            o.interrupted = indexOf(b, numEnd, e, "interrumpido") >= 0;
+        }
+    }
+
+    private Flight flight(String id) {
+        return flights.computeIfAbsent(id, Flight::new);
+    }
+
+    private OperatorActivity operator(int id) {
+        return operators.computeIfAbsent(id, OperatorActivity::new);
+    }
+
+    // =========================================================================
+    // COMPARACIÓN DE BYTES
+    // =========================================================================
+
+    /**
+     * Comprueba si la línea contiene un texto en una posición. En el patrón, '~'
+     * es un carácter acentuado: 2 bytes en UTF-8, o 1 byte en Latin-1 o '?'.
+     * @return Posición tras el texto, o -1 si no coincide.
+     */
+    private static int match(MappedByteBuffer b, int pos, int end, String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            if (pos >= end) return -1;
+            char c = pattern.charAt(i);
+            if (c == '~') {
+                int v = b.get(pos) & 0xFF;
+                if (v >= 0xC0 && v < 0xE0) pos += 2;          // UTF-8 de dos bytes
+                else if (v >= 0x80 || v == '?') pos += 1;     // Latin-1 o sustituido
+                else return -1;
+            } else if (b.get(pos++) != c) {
+                return -1;
+            }
+        }
+        return pos <= end ? pos : -1;
+    }
+
+    private static int indexOf(MappedByteBuffer b, int from, int end, String text) {
+        int last = end - text.length();
+        outer:
+        for (int i = from; i <= last; i++) {
+            for (int j = 0; j < text.length(); j++) {
+                if (b.get(i + j) != text.charAt(j)) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static String string(MappedByteBuffer b, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        b.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lee el primer número entero a partir de una posición (ignora lo que le siga).
+     */
+    private static long parseLong(MappedByteBuffer b, int from, int end) {
+        long v = 0;
+        int i = from;
+        while (i < end && (b.get(i) < '0' || b.get(i) > '9')) i++;
+        while (i < end && b.get(i) >= '0' && b.get(i) <= '9') v = v * 10 + (b.get(i++) - '0');
+        return v;
+    }
+
+    private static long parseLong(String text) {
+        long v = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') v = v * 10 + (c - '0');
+        }
+        return v;
+    }
+
+    // =========================================================================
+    // TIEMPOS DE CICLO DEL CSV
+    // =========================================================================
+
+    private boolean hasTurnarounds() {
+        for (Flight f : flights.values()) if (f.turnaroundMs >= 0) return true;
+        return false;
+    }
+
+    /**
+     * Busca el CSV de la misma ejecución: misma configuración y el primer instante
+     * posterior al del log (el CSV se escribe al terminar, con su propio instante).
+     */
+    private void readCompanionCsv() {
+        File log = new File(filePath).getAbsoluteFile();
+        Matcher m = FILE_NAME.matcher(log.getName());
+        File[] candidates = log.getParentFile().listFiles();
+        if (!m.find() || candidates == null) return;
+        String prefix = log.getName().substring(0, m.start(6));
+        String logStamp = m.group(6);
+        // Margen: duración de la ejecución más un minuto
+        long maxDelayMs = Math.max(0, totalMs) + 60_000;
+
+        File best = null;
+        String bestStamp = null;
+        for (File c : candidates) {
+            String name = c.getName();
+            if (!name.startsWith(prefix) || !name.endsWith(".csv")) continue;
+            Matcher cm = FILE_NAME.matcher(name);
+            if (!cm.find()) continue;
+            String stamp = cm.group(6);
+            if (stamp.compareTo(logStamp) < 0 || (bestStamp != null && stamp.compareTo(bestStamp) >= 0)) continue;
+            long delay = LocalDateTime.parse(stamp, FILE_TIMESTAMP).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                    - startEpochMs;
+            if (delay > maxDelayMs) continue;
+            best = c;
+            bestStamp = stamp;
+        }
+        if (best == null) return;
+
+        try (BufferedReader r = new BufferedReader(new FileReader(best, StandardCharsets.UTF_8))) {
+            String line = r.readLine(); // Cabecera
+            while ((line = r.readLine()) != null) {
+                int comma = line.indexOf(',');
+                if (comma < 0) continue;
+                Flight f = flights.get(line.substring(0, comma));
+                if (f != null) f.turnaroundMs = parseLong(line.substring(comma + 1));
+            }
+        } catch (IOException e) {
+            System.err.println("[IMPORT] No se pudo leer " + best + ": " + e.getMessage());
+        }
+    }
+
+    // =========================================================================
+    // CONSULTA Y SALIDA
+    // =========================================================================
+
+    public String getFilePath() { return filePath; }
+
+    public String getMode() { return mode; }
+
+    public String getPolicy() { return policy; }
+
+    public int getNumAviones() { return numAviones; }
+
+    public int getNumPistas() { return numPistas; }
+
+    public int getNumPuertas() { return numPuertas; }
+
+    public int getNumOperarios() { return numOperarios; }
+
+    public long getTotalMs() { return totalMs; }
+
+    public int getLineCount() { return lineCount; }
+
+    public long getEnqueues() { return enqueues; }
+
+    public long getDequeues() { return dequeues; }
+
+    public long getGrants() { return grants; }
+
+    public long getRequeues() { return requeues; }
+
+    /**
+     * Obtiene los vuelos en orden de primera aparición.
+     * @return Vuelos importados.
+     */
+    public List<Flight> getFlights() { return new ArrayList<>(flights.values()); }
+
+    /**
+     * Obtiene un vuelo por su ID.
+     * @param id ID del vuelo.
+     * @return El vuelo, o null si no aparece en el log.
+     */
+    public Flight getFlight(String id) { return flights.get(id); }
+
+    /**
+     * Obtiene la actividad de los operarios, ordenada por ID.
+     * @return Operarios importados.
+     */
+    public List<OperatorActivity> getOperators() { return new ArrayList<>(operators.values()); }
+
+    /**
+     * Indica si la ejecución es válida: terminó, todos los vuelos despegaron y no
+     * hubo incoherencias (el mismo criterio que SimulationResult).
+     * @return true si la ejecución es comparable.
+     */
+    public boolean isValid() {
+        if (!finished || inconsistencies > 0 || flights.isEmpty()) return false;
+        for (Flight f : flights.values()) if (!f.isCompleted()) return false;
+        return true;
+    }
+
+    /**
+     * Tiempos de ciclo conocidos, ordenados.
+     * @return Tiempos en ms de los vuelos que los tienen.
+     */
+    public long[] getTurnaroundTimes() {
+        long[] times = new long[flights.size()];
+        int n = 0;
+        for (Flight f : flights.values()) if (f.turnaroundMs >= 0) times[n++] = f.turnaroundMs;
+        times = Arrays.copyOf(times, n);
+        Arrays.sort(times);
+        return times;
+    }
+
+    /**
+     * Guarda la ejecución en el almacén de resultados, salvo que ya esté (misma
+     * configuración e instante de fin), de modo que reimportar no duplica filas.
+     * @param store Almacén de destino.
+     * @return true si se añadió la fila.
+     * @throws ResultStoreException Si no se puede leer o escribir el almacén.
+     */
+    public boolean writeTo(ResultStore store) throws ResultStoreException {
+        if (mode == null || numAviones < 0) {
+            throw new ResultStoreException(store.getDirectory(), "no se conoce la configuración de " + filePath);
+        }
+        long endEpochMs = startEpochMs >= 0 ? startEpochMs + Math.max(0, totalMs) : 0;
+        ResultStore.Runs runs = store.scan();
+        for (int r : runs.select(mode, policy, numAviones, numPistas, numPuertas, numOperarios, false)) {
+            if (runs.getTime(r) == endEpochMs) return false;
+        }
+        store.append(endEpochMs, mode, policy, numAviones, numPistas, numPuertas, numOperarios,
+                Math.max(0, totalMs), getTurnaroundTimes(), isValid());
+        return true;
+    }
+
+    /**
+     * Genera el resumen de la importación.
+     * @return Texto con la configuración, los totales, los vuelos y los operarios.
+     */
+    public String summarize() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== IMPORTACIÓN DE LOG ===\n");
+        sb.append("Fichero: ").append(filePath).append("\n");
+        sb.append(String.format("%s %dAV-%dPIS-%dPUE-%dOPE | política %s | %d líneas%s%n", mode, numAviones,
+                numPistas, numPuertas, numOperarios, policy, lineCount,
+                unrecognized > 0 ? " (" + unrecognized + " sin reconocer)" : ""));
+        sb.append(String.format("Tiempo total: %s | Encoladas: %d | Atendidas: %d | Concesiones: %d | Reencoladas: %d%s%n",
+                totalMs >= 0 ? totalMs + " ms" : "desconocido", enqueues, dequeues, grants, requeues,
+                isValid() ? "" : " | NO VÁLIDA"));
+
+        long[] times = getTurnaroundTimes();
+        if (times.length > 0) {
+            long sum = 0;
+            for (long t : times) sum += t;
+            sb.append(String.format("Turnaround (ms): media %.0f | p50 %d | p99 %d | máx %d (%d vuelos)%n",
+                    (double) sum / times.length, ReportManager.percentile(times, 50),
+                    ReportManager.percentile(times, 99), times[times.length - 1], times.length));
+        }
+
+        sb.append(String.format("%n%-12s %8s %8s %9s %10s %12s %-10s%n",
+                "VUELO", "EVENTOS", "ENCOLA", "ATENDIDA", "REENCOLA", "CICLO(ms)", "ESTADO"));
+        for (Flight f : flights.values()) {
+            sb.append(String.format("%-12s %8d %8d %9d %10d %12s %-10s%n", f.id, f.size, f.enqueues, f.serves,
+                    f.requeues, f.turnaroundMs >= 0 ? String.valueOf(f.turnaroundMs) : "-",
+                    f.lastState != null ? f.lastState : "-"));
+        }
+        if (!operators.isEmpty()) {
+            sb.append(String.format("%n%-10s %9s %10s %12s %s%n", "OPERARIO", "ATIENDE", "REENCOLA", "CONCESIONES", "TURNO (líneas)"));
+            for (OperatorActivity o : operators.values()) {
+                sb.append(String.format("%-10d %9d %10d %12d %s-%s%s%n", o.id, o.serves, o.requeues, o.grants,
+                        o.shiftStartLine >= 0 ? o.shiftStartLine : "?", o.shiftEndLine >= 0 ? o.shiftEndLine : "?",
+                        o.interrupted ? " (interrumpido)" : ""));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Genera la línea temporal de un vuelo.
+     * @param id ID del vuelo.
+     * @return Una línea por evento, en orden del log.
+     */
+    public String timeline(String id) {
+        Flight f = flights.get(id);
+        if (f == null) return "Vuelo " + id + " no encontrado en " + filePath + "\n";
+        StringBuilder sb = new StringBuilder("=== LÍNEA TEMPORAL DE " + id + " ===\n");
+        for (int i = 0; i < f.size; i++) {
+            AirplaneState state = f.getState(i);
+            sb.append(String.format("%8d  %-13s %-18s %s%n", f.lines[i], f.getEvent(i), state != null ? state : "",
+                    f.operators[i] >= 0 ? "operario " + f.operators[i] : ""));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Importa logs desde línea de comandos.
+     * @param args Ficheros .log o directorios y opciones (--vuelo, --almacen, --sin-almacen).
+     */
+    public static void main(String[] args) {
+        List<File> files = new ArrayList<>();
+        String flight = null;
+        String storeDir = ResultStore.DEFAULT_DIR;
+        boolean store = true;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--vuelo": flight = args[++i]; break;
+                    case "--almacen": storeDir = args[++i]; break;
+                    case "--sin-almacen": store = false; break;
+                    default:
+                        File f = new File(args[i]);
+                        File[] logs = f.isDirectory()
+                                ? f.listFiles((d, name) -> name.startsWith("aeron-") && name.endsWith(".log"))
+                                : new File[] { f };
+                        if (logs != null) {
+                            Arrays.sort(logs);
+                            files.addAll(Arrays.asList(logs));
+                        }
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            files.clear();
+        }
+        if (files.isEmpty()) {
+            System.err.println("Uso: LogImporter <fichero.log|directorio>... [--vuelo ID] [--almacen DIR] [--sin-almacen]");
+            return;
+        }
+
+        int added = 0;
+        for (File f : files) {
+            try {
+                LogImporter importer = new LogImporter(f.getPath()).read();
+                System.out.println(importer.summarize());
+                if (flight != null) System.out.println(importer.timeline(flight));
+                if (store && importer.writeTo(ResultStore.open(storeDir))) added++;
+            } catch (IOException | ResultStoreException e) {
+                System.err.println("[IMPORT] " + f + ": " + e.getMessage());
+            }
+        }
+        if (store) System.out.println(added + " ejecuciones añadidas al almacén " + storeDir);
+    }
+}
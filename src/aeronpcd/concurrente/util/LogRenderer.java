@@ -0,0 +1,268 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.model.AirplaneState;
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Herramienta offline para logs binarios (.blog, ver BinaryLogWriter).
+ *
+ * - Renderizado: escribe el log de texto con el formato exacto de siempre, de
+ *   modo que la salida se puede comparar o buscar igual que un .log.
+ * - Filtros: por vuelo, tipo de evento y operario (se combinan).
+ * - Resumen: eventos por tipo, actividad de cada vuelo (eventos, reencolados y
+ *   tiempo entre su primer y último evento) y de cada operario.
+ *
+ * Un fichero truncado (ejecución abortada) se lee hasta el último registro completo.
+ * Acepta también los segmentos rotados y comprimidos (.blog.gz, ver LogArchiver).
+ *
+ * Uso: java aeronpcd.concurrente.util.LogRenderer fichero.blog [--vuelo ID]
+ *      [--evento TIPO] [--operario N] [--resumen]
+ */
+public class LogRenderer {
+
+    private static final AirplaneState[] STATES = AirplaneState.values();
+    private static final LogEvent[] EVENTS = LogEvent.values();
+
+    private final String filePath;
+    private String flightFilter;
+    private LogEvent eventFilter;
+    private int operatorFilter = -1;
+
+    // Cabecera del último fichero leído
+    private long startEpochMs;
+
+    /**
+     * Receptor de los eventos leídos del fichero.
+     */
+    private interface Visitor {
+        void visit(LogEvent event, long nanos, String flight, AirplaneState state, AirplaneState state2,
+                   int operator, String text);
+    }
+
+    /**
+     * Constructor de la herramienta sobre un log binario.
+     * @param filePath Ruta del fichero .blog o .blog.gz.
+     */
+    public LogRenderer(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Limita la salida a los eventos de un vuelo.
+     * @param flight ID del vuelo, o null para todos.
+     */
+    public void setFlightFilter(String flight) {
+        this.flightFilter = flight;
+    }
+
+    /**
+     * Limita la salida a un tipo de evento.
+     * @param event Tipo de evento, o null para todos.
+     */
+    public void setEventFilter(LogEvent event) {
+        this.eventFilter = event;
+    }
+
+    /**
+     * Limita la salida a los eventos de un operario (SERVE y REQUEUE).
+     * @param operator ID del operario, o -1 para todos.
+     */
+    public void setOperatorFilter(int operator) {
+        this.operatorFilter = operator;
+    }
+
+    // =========================================================================
+    // LECTURA
+    // =========================================================================
+
+    /**
+     * Recorre el fichero y entrega al visitante los eventos que pasan los filtros.
+     * @param visitor Receptor de los eventos.
+     * @throws IOException Si el fichero no existe o no es un log binario.
+     */
+    private void scan(Visitor visitor) throws IOException {
+        InputStream raw = new BufferedInputStream(new FileInputStream(filePath), 1 << 16);
+        if (filePath.endsWith(".gz")) raw = new GZIPInputStream(raw, 1 << 16);
+        try (DataInputStream in = new DataInputStream(raw)) {
+            if (in.readInt() != BinaryLogWriter.MAGIC) throw new IOException(filePath + " no es un log binario");
+            int version = in.readInt();
+            if (version != BinaryLogWriter.VERSION) throw new IOException("Versión de log no soportada: " + version);
+            startEpochMs = in.readLong();
+            in.readLong(); // nanoTime de inicio (los instantes ya son relativos a él)
+
+            List<String> flights = new ArrayList<>();
+            List<String> texts = new ArrayList<>();
+            try {
+                while (true) {
+                    int tag = in.readUnsignedByte();
+                    if (tag == BinaryLogWriter.DEF_FLIGHT || tag == BinaryLogWriter.DEF_TEXT) {
+                        int index = in.readInt();
+                        byte[] bytes = new byte[in.readInt()];
+                        in.readFully(bytes);
+                        List<String> table = tag == BinaryLogWriter.DEF_FLIGHT ? flights : texts;
+                        while (table.size() <= index) table.add(null);
+                        table.set(index, new String(bytes, StandardCharsets.UTF_8));
+                        continue;
+                    }
+                    if (tag >= EVENTS.length) throw new IOException("Registro desconocido (" + tag + ") en " + filePath);
+                    LogEvent event = EVENTS[tag];
+                    long nanos = in.readLong();
+                    int flightRef = in.readInt();
+                    byte state = in.readByte();
+                    byte state2 = in.readByte();
+                    int operator = in.readShort();
+                    int textRef = in.readInt();
+
+                    String flight = flightRef >= 0 ? flights.get(flightRef) : null;
+                    if (flightFilter != null && !flightFilter.equals(flight)) continue;
+                    if (eventFilter != null && eventFilter != event) continue;
+                    if (operatorFilter >= 0 && operatorFilter != operator) continue;
+                    visitor.visit(event, nanos, flight, state >= 0 ? STATES[state] : null,
+                            state2 >= 0 ? STATES[state2] : null, operator, textRef >= 0 ? texts.get(textRef) : null);
+                }
+            } catch (EOFException e) {
+                // Fin del fichero (o último registro incompleto si la ejecución se abortó)
+            }
+        }
+    }
+
+    /**
+     * Escribe el log de texto equivalente (solo los eventos que pasan los filtros).
+     * @param out Destino del texto.
+     * @return Número de eventos escritos.
+     * @throws IOException Si no se puede leer el fichero.
+     */
+    public long render(PrintWriter out) throws IOException {
+        long[] count = {0};
+        scan((event, nanos, flight, state, state2, operator, text) -> {
+            for (String line : event.format(flight, state, state2, operator, text)) out.println(line);
+            count[0]++;
+        });
+        out.flush();
+        return count[0];
+    }
+
+    // =========================================================================
+    // RESUMEN
+    // =========================================================================
+
+    /**
+     * Agrega los eventos que pasan los filtros.
+     * @return Texto del resumen.
+     * @throws IOException Si no se puede leer el fichero.
+     */
+    public String summarize() throws IOException {
+        long[] byEvent = new long[EVENTS.length];
+        long[] last = {0};
+        // Por vuelo: eventos, reencolados, primer y último instante
+        Map<String, long[]> byFlight = new TreeMap<>();
+        // Por operario: atendidas y reencoladas
+        Map<Integer, long[]> byOperator = new TreeMap<>();
+
+        scan((event, nanos, flight, state, state2, operator, text) -> {
+            byEvent[event.ordinal()]++;
+            last[0] = Math.max(last[0], nanos);
+            if (flight != null && event != LogEvent.TOWER) {
+                long[] f = byFlight.computeIfAbsent(flight, k -> new long[] {0, 0, nanos, nanos});
+                f[0]++;
+                if (event == LogEvent.REQUEUE) f[1]++;
+                f[3] = nanos;
+            }
+            if (event == LogEvent.SERVE || event == LogEvent.REQUEUE) {
+                long[] o = byOperator.computeIfAbsent(operator, k -> new long[2]);
+                o[event == LogEvent.SERVE ? 0 : 1]++;
+            }
+        });
+
+        long total = 0;
+        for (long c : byEvent) total += c;
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== RESUMEN DEL LOG BINARIO ===\n");
+        sb.append("Fichero: ").append(filePath).append("\n");
+        sb.append("Inicio: ").append(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+                .format(Instant.ofEpochMilli(startEpochMs).atZone(ZoneId.systemDefault()))).append("\n");
+        sb.append(String.format("Eventos: %d | Duración: %.1f ms%n", total, last[0] / 1e6));
+        for (LogEvent e : EVENTS) {
+            if (byEvent[e.ordinal()] > 0) sb.append(String.format("  %-14s %d%n", e, byEvent[e.ordinal()]));
+        }
+
+        if (!byFlight.isEmpty()) {
+            sb.append(String.format("%n%-12s %8s %10s %12s%n", "VUELO", "EVENTOS", "REENCOLA", "ACTIVO(ms)"));
+            for (Map.Entry<String, long[]> e : byFlight.entrySet()) {
+                long[] f = e.getValue();
+                sb.append(String.format("%-12s %8d %10d %12.1f%n", e.getKey(), f[0], f[1], (f[3] - f[2]) / 1e6));
+            }
+        }
+        if (!byOperator.isEmpty()) {
+            sb.append(String.format("%n%-10s %10s %10s%n", "OPERARIO", "ATIENDE", "REENCOLA"));
+            for (Map.Entry<Integer, long[]> e : byOperator.entrySet()) {
+                sb.append(String.format("%-10d %10d %10d%n", e.getKey(), e.getValue()[0], e.getValue()[1]));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Renderiza o resume un log binario desde línea de comandos.
+     * @param args Ruta del fichero .blog y opciones (--vuelo, --evento, --operario, --resumen).
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Uso: LogRenderer <fichero.blog> [--vuelo ID] [--evento TIPO] [--operario N] [--resumen]");
+            return;
+        }
+        LogRenderer renderer = new LogRenderer(args[0]);
+        boolean summary = false;
+        try {
+            for (int i = 1; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--vuelo":
+                        renderer.setFlightFilter(args[++i]);
+                        break;
+                    case "--evento":
+                        renderer.setEventFilter(LogEvent.valueOf(args[++i].toUpperCase()));
+                        break;
+                    case "--operario":
+                        renderer.setOperatorFilter(Integer.parseInt(args[++i]));
+                        break;
+                    case "--resumen":
+                        summary = true;
+                        break;
+                    default:
+                        System.err.println("Opción desconocida: " + args[i]);
+                        return;
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("Opción no válida: " + e.getMessage());
+            return;
+        }
+
+        try {
+            if (summary) {
+                System.out.print(renderer.summarize());
+            } else {
+                renderer.render(new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out))));
+            }
+        } catch (IOException e) {
+            System.err.println("No se pudo leer el log: " + e.getMessage());
+        }
+    }
+}
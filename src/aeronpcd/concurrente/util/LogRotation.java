@@ -0,0 +1,52 @@
+package aeronpcd.concurrente.util;
+
+/**
+ * Política de rotación del log de una ejecución.
+ *
+ * El archivo activo se cierra y pasa a ser un segmento archivado cuando supera
+ * un tamaño o una antigüedad; los segmentos se comprimen en segundo plano
+ * (LogArchiver) y, si se fija un límite, se borran los más antiguos para que el
+ * archivo comprimido no lo supere.
+ */
+public class LogRotation {
+
+    private final long maxSegmentBytes;
+    private final long maxSegmentMs;
+    private final long maxArchiveBytes;
+
+    /**
+     * Constructor de la política.
+     * @param maxSegmentBytes Tamaño a partir del cual se rota el archivo activo (0 = sin límite).
+     * @param maxSegmentMs Antigüedad a partir de la cual se rota (0 = sin límite).
+     * @param maxArchiveBytes Tamaño máximo de los segmentos comprimidos (0 = sin límite).
+     */
+    public LogRotation(long maxSegmentBytes, long maxSegmentMs, long maxArchiveBytes) {
+        this.maxSegmentBytes = Math.max(0, maxSegmentBytes);
+        this.maxSegmentMs = Math.max(0, maxSegmentMs);
+        this.maxArchiveBytes = Math.max(0, maxArchiveBytes);
+    }
+
+    public long getMaxSegmentBytes() { return maxSegmentBytes; }
+
+    public long getMaxSegmentMs() { return maxSegmentMs; }
+
+    public long getMaxArchiveBytes() { return maxArchiveBytes; }
+
+    /**
+     * Indica si la política rota en algún caso.
+     * @return true si hay límite de tamaño o de antigüedad.
+     */
+    public boolean isEnabled() {
+        return maxSegmentBytes > 0 || maxSegmentMs > 0;
+    }
+
+    /**
+     * Comprueba si el segmento activo debe rotarse.
+     * @param bytes Bytes escritos en el segmento.
+     * @param ageMs Antigüedad del segmento en ms.
+     * @return true si se supera alguno de los límites.
+     */
+    public boolean shouldRoll(long bytes, long ageMs) {
+        return (maxSegmentBytes > 0 && bytes >= maxSegmentBytes) || (maxSegmentMs > 0 && ageMs >= maxSegmentMs);
+    }
+}
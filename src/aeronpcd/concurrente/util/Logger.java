@@ -1,6 +1,7 @@
 package aeronpcd.concurrente.util;
 
 import aeronpcd.concurrente.exceptions.LogWriteException;
+import aeronpcd.concurrente.model.AirplaneState;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
@@ -8,38 +9,120 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
 
+/**
+ * Sistema de logs de la simulación.
+ *
+ * Cada instancia escribe en su propio archivo. Los métodos estáticos son la
+ * fachada que usa todo el código: escriben en el log de la ejecución en curso,
+ * que es el del SimulationContext enlazado al hilo si lo hay (varias simulaciones
+ * en la misma JVM, cada una con su archivo) o, si no, el log global abierto con setup().
+ *
+ * Por defecto cada línea se escribe al momento bajo el cerrojo del log. Con el
+ * modo fusionado (enableMergedOutput) cada hilo deja sus eventos en un búfer propio
+ * sin cerrojos y un hilo fusionador los escribe ordenados por su instante.
+ *
+ * Con el formato binario (setup con binary = true) el archivo es un .blog de
+ * registros estructurados (BinaryLogWriter) en lugar de texto: los eventos se
+ * guardan sin formatear y LogRenderer genera después el texto de siempre.
+ *
+ * Con rotación (enableRotation) el archivo activo conserva su nombre y, al superar
+ * el tamaño o la antigüedad de la política, se renombra a {base}.{n}.{ext} y se
+ * abre uno nuevo; LogArchiver lo comprime en su propio hilo y mantiene el índice
+ * {base}.index con el intervalo de tiempo de cada segmento.
+ */
 public class Logger {
 
     /**
-     * PrintWriter para escribir en el archivo de log.
+     * Log global, usado cuando el hilo no tiene un SimulationContext.
      * Se inicializa en el método setup().
      */
-    private static PrintWriter writer;
-    
+    private static volatile Logger global;
+
+    // Registros binarios entre volcados al disco en el modo binario directo
+    private static final int BINARY_FLUSH_EVERY = 1024;
+
+    // Estados por nombre, para los eventos de avión que llegan con el estado en texto
+    private static final Map<String, AirplaneState> STATES_BY_NAME = new HashMap<>();
+    static {
+        for (AirplaneState s : AirplaneState.values()) STATES_BY_NAME.put(s.name(), s);
+    }
+
     /**
-     * Bandera que indica si el sistema de logs ha sido inicializado.
+     * PrintWriter para escribir en el archivo de log de esta instancia (null en binario).
      */
-    private static boolean isInitialized = false;
+    private PrintWriter writer;
 
     /**
-     * Inicializa el sistema de logs para la simulación.
-     * Crea los directorios necesarios y abre el archivo de log con el formato
-     * establecido: aeron-{MODE}-{nAV}-{nPIS}-{nPUE}-{nOPE}-{timestamp}.log
-     * 
+     * Escritor del log binario de esta instancia (null en texto).
+     */
+    private BinaryLogWriter binary;
+    private final boolean binaryFormat;
+    private int unflushed = 0;
+
+    /**
+     * Ruta del archivo de log de esta instancia.
+     */
+    private final String filePath;
+
+    /**
+     * Ruta del archivo sin extensión y extensión, para nombrar los segmentos rotados.
+     */
+    private final String basePath;
+    private final String extension;
+
+    /**
+     * Bandera que indica si el archivo sigue abierto.
+     */
+    private boolean isOpen = true;
+
+    /**
+     * Fusionador del modo de log fusionado (null = escritura directa).
+     */
+    private volatile MergingLogWriter merger;
+
+    /**
+     * Rotación del archivo (null = un único archivo por ejecución).
+     */
+    private LogRotation rotation;
+    private LogArchiver archiver;
+    private int segmentNumber = 1;
+    private long segmentBytes = 0;
+    private long segmentStartMs = System.currentTimeMillis();
+
+    /**
+     * Abre un archivo de log con el formato establecido:
+     * aeron-{MODE}-{nAV}-{nPIS}-{nPUE}-{nOPE}-{timestamp}{sufijo}.log
+     *
      * La carpeta de logs se divide en "concurrent/" o "secuencial/" según el modo.
-     * Este método debe llamarse una única vez al inicio de la simulación.
-     * 
+     *
      * @param mode Modo de ejecución: "CONCURRENT" o "SEQUENTIAL".
      * @param nAviones Número de aviones en la simulación.
      * @param nPistas Número de pistas del aeropuerto.
      * @param nPuertas Número de puertas de embarque.
      * @param nOperarios Número de operarios en la simulación.
+     * @param suffix Sufijo de la ejecución (vacío para el log global).
      * @throws LogWriteException Si no se puede crear o escribir en el archivo de log.
      */
-    public static void setup(String mode, int nAviones, int nPistas, int nPuertas, int nOperarios) throws LogWriteException {
-        if (isInitialized) return;
+    public Logger(String mode, int nAviones, int nPistas, int nPuertas, int nOperarios, String suffix) throws LogWriteException {
+        this(mode, nAviones, nPistas, nPuertas, nOperarios, suffix, false);
+    }
 
+    /**
+     * Abre un archivo de log de texto (.log) o binario (.blog) con el formato de nombre establecido.
+     * @param mode Modo de ejecución: "CONCURRENT" o "SEQUENTIAL".
+     * @param nAviones Número de aviones en la simulación.
+     * @param nPistas Número de pistas del aeropuerto.
+     * @param nPuertas Número de puertas de embarque.
+     * @param nOperarios Número de operarios en la simulación.
+     * @param suffix Sufijo de la ejecución (vacío para el log global).
+     * @param binary true para escribir el log binario estructurado.
+     * @throws LogWriteException Si no se puede crear o escribir en el archivo de log.
+     */
+    public Logger(String mode, int nAviones, int nPistas, int nPuertas, int nOperarios, String suffix,
+                  boolean binary) throws LogWriteException {
         // Estructura de carpetas según la organización de logs
         String folderPath = "logs/" + (mode.equalsIgnoreCase("SEQUENTIAL") ? "secuencial/" : "concurrent/");
         
@@ -50,46 +133,324 @@ public class Logger {
 
         // Formato de nombre de archivo requerido para trazabilidad
         String timeStamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String fileName = String.format("aeron-%s-%dAV-%dPIS-%dPUE-%dOPE-%s",
-                mode.toUpperCase(), nAviones, nPistas, nPuertas, nOperarios, timeStamp);
+        String fileName = String.format("aeron-%s-%dAV-%dPIS-%dPUE-%dOPE-%s%s",
+                mode.toUpperCase(), nAviones, nPistas, nPuertas, nOperarios, timeStamp, suffix);
 
-        File logFile = new File(folderPath + fileName + ".log");
+        this.binaryFormat = binary;
+        this.basePath = folderPath + fileName;
+        this.extension = binary ? ".blog" : ".log";
+        this.filePath = basePath + extension;
 
         // Captura de excepción específica para errores de escritura
         try {
-            writer = new PrintWriter(new BufferedWriter(new FileWriter(logFile, true)));
-            isInitialized = true;
-            System.out.println("LOG INICIADO EN: " + logFile.getAbsolutePath());
+            openOutput();
         } catch (IOException e) {
             throw new LogWriteException(fileName, e);
         }
     }
 
+    /**
+     * Abre el archivo activo (al crear el log y tras cada rotación).
+     * @throws IOException Si no se puede crear el archivo.
+     */
+    private void openOutput() throws IOException {
+        if (binaryFormat) {
+            binary = new BinaryLogWriter(filePath);
+        } else {
+            writer = new PrintWriter(new BufferedWriter(new FileWriter(filePath, true)));
+        }
+    }
+
+    /**
+     * Inicializa el sistema de logs para la simulación.
+     * Dentro de un SimulationContext abre el log de la nueva ejecución del contexto;
+     * fuera de él abre el log global, una única vez hasta que se llame a close().
+     * 
+     * @param mode Modo de ejecución: "CONCURRENT" o "SEQUENTIAL".
+     * @param nAviones Número de aviones en la simulación.
+     * @param nPistas Número de pistas del aeropuerto.
+     * @param nPuertas Número de puertas de embarque.
+     * @param nOperarios Número de operarios en la simulación.
+     * @throws LogWriteException Si no se puede crear o escribir en el archivo de log.
+     */
+    public static void setup(String mode, int nAviones, int nPistas, int nPuertas, int nOperarios) throws LogWriteException {
+        setup(mode, nAviones, nPistas, nPuertas, nOperarios, false);
+    }
+
+    /**
+     * Inicializa el sistema de logs eligiendo el formato del archivo.
+     * @param mode Modo de ejecución: "CONCURRENT" o "SEQUENTIAL".
+     * @param nAviones Número de aviones en la simulación.
+     * @param nPistas Número de pistas del aeropuerto.
+     * @param nPuertas Número de puertas de embarque.
+     * @param nOperarios Número de operarios en la simulación.
+     * @param binary true para el log binario estructurado (.blog).
+     * @throws LogWriteException Si no se puede crear o escribir en el archivo de log.
+     */
+    public static void setup(String mode, int nAviones, int nPistas, int nPuertas, int nOperarios,
+                             boolean binary) throws LogWriteException {
+        SimulationContext context = SimulationContext.current();
+        if (context != null) {
+            context.beginRun(mode, nAviones, nPistas, nPuertas, nOperarios, binary);
+            return;
+        }
+        synchronized (Logger.class) {
+            if (global != null) return;
+            global = new Logger(mode, nAviones, nPistas, nPuertas, nOperarios, "", binary);
+            System.out.println("LOG INICIADO EN: " + new File(global.filePath).getAbsolutePath());
+        }
+    }
+
     /**
      * Cierra el flujo de escritura del sistema de logs.
      * Debe llamarse al finalizar la simulación para liberar recursos.
      */
     public static void close() {
-        if (writer != null) {
+        SimulationContext context = SimulationContext.current();
+        if (context != null) {
+            context.endRun();
+            return;
+        }
+        synchronized (Logger.class) {
+            if (global != null) {
+                global.closeFile();
+                global = null;
+            }
+        }
+    }
+
+    /**
+     * Obtiene el log de la ejecución en curso en este hilo.
+     * @return El log del contexto o el global, o null si no hay ninguno abierto.
+     */
+    private static Logger current() {
+        SimulationContext context = SimulationContext.current();
+        return context != null ? context.getLogger() : global;
+    }
+
+    /**
+     * Activa el modo fusionado en el log de la ejecución en curso: los eventos se
+     * guardan en búferes por hilo y se escriben ordenados por instante.
+     * No hace nada si no hay log abierto o si ya está activo.
+     */
+    public static void enableMergedOutput() {
+        Logger logger = current();
+        if (logger != null) logger.startMerging();
+    }
+
+    /**
+     * Arranca el hilo fusionador de esta instancia.
+     */
+    public synchronized void startMerging() {
+        if (!isOpen || merger != null) return;
+        merger = new MergingLogWriter(this);
+        merger.start();
+    }
+
+    /**
+     * Activa la rotación del log de la ejecución en curso.
+     * No hace nada si no hay log abierto, si la política no rota o si ya está activa.
+     * @param rotation Política de rotación.
+     */
+    public static void enableRotation(LogRotation rotation) {
+        Logger logger = current();
+        if (logger != null) logger.startRotation(rotation);
+    }
+
+    /**
+     * Activa la rotación de esta instancia. Lo escrito hasta ahora cuenta para el primer segmento.
+     * @param rotation Política de rotación.
+     */
+    public synchronized void startRotation(LogRotation rotation) {
+        if (!isOpen || this.rotation != null || rotation == null || !rotation.isEnabled()) return;
+        this.rotation = rotation;
+        this.archiver = new LogArchiver(basePath, rotation);
+    }
+
+    /**
+     * Obtiene la ruta del índice de segmentos.
+     * @return Ruta del .index, o null si el log no rota.
+     */
+    public synchronized String getIndexPath() {
+        return archiver != null ? archiver.getIndexPath() : null;
+    }
+
+    /**
+     * Indica si el log está en modo fusionado.
+     * @return true si los eventos pasan por los búferes por hilo.
+     */
+    public boolean isMerging() {
+        return merger != null;
+    }
+
+    /**
+     * Obtiene la ruta del archivo de log.
+     * @return Ruta relativa del archivo.
+     */
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Escribe líneas consecutivas en el archivo de esta instancia.
+     * Sincronizado por instancia: las líneas de un mismo mensaje no se intercalan
+     * con las de otros hilos, y dos logs distintos no se bloquean entre sí.
+     * En modo fusionado cada línea es un evento del búfer del hilo.
+     * 
+     * @param lines Líneas a escribir.
+     */
+    public void write(String... lines) {
+        for (String line : lines) append(LogEvent.LINE, null, null, null, -1, line);
+    }
+
+    /**
+     * Registra un evento. En texto directo se formatea y escribe al momento; en
+     * modo fusionado se deja sin formatear en el búfer del hilo; en binario se
+     * escriben sus campos.
+     * @param event Tipo de evento.
+     * @param flight ID del vuelo (o del operario en TOWER), o null.
+     * @param state Estado o tipo de petición, o null.
+     * @param state2 Segundo estado, o null.
+     * @param operator ID del operario, o -1.
+     * @param text Texto libre, o null.
+     */
+    public void append(LogEvent event, String flight, AirplaneState state, AirplaneState state2, int operator, String text) {
+        MergingLogWriter m = merger;
+        if (m != null) {
+            m.append(event, flight, state, state2, operator, text);
+            return;
+        }
+        synchronized (this) {
+            writeRecord(System.nanoTime(), event, flight, state, state2, operator, text);
+            if (binary == null || ++unflushed >= BINARY_FLUSH_EVERY) flush();
+        }
+    }
+
+    /**
+     * Escribe un evento en el archivo sin vaciar el búfer (lo usa también el fusionador).
+     * @param nanos Instante del evento (System.nanoTime()).
+     * @param event Tipo de evento.
+     * @param flight ID del vuelo, o null.
+     * @param state Estado, o null.
+     * @param state2 Segundo estado, o null.
+     * @param operator ID del operario, o -1.
+     * @param text Texto libre, o null.
+     */
+    synchronized void writeRecord(long nanos, LogEvent event, String flight, AirplaneState state,
+                                  AirplaneState state2, int operator, String text) {
+        if (!isOpen) return;
+        if (binary != null) {
+            try {
+                binary.write(nanos, event, flight, state, state2, operator, text);
+            } catch (IOException e) {
+                System.err.println("[LOG] Error escribiendo " + filePath + ": " + e.getMessage());
+            }
+        } else {
+            for (String line : event.format(flight, state, state2, operator, text)) {
+                writer.println(line);
+                segmentBytes += line.length() + 1; // Aproximado: un byte por carácter
+            }
+        }
+        if (rotation != null) {
+            if (binary != null) segmentBytes = binary.size();
+            long now = System.currentTimeMillis();
+            if (rotation.shouldRoll(segmentBytes, now - segmentStartMs)) roll(now);
+        }
+    }
+
+    /**
+     * Cierra el archivo activo, lo renombra como segmento, lo entrega al archivador
+     * y abre un archivo activo nuevo. Se llama con el cerrojo tomado; la compresión
+     * ocurre en el hilo del archivador.
+     * @param now Instante de la rotación (epoch ms).
+     */
+    private void roll(long now) {
+        try {
+            closeOutput();
+            File segment = new File(basePath + "." + String.format("%03d", segmentNumber) + extension);
+            File active = new File(filePath);
+            if (!active.renameTo(segment)) throw new IOException("no se pudo renombrar a " + segment);
+            archiver.archive(segment, segmentNumber, segmentStartMs, now);
+            segmentNumber++;
+            openOutput();
+        } catch (IOException e) {
+            System.err.println("[LOG] Error rotando " + filePath + ": " + e.getMessage());
+            isOpen = false;
+            return;
+        }
+        segmentBytes = 0;
+        segmentStartMs = now;
+        unflushed = 0;
+    }
+
+    /**
+     * Cierra el escritor del archivo activo.
+     * @throws IOException Si falla el cierre del log binario.
+     */
+    private void closeOutput() throws IOException {
+        if (binary == null) {
             writer.close();
-            isInitialized = false;
+        } else {
+            binary.close();
         }
     }
 
+    /**
+     * Vacía el búfer de escritura del archivo.
+     */
+    synchronized void flush() {
+        if (!isOpen) return;
+        if (binary == null) {
+            writer.flush();
+            return;
+        }
+        unflushed = 0;
+        try {
+            binary.flush();
+        } catch (IOException e) {
+            System.err.println("[LOG] Error escribiendo " + filePath + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Cierra el archivo de esta instancia. Las escrituras posteriores se ignoran.
+     * En modo fusionado vuelca antes lo que quede en los búferes de los hilos;
+     * con rotación espera a que el archivador termine de comprimir.
+     */
+    public void closeFile() {
+        MergingLogWriter m = merger;
+        if (m != null) {
+            m.shutdown(); // Fuera del cerrojo: el fusionador escribe con él
+            merger = null;
+        }
+        LogArchiver a;
+        synchronized (this) {
+            if (!isOpen) return;
+            isOpen = false;
+            try {
+                closeOutput();
+            } catch (IOException e) {
+                System.err.println("[LOG] Error cerrando " + filePath + ": " + e.getMessage());
+            }
+            a = archiver;
+        }
+        // El archivo activo queda sin comprimir y se espera a las compresiones pendientes
+        if (a != null) a.finish(new File(filePath), segmentNumber, segmentStartMs, System.currentTimeMillis());
+    }
+
     // =========================================================================
-    // MÉTODOS DE LOGGING (Sección de métodos sincronizados para escritura segura)
+    // MÉTODOS DE LOGGING (fachada estática sobre el log de la ejecución en curso)
     // =========================================================================
 
     /**
-     * Escribe una línea cruda en el archivo de log.
-     * Método sincronizado para garantizar thread-safety en entorno concurrente.
+     * Escribe una línea cruda en el archivo de log de la ejecución en curso.
+     * La escritura está sincronizada en el log para garantizar thread-safety.
      * 
      * @param message Mensaje a escribir en el log.
      */
-    public static synchronized void log(String message) {
-        if (!isInitialized || writer == null) return;
-        writer.println(message);
-        writer.flush();
+    public static void log(String message) {
+        Logger logger = current();
+        if (logger != null) logger.append(LogEvent.LINE, null, null, null, -1, message);
     }
 
     /**
@@ -98,10 +459,8 @@ public class Logger {
      * 
      * @param header Texto del encabezado a escribir.
      */
-    public static synchronized void logHeader(String header) {
-        if (!isInitialized || writer == null) return;
-        writer.println(header); // Solo el texto, más limpio según el PDF
-        writer.flush();
+    public static void logHeader(String header) {
+        log(header); // Solo el texto, más limpio según el PDF
     }
 
     /**
@@ -112,10 +471,76 @@ public class Logger {
      * @param state Estado actual del avión (ej. "IN_FLIGHT", "BOARDING").
      * @param message Descripción del evento que ocurre.
      */
-    public static synchronized void logAirplane(String id, String state, String message) {
-        // Ejemplo PDF: Avión [IBE-001 - IN_FLIGHT] Inicia ciclo
-        String formatted = String.format("Avión [%s - %s] %s", id, state, message);
-        log(formatted);
+    public static void logAirplane(String id, String state, String message) {
+        // Ejemplo PDF: Avión [IBE-001 - IN_FLIGHT] Inicia ciclo (formato en LogEvent)
+        AirplaneState known = STATES_BY_NAME.get(state);
+        if (known != null) {
+            logAirplane(id, known, message);
+        } else {
+            log("Avión [" + id + " - " + state + "] " + message);
+        }
+    }
+
+    /**
+     * Registra un evento de un avión con su estado (sin formatear en el hilo que registra).
+     * Formato: Avión [ID - ESTADO] Mensaje
+     * 
+     * @param id ID único del avión.
+     * @param state Estado actual del avión.
+     * @param message Descripción del evento que ocurre.
+     */
+    public static void logAirplane(String id, AirplaneState state, String message) {
+        Logger logger = current();
+        if (logger != null) logger.append(LogEvent.AIRPLANE, id, state, null, -1, message);
+    }
+
+    /**
+     * Registra que una petición entra en la cola de la torre.
+     * Formato: Avión ID encolado: TIPO
+     * 
+     * @param id ID del avión.
+     * @param type Tipo de petición.
+     */
+    public static void logEnqueue(String id, AirplaneState type) {
+        Logger logger = current();
+        if (logger != null) logger.append(LogEvent.ENQUEUE, id, type, null, -1, null);
+    }
+
+    /**
+     * Registra que un operario toma una petición.
+     * Formato: Operario N atiende petición de Avión ID
+     * 
+     * @param operarioId ID del operario.
+     * @param airplaneId ID del avión que hizo la petición.
+     */
+    public static void logServe(int operarioId, String airplaneId) {
+        Logger logger = current();
+        if (logger != null) logger.append(LogEvent.SERVE, airplaneId, null, null, operarioId, null);
+    }
+
+    /**
+     * Registra que un operario reencola una petición por falta de recursos.
+     * Formato: Operario N: Recursos ocupados, reencolando petición de ID
+     * 
+     * @param operarioId ID del operario.
+     * @param airplaneId ID del avión que hizo la petición.
+     */
+    public static void logRequeue(int operarioId, String airplaneId) {
+        Logger logger = current();
+        if (logger != null) logger.append(LogEvent.REQUEUE, airplaneId, null, null, operarioId, null);
+    }
+
+    /**
+     * Registra un cambio de estado en el panel de vuelos JSON.
+     * Formato: [PANEL JSON] ID: ANTERIOR -> NUEVO
+     * 
+     * @param id ID del avión.
+     * @param oldState Estado anterior (null si es el primero).
+     * @param newState Estado nuevo.
+     */
+    public static void logPanelChange(String id, AirplaneState oldState, AirplaneState newState) {
+        Logger logger = current();
+        if (logger != null) logger.append(LogEvent.PANEL_CHANGE, id, oldState, newState, -1, null);
     }
 
     /**
@@ -125,10 +550,10 @@ public class Logger {
      * @param operarioId ID único del operario (ej. "OP-001").
      * @param message Descripción del evento que realiza el operario.
      */
-    public static synchronized void logTower(String operarioId, String message) {
-        // Ejemplo PDF: Operario [OP-001] esperando nueva petición...
-        String formatted = String.format("Operario [%s] %s", operarioId, message);
-        log(formatted);
+    public static void logTower(String operarioId, String message) {
+        // Ejemplo PDF: Operario [OP-001] esperando nueva petición... (formato en LogEvent)
+        Logger logger = current();
+        if (logger != null) logger.append(LogEvent.TOWER, operarioId, null, null, -1, message);
     }
     
     /**
@@ -137,7 +562,7 @@ public class Logger {
      * 
      * @param message Mensaje de evento general de la torre.
      */
-    public static synchronized void logTowerGen(String message) {
+    public static void logTowerGen(String message) {
         log(message);
     }
 
@@ -148,11 +573,9 @@ public class Logger {
      * @param idPlane ID único del avión a registrar.
      * @param state Estado actual del avión a registrar.
      */
-    public static synchronized void logFlightPanel(String idPlane, String state) {
-        // El PDF muestra que cada vez que se actualiza, se imprime esto:
-        log("Panel de vuelos");
-        log("\"Flight\", \"Status\""); // Cabecera CSV
-        log(String.format("\"%s\", \"%s\"", idPlane, state)); // Datos CSV
-        log(""); // Espacio extra para legibilidad
+    public static void logFlightPanel(String idPlane, String state) {
+        // Las cuatro líneas del panel forman un único evento (no se intercalan)
+        Logger logger = current();
+        if (logger != null) logger.append(LogEvent.FLIGHT_PANEL, idPlane, null, null, -1, state);
     }
 }
\ No newline at end of file
@@ -0,0 +1,200 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.model.AirplaneState;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Escritura del log fusionada por marca de tiempo.
+ *
+ * FUNCIONAMIENTO:
+ * 1. Cada hilo que escribe (avión, operario, torre) tiene su propio búfer circular
+ *    de registros (instante en nanosegundos, tipo de evento y campos sin formatear).
+ *    Solo ese hilo escribe en su búfer y solo el hilo fusionador lee de él, así que
+ *    registrar un evento no toma ningún cerrojo.
+ * 2. El hilo fusionador recorre periódicamente los búferes y mezcla sus registros
+ *    (fusión de k vías con una cola de prioridad por instante) hacia el archivo de
+ *    log (texto con el formato habitual, o registros binarios).
+ * 3. Para no adelantar a un registro que aún se está escribiendo, cada búfer
+ *    publica el instante de la escritura en curso; el fusionador solo vuelca
+ *    registros anteriores a la menor de esas marcas. Así el orden del archivo es
+ *    el de los instantes de los eventos, no el de llegada al cerrojo.
+ *
+ * Si un búfer se llena, su hilo espera a que el fusionador lo vacíe (no se pierden líneas).
+ */
+public class MergingLogWriter extends Thread {
+
+    private static final int BUFFER_CAPACITY = 512;        // Registros por hilo (potencia de 2)
+    private static final long FLUSH_INTERVAL_NANOS = 5_000_000L;
+    private static final long IDLE = Long.MAX_VALUE;       // Marca de "sin escritura en curso"
+
+    private final Logger target;
+    private final List<ThreadBuffer> buffers = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<ThreadBuffer> local = ThreadLocal.withInitial(this::register);
+    private volatile boolean running = true;
+    private volatile long merged = 0;
+
+    /**
+     * Búfer circular de un hilo productor (un productor y un consumidor).
+     */
+    private static final class ThreadBuffer {
+        final Thread owner;
+        final long threadId;
+        final long[] times = new long[BUFFER_CAPACITY];
+        final LogEvent[] events = new LogEvent[BUFFER_CAPACITY];
+        final String[] flights = new String[BUFFER_CAPACITY];
+        final AirplaneState[] states = new AirplaneState[BUFFER_CAPACITY];
+        final AirplaneState[] states2 = new AirplaneState[BUFFER_CAPACITY];
+        final int[] operators = new int[BUFFER_CAPACITY];
+        final String[] texts = new String[BUFFER_CAPACITY];
+        final AtomicLong head = new AtomicLong();   // Siguiente registro a fusionar (fusionador)
+        final AtomicLong tail = new AtomicLong();   // Siguiente posición libre (productor)
+        volatile long writing = IDLE;               // Cota inferior del registro en curso
+        long cursor;                                // Posición de fusión en la ronda actual
+
+        ThreadBuffer(Thread owner) {
+            this.owner = owner;
+            this.threadId = owner.getId();
+        }
+    }
+
+    /**
+     * Constructor del fusionador de un log.
+     * @param target Log en el que se escriben las líneas fusionadas.
+     */
+    public MergingLogWriter(Logger target) {
+        this.target = target;
+        setName("Log-Merger");
+        setDaemon(true);
+    }
+
+    private ThreadBuffer register() {
+        ThreadBuffer buffer = new ThreadBuffer(Thread.currentThread());
+        buffers.add(buffer);
+        return buffer;
+    }
+
+    // =========================================================================
+    // PRODUCTORES
+    // =========================================================================
+
+    /**
+     * Registra un evento en el búfer del hilo actual, sin cerrojos.
+     * @param event Tipo de evento.
+     * @param flight ID del vuelo, o null.
+     * @param state Estado, o null.
+     * @param state2 Segundo estado, o null.
+     * @param operator ID del operario, o -1.
+     * @param text Texto libre, o null.
+     */
+    public void append(LogEvent event, String flight, AirplaneState state, AirplaneState state2, int operator, String text) {
+        if (!running) return;
+        ThreadBuffer b = local.get();
+        long t = b.tail.get();
+        // Búfer lleno: se espera al fusionador antes de marcar la escritura
+        while (t - b.head.get() >= BUFFER_CAPACITY) {
+            if (!running) return;
+            LockSupport.unpark(this);
+            LockSupport.parkNanos(100_000L);
+        }
+        // La marca se publica antes de leer el instante del registro: el
+        // fusionador que la vea no volcará nada posterior a ella
+        b.writing = System.nanoTime();
+        long now = System.nanoTime();
+        int i = (int) (t & (BUFFER_CAPACITY - 1));
+        b.times[i] = now;
+        b.events[i] = event;
+        b.flights[i] = flight;
+        b.states[i] = state;
+        b.states2[i] = state2;
+        b.operators[i] = operator;
+        b.texts[i] = text;
+        b.tail.lazySet(t + 1);
+        b.writing = IDLE;
+    }
+
+    // =========================================================================
+    // FUSIONADOR
+    // =========================================================================
+
+    @Override
+    public void run() {
+        while (running) {
+            LockSupport.parkNanos(this, FLUSH_INTERVAL_NANOS);
+            drain(false);
+        }
+    }
+
+    /**
+     * Detiene el fusionador y vuelca todo lo pendiente. Los eventos registrados
+     * después se ignoran.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(this);
+        try {
+            join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain(true);
+    }
+
+    /**
+     * Obtiene el número de registros fusionados hasta ahora.
+     * @return Registros escritos en el log.
+     */
+    public long getMerged() {
+        return merged;
+    }
+
+    /**
+     * Fusiona hacia el log los registros anteriores a la marca de agua.
+     * Solo la llama el hilo fusionador (y shutdown() cuando ya ha terminado).
+     * @param all true para volcar todo (al cerrar, sin productores activos).
+     */
+    private void drain(boolean all) {
+        // Marca de agua: el instante actual, o la escritura en curso más antigua
+        long watermark = all ? IDLE : System.nanoTime();
+        if (!all) {
+            for (ThreadBuffer b : buffers) watermark = Math.min(watermark, b.writing);
+        }
+
+        PriorityQueue<ThreadBuffer> heap = new PriorityQueue<>(Math.max(1, buffers.size()), (x, y) -> {
+            int c = Long.compare(x.times[slot(x.cursor)], y.times[slot(y.cursor)]);
+            return c != 0 ? c : Long.compare(x.threadId, y.threadId);
+        });
+        for (ThreadBuffer b : buffers) {
+            b.cursor = b.head.get();
+            if (b.cursor < b.tail.get() && b.times[slot(b.cursor)] <= watermark) heap.add(b);
+        }
+
+        boolean wrote = false;
+        while (!heap.isEmpty()) {
+            ThreadBuffer b = heap.poll();
+            int i = slot(b.cursor);
+            target.writeRecord(b.times[i], b.events[i], b.flights[i], b.states[i], b.states2[i], b.operators[i], b.texts[i]);
+            b.events[i] = null;
+            b.flights[i] = null;
+            b.texts[i] = null;
+            b.cursor++;
+            b.head.lazySet(b.cursor);
+            merged++;
+            wrote = true;
+            if (b.cursor < b.tail.get() && b.times[slot(b.cursor)] <= watermark) heap.add(b);
+        }
+        if (wrote) target.flush();
+
+        // Los búferes de hilos terminados y vacíos ya no recibirán registros
+        for (ThreadBuffer b : buffers) {
+            if (!b.owner.isAlive() && b.head.get() == b.tail.get()) buffers.remove(b);
+        }
+    }
+
+    private static int slot(long position) {
+        return (int) (position & (BUFFER_CAPACITY - 1));
+    }
+}
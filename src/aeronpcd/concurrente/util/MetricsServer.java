@@ -0,0 +1,224 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.model.AirplaneState;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Servidor HTTP embebido (com.sun.net.httpserver) con las métricas en vivo de la torre.
+ *
+ * Endpoints:
+ * - /metrics       Formato de texto de Prometheus (contadores y gauges).
+ * - /metrics.json  JSON con los mismos valores más tasas por segundo calculadas
+ *                  desde la consulta anterior.
+ *
+ * Las respuestas se construyen solo a partir de TowerMetrics (lecturas sin
+ * cerrojos), así que se puede consultar con frecuencia y sin ventana gráfica
+ * aunque la torre esté saturada.
+ */
+public class MetricsServer {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final TowerMetrics metrics;
+    private final HttpServer server;
+
+    // Vista de la cola de la torre para el desglose por tipo (opcional)
+    private volatile QueueMonitor queueMonitor;
+
+    // Muestra anterior para calcular tasas en /metrics.json
+    private long lastSampleNanos;
+    private long lastGrants;
+    private long lastRequeues;
+
+    /**
+     * Crea el servidor de métricas (no lo arranca).
+     * @param metrics Métricas de la torre a publicar.
+     * @param port Puerto TCP en el que escuchar (solo en la interfaz local).
+     * @throws IOException Si no se puede abrir el puerto.
+     */
+    public MetricsServer(TowerMetrics metrics, int port) throws IOException {
+        this.metrics = metrics;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> respond(exchange, "text/plain; version=0.0.4", this::renderPrometheus));
+        server.createContext("/metrics.json", exchange -> respond(exchange, "application/json", this::renderJson));
+        server.setExecutor(Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "MetricsServer");
+            t.setDaemon(true);
+            return t;
+        }));
+        this.lastSampleNanos = metrics.getUptimeNanos();
+    }
+
+    /**
+     * Publica además la profundidad de la cola por tipo de petición.
+     * @param queueMonitor Vista de monitorización de la cola de la torre.
+     */
+    public void setQueueMonitor(QueueMonitor queueMonitor) {
+        this.queueMonitor = queueMonitor;
+    }
+
+    /**
+     * Arranca el servidor.
+     */
+    public void start() {
+        server.start();
+        Logger.log("[METRICS] Métricas en http://localhost:" + server.getAddress().getPort() + "/metrics");
+    }
+
+    /**
+     * Detiene el servidor inmediatamente.
+     */
+    public void stop() {
+        server.stop(0);
+    }
+
+    /**
+     * Obtiene el puerto real en el que escucha el servidor.
+     * @return Puerto TCP.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // =========================================================================
+    // FORMATOS
+    // =========================================================================
+
+    /**
+     * Genera las métricas en formato de texto de Prometheus.
+     * @return Texto de la exposición.
+     */
+    private String renderPrometheus() {
+        StringBuilder sb = new StringBuilder();
+        metric(sb, "aeron_queue_depth", "gauge", "Peticiones esperando a un operario", metrics.getQueueDepth());
+        QueueMonitor monitor = queueMonitor;
+        if (monitor != null) {
+            sb.append("# HELP aeron_queue_depth_by_type Peticiones esperando por tipo de petición\n");
+            sb.append("# TYPE aeron_queue_depth_by_type gauge\n");
+            for (AirplaneState t : QueueMonitor.REQUEST_TYPES) {
+                sb.append("aeron_queue_depth_by_type{type=\"").append(t).append("\"} ").append(monitor.getDepth(t)).append('\n');
+            }
+        }
+        metric(sb, "aeron_enqueued_total", "counter", "Peticiones encoladas (incluye reencolados)", metrics.getEnqueues());
+        metric(sb, "aeron_grants_total", "counter", "Peticiones concedidas por la torre", metrics.getGrants());
+        metric(sb, "aeron_requeues_total", "counter", "Peticiones denegadas y reencoladas", metrics.getRequeues());
+        metric(sb, "aeron_constraint_waits_total", "counter", "Denegaciones con recursos libres pero incompatibles",
+                metrics.getConstraintWaits());
+        metric(sb, "aeron_runways_busy", "gauge", "Pistas ocupadas", metrics.getBusyRunways());
+        metric(sb, "aeron_runways_total", "gauge", "Pistas del aeropuerto", metrics.getNumRunways());
+        metric(sb, "aeron_gates_busy", "gauge", "Puertas ocupadas", metrics.getBusyGates());
+        metric(sb, "aeron_gates_total", "gauge", "Puertas del aeropuerto", metrics.getNumGates());
+        metric(sb, "aeron_operators", "gauge", "Operarios de la torre", metrics.getNumOperarios());
+        metric(sb, "aeron_operator_busy_seconds_total", "counter", "Tiempo de trabajo acumulado de los operarios",
+                metrics.getOperatorBusyNanos() / 1e9);
+        metric(sb, "aeron_uptime_seconds", "gauge", "Tiempo desde el inicio de la simulación", metrics.getUptimeNanos() / 1e9);
+        summary(sb, "aeron_request_latency_seconds", "Espera de una petición hasta su concesión", metrics.getRequestLatency());
+        summary(sb, "aeron_decision_latency_seconds", "Duración de la decisión en el monitor de la torre", metrics.getDecisionLatency());
+        return sb.toString();
+    }
+
+    /**
+     * Genera las métricas en JSON, con tasas desde la consulta anterior.
+     * @return Documento JSON.
+     */
+    private synchronized String renderJson() {
+        long now = metrics.getUptimeNanos();
+        long grants = metrics.getGrants();
+        long requeues = metrics.getRequeues();
+        double seconds = Math.max(1e-9, (now - lastSampleNanos) / 1e9);
+        double grantsPerSec = (grants - lastGrants) / seconds;
+        double requeuesPerSec = (requeues - lastRequeues) / seconds;
+        lastSampleNanos = now;
+        lastGrants = grants;
+        lastRequeues = requeues;
+
+        StringBuilder sb = new StringBuilder("{\n");
+        sb.append(String.format(Locale.ROOT, "  \"uptimeSeconds\": %.3f,%n", now / 1e9));
+        sb.append(String.format(Locale.ROOT, "  \"queueDepth\": %d,%n", metrics.getQueueDepth()));
+        QueueMonitor monitor = queueMonitor;
+        if (monitor != null) {
+            sb.append("  \"queueDepthByType\": {");
+            for (int i = 0; i < QueueMonitor.REQUEST_TYPES.length; i++) {
+                AirplaneState t = QueueMonitor.REQUEST_TYPES[i];
+                sb.append(i == 0 ? "" : ", ").append('"').append(t).append("\": ").append(monitor.getDepth(t));
+            }
+            sb.append("},\n");
+        }
+        sb.append(String.format(Locale.ROOT, "  \"grantsTotal\": %d,%n", grants));
+        sb.append(String.format(Locale.ROOT, "  \"requeuesTotal\": %d,%n", requeues));
+        sb.append(String.format(Locale.ROOT, "  \"grantsPerSecond\": %.2f,%n", grantsPerSec));
+        sb.append(String.format(Locale.ROOT, "  \"requeuesPerSecond\": %.2f,%n", requeuesPerSec));
+        sb.append(String.format(Locale.ROOT, "  \"constraintWaitsTotal\": %d,%n", metrics.getConstraintWaits()));
+        sb.append(String.format(Locale.ROOT, "  \"runways\": {\"busy\": %d, \"total\": %d},%n",
+                metrics.getBusyRunways(), metrics.getNumRunways()));
+        sb.append(String.format(Locale.ROOT, "  \"gates\": {\"busy\": %d, \"total\": %d},%n",
+                metrics.getBusyGates(), metrics.getNumGates()));
+        sb.append(String.format(Locale.ROOT, "  \"operatorUtilization\": %.4f,%n", metrics.getOperatorUtilization()));
+        sb.append("  \"requestLatencyMs\": ").append(percentilesJson(metrics.getRequestLatency())).append(",\n");
+        sb.append("  \"decisionLatencyMs\": ").append(percentilesJson(metrics.getDecisionLatency())).append("\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private static void metric(StringBuilder sb, String name, String type, String help, double value) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        sb.append(name).append(' ').append(formatValue(value)).append('\n');
+    }
+
+    private static void summary(StringBuilder sb, String name, String help, LatencyHistogram histogram) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(" summary\n");
+        for (double p : PERCENTILES) {
+            sb.append(name).append("{quantile=\"").append(formatValue(p / 100)).append("\"} ")
+              .append(formatValue(histogram.getPercentile(p) / 1e6)).append('\n');
+        }
+        sb.append(name).append("_sum ").append(formatValue(histogram.getSum() / 1e6)).append('\n');
+        sb.append(name).append("_count ").append(histogram.getCount()).append('\n');
+    }
+
+    private static String percentilesJson(LatencyHistogram histogram) {
+        StringBuilder sb = new StringBuilder("{");
+        sb.append("\"count\": ").append(histogram.getCount());
+        for (double p : PERCENTILES) {
+            sb.append(String.format(Locale.ROOT, ", \"p%s\": %.3f", formatValue(p), histogram.getPercentile(p) / 1000.0));
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String formatValue(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value)) return Long.toString((long) value);
+        return String.format(Locale.ROOT, "%.6f", value).replaceAll("0+$", "");
+    }
+
+    /**
+     * Envía una respuesta HTTP 200 (o 405 si el método no es GET).
+     * El cuerpo solo se genera para las peticiones GET.
+     * @param exchange Intercambio HTTP.
+     * @param contentType Tipo de contenido.
+     * @param body Generador del cuerpo de la respuesta.
+     * @throws IOException Si falla la escritura.
+     */
+    private static void respond(HttpExchange exchange, String contentType, Supplier<String> body) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(405, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.get().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
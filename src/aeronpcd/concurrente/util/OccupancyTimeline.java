@@ -0,0 +1,244 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.model.AirplaneState;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Historial de ocupación de pistas y puertas: un carril por recurso con los
+ * intervalos en que estuvo ocupado, por qué vuelo y en qué fase.
+ *
+ * OBJETIVO: Alimentar la vista de Gantt (GanttPanel) y calcular la ocupación de
+ * cada recurso en una ventana de tiempo, para detectar capacidad ociosa.
+ *
+ * IMPLEMENTACIÓN:
+ * - Cada carril guarda sus intervalos en arrays paralelos de primitivos (inicio,
+ *   fin, fase) más la referencia al ID del vuelo; crecen al doble cuando se llenan.
+ * - Un recurso solo lo ocupa un avión a la vez, así que en un carril los
+ *   intervalos no se solapan y están ordenados tanto por inicio como por fin: la
+ *   consulta por ventana es una búsqueda binaria más el recorrido de los visibles.
+ * - Los instantes son ms relativos al inicio del historial. El último intervalo
+ *   de un carril puede estar abierto (fin = OPEN) mientras el recurso siga ocupado.
+ * - La torre escribe dentro de su monitor y la interfaz lee desde el EDT: cada
+ *   carril se protege con su propio cerrojo, que solo se toma para anexar, cerrar
+ *   o copiar los intervalos de una ventana.
+ */
+public class OccupancyTimeline {
+
+    /** Fin de un intervalo aún abierto. */
+    public static final long OPEN = Long.MAX_VALUE;
+
+    private static final AirplaneState[] STATES = AirplaneState.values();
+
+    private final String[] laneNames;
+    private final Lane[] lanes;
+    private volatile long startMs = System.currentTimeMillis();
+
+    /**
+     * Carril de un recurso.
+     */
+    private static class Lane {
+        private int size = 0;
+        private long[] starts = new long[64];
+        private long[] ends = new long[64];
+        private byte[] phases = new byte[64];
+        private String[] flights = new String[64];
+
+        synchronized void open(long at, String flight, AirplaneState phase) {
+            // Un intervalo abierto sin cerrar (no debería ocurrir) se cierra aquí
+            if (size > 0 && ends[size - 1] == OPEN) ends[size - 1] = at;
+            if (size == starts.length) {
+                int n = size * 2;
+                starts = Arrays.copyOf(starts, n);
+                ends = Arrays.copyOf(ends, n);
+                phases = Arrays.copyOf(phases, n);
+                flights = Arrays.copyOf(flights, n);
+            }
+            starts[size] = at;
+            ends[size] = OPEN;
+            phases[size] = (byte) phase.ordinal();
+            flights[size] = flight;
+            size++;
+        }
+
+        synchronized void close(long at) {
+            if (size > 0 && ends[size - 1] == OPEN) ends[size - 1] = Math.max(at, starts[size - 1]);
+        }
+
+        synchronized void clear() {
+            Arrays.fill(flights, 0, size, null);
+            size = 0;
+        }
+
+        /**
+         * Primer intervalo que termina después de un instante (búsqueda binaria
+         * sobre los fines, que están ordenados).
+         */
+        private int firstEndingAfter(long from) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (ends[mid] <= from) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        synchronized int query(long from, long to, Intervals out) {
+            out.clear();
+            for (int i = firstEndingAfter(from); i < size && starts[i] < to; i++) {
+                out.add(starts[i], ends[i], phases[i], flights[i]);
+            }
+            return out.size;
+        }
+
+        synchronized long busyTime(long from, long to, long now) {
+            long busy = 0;
+            for (int i = firstEndingAfter(from); i < size && starts[i] < to; i++) {
+                long end = ends[i] == OPEN ? now : ends[i];
+                busy += Math.max(0, Math.min(end, to) - Math.max(starts[i], from));
+            }
+            return busy;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Resultado reutilizable de una consulta por ventana (evita crear objetos por
+     * intervalo al repintar).
+     */
+    public static class Intervals {
+        private int size = 0;
+        private long[] starts = new long[256];
+        private long[] ends = new long[256];
+        private byte[] phases = new byte[256];
+        private String[] flights = new String[256];
+
+        private void clear() {
+            Arrays.fill(flights, 0, size, null);
+            size = 0;
+        }
+
+        private void add(long start, long end, byte phase, String flight) {
+            if (size == starts.length) {
+                int n = size * 2;
+                starts = Arrays.copyOf(starts, n);
+                ends = Arrays.copyOf(ends, n);
+                phases = Arrays.copyOf(phases, n);
+                flights = Arrays.copyOf(flights, n);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            phases[size] = phase;
+            flights[size] = flight;
+            size++;
+        }
+
+        public int size() { return size; }
+
+        public long getStart(int i) { return starts[i]; }
+
+        /**
+         * Obtiene el fin de un intervalo.
+         * @param i Índice del intervalo.
+         * @return Instante de fin, o OPEN si el recurso sigue ocupado.
+         */
+        public long getEnd(int i) { return ends[i]; }
+
+        public AirplaneState getPhase(int i) { return STATES[phases[i]]; }
+
+        public String getFlight(int i) { return flights[i]; }
+    }
+
+    /**
+     * Constructor del historial.
+     * @param laneNames Nombre de cada carril (un recurso por carril).
+     */
+    public OccupancyTimeline(List<String> laneNames) {
+        this.laneNames = laneNames.toArray(new String[0]);
+        this.lanes = new Lane[this.laneNames.length];
+        for (int i = 0; i < lanes.length; i++) lanes[i] = new Lane();
+    }
+
+    // =========================================================================
+    // ESCRITURA (TORRE)
+    // =========================================================================
+
+    /**
+     * Marca un recurso como ocupado desde ahora.
+     * @param lane Carril del recurso.
+     * @param flight ID del vuelo que lo ocupa.
+     * @param phase Fase del vuelo (LANDING, BOARDING o DEPARTING).
+     */
+    public void occupy(int lane, String flight, AirplaneState phase) {
+        lanes[lane].open(now(), flight, phase);
+    }
+
+    /**
+     * Marca un recurso como libre desde ahora.
+     * @param lane Carril del recurso.
+     */
+    public void release(int lane) {
+        lanes[lane].close(now());
+    }
+
+    /**
+     * Vacía el historial y reinicia el origen de tiempos (nueva simulación).
+     */
+    public void clear() {
+        for (Lane l : lanes) l.clear();
+        startMs = System.currentTimeMillis();
+    }
+
+    // =========================================================================
+    // CONSULTAS (INTERFAZ)
+    // =========================================================================
+
+    /**
+     * Obtiene el instante actual en la escala del historial.
+     * @return Ms desde el inicio del historial.
+     */
+    public long now() {
+        return System.currentTimeMillis() - startMs;
+    }
+
+    public int getLaneCount() { return lanes.length; }
+
+    public String getLaneName(int lane) { return laneNames[lane]; }
+
+    /**
+     * Cuenta los intervalos de un carril.
+     * @param lane Carril.
+     * @return Número de intervalos registrados.
+     */
+    public int getIntervalCount(int lane) {
+        return lanes[lane].size();
+    }
+
+    /**
+     * Copia los intervalos de un carril que se solapan con una ventana.
+     * @param lane Carril.
+     * @param from Inicio de la ventana (ms desde el inicio del historial).
+     * @param to Fin de la ventana.
+     * @param out Destino (se vacía antes).
+     * @return Número de intervalos copiados.
+     */
+    public int query(int lane, long from, long to, Intervals out) {
+        return lanes[lane].query(from, to, out);
+    }
+
+    /**
+     * Calcula la fracción de una ventana en que un recurso estuvo ocupado.
+     * @param lane Carril.
+     * @param from Inicio de la ventana.
+     * @param to Fin de la ventana.
+     * @return Ocupación entre 0 y 1.
+     */
+    public double getOccupancy(int lane, long from, long to) {
+        if (to <= from) return 0;
+        return (double) lanes[lane].busyTime(from, to, now()) / (to - from);
+    }
+}
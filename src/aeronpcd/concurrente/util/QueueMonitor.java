@@ -0,0 +1,138 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.model.AirplaneState;
+import aeronpcd.concurrente.model.Request;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Vista de monitorización de la cola de peticiones de la torre.
+ *
+ * Los productores y consumidores actualizan la vista al encolar y desencolar
+ * (contadores atómicos por tipo de petición) y, cuando cambia la cabeza de la
+ * cola, publican una copia acotada de sus primeras peticiones. Los observadores
+ * (GUI, elasticidad, verificación final) leen la profundidad y la cabeza sin
+ * tomar el mutex de la cola, así que nunca compiten con addRequest/getNextRequest
+ * ni ven la cola vacía porque el mutex estuviera ocupado.
+ *
+ * La cabeza publicada puede ir un paso por detrás de los contadores (se publica
+ * justo después de cada cambio); la profundidad es exacta.
+ */
+public class QueueMonitor {
+
+    /** Tipos de petición que envían los aviones, en el orden de su ciclo. */
+    public static final AirplaneState[] REQUEST_TYPES = {
+        AirplaneState.LANDING_REQUESTED, AirplaneState.LANDED, AirplaneState.BOARDED,
+        AirplaneState.TAKEOFF_REQUESTED, AirplaneState.DEPARTED
+    };
+
+    private static final Request[] EMPTY = new Request[0];
+
+    private final int headCapacity;
+    private final AtomicIntegerArray depthByType = new AtomicIntegerArray(AirplaneState.values().length);
+    private final AtomicInteger depth = new AtomicInteger();
+    private volatile Request[] head = EMPTY;
+
+    /**
+     * Constructor de la vista.
+     * @param headCapacity Número máximo de peticiones de la cabeza que se publican.
+     */
+    public QueueMonitor(int headCapacity) {
+        this.headCapacity = Math.max(1, headCapacity);
+    }
+
+    // =========================================================================
+    // ACTUALIZACIÓN (PRODUCTORES Y CONSUMIDORES)
+    // =========================================================================
+
+    /**
+     * Registra una petición que entra en la cola.
+     * @param req Petición encolada.
+     */
+    public void onEnqueue(Request req) {
+        depthByType.incrementAndGet(req.getType().ordinal());
+        depth.incrementAndGet();
+    }
+
+    /**
+     * Registra una petición que sale de la cola (atendida o descartada).
+     * @param req Petición extraída.
+     */
+    public void onDequeue(Request req) {
+        depthByType.decrementAndGet(req.getType().ordinal());
+        depth.decrementAndGet();
+    }
+
+    /**
+     * Indica si una petición recién encolada cae dentro de la cabeza publicada,
+     * para no recopiarla cuando la cola ya es más larga que la vista.
+     * @param queueSize Tamaño de la cola tras encolar.
+     * @return true si hay que volver a publicar la cabeza.
+     */
+    public boolean headChangedByEnqueue(int queueSize) {
+        return queueSize <= headCapacity;
+    }
+
+    /**
+     * Publica las primeras peticiones de la cola. Debe llamarse por quien tiene
+     * acceso exclusivo a la cola (con su mutex), tras modificarla.
+     * @param queue Cola en su estado actual.
+     */
+    public void publishHead(Iterable<Request> queue) {
+        Request[] copy = new Request[headCapacity];
+        int n = 0;
+        Iterator<Request> it = queue.iterator();
+        while (n < headCapacity && it.hasNext()) copy[n++] = it.next();
+        head = n == 0 ? EMPTY : Arrays.copyOf(copy, n);
+    }
+
+    /**
+     * Vuelve al estado inicial (cola vacía).
+     */
+    public void reset() {
+        for (int i = 0; i < depthByType.length(); i++) depthByType.set(i, 0);
+        depth.set(0);
+        head = EMPTY;
+    }
+
+    // =========================================================================
+    // LECTURA (OBSERVADORES)
+    // =========================================================================
+
+    /**
+     * Obtiene el número de peticiones en la cola.
+     * @return Profundidad de la cola.
+     */
+    public int getDepth() {
+        return Math.max(0, depth.get());
+    }
+
+    /**
+     * Obtiene el número de peticiones de un tipo en la cola.
+     * @param type Tipo de petición.
+     * @return Peticiones de ese tipo esperando.
+     */
+    public int getDepth(AirplaneState type) {
+        return Math.max(0, depthByType.get(type.ordinal()));
+    }
+
+    /**
+     * Obtiene la última cabeza publicada de la cola.
+     * @return Primeras peticiones de la cola (como mucho headCapacity), en orden.
+     */
+    public List<Request> getHead() {
+        return Collections.unmodifiableList(Arrays.asList(head));
+    }
+
+    /**
+     * Obtiene el número máximo de peticiones de la cabeza publicada.
+     * @return Capacidad de la vista.
+     */
+    public int getHeadCapacity() {
+        return headCapacity;
+    }
+}
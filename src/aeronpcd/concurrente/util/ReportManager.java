@@ -1,6 +1,7 @@
 package aeronpcd.concurrente.util;
 
 import aeronpcd.concurrente.exceptions.CSVWriteException;
+import aeronpcd.concurrente.exceptions.ResultStoreException;
 import aeronpcd.concurrente.model.Airplane;
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -8,6 +9,7 @@ import java.io.PrintWriter;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 
@@ -41,8 +43,8 @@ public class ReportManager {
 
         // Mismo formato de nombre que Logger
         String timeStamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        String fileName = String.format("aeron-%s-%dAV-%dPIS-%dPUE-%dOPE-%s",
-                mode.toUpperCase(), airplanes.size(), nPistas, nPuertas, nOperarios, timeStamp);
+        String fileName = String.format("aeron-%s-%dAV-%dPIS-%dPUE-%dOPE-%s%s",
+                mode.toUpperCase(), airplanes.size(), nPistas, nPuertas, nOperarios, timeStamp, SimulationContext.runSuffix());
         
         String fullPath = folderPath + fileName + ".csv";
 
@@ -64,4 +66,67 @@ public class ReportManager {
             throw new CSVWriteException(fileName, e);
         }
     }
+
+    /**
+     * Guarda la ejecución en el almacén columnar de resultados (ResultStore) para
+     * compararla después con otras sin leer su CSV.
+     * 
+     * @param airplanes Lista de aviones con sus datos de tiempo
+     * @param mode Modo de ejecución (CONCURRENT o SEQUENTIAL)
+     * @param policy Política de la torre
+     * @param nPistas Número de pistas
+     * @param nPuertas Número de puertas
+     * @param nOperarios Número de operarios
+     * @param totalMs Tiempo total de la ejecución en ms
+     * @param valid true si la ejecución es completa, con parada limpia y coherente
+     * @throws ResultStoreException si no se puede escribir el almacén
+     */
+    public static void storeResults(List<Airplane> airplanes, String mode, String policy, int nPistas, int nPuertas,
+                                    int nOperarios, long totalMs, boolean valid) throws ResultStoreException {
+        ResultStore.getDefault().append(System.currentTimeMillis(), mode.toUpperCase(), policy, airplanes.size(),
+                nPistas, nPuertas, nOperarios, totalMs, turnaroundTimes(airplanes), valid);
+    }
+
+    /**
+     * Calcula las estadísticas de tiempo de ciclo (turnaround) de los aviones.
+     * Permite comparar políticas de la torre por su latencia de cola (p99, máximo)
+     * y no solo por la media.
+     * 
+     * @param airplanes Lista de aviones con sus datos de tiempo
+     * @return Línea con media, p50, p99 y máximo en milisegundos
+     */
+    public static String turnaroundSummary(List<Airplane> airplanes) {
+        if (airplanes.isEmpty()) return "Turnaround: sin aviones";
+        long[] times = turnaroundTimes(airplanes);
+        long sum = 0;
+        for (long t : times) sum += t;
+        return String.format("Turnaround (ms): media %.0f | p50 %d | p99 %d | máx %d | mín %d",
+                (double) sum / times.length, percentile(times, 50), percentile(times, 99),
+                times[times.length - 1], times[0]);
+    }
+
+    /**
+     * Obtiene los tiempos de ciclo (turnaround) de los aviones ordenados.
+     * 
+     * @param airplanes Lista de aviones con sus datos de tiempo
+     * @return Tiempos en milisegundos, de menor a mayor
+     */
+    public static long[] turnaroundTimes(List<Airplane> airplanes) {
+        long[] times = new long[airplanes.size()];
+        for (int i = 0; i < times.length; i++) times[i] = airplanes.get(i).getDuracionEnMs();
+        Arrays.sort(times);
+        return times;
+    }
+
+    /**
+     * Percentil por el método del rango más cercano sobre un array ordenado.
+     * 
+     * @param sorted Valores ordenados de menor a mayor (no vacío)
+     * @param p Percentil entre 0 y 100
+     * @return Valor del percentil
+     */
+    public static long percentile(long[] sorted, double p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
 }
\ No newline at end of file
@@ -0,0 +1,653 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.exceptions.ResultStoreException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Almacén columnar de resultados de simulación para análisis entre ejecuciones.
+ *
+ * OBJETIVO: Comparar cientos o miles de ejecuciones (barridos, réplicas de
+ * Monte Carlo, planificación de capacidad) sin volver a leer sus CSV ni deducir
+ * la configuración del nombre de los ficheros.
+ *
+ * IMPLEMENTACIÓN:
+ * - Una ejecución es una fila. Cada columna es un fichero binario de solo-anexado
+ *   con un valor de ancho fijo por fila (big-endian), así que leer una columna es
+ *   mapear el fichero y copiarlo a un array, sin analizar texto.
+ * - Las columnas de texto (modo y política) guardan un código; el valor está en
+ *   un diccionario {columna}.dict con una línea por código.
+ * - Los tiempos de ciclo de todos los aviones van seguidos en turnaround.col; cada
+ *   fila guarda su desplazamiento y su número de aviones, de modo que los
+ *   percentiles de un grupo de ejecuciones se calculan sobre los tiempos reales.
+ * - Las escrituras toman un cerrojo de fichero (varias JVM pueden escribir en el
+ *   mismo almacén). Una fila solo existe cuando está en todas las columnas: al
+ *   anexar se recorta antes lo que dejara a medias una escritura interrumpida.
+ *
+ * Uso desde línea de comandos: java aeronpcd.concurrente.util.ResultStore [directorio]
+ *      [--modo MODO] [--politica POLITICA] [--validas]
+ */
+public class ResultStore {
+
+    /** Directorio del almacén por defecto (junto a los logs). */
+    public static final String DEFAULT_DIR = "logs/results/";
+
+    private static final String SCHEMA = "aeron-results 1";
+    private static final String TURNAROUND_FILE = "turnaround.col";
+    private static final String LOCK_FILE = "store.lock";
+
+    // Un almacén por directorio en la JVM: sus métodos se sincronizan entre hilos
+    // y el cerrojo de fichero entre procesos
+    private static final Map<String, ResultStore> OPEN = new HashMap<>();
+
+    /**
+     * Columnas de una ejecución y su ancho en bytes.
+     */
+    private enum Column {
+        TIME(8),          // Instante de fin de la ejecución (epoch ms)
+        MODE(4),          // Código de modo (mode.dict)
+        POLICY(4),        // Código de política de la torre (policy.dict)
+        AIRPLANES(4),
+        RUNWAYS(4),
+        GATES(4),
+        OPERATORS(4),
+        TOTAL_MS(8),      // Tiempo total de la ejecución
+        MEAN(8),          // Tiempo de ciclo medio (double)
+        P50(8),
+        P95(8),
+        P99(8),
+        MAX(8),
+        VALID(1),         // 1 = completa, parada limpia y coherente
+        TURN_OFFSET(8),   // Primer tiempo de ciclo de la fila en turnaround.col
+        TURN_COUNT(4);    // Número de tiempos de ciclo de la fila
+
+        private final int width;
+
+        Column(int width) {
+            this.width = width;
+        }
+
+        private String fileName() {
+            return name().toLowerCase() + ".col";
+        }
+    }
+
+    private final File dir;
+    private final Dictionary modes;
+    private final Dictionary policies;
+
+    // Última lectura de las columnas (se reutiliza mientras no crezca el almacén)
+    private Runs cached;
+
+    /**
+     * Obtiene el almacén por defecto (logs/results/).
+     * @return Almacén abierto.
+     * @throws ResultStoreException Si el directorio no es un almacén de esta versión.
+     */
+    public static ResultStore getDefault() throws ResultStoreException {
+        return open(DEFAULT_DIR);
+    }
+
+    /**
+     * Abre (o crea) un almacén. Devuelve la misma instancia para el mismo directorio.
+     * @param directory Directorio del almacén.
+     * @return Almacén abierto.
+     * @throws ResultStoreException Si el directorio no es un almacén de esta versión.
+     */
+    public static ResultStore open(String directory) throws ResultStoreException {
+        File dir = new File(directory).getAbsoluteFile();
+        synchronized (OPEN) {
+            ResultStore store = OPEN.get(dir.getPath());
+            if (store == null) {
+                store = new ResultStore(dir);
+                OPEN.put(dir.getPath(), store);
+            }
+            return store;
+        }
+    }
+
+    private ResultStore(File dir) throws ResultStoreException {
+        this.dir = dir;
+        this.modes = new Dictionary(new File(dir, "mode.dict"));
+        this.policies = new Dictionary(new File(dir, "policy.dict"));
+        try {
+            Files.createDirectories(dir.toPath());
+            Path schema = new File(dir, "SCHEMA").toPath();
+            if (!Files.exists(schema)) Files.write(schema, (SCHEMA + "\n").getBytes(StandardCharsets.UTF_8));
+            List<String> lines = Files.readAllLines(schema, StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !lines.get(0).equals(SCHEMA)) {
+                throw new ResultStoreException(dir.getPath(), "versión de almacén no soportada");
+            }
+        } catch (IOException e) {
+            throw new ResultStoreException(dir.getPath(), e);
+        }
+    }
+
+    /**
+     * Obtiene el directorio del almacén.
+     * @return Ruta absoluta del directorio.
+     */
+    public String getDirectory() {
+        return dir.getPath();
+    }
+
+    // =========================================================================
+    // ESCRITURA
+    // =========================================================================
+
+    /**
+     * Anexa una ejecución al almacén.
+     * @param endEpochMs Instante de fin de la ejecución.
+     * @param mode Modo de ejecución ("CONCURRENT" o "SEQUENTIAL").
+     * @param policy Política de la torre.
+     * @param airplanes Número de aviones.
+     * @param runways Número de pistas.
+     * @param gates Número de puertas.
+     * @param operators Número de operarios.
+     * @param totalMs Tiempo total de la ejecución en ms.
+     * @param turnaroundMs Tiempos de ciclo de los aviones, ordenados de menor a mayor.
+     * @param valid true si la ejecución es fiable para comparar.
+     * @throws ResultStoreException Si no se puede escribir el almacén.
+     */
+    public synchronized void append(long endEpochMs, String mode, String policy, int airplanes, int runways,
+                                    int gates, int operators, long totalMs, long[] turnaroundMs,
+                                    boolean valid) throws ResultStoreException {
+        try (FileChannel lockChannel = FileChannel.open(new File(dir, LOCK_FILE).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = lockChannel.lock();
+            try {
+                int rows = recover();
+                long offset = turnaroundEnd(rows);
+                int modeCode = modes.code(mode);
+                int policyCode = policies.code(policy);
+
+                // Los tiempos de ciclo primero: la fila solo existe cuando se anexan todas sus columnas
+                ByteBuffer times = ByteBuffer.allocate(turnaroundMs.length * 8);
+                for (long t : turnaroundMs) times.putLong(t);
+                appendBytes(TURNAROUND_FILE, times);
+
+                long sum = 0;
+                for (long t : turnaroundMs) sum += t;
+                int n = turnaroundMs.length;
+                for (Column c : Column.values()) {
+                    ByteBuffer b = ByteBuffer.allocate(c.width);
+                    switch (c) {
+                        case TIME: b.putLong(endEpochMs); break;
+                        case MODE: b.putInt(modeCode); break;
+                        case POLICY: b.putInt(policyCode); break;
+                        case AIRPLANES: b.putInt(airplanes); break;
+                        case RUNWAYS: b.putInt(runways); break;
+                        case GATES: b.putInt(gates); break;
+                        case OPERATORS: b.putInt(operators); break;
+                        case TOTAL_MS: b.putLong(totalMs); break;
+                        case MEAN: b.putDouble(n == 0 ? 0 : (double) sum / n); break;
+                        case P50: b.putLong(n == 0 ? 0 : ReportManager.percentile(turnaroundMs, 50)); break;
+                        case P95: b.putLong(n == 0 ? 0 : ReportManager.percentile(turnaroundMs, 95)); break;
+                        case P99: b.putLong(n == 0 ? 0 : ReportManager.percentile(turnaroundMs, 99)); break;
+                        case MAX: b.putLong(n == 0 ? 0 : turnaroundMs[n - 1]); break;
+                        case VALID: b.put((byte) (valid ? 1 : 0)); break;
+                        case TURN_OFFSET: b.putLong(offset); break;
+                        case TURN_COUNT: b.putInt(n); break;
+                    }
+                    appendBytes(c.fileName(), b);
+                }
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            throw new ResultStoreException(dir.getPath(), e);
+        }
+    }
+
+    /**
+     * Recorta las columnas al último número de filas completo (escrituras
+     * interrumpidas). Se llama con el cerrojo de fichero tomado.
+     * @return Número de filas completas.
+     * @throws IOException Si falla el acceso a las columnas.
+     */
+    private int recover() throws IOException {
+        int rows = countRows();
+        for (Column c : Column.values()) truncate(c.fileName(), (long) rows * c.width);
+        truncate(TURNAROUND_FILE, turnaroundEnd(rows) * 8);
+        return rows;
+    }
+
+    /**
+     * Cuenta las filas presentes en todas las columnas.
+     * @return Número de filas completas.
+     */
+    private int countRows() {
+        long rows = Long.MAX_VALUE;
+        for (Column c : Column.values()) rows = Math.min(rows, new File(dir, c.fileName()).length() / c.width);
+        return (int) rows;
+    }
+
+    /**
+     * Calcula dónde termina en turnaround.col la última fila completa.
+     * @param rows Número de filas completas.
+     * @return Número de tiempos de ciclo que pertenecen a filas completas.
+     * @throws IOException Si falla la lectura.
+     */
+    private long turnaroundEnd(int rows) throws IOException {
+        if (rows == 0) return 0;
+        ByteBuffer offset = readRange(Column.TURN_OFFSET.fileName(), (long) (rows - 1) * 8, 8);
+        ByteBuffer count = readRange(Column.TURN_COUNT.fileName(), (long) (rows - 1) * 4, 4);
+        return offset.getLong() + count.getInt();
+    }
+
+    private void appendBytes(String file, ByteBuffer data) throws IOException {
+        data.flip();
+        try (FileChannel ch = FileChannel.open(new File(dir, file).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (data.hasRemaining()) ch.write(data);
+        }
+    }
+
+    private void truncate(String file, long size) throws IOException {
+        File f = new File(dir, file);
+        if (f.length() <= size) return;
+        try (FileChannel ch = FileChannel.open(f.toPath(), StandardOpenOption.WRITE)) {
+            ch.truncate(size);
+        }
+    }
+
+    private ByteBuffer readRange(String file, long position, int length) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(length);
+        try (FileChannel ch = FileChannel.open(new File(dir, file).toPath(), StandardOpenOption.READ)) {
+            while (b.hasRemaining() && ch.read(b, position + b.position()) >= 0) { }
+        }
+        b.flip();
+        return b;
+    }
+
+    // =========================================================================
+    // LECTURA Y CONSULTAS
+    // =========================================================================
+
+    /**
+     * Lee todas las filas del almacén. Cada columna se mapea y se copia a un
+     * array; si el almacén no ha crecido desde la última lectura se reutiliza.
+     * @return Filas del almacén.
+     * @throws ResultStoreException Si no se pueden leer las columnas.
+     */
+    public synchronized Runs scan() throws ResultStoreException {
+        int rows = countRows();
+        if (cached != null && cached.size() == rows) return cached;
+        try {
+            Runs runs = new Runs(rows, modes.values(), policies.values());
+            if (rows > 0) {
+                readColumn(Column.TIME, rows).asLongBuffer().get(runs.time);
+                readColumn(Column.MODE, rows).asIntBuffer().get(runs.mode);
+                readColumn(Column.POLICY, rows).asIntBuffer().get(runs.policy);
+                readColumn(Column.AIRPLANES, rows).asIntBuffer().get(runs.airplanes);
+                readColumn(Column.RUNWAYS, rows).asIntBuffer().get(runs.runways);
+                readColumn(Column.GATES, rows).asIntBuffer().get(runs.gates);
+                readColumn(Column.OPERATORS, rows).asIntBuffer().get(runs.operators);
+                readColumn(Column.TOTAL_MS, rows).asLongBuffer().get(runs.totalMs);
+                readColumn(Column.MEAN, rows).asDoubleBuffer().get(runs.mean);
+                readColumn(Column.P50, rows).asLongBuffer().get(runs.p50);
+                readColumn(Column.P95, rows).asLongBuffer().get(runs.p95);
+                readColumn(Column.P99, rows).asLongBuffer().get(runs.p99);
+                readColumn(Column.MAX, rows).asLongBuffer().get(runs.max);
+                readColumn(Column.VALID, rows).get(runs.valid);
+                readColumn(Column.TURN_OFFSET, rows).asLongBuffer().get(runs.turnOffset);
+                readColumn(Column.TURN_COUNT, rows).asIntBuffer().get(runs.turnCount);
+            }
+            cached = runs;
+            return runs;
+        } catch (IOException e) {
+            throw new ResultStoreException(dir.getPath(), e);
+        }
+    }
+
+    private ByteBuffer readColumn(Column c, int rows) throws IOException {
+        try (FileChannel ch = FileChannel.open(new File(dir, c.fileName()).toPath(), StandardOpenOption.READ)) {
+            return ch.map(FileChannel.MapMode.READ_ONLY, 0, (long) rows * c.width);
+        }
+    }
+
+    /**
+     * Lee los tiempos de ciclo de varias filas, juntos y ordenados.
+     * @param runs Filas leídas con scan().
+     * @param rows Índices de las filas.
+     * @return Tiempos de ciclo de todos los aviones de esas filas, de menor a mayor.
+     * @throws ResultStoreException Si no se puede leer turnaround.col.
+     */
+    public long[] turnarounds(Runs runs, int[] rows) throws ResultStoreException {
+        int total = 0;
+        for (int r : rows) total += runs.turnCount[r];
+        long[] values = new long[total];
+        if (total == 0) return values;
+        try (FileChannel ch = FileChannel.open(new File(dir, TURNAROUND_FILE).toPath(), StandardOpenOption.READ)) {
+            long size = ch.size();
+            ByteBuffer all = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int pos = 0;
+            for (int r : rows) {
+                all.position((int) (runs.turnOffset[r] * 8));
+                all.asLongBuffer().get(values, pos, runs.turnCount[r]);
+                pos += runs.turnCount[r];
+            }
+        } catch (IOException e) {
+            throw new ResultStoreException(dir.getPath(), e);
+        }
+        Arrays.sort(values);
+        return values;
+    }
+
+    /**
+     * Agrupa filas por configuración (modo, aviones, pistas, puertas, operarios y
+     * política) y calcula sus estadísticos. Los percentiles de cada grupo se
+     * calculan sobre los tiempos de ciclo de todos sus aviones.
+     * @param runs Filas leídas con scan().
+     * @param rows Índices de las filas a agrupar (por ejemplo, de Runs.select()).
+     * @return Grupos en orden de primera aparición.
+     * @throws ResultStoreException Si no se pueden leer los tiempos de ciclo.
+     */
+    public List<Group> groupByConfiguration(Runs runs, int[] rows) throws ResultStoreException {
+        Map<String, List<Integer>> byKey = new LinkedHashMap<>();
+        for (int r : rows) byKey.computeIfAbsent(runs.getConfigurationKey(r), k -> new ArrayList<>()).add(r);
+
+        List<Group> groups = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> e : byKey.entrySet()) {
+            int[] members = new int[e.getValue().size()];
+            double[] totals = new double[members.length];
+            double[] means = new double[members.length];
+            int valid = 0;
+            for (int i = 0; i < members.length; i++) {
+                members[i] = e.getValue().get(i);
+                totals[i] = runs.totalMs[members[i]];
+                means[i] = runs.mean[members[i]];
+                if (runs.valid[members[i]] != 0) valid++;
+            }
+            groups.add(new Group(e.getKey(), members, valid, SampleStatistics.of(totals),
+                    SampleStatistics.of(means), turnarounds(runs, members)));
+        }
+        return groups;
+    }
+
+    // =========================================================================
+    // FILAS Y GRUPOS
+    // =========================================================================
+
+    /**
+     * Filas del almacén leídas por columnas (instantánea inmutable).
+     */
+    public static class Runs {
+        private final int size;
+        private final List<String> modeNames;
+        private final List<String> policyNames;
+        private final long[] time;
+        private final int[] mode;
+        private final int[] policy;
+        private final int[] airplanes;
+        private final int[] runways;
+        private final int[] gates;
+        private final int[] operators;
+        private final long[] totalMs;
+        private final double[] mean;
+        private final long[] p50;
+        private final long[] p95;
+        private final long[] p99;
+        private final long[] max;
+        private final byte[] valid;
+        private final long[] turnOffset;
+        private final int[] turnCount;
+
+        private Runs(int size, List<String> modeNames, List<String> policyNames) {
+            this.size = size;
+            this.modeNames = modeNames;
+            this.policyNames = policyNames;
+            this.time = new long[size];
+            this.mode = new int[size];
+            this.policy = new int[size];
+            this.airplanes = new int[size];
+            this.runways = new int[size];
+            this.gates = new int[size];
+            this.operators = new int[size];
+            this.totalMs = new long[size];
+            this.mean = new double[size];
+            this.p50 = new long[size];
+            this.p95 = new long[size];
+            this.p99 = new long[size];
+            this.max = new long[size];
+            this.valid = new byte[size];
+            this.turnOffset = new long[size];
+            this.turnCount = new int[size];
+        }
+
+        public int size() { return size; }
+
+        public long getTime(int row) { return time[row]; }
+
+        public String getMode(int row) { return modeNames.get(mode[row]); }
+
+        public String getPolicy(int row) { return policyNames.get(policy[row]); }
+
+        public int getAirplanes(int row) { return airplanes[row]; }
+
+        public int getRunways(int row) { return runways[row]; }
+
+        public int getGates(int row) { return gates[row]; }
+
+        public int getOperators(int row) { return operators[row]; }
+
+        public long getTotalMs(int row) { return totalMs[row]; }
+
+        public double getMeanTurnaround(int row) { return mean[row]; }
+
+        public long getP50(int row) { return p50[row]; }
+
+        public long getP95(int row) { return p95[row]; }
+
+        public long getP99(int row) { return p99[row]; }
+
+        public long getMaxTurnaround(int row) { return max[row]; }
+
+        public boolean isValid(int row) { return valid[row] != 0; }
+
+        /**
+         * Obtiene la clave de configuración de una fila.
+         * @param row Índice de la fila.
+         * @return Por ejemplo "CONCURRENT 30AV-4PIS-6PUE-5OPE GREEDY".
+         */
+        public String getConfigurationKey(int row) {
+            return String.format("%s %dAV-%dPIS-%dPUE-%dOPE %s", getMode(row), airplanes[row], runways[row],
+                    gates[row], operators[row], getPolicy(row));
+        }
+
+        /**
+         * Selecciona filas recorriendo solo las columnas filtradas.
+         * @param modeName Modo, o null para todos.
+         * @param policyName Política, o null para todas.
+         * @param nAirplanes Aviones, o -1 para todos.
+         * @param nRunways Pistas, o -1 para todas.
+         * @param nGates Puertas, o -1 para todas.
+         * @param nOperators Operarios, o -1 para todos.
+         * @param validOnly true para descartar las ejecuciones no válidas.
+         * @return Índices de las filas seleccionadas, en orden.
+         */
+        public int[] select(String modeName, String policyName, int nAirplanes, int nRunways, int nGates,
+                            int nOperators, boolean validOnly) {
+            int modeCode = modeName != null ? modeNames.indexOf(modeName) : -1;
+            int policyCode = policyName != null ? policyNames.indexOf(policyName) : -1;
+            if ((modeName != null && modeCode < 0) || (policyName != null && policyCode < 0)) return new int[0];
+            int[] selected = new int[size];
+            int n = 0;
+            for (int r = 0; r < size; r++) {
+                if (modeCode >= 0 && mode[r] != modeCode) continue;
+                if (policyCode >= 0 && policy[r] != policyCode) continue;
+                if (nAirplanes >= 0 && airplanes[r] != nAirplanes) continue;
+                if (nRunways >= 0 && runways[r] != nRunways) continue;
+                if (nGates >= 0 && gates[r] != nGates) continue;
+                if (nOperators >= 0 && operators[r] != nOperators) continue;
+                if (validOnly && valid[r] == 0) continue;
+                selected[n++] = r;
+            }
+            return Arrays.copyOf(selected, n);
+        }
+
+        /**
+         * Selecciona todas las filas.
+         * @return Índices 0..size-1.
+         */
+        public int[] all() {
+            int[] rows = new int[size];
+            for (int r = 0; r < size; r++) rows[r] = r;
+            return rows;
+        }
+    }
+
+    /**
+     * Estadísticos de las ejecuciones de una misma configuración.
+     */
+    public static class Group {
+        private final String key;
+        private final int[] rows;
+        private final int validRuns;
+        private final SampleStatistics totalMs;
+        private final SampleStatistics meanTurnaround;
+        private final long[] turnaroundMs;
+
+        private Group(String key, int[] rows, int validRuns, SampleStatistics totalMs,
+                      SampleStatistics meanTurnaround, long[] turnaroundMs) {
+            this.key = key;
+            this.rows = rows;
+            this.validRuns = validRuns;
+            this.totalMs = totalMs;
+            this.meanTurnaround = meanTurnaround;
+            this.turnaroundMs = turnaroundMs;
+        }
+
+        public String getKey() { return key; }
+
+        public int[] getRows() { return rows.clone(); }
+
+        public int getRuns() { return rows.length; }
+
+        public int getValidRuns() { return validRuns; }
+
+        public SampleStatistics getTotalMs() { return totalMs; }
+
+        public SampleStatistics getMeanTurnaround() { return meanTurnaround; }
+
+        /**
+         * Percentil del tiempo de ciclo sobre todos los aviones del grupo.
+         * @param p Percentil entre 0 y 100.
+         * @return Tiempo en ms, o 0 si el grupo no tiene aviones.
+         */
+        public long getTurnaroundPercentile(double p) {
+            return turnaroundMs.length == 0 ? 0 : ReportManager.percentile(turnaroundMs, p);
+        }
+    }
+
+    // =========================================================================
+    // DICCIONARIOS
+    // =========================================================================
+
+    /**
+     * Diccionario de una columna de texto: una línea por código, solo-anexado.
+     */
+    private static class Dictionary {
+        private final File file;
+        private final List<String> values = new ArrayList<>();
+
+        Dictionary(File file) {
+            this.file = file;
+        }
+
+        /**
+         * Relee el fichero (otro proceso puede haber añadido valores).
+         * @throws IOException Si falla la lectura.
+         */
+        private void reload() throws IOException {
+            values.clear();
+            if (file.exists()) values.addAll(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Obtiene el código de un valor, añadiéndolo si es nuevo. Se llama con el cerrojo de fichero tomado.
+         * @param value Valor de texto (sin saltos de línea).
+         * @return Código del valor.
+         * @throws IOException Si falla la escritura.
+         */
+        int code(String value) throws IOException {
+            reload();
+            int code = values.indexOf(value);
+            if (code >= 0) return code;
+            // Una línea cortada por una escritura interrumpida queda como código sin uso
+            byte[] content = file.exists() ? Files.readAllBytes(file.toPath()) : new byte[0];
+            boolean newline = content.length == 0 || content[content.length - 1] == '\n';
+            Files.write(file.toPath(), ((newline ? "" : "\n") + value + "\n").getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            values.add(value);
+            return values.size() - 1;
+        }
+
+        /**
+         * Copia de los valores actuales.
+         * @return Valores por código.
+         * @throws IOException Si falla la lectura.
+         */
+        List<String> values() throws IOException {
+            reload();
+            return new ArrayList<>(values);
+        }
+    }
+
+    // =========================================================================
+    // LÍNEA DE COMANDOS
+    // =========================================================================
+
+    /**
+     * Muestra los resultados agrupados por configuración.
+     * @param args [directorio] [--modo MODO] [--politica POLITICA] [--validas]
+     */
+    public static void main(String[] args) {
+        String directory = DEFAULT_DIR;
+        String mode = null;
+        String policy = null;
+        boolean validOnly = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--modo": mode = args[++i].toUpperCase(); break;
+                    case "--politica": policy = args[++i].toUpperCase(); break;
+                    case "--validas": validOnly = true; break;
+                    default: directory = args[i];
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            System.err.println("Uso: ResultStore [directorio] [--modo MODO] [--politica POLITICA] [--validas]");
+            return;
+        }
+
+        try {
+            ResultStore store = open(directory);
+            Runs runs = store.scan();
+            int[] rows = runs.select(mode, policy, -1, -1, -1, -1, validOnly);
+            System.out.printf("%d ejecuciones (%d seleccionadas) en %s%n%n", runs.size(), rows.length, store.getDirectory());
+            System.out.printf("%-44s %6s %6s %12s %12s %8s %8s %8s%n",
+                    "CONFIGURACIÓN", "EJEC", "VÁLID", "TOTAL(ms)", "CICLO(ms)", "P50", "P95", "P99");
+            for (Group g : store.groupByConfiguration(runs, rows)) {
+                System.out.printf("%-44s %6d %6d %12.0f %12.0f %8d %8d %8d%n", g.getKey(), g.getRuns(),
+                        g.getValidRuns(), g.getTotalMs().getMean(), g.getMeanTurnaround().getMean(),
+                        g.getTurnaroundPercentile(50), g.getTurnaroundPercentile(95), g.getTurnaroundPercentile(99));
+            }
+        } catch (ResultStoreException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+}
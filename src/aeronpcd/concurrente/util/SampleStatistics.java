@@ -0,0 +1,102 @@
+package aeronpcd.concurrente.util;
+
+import java.util.Locale;
+
+/**
+ * Estadísticos de una muestra de réplicas independientes: media, desviación típica,
+ * extremos e intervalo de confianza del 95% para la media (t de Student).
+ */
+public class SampleStatistics {
+
+    // Valores críticos de la t de Student (dos colas, 95%) para 1..30 grados de libertad
+    private static final double[] T_95 = {
+        12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+        2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+        2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+
+    private final int count;
+    private final double mean;
+    private final double stdDev;
+    private final double min;
+    private final double max;
+
+    private SampleStatistics(int count, double mean, double stdDev, double min, double max) {
+        this.count = count;
+        this.mean = mean;
+        this.stdDev = stdDev;
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Calcula los estadísticos de una muestra.
+     * @param values Valores de la muestra (uno por réplica).
+     * @return Estadísticos (todo a 0 si la muestra está vacía).
+     */
+    public static SampleStatistics of(double[] values) {
+        int n = values.length;
+        if (n == 0) return new SampleStatistics(0, 0, 0, 0, 0);
+        double sum = 0, min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+        double mean = sum / n;
+        // Segunda pasada para la varianza (más estable que la suma de cuadrados)
+        double squares = 0;
+        for (double v : values) squares += (v - mean) * (v - mean);
+        double stdDev = n > 1 ? Math.sqrt(squares / (n - 1)) : 0;
+        return new SampleStatistics(n, mean, stdDev, min, max);
+    }
+
+    /**
+     * Valor crítico de la t de Student al 95% (dos colas).
+     * Por encima de la tabla se usa el valor del extremo inferior de cada tramo
+     * (el mayor del tramo), así el intervalo nunca sale más estrecho de la cuenta.
+     * @param degreesOfFreedom Grados de libertad (n - 1).
+     * @return Valor crítico.
+     */
+    private static double tCritical(int degreesOfFreedom) {
+        if (degreesOfFreedom <= 0) return 0;
+        if (degreesOfFreedom <= T_95.length) return T_95[degreesOfFreedom - 1];
+        if (degreesOfFreedom <= 40) return 2.042;
+        if (degreesOfFreedom <= 60) return 2.021;
+        if (degreesOfFreedom <= 120) return 2.000;
+        return 1.980;
+    }
+
+    public int getCount() { return count; }
+
+    public double getMean() { return mean; }
+
+    public double getStdDev() { return stdDev; }
+
+    public double getMin() { return min; }
+
+    public double getMax() { return max; }
+
+    /**
+     * Semiamplitud del intervalo de confianza del 95% para la media.
+     * @return Valor h tal que el intervalo es [media - h, media + h] (0 con menos de 2 valores).
+     */
+    public double getHalfWidth95() {
+        return count > 1 ? tCritical(count - 1) * stdDev / Math.sqrt(count) : 0;
+    }
+
+    /**
+     * Semiamplitud relativa del intervalo (precisión de la estimación).
+     * @return h / |media|, o 0 si la media es 0.
+     */
+    public double getRelativeHalfWidth() {
+        return mean != 0 ? getHalfWidth95() / Math.abs(mean) : 0;
+    }
+
+    @Override
+    public String toString() {
+        double h = getHalfWidth95();
+        return String.format(Locale.ROOT, "%.2f ± %.2f [%.2f, %.2f] (desv. %.2f, mín %.2f, máx %.2f, n=%d)",
+                mean, h, mean - h, mean + h, stdDev, min, max, count);
+    }
+}
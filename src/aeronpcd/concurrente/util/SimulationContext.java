@@ -0,0 +1,164 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.exceptions.LogWriteException;
+import aeronpcd.concurrente.model.ControlTower;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entorno aislado de ejecución para lanzar varias simulaciones en la misma JVM.
+ *
+ * Sin contexto, Logger y FlightPanelJSON se comportan como siempre (un log y un
+ * panel globales). Con un contexto enlazado al hilo que lanza la simulación:
+ * - Logger escribe en el log propio del contexto (o en ninguno si está desactivado).
+ * - FlightPanelJSON.getInstance() devuelve el panel propio del contexto.
+ * - Los ficheros de salida llevan el sufijo de la ejecución (-R{n}) para que dos
+ *   ejecuciones con la misma configuración en el mismo segundo no se pisen.
+ * - La torre se conserva entre ejecuciones con las mismas pistas y puertas y se
+ *   reinicia en lugar de reconstruirse.
+ *
+ * El enlace es heredable: los hilos creados durante la ejecución (aviones,
+ * operarios, controladores) ven el mismo contexto que el hilo que los crea.
+ * Un contexto sirve para una ejecución cada vez; para ejecuciones en paralelo
+ * se usa un contexto por hilo lanzador.
+ */
+public class SimulationContext {
+
+    private static final InheritableThreadLocal<SimulationContext> CURRENT = new InheritableThreadLocal<>();
+    private static final AtomicLong RUN_IDS = new AtomicLong();
+
+    private final boolean logEnabled;
+    private final FlightPanelJSON flightPanel = new FlightPanelJSON();
+    private volatile Logger logger;
+    private volatile long runId = 0;
+    private ControlTower tower;
+    private int runs = 0;
+
+    /**
+     * Crea un contexto con log en fichero.
+     */
+    public SimulationContext() {
+        this(true);
+    }
+
+    /**
+     * Crea un contexto.
+     * @param logEnabled false para descartar el log de las ejecuciones (barridos
+     *                   con muchas ejecuciones, donde solo interesa el resultado).
+     */
+    public SimulationContext(boolean logEnabled) {
+        this.logEnabled = logEnabled;
+    }
+
+    // =========================================================================
+    // ENLACE CON EL HILO
+    // =========================================================================
+
+    /**
+     * Obtiene el contexto enlazado al hilo actual.
+     * @return El contexto, o null si se usa el entorno global.
+     */
+    public static SimulationContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Enlaza un contexto al hilo actual (y a los hilos que cree a partir de ahora).
+     * @param context Contexto a enlazar, o null para volver al entorno global.
+     * @return El contexto enlazado antes, para restaurarlo con bind().
+     */
+    public static SimulationContext bind(SimulationContext context) {
+        SimulationContext previous = CURRENT.get();
+        if (context == null) CURRENT.remove();
+        else CURRENT.set(context);
+        return previous;
+    }
+
+    /**
+     * Sufijo de los ficheros de salida de la ejecución en curso.
+     * @return "-R{n}" dentro de un contexto, o cadena vacía en el entorno global.
+     */
+    public static String runSuffix() {
+        SimulationContext context = CURRENT.get();
+        return context != null && context.runId > 0 ? "-R" + context.runId : "";
+    }
+
+    // =========================================================================
+    // CICLO DE UNA EJECUCIÓN
+    // =========================================================================
+
+    /**
+     * Empieza una ejecución: asigna su número y abre su log.
+     * Lo llama Logger.setup() al arrancar la simulación dentro del contexto.
+     * @param mode Modo de ejecución (CONCURRENT).
+     * @param nAviones Número de aviones.
+     * @param nPistas Número de pistas.
+     * @param nPuertas Número de puertas.
+     * @param nOperarios Número de operarios.
+     * @param binary true para el log binario estructurado.
+     * @throws LogWriteException Si no se puede abrir el log.
+     */
+    void beginRun(String mode, int nAviones, int nPistas, int nPuertas, int nOperarios, boolean binary) throws LogWriteException {
+        endRun();
+        runId = RUN_IDS.incrementAndGet();
+        runs++;
+        if (logEnabled) logger = new Logger(mode, nAviones, nPistas, nPuertas, nOperarios, "-R" + runId, binary);
+    }
+
+    /**
+     * Termina la ejecución en curso y cierra su log. Lo llama Logger.close().
+     */
+    void endRun() {
+        Logger l = logger;
+        logger = null;
+        if (l != null) l.closeFile();
+    }
+
+    /**
+     * Obtiene el log de la ejecución en curso.
+     * @return El log, o null si no hay ejecución en curso o el log está desactivado.
+     */
+    public Logger getLogger() {
+        return logger;
+    }
+
+    /**
+     * Obtiene el panel de vuelos propio del contexto.
+     * @return Panel de vuelos de las ejecuciones de este contexto.
+     */
+    public FlightPanelJSON getFlightPanel() {
+        return flightPanel;
+    }
+
+    /**
+     * Obtiene el número de la ejecución en curso (o de la última).
+     * @return Número global de ejecución, 0 si aún no ha empezado ninguna.
+     */
+    public long getRunId() {
+        return runId;
+    }
+
+    /**
+     * Obtiene cuántas ejecuciones se han lanzado en este contexto.
+     * @return Número de ejecuciones.
+     */
+    public int getRuns() {
+        return runs;
+    }
+
+    /**
+     * Obtiene una torre para la siguiente ejecución. Si la de la ejecución anterior
+     * tiene las mismas pistas y puertas, se reinicia y se reutiliza; si no, se crea
+     * una nueva (sin ventana) y se conserva para las siguientes.
+     * @param numRunways Número de pistas.
+     * @param numGates Número de puertas.
+     * @return Torre lista para configurar.
+     */
+    public ControlTower acquireTower(int numRunways, int numGates) {
+        if (tower != null && tower.getNumRunways() == numRunways && tower.getNumGates() == numGates) {
+            tower.reset();
+        } else {
+            tower = new ControlTower(null, numRunways, numGates);
+        }
+        return tower;
+    }
+}
@@ -0,0 +1,103 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.model.ControlTower;
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Toma instantáneas periódicas de la torre en segundo plano.
+ *
+ * Las instantáneas se capturan con una lectura por épocas (ControlTower.captureSnapshot),
+ * sin detener a los operarios ni tomar el monitor de la torre. Siempre se
+ * sobrescribe la misma ruta (la instantánea más reciente) con escritura atómica.
+ */
+public class SnapshotManager {
+
+    private final ControlTower tower;
+    private final long intervalMs;
+    private final int numOperarios;
+    private final String filePath;
+    private final ScheduledExecutorService scheduler;
+    private long snapshotsTaken = 0;
+
+    /**
+     * Constructor del gestor de instantáneas.
+     * Usa la misma nomenclatura y carpeta que los logs.
+     * @param tower Torre de la que capturar instantáneas.
+     * @param intervalMs Intervalo entre instantáneas en milisegundos.
+     * @param mode Modo de ejecución (CONCURRENT).
+     * @param nAviones Número de aviones.
+     * @param nPistas Número de pistas.
+     * @param nPuertas Número de puertas.
+     * @param nOperarios Número de operarios.
+     */
+    public SnapshotManager(ControlTower tower, long intervalMs, String mode,
+                           int nAviones, int nPistas, int nPuertas, int nOperarios) {
+        this.tower = tower;
+        this.intervalMs = intervalMs;
+        this.numOperarios = nOperarios;
+
+        String folderPath = "logs/" + (mode.equalsIgnoreCase("SEQUENTIAL") ? "secuencial/" : "concurrent/");
+        File folder = new File(folderPath);
+        if (!folder.exists()) {
+            folder.mkdirs();
+        }
+        String timeStamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String fileName = String.format("aeron-%s-%dAV-%dPIS-%dPUE-%dOPE-%s%s.snapshot",
+                mode.toUpperCase(), nAviones, nPistas, nPuertas, nOperarios, timeStamp, SimulationContext.runSuffix());
+        this.filePath = folderPath + fileName;
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "SnapshotManager");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Obtiene la ruta de la instantánea más reciente.
+     * @return Ruta relativa del fichero.
+     */
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Arranca la captura periódica.
+     */
+    public void start() {
+        scheduler.scheduleAtFixedRate(this::takeSnapshot, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        Logger.log("[SNAPSHOT] Instantáneas cada " + intervalMs + " ms en " + filePath);
+    }
+
+    /**
+     * Detiene la captura periódica y guarda una última instantánea.
+     */
+    public void stop() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(intervalMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        takeSnapshot();
+        Logger.log("[SNAPSHOT] " + snapshotsTaken + " instantáneas guardadas");
+    }
+
+    /**
+     * Captura y guarda una instantánea.
+     */
+    private synchronized void takeSnapshot() {
+        try {
+            tower.captureSnapshot(numOperarios).write(new File(filePath));
+            snapshotsTaken++;
+        } catch (IOException e) {
+            Logger.log("[SNAPSHOT] [ERROR] No se pudo guardar la instantánea: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.model.AirplaneState;
+import aeronpcd.concurrente.model.Request;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Diario binario (journal) de solo-anexado con todas las decisiones de la torre.
+ *
+ * OBJETIVO: Poder reproducir una ejecución concurrente decisión a decisión
+ * (JournalReplayer) para pruebas de regresión y análisis offline de contención.
+ *
+ * IMPLEMENTACIÓN:
+ * - Fichero mapeado en memoria (MappedByteBuffer) por bloques de CHUNK_SIZE bytes.
+ * - Registros de tamaño fijo (RECORD_SIZE). Cada hilo reserva su hueco con un
+ *   AtomicLong (sin cerrojos) y escribe en él con escrituras absolutas.
+ * - El byte de evento se escribe el último: un hueco con evento 0 es un registro
+ *   incompleto o el final del diario.
+ *
+ * Formato de registro (32 bytes, big-endian):
+ * <pre>
+ *  0  long   nanoTime
+ *  8  byte   evento (FLIGHT, ENQUEUE, DEQUEUE, GRANT, DENY, RELEASE)
+ *  9  byte   tipo de petición (ordinal de AirplaneState)
+ * 10  short  operario (0 = avión / torre)
+ * 12  int    índice de vuelo
+ * 16  short  índice de pista (-1 = ninguna)
+ * 18  short  índice de puerta (-1 = ninguna)
+ * 20  12 B   ID del vuelo (solo en registros FLIGHT)
+ * </pre>
+ */
+public class TowerJournal {
+
+    // --- EVENTOS ---
+    public static final byte FLIGHT = 1;
+    public static final byte ENQUEUE = 2;
+    public static final byte DEQUEUE = 3;
+    public static final byte GRANT = 4;
+    public static final byte DENY = 5;
+    public static final byte RELEASE = 6;
+
+    /** Identificador del formato al inicio del fichero. */
+    public static final int MAGIC = 0x4145524A; // "AERJ"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 64;
+    public static final int RECORD_SIZE = 32;
+    public static final int FLIGHT_ID_BYTES = 12;
+
+    /** Tamaño de cada bloque mapeado (múltiplo de RECORD_SIZE). */
+    private static final int CHUNK_SIZE = 4 * 1024 * 1024;
+    private static final int RECORDS_PER_CHUNK = CHUNK_SIZE / RECORD_SIZE;
+    private static final int MAX_CHUNKS = 1024;
+
+    private final String filePath;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final AtomicReferenceArray<MappedByteBuffer> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    private final AtomicLong nextSlot = new AtomicLong();
+    private final AtomicInteger nextFlightIndex = new AtomicInteger();
+    private final Map<String, Integer> flightIndexes = new ConcurrentHashMap<>();
+    private volatile boolean closed = false;
+
+    /**
+     * Crea el diario con la misma nomenclatura y carpeta que los logs.
+     * @param mode Modo de ejecución (CONCURRENT).
+     * @param nAviones Número de aviones.
+     * @param nPistas Número de pistas.
+     * @param nPuertas Número de puertas.
+     * @param nOperarios Número de operarios.
+     * @throws IOException Si no se puede crear o mapear el fichero.
+     */
+    public TowerJournal(String mode, int nAviones, int nPistas, int nPuertas, int nOperarios) throws IOException {
+        String folderPath = "logs/" + (mode.equalsIgnoreCase("SEQUENTIAL") ? "secuencial/" : "concurrent/");
+        File folder = new File(folderPath);
+        if (!folder.exists()) {
+            folder.mkdirs();
+        }
+        String timeStamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String fileName = String.format("aeron-%s-%dAV-%dPIS-%dPUE-%dOPE-%s%s.journal",
+                mode.toUpperCase(), nAviones, nPistas, nPuertas, nOperarios, timeStamp, SimulationContext.runSuffix());
+        this.filePath = folderPath + fileName;
+
+        this.channel = FileChannel.open(new File(filePath).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putInt(8, nPistas);
+        header.putInt(12, nPuertas);
+        header.putInt(16, nOperarios);
+        header.putInt(20, RECORD_SIZE);
+        header.putLong(24, System.nanoTime());
+        header.putLong(32, 0L); // número de registros (se escribe al cerrar)
+        chunks.set(0, mapChunk(0));
+    }
+
+    /**
+     * Obtiene la ruta del fichero del diario.
+     * @return Ruta relativa del fichero.
+     */
+    public String getFilePath() {
+        return filePath;
+    }
+
+    // =========================================================================
+    // REGISTRO DE DECISIONES
+    // =========================================================================
+
+    /**
+     * Registra una petición encolada.
+     * @param req Petición encolada.
+     * @param operarioId Operario que reencola (0 si la encola el avión).
+     */
+    public void recordEnqueue(Request req, int operarioId) {
+        append(ENQUEUE, req, operarioId, -1, -1);
+    }
+
+    /**
+     * Registra una petición extraída de la cola por un operario.
+     * @param req Petición extraída.
+     * @param operarioId Operario que la extrae.
+     */
+    public void recordDequeue(Request req, int operarioId) {
+        append(DEQUEUE, req, operarioId, -1, -1);
+    }
+
+    /**
+     * Registra una asignación de recursos concedida.
+     * @param req Petición concedida.
+     * @param operarioId Operario que la concede.
+     * @param runwayIndex Índice de la pista asignada (-1 si ninguna).
+     * @param gateIndex Índice de la puerta asignada (-1 si ninguna).
+     */
+    public void recordGrant(Request req, int operarioId, int runwayIndex, int gateIndex) {
+        append(GRANT, req, operarioId, runwayIndex, gateIndex);
+    }
+
+    /**
+     * Registra una petición denegada (se reencolará).
+     * @param req Petición denegada.
+     * @param operarioId Operario que la deniega.
+     */
+    public void recordDeny(Request req, int operarioId) {
+        append(DENY, req, operarioId, -1, -1);
+    }
+
+    /**
+     * Registra la liberación de recursos.
+     * @param req Petición que libera recursos (LANDED, BOARDED, DEPARTED).
+     * @param operarioId Operario que procesa la liberación.
+     * @param runwayIndex Índice de la pista liberada (-1 si ninguna).
+     * @param gateIndex Índice de la puerta liberada (-1 si ninguna).
+     */
+    public void recordRelease(Request req, int operarioId, int runwayIndex, int gateIndex) {
+        append(RELEASE, req, operarioId, runwayIndex, gateIndex);
+    }
+
+    /**
+     * Obtiene el número de registros reservados hasta el momento.
+     * Sirve como posición del diario para las instantáneas.
+     * @return Número de registros.
+     */
+    public long getPosition() {
+        return nextSlot.get();
+    }
+
+    /**
+     * Escribe el número de registros en la cabecera, fuerza los datos a disco y cierra.
+     */
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            long records = nextSlot.get();
+            header.putLong(32, records);
+            header.force();
+            for (int i = 0; i < MAX_CHUNKS; i++) {
+                MappedByteBuffer chunk = chunks.get(i);
+                if (chunk != null) chunk.force();
+            }
+            channel.close();
+            Logger.log("[JOURNAL] " + nextSlot.get() + " registros en " + filePath);
+        } catch (IOException e) {
+            Logger.log("[JOURNAL] [ERROR] No se pudo cerrar el diario: " + e.getMessage());
+        }
+    }
+
+    // =========================================================================
+    // ESCRITURA EN EL FICHERO MAPEADO
+    // =========================================================================
+
+    /**
+     * Obtiene el índice de un vuelo, registrándolo con un registro FLIGHT la primera vez.
+     * @param flightId ID del vuelo.
+     * @return Índice del vuelo en el diario.
+     */
+    private int flightIndex(String flightId) {
+        Integer index = flightIndexes.get(flightId);
+        if (index != null) return index;
+
+        synchronized (flightIndexes) {
+            index = flightIndexes.get(flightId);
+            if (index == null) {
+                index = nextFlightIndex.getAndIncrement();
+                writeFlight(index, flightId);
+                flightIndexes.put(flightId, index);
+            }
+        }
+        return index;
+    }
+
+    private void writeFlight(int index, String flightId) {
+        long slot = nextSlot.getAndIncrement();
+        MappedByteBuffer buf = chunkFor(slot);
+        if (buf == null) return;
+        int off = (int) (slot % RECORDS_PER_CHUNK) * RECORD_SIZE;
+
+        byte[] id = flightId.getBytes(StandardCharsets.US_ASCII);
+        buf.putLong(off, System.nanoTime());
+        buf.put(off + 9, (byte) 0);
+        buf.putShort(off + 10, (short) 0);
+        buf.putInt(off + 12, index);
+        buf.putShort(off + 16, (short) -1);
+        buf.putShort(off + 18, (short) -1);
+        for (int i = 0; i < FLIGHT_ID_BYTES; i++) {
+            buf.put(off + 20 + i, i < id.length ? id[i] : 0);
+        }
+        buf.put(off + 8, FLIGHT);
+    }
+
+    private void append(byte event, Request req, int operarioId, int runwayIndex, int gateIndex) {
+        if (closed) return;
+        int flight = flightIndex(req.getAirplane().getAirplaneId());
+        AirplaneState type = req.getType();
+
+        long slot = nextSlot.getAndIncrement();
+        MappedByteBuffer buf = chunkFor(slot);
+        if (buf == null) return;
+        int off = (int) (slot % RECORDS_PER_CHUNK) * RECORD_SIZE;
+
+        buf.putLong(off, System.nanoTime());
+        buf.put(off + 9, (byte) type.ordinal());
+        buf.putShort(off + 10, (short) operarioId);
+        buf.putInt(off + 12, flight);
+        buf.putShort(off + 16, (short) runwayIndex);
+        buf.putShort(off + 18, (short) gateIndex);
+        buf.put(off + 8, event); // último: marca el registro como completo
+    }
+
+    /**
+     * Obtiene el bloque mapeado que contiene un hueco, mapeándolo si es nuevo.
+     * @param slot Número de registro.
+     * @return Bloque mapeado, o null si el diario ha alcanzado su tamaño máximo.
+     */
+    private MappedByteBuffer chunkFor(long slot) {
+        int chunk = (int) (slot / RECORDS_PER_CHUNK);
+        if (chunk >= MAX_CHUNKS) return null;
+        MappedByteBuffer buf = chunks.get(chunk);
+        if (buf != null) return buf;
+
+        synchronized (chunks) {
+            if (chunks.get(chunk) == null) {
+                try {
+                    chunks.set(chunk, mapChunk(chunk));
+                } catch (IOException e) {
+                    Logger.log("[JOURNAL] [ERROR] No se pudo ampliar el diario: " + e.getMessage());
+                    return null;
+                }
+            }
+            return chunks.get(chunk);
+        }
+    }
+
+    private MappedByteBuffer mapChunk(int chunk) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + (long) chunk * CHUNK_SIZE, CHUNK_SIZE);
+    }
+}
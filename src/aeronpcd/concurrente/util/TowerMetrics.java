@@ -0,0 +1,168 @@
+package aeronpcd.concurrente.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores en vivo de la Torre de Control.
+ *
+ * La torre y los operarios actualizan los contadores desde el camino caliente
+ * (LongAdder y atómicos, sin cerrojos). Los lectores (MetricsServer) solo leen
+ * estos contadores: nunca toman el monitor de la torre ni el mutex de la cola,
+ * así que la monitorización no interfiere con la simulación.
+ *
+ * Latencias registradas (en microsegundos):
+ * - requestLatency: desde que el avión crea la petición hasta que la torre la concede
+ *   (incluye los reencolados).
+ * - decisionLatency: tiempo de la decisión dentro del monitor de la torre.
+ */
+public class TowerMetrics {
+
+    private final int numRunways;
+    private final int numGates;
+    private final int numOperarios;
+    private final long startNanos = System.nanoTime();
+
+    // --- COLA ---
+    private final LongAdder enqueues = new LongAdder();
+    private final LongAdder dequeues = new LongAdder();
+
+    // --- DECISIONES ---
+    private final LongAdder grants = new LongAdder();
+    private final LongAdder requeues = new LongAdder();
+    private final LongAdder constraintWaits = new LongAdder();
+
+    // --- RECURSOS ---
+    private final AtomicInteger busyRunways = new AtomicInteger();
+    private final AtomicInteger busyGates = new AtomicInteger();
+
+    // --- OPERARIOS ---
+    private final LongAdder operatorBusyNanos = new LongAdder();
+
+    // --- LATENCIAS ---
+    private final LatencyHistogram requestLatency = new LatencyHistogram();
+    private final LatencyHistogram decisionLatency = new LatencyHistogram();
+
+    /**
+     * Constructor de las métricas de una torre.
+     * @param numRunways Número de pistas (para calcular la ocupación).
+     * @param numGates Número de puertas (para calcular la ocupación).
+     * @param numOperarios Número de operarios (para calcular la utilización).
+     */
+    public TowerMetrics(int numRunways, int numGates, int numOperarios) {
+        this.numRunways = numRunways;
+        this.numGates = numGates;
+        this.numOperarios = numOperarios;
+    }
+
+    // =========================================================================
+    // ACTUALIZACIÓN (CAMINO CALIENTE)
+    // =========================================================================
+
+    /** Una petición entra en la cola (nueva o reencolada). */
+    public void onEnqueue() { enqueues.increment(); }
+
+    /** Un operario extrae una petición de la cola. */
+    public void onDequeue() { dequeues.increment(); }
+
+    /**
+     * La torre concede una petición (asignación o liberación).
+     * @param requestTimestampMs Marca de tiempo de creación de la petición.
+     * @param decisionNanos Duración de la decisión dentro del monitor.
+     */
+    public void onGrant(long requestTimestampMs, long decisionNanos) {
+        grants.increment();
+        requestLatency.record((System.currentTimeMillis() - requestTimestampMs) * 1000);
+        decisionLatency.record(decisionNanos / 1000);
+    }
+
+    /**
+     * La torre deniega una petición por falta de recursos; el operario la reencola.
+     * @param decisionNanos Duración de la decisión dentro del monitor.
+     */
+    public void onRequeue(long decisionNanos) {
+        requeues.increment();
+        decisionLatency.record(decisionNanos / 1000);
+    }
+
+    /**
+     * La denegación se debe solo a la compatibilidad: había recursos libres,
+     * pero ninguno admitía la clase o terminal del avión.
+     */
+    public void onConstraintWait() { constraintWaits.increment(); }
+
+    /**
+     * Cambia la ocupación de pistas y puertas.
+     * @param runwayDelta +1 al ocupar una pista, -1 al liberarla, 0 si no cambia.
+     * @param gateDelta +1 al ocupar una puerta, -1 al liberarla, 0 si no cambia.
+     */
+    public void onOccupancyChange(int runwayDelta, int gateDelta) {
+        if (runwayDelta != 0) busyRunways.addAndGet(runwayDelta);
+        if (gateDelta != 0) busyGates.addAndGet(gateDelta);
+    }
+
+    /**
+     * Acumula el tiempo que un operario ha estado atendiendo una petición.
+     * @param nanos Tiempo de trabajo en nanosegundos.
+     */
+    public void onOperatorBusy(long nanos) { operatorBusyNanos.add(nanos); }
+
+    // =========================================================================
+    // LECTURA (SIN CERROJOS)
+    // =========================================================================
+
+    public int getNumRunways() { return numRunways; }
+
+    public int getNumGates() { return numGates; }
+
+    public int getNumOperarios() { return numOperarios; }
+
+    public long getEnqueues() { return enqueues.sum(); }
+
+    public long getDequeues() { return dequeues.sum(); }
+
+    public long getGrants() { return grants.sum(); }
+
+    public long getRequeues() { return requeues.sum(); }
+
+    public long getConstraintWaits() { return constraintWaits.sum(); }
+
+    public int getBusyRunways() { return busyRunways.get(); }
+
+    public int getBusyGates() { return busyGates.get(); }
+
+    public LatencyHistogram getRequestLatency() { return requestLatency; }
+
+    public LatencyHistogram getDecisionLatency() { return decisionLatency; }
+
+    /**
+     * Obtiene la profundidad aproximada de la cola (encoladas menos extraídas).
+     * @return Peticiones esperando a un operario.
+     */
+    public long getQueueDepth() {
+        // Se leen primero las extracciones para no devolver nunca un valor negativo
+        long out = dequeues.sum();
+        return Math.max(0, enqueues.sum() - out);
+    }
+
+    /**
+     * Obtiene el tiempo total que los operarios han estado atendiendo peticiones.
+     * @return Nanosegundos acumulados.
+     */
+    public long getOperatorBusyNanos() { return operatorBusyNanos.sum(); }
+
+    /**
+     * Obtiene el tiempo transcurrido desde la creación de las métricas.
+     * @return Nanosegundos desde el inicio.
+     */
+    public long getUptimeNanos() { return System.nanoTime() - startNanos; }
+
+    /**
+     * Calcula la utilización media de los operarios desde el inicio.
+     * @return Fracción del tiempo (0..1) que los operarios han estado ocupados.
+     */
+    public double getOperatorUtilization() {
+        long capacity = getUptimeNanos() * Math.max(1, numOperarios);
+        return capacity > 0 ? Math.min(1.0, (double) getOperatorBusyNanos() / capacity) : 0.0;
+    }
+}
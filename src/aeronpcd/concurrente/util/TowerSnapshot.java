@@ -0,0 +1,210 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.model.AirplaneState;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Instantánea consistente del estado completo de la torre.
+ *
+ * Contiene la propiedad de pistas y puertas, el estado y progreso de cada avión,
+ * las peticiones pendientes (contenido lógico de la cola) y la posición del
+ * diario de decisiones en el momento de la captura. Con la instantánea más
+ * reciente y la cola del diario se puede reanudar una simulación tras una caída.
+ *
+ * Formato binario (DataOutputStream, big-endian):
+ * <pre>
+ *  int    MAGIC ("AERS")       int   VERSION
+ *  long   instante de captura  long  posición del diario (-1 sin diario)
+ *  int    pistas  int puertas  int   operarios  int vuelos
+ *  por vuelo:  UTF id, byte estado, byte peticiones concedidas,
+ *              long ms transcurridos, byte petición pendiente (-1 ninguna),
+ *              long marca de tiempo de la petición pendiente
+ *  por pista:  int índice del vuelo propietario (-1 libre)
+ *  por puerta: int índice del vuelo propietario (-1 libre)
+ * </pre>
+ */
+public class TowerSnapshot {
+
+    public static final int MAGIC = 0x41455253; // "AERS"
+    public static final int VERSION = 1;
+
+    private static final AirplaneState[] STATES = AirplaneState.values();
+
+    private final long capturedAt;
+    private final long journalPosition;
+    private final int numOperarios;
+    private final String[] flightIds;
+    private final AirplaneState[] states;
+    private final int[] grantedRequests;
+    private final long[] elapsedMs;
+    private final AirplaneState[] pendingTypes;
+    private final long[] pendingTimestamps;
+    private final int[] runwayOwner;
+    private final int[] gateOwner;
+
+    /**
+     * Constructor de una instantánea ya capturada.
+     * Los arreglos por vuelo deben tener la misma longitud que flightIds.
+     */
+    public TowerSnapshot(long capturedAt, long journalPosition, int numOperarios, String[] flightIds,
+                         AirplaneState[] states, int[] grantedRequests, long[] elapsedMs,
+                         AirplaneState[] pendingTypes, long[] pendingTimestamps,
+                         int[] runwayOwner, int[] gateOwner) {
+        this.capturedAt = capturedAt;
+        this.journalPosition = journalPosition;
+        this.numOperarios = numOperarios;
+        this.flightIds = flightIds;
+        this.states = states;
+        this.grantedRequests = grantedRequests;
+        this.elapsedMs = elapsedMs;
+        this.pendingTypes = pendingTypes;
+        this.pendingTimestamps = pendingTimestamps;
+        this.runwayOwner = runwayOwner;
+        this.gateOwner = gateOwner;
+    }
+
+    // =========================================================================
+    // PERSISTENCIA
+    // =========================================================================
+
+    /**
+     * Escribe la instantánea de forma atómica: primero en un fichero temporal
+     * y después se renombra, de modo que una caída durante la escritura nunca
+     * deja una instantánea corrupta en la ruta final.
+     * @param file Fichero destino.
+     * @throws IOException Si no se puede escribir.
+     */
+    public void write(File file) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(capturedAt);
+            out.writeLong(journalPosition);
+            out.writeInt(runwayOwner.length);
+            out.writeInt(gateOwner.length);
+            out.writeInt(numOperarios);
+            out.writeInt(flightIds.length);
+            for (int i = 0; i < flightIds.length; i++) {
+                out.writeUTF(flightIds[i]);
+                out.writeByte(states[i].ordinal());
+                out.writeByte(grantedRequests[i]);
+                out.writeLong(elapsedMs[i]);
+                out.writeByte(pendingTypes[i] != null ? pendingTypes[i].ordinal() : -1);
+                out.writeLong(pendingTimestamps[i]);
+            }
+            for (int owner : runwayOwner) out.writeInt(owner);
+            for (int owner : gateOwner) out.writeInt(owner);
+        }
+        try {
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Sistemas de ficheros sin renombrado atómico
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Lee una instantánea de disco.
+     * @param file Fichero de la instantánea.
+     * @return Instantánea leída.
+     * @throws IOException Si el fichero no existe o no es una instantánea válida.
+     */
+    public static TowerSnapshot read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("El fichero " + file + " no es una instantánea de la torre");
+            }
+            long capturedAt = in.readLong();
+            long journalPosition = in.readLong();
+            int numRunways = in.readInt();
+            int numGates = in.readInt();
+            int numOperarios = in.readInt();
+            int numFlights = in.readInt();
+
+            String[] ids = new String[numFlights];
+            AirplaneState[] states = new AirplaneState[numFlights];
+            int[] granted = new int[numFlights];
+            long[] elapsed = new long[numFlights];
+            AirplaneState[] pending = new AirplaneState[numFlights];
+            long[] pendingTs = new long[numFlights];
+            for (int i = 0; i < numFlights; i++) {
+                ids[i] = in.readUTF();
+                states[i] = STATES[in.readByte()];
+                granted[i] = in.readByte();
+                elapsed[i] = in.readLong();
+                byte p = in.readByte();
+                pending[i] = p >= 0 ? STATES[p] : null;
+                pendingTs[i] = in.readLong();
+            }
+            int[] runways = new int[numRunways];
+            int[] gates = new int[numGates];
+            for (int i = 0; i < numRunways; i++) runways[i] = in.readInt();
+            for (int i = 0; i < numGates; i++) gates[i] = in.readInt();
+
+            return new TowerSnapshot(capturedAt, journalPosition, numOperarios, ids, states, granted,
+                    elapsed, pending, pendingTs, runways, gates);
+        }
+    }
+
+    // =========================================================================
+    // GETTERS
+    // =========================================================================
+
+    public long getCapturedAt() { return capturedAt; }
+
+    public long getJournalPosition() { return journalPosition; }
+
+    public int getNumRunways() { return runwayOwner.length; }
+
+    public int getNumGates() { return gateOwner.length; }
+
+    public int getNumOperarios() { return numOperarios; }
+
+    public int getNumFlights() { return flightIds.length; }
+
+    public String getFlightId(int i) { return flightIds[i]; }
+
+    public AirplaneState getState(int i) { return states[i]; }
+
+    public int getGrantedRequests(int i) { return grantedRequests[i]; }
+
+    public long getElapsedMs(int i) { return elapsedMs[i]; }
+
+    public AirplaneState getPendingType(int i) { return pendingTypes[i]; }
+
+    public long getPendingTimestamp(int i) { return pendingTimestamps[i]; }
+
+    /**
+     * Obtiene el índice del vuelo propietario de una pista.
+     * @param runway Índice de la pista.
+     * @return Índice del vuelo, o -1 si la pista estaba libre.
+     */
+    public int getRunwayOwner(int runway) { return runwayOwner[runway]; }
+
+    /**
+     * Obtiene el índice del vuelo propietario de una puerta.
+     * @param gate Índice de la puerta.
+     * @return Índice del vuelo, o -1 si la puerta estaba libre.
+     */
+    public int getGateOwner(int gate) { return gateOwner[gate]; }
+
+    /**
+     * Cuenta las peticiones pendientes (contenido lógico de la cola).
+     * @return Número de aviones esperando confirmación de la torre.
+     */
+    public int getPendingCount() {
+        int n = 0;
+        for (AirplaneState p : pendingTypes) if (p != null) n++;
+        return n;
+    }
+}
@@ -0,0 +1,307 @@
+package aeronpcd.concurrente.util;
+
+import aeronpcd.concurrente.model.Airplane;
+import aeronpcd.concurrente.model.ControlTower;
+import aeronpcd.concurrente.model.Request;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.LockInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MonitorInfo;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vigilante de interbloqueos e inanición de la torre y del protocolo avión-operario.
+ *
+ * El diseño concurrente depende de un orden cuidadoso (semáforo de la cola,
+ * monitor de la torre y confirmationLock de cada avión). Cada SAMPLE_MS el
+ * vigilante comprueba:
+ * 1. INTERBLOQUEO: ThreadMXBean.findDeadlockedThreads (monitores y cerrojos).
+ * 2. INANICIÓN: peticiones pendientes cuya espera supera FACTOR veces la mediana
+ *    (la de las métricas en vivo si están activas, si no la de las pendientes).
+ * 3. AVISO PERDIDO: un avión sigue esperando una petición que no está en la cola
+ *    en dos muestras seguidas; nadie la va a procesar ni a despertarlo.
+ *
+ * Al detectar una anomalía escribe un diagnóstico estructurado (anomalías, cola,
+ * aviones esperando y pilas con información de cerrojos) en un fichero .watchdog
+ * junto a los logs. El muestreo solo lee contadores y copia la cola bajo su mutex;
+ * la información de hilos solo se pide cuando hay algo que volcar, así que puede
+ * dejarse activo en ejecuciones largas.
+ */
+public class TowerWatchdog {
+
+    /** Intervalo entre muestras. */
+    public static final long SAMPLE_MS = 1000;
+    /** Múltiplo de la mediana a partir del cual una espera se considera inanición. */
+    public static final double FACTOR = 10.0;
+    /** Espera mínima para considerar inanición (evita falsos positivos con medianas diminutas). */
+    public static final long MIN_STARVATION_MS = 2000;
+
+    private final ControlTower tower;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final ScheduledExecutorService scheduler;
+    private final String filePath;
+
+    // Estado entre muestras (solo lo usa el hilo del vigilante)
+    private Set<Request> missingLastSample = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Request> reported = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long[] lastDeadlock = new long[0];
+    private int anomalies = 0;
+
+    /**
+     * Constructor del vigilante.
+     * Usa la misma nomenclatura y carpeta que los logs para el fichero de diagnóstico.
+     * @param tower Torre a vigilar.
+     * @param mode Modo de ejecución (CONCURRENT).
+     * @param nAviones Número de aviones.
+     * @param nPistas Número de pistas.
+     * @param nPuertas Número de puertas.
+     * @param nOperarios Número de operarios.
+     */
+    public TowerWatchdog(ControlTower tower, String mode, int nAviones, int nPistas, int nPuertas, int nOperarios) {
+        this.tower = tower;
+        String folderPath = "logs/" + (mode.equalsIgnoreCase("SEQUENTIAL") ? "secuencial/" : "concurrent/");
+        String timeStamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        this.filePath = folderPath + String.format("aeron-%s-%dAV-%dPIS-%dPUE-%dOPE-%s%s.watchdog",
+                mode.toUpperCase(), nAviones, nPistas, nPuertas, nOperarios, timeStamp, SimulationContext.runSuffix());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "TowerWatchdog");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Arranca el muestreo periódico.
+     */
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::sample, SAMPLE_MS, SAMPLE_MS, TimeUnit.MILLISECONDS);
+        Logger.log("[WATCHDOG] Vigilando interbloqueos e inanición cada " + SAMPLE_MS + " ms");
+    }
+
+    /**
+     * Detiene el muestreo.
+     */
+    public void stop() {
+        scheduler.shutdownNow();
+        Logger.log("[WATCHDOG] Anomalías detectadas: " + anomalies);
+    }
+
+    /**
+     * Obtiene el número de anomalías detectadas hasta ahora.
+     * @return Número de anomalías.
+     */
+    public int getAnomalies() {
+        return anomalies;
+    }
+
+    // =========================================================================
+    // MUESTREO
+    // =========================================================================
+
+    /**
+     * Toma una muestra y, si encuentra anomalías, vuelca el diagnóstico.
+     */
+    private void sample() {
+        try {
+            List<String> found = new ArrayList<>();
+            checkDeadlock(found);
+
+            List<Airplane> airplanes = tower.getRegisteredAirplanes();
+            List<Request> queue = new ArrayList<>();
+            if (airplanes != null) {
+                queue = tower.snapshotQueue();
+                checkRequests(airplanes, queue, found);
+            }
+
+            if (!found.isEmpty()) {
+                anomalies += found.size();
+                dump(found, airplanes, queue);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Un fallo del vigilante nunca debe afectar a la simulación
+            Logger.log("[WATCHDOG] [ERROR] " + e);
+        }
+    }
+
+    /**
+     * Busca hilos interbloqueados. Cada ciclo se informa una sola vez.
+     * @param found Lista donde añadir las anomalías.
+     */
+    private void checkDeadlock(List<String> found) {
+        long[] ids = threads.findDeadlockedThreads();
+        if (ids == null) {
+            lastDeadlock = new long[0];
+            return;
+        }
+        Arrays.sort(ids);
+        if (Arrays.equals(ids, lastDeadlock)) return;
+        lastDeadlock = ids;
+
+        StringBuilder sb = new StringBuilder("INTERBLOQUEO entre " + ids.length + " hilos:");
+        for (ThreadInfo info : threads.getThreadInfo(ids)) {
+            if (info == null) continue;
+            sb.append(String.format("%n    %s espera %s (tenido por %s)",
+                    info.getThreadName(), info.getLockName(), info.getLockOwnerName()));
+        }
+        found.add(sb.toString());
+    }
+
+    /**
+     * Busca peticiones que llevan demasiado tiempo esperando y avisos perdidos.
+     * @param airplanes Aviones registrados.
+     * @param queue Copia de la cola de la torre.
+     * @param found Lista donde añadir las anomalías.
+     */
+    private void checkRequests(List<Airplane> airplanes, List<Request> queue, List<String> found) {
+        long now = System.currentTimeMillis();
+        Set<Request> queued = Collections.newSetFromMap(new IdentityHashMap<>());
+        queued.addAll(queue);
+
+        List<Request> pending = new ArrayList<>();
+        for (Airplane plane : airplanes) {
+            Request req = plane.getPendingRequest();
+            if (req != null) pending.add(req);
+        }
+        long baseline = Math.max(1, medianWaitMs(pending, now));
+
+        Set<Request> missing = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Request req : pending) {
+            long age = now - req.getTimestamp();
+
+            // Aviso perdido: la petición no está en la cola en dos muestras seguidas
+            if (!queued.contains(req)) {
+                missing.add(req);
+                if (missingLastSample.contains(req) && reported.add(req)) {
+                    found.add(String.format("AVISO PERDIDO: %s espera %d ms pero su petición no está en la cola",
+                            req, age));
+                }
+            }
+
+            // Inanición: espera muy superior a la mediana
+            if (age > FACTOR * baseline && age > MIN_STARVATION_MS && reported.add(req)) {
+                found.add(String.format("INANICIÓN: %s espera %d ms (mediana %d ms, umbral x%.0f)",
+                        req, age, baseline, FACTOR));
+            }
+        }
+        missingLastSample = missing;
+        // Las peticiones ya atendidas dejan de vigilarse
+        reported.retainAll(identitySet(pending));
+    }
+
+    private static Set<Request> identitySet(List<Request> requests) {
+        Set<Request> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        set.addAll(requests);
+        return set;
+    }
+
+    /**
+     * Calcula la mediana de espera de referencia.
+     * @param pending Peticiones pendientes.
+     * @param now Instante actual en ms.
+     * @return Mediana de las esperas concedidas (métricas) o de las pendientes.
+     */
+    private long medianWaitMs(List<Request> pending, long now) {
+        TowerMetrics metrics = tower.getMetrics();
+        if (metrics != null && metrics.getRequestLatency().getCount() > 0) {
+            return metrics.getRequestLatency().getPercentile(50) / 1000;
+        }
+        if (pending.isEmpty()) return 0;
+        long[] ages = new long[pending.size()];
+        for (int i = 0; i < ages.length; i++) ages[i] = now - pending.get(i).getTimestamp();
+        Arrays.sort(ages);
+        return ages[ages.length / 2];
+    }
+
+    // =========================================================================
+    // DIAGNÓSTICO
+    // =========================================================================
+
+    /**
+     * Escribe el diagnóstico estructurado de una muestra con anomalías.
+     * @param found Anomalías detectadas.
+     * @param airplanes Aviones registrados (puede ser null).
+     * @param queue Copia de la cola de la torre.
+     */
+    private void dump(List<String> found, List<Airplane> airplanes, List<Request> queue) {
+        long now = System.currentTimeMillis();
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== DIAGNÓSTICO DEL VIGILANTE ").append(LocalDateTime.now()).append(" ===\n");
+
+        sb.append("[ANOMALÍAS]\n");
+        for (String a : found) sb.append("  ").append(a).append('\n');
+
+        sb.append("[COLA] ").append(queue.size()).append(" peticiones\n");
+        for (Request req : queue) {
+            sb.append(String.format("  %-45s espera %d ms%n", req, now - req.getTimestamp()));
+        }
+
+        sb.append("[AVIONES ESPERANDO]\n");
+        if (airplanes != null) {
+            for (Airplane plane : airplanes) {
+                Request req = plane.getPendingRequest();
+                if (req == null) continue;
+                sb.append(String.format("  %-10s %-18s hilo=%s concedidas=%d espera=%d ms%n",
+                        plane.getAirplaneId(), req.getType(), plane.getState(), plane.getGrantedRequests(),
+                        now - req.getTimestamp()));
+            }
+        }
+
+        // Solo hilos de la simulación: aviones registrados y operarios
+        Set<Long> airplaneThreads = new HashSet<>();
+        if (airplanes != null) {
+            for (Airplane plane : airplanes) airplaneThreads.add(plane.getId());
+        }
+        sb.append("[HILOS]\n");
+        for (ThreadInfo info : threads.dumpAllThreads(threads.isObjectMonitorUsageSupported(),
+                threads.isSynchronizerUsageSupported())) {
+            String name = info.getThreadName();
+            if (!name.startsWith("Operario") && !airplaneThreads.contains(info.getThreadId())) continue;
+            sb.append(String.format("  %s %s", name, info.getThreadState()));
+            if (info.getLockName() != null) {
+                sb.append(" en ").append(info.getLockName());
+                if (info.getLockOwnerName() != null) sb.append(" (tenido por ").append(info.getLockOwnerName()).append(')');
+            }
+            sb.append('\n');
+            for (MonitorInfo m : info.getLockedMonitors()) {
+                sb.append("    tiene monitor ").append(m).append('\n');
+            }
+            for (LockInfo l : info.getLockedSynchronizers()) {
+                sb.append("    tiene cerrojo ").append(l).append('\n');
+            }
+            StackTraceElement[] stack = info.getStackTrace();
+            for (int i = 0; i < Math.min(8, stack.length); i++) {
+                sb.append("      at ").append(stack[i]).append('\n');
+            }
+        }
+        sb.append('\n');
+
+        try {
+            File file = new File(filePath);
+            if (file.getParentFile() != null) file.getParentFile().mkdirs();
+            try (FileWriter writer = new FileWriter(file, true)) {
+                writer.write(sb.toString());
+            }
+        } catch (IOException e) {
+            Logger.log("[WATCHDOG] [ERROR] No se pudo escribir el diagnóstico: " + e.getMessage());
+        }
+        for (String a : found) Logger.log("[WATCHDOG] " + a);
+        Logger.log("[WATCHDOG] Diagnóstico completo en " + filePath);
+    }
+}
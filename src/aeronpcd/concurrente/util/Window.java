@@ -12,6 +12,8 @@ import javax.swing.border.TitledBorder;
  * - Panel 1: Registro de Eventos (log de actividad de aviones)
  * - Panel 2: Estado Técnico de Torre (información del control de torre)
  * - Panel 3: Panel de Vuelos (estilo FIDS de aeropuerto con ámbar sobre negro)
+ * Debajo, si la torre lo publica, la vista de Gantt con la ocupación de pistas y
+ * puertas a lo largo del tiempo (GanttPanel).
  * 
  * Las actualizaciones de cada panel se realizan de forma thread-safe mediante
  * SwingUtilities.invokeLater() para garantizar acceso al Event Dispatch Thread.
@@ -31,10 +33,15 @@ public class Window extends JFrame {
     private JTextArea towerControlArea;
     
     /**
-     * Área de texto para mostrar el Panel de Vuelos estilo FIDS de aeropuerto.
+     * Tabla del Panel de Vuelos estilo FIDS de aeropuerto (una fila por vuelo).
      * Utiliza colores ámbar sobre negro para simular una pantalla de información de vuelos real.
      */
-    private JTextArea flightPanelArea;
+    private JTable flightTable;
+
+    /**
+     * Modelo del Panel de Vuelos: recibe los cambios por vuelo y los aplica por fotogramas.
+     */
+    private final FlightTableModel flightTableModel = new FlightTableModel();
 
     /**
      * Color ámbar típico de pantallas de información de vuelos (FIDS) en aeropuertos.
@@ -42,6 +49,16 @@ public class Window extends JFrame {
      */
     private static final Color AIRPORT_AMBER = new Color(255, 191, 0);
 
+    /**
+     * Contenedor de los tres paneles de texto (columnas de la ventana).
+     */
+    private final JPanel columns;
+
+    /**
+     * Vista de Gantt de la ocupación (null hasta que la torre la publique).
+     */
+    private GanttPanel ganttPanel;
+
     /**
      * Constructor de la ventana principal del simulador AERON.
      * Inicializa los tres paneles (eventos, torre, panel de vuelos) con estilos diferentes
@@ -59,22 +76,25 @@ public class Window extends JFrame {
         // Estilo nativo del SO para la ventana
         try { UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName()); } catch (Exception ignored) { }
 
-        // Layout de 3 columnas
-        this.setLayout(new GridLayout(1, 3, 10, 0));
+        // Layout de 3 columnas (la vista de Gantt, si la hay, va debajo)
+        this.setLayout(new BorderLayout());
+        columns = new JPanel(new GridLayout(1, 3, 10, 0));
         // Fondo general gris suave
         this.getContentPane().setBackground(new Color(240, 240, 240));
+        columns.setBackground(new Color(240, 240, 240));
+        this.add(columns, BorderLayout.CENTER);
 
         // --- 1. Panel de Eventos (Estilo Profesional Claro) ---
         airplaneEventsArea = createProfessionalTextArea("Registro de Eventos");
-        this.add(createStyledScrollPane(airplaneEventsArea));
+        columns.add(createStyledScrollPane(airplaneEventsArea));
 
         // --- 2. Panel de Torre (Estilo Profesional Claro) ---
         towerControlArea = createProfessionalTextArea("Estado Técnica de Torre");
-        this.add(createStyledScrollPane(towerControlArea));
+        columns.add(createStyledScrollPane(towerControlArea));
 
         // --- 3. Panel de Vuelos (Estilo realista de aeropuerto: ámbar sobre negro) ---
-        flightPanelArea = createAirportPanelTextArea("PANEL DE VUELOS (SALIDAS / LLEGADAS)");
-        this.add(createAirportScrollPane(flightPanelArea));
+        flightTable = createAirportTable(flightTableModel);
+        columns.add(createAirportScrollPane(flightTable, "PANEL DE VUELOS (SALIDAS / LLEGADAS)"));
 
         this.setVisible(true);
     }
@@ -105,42 +125,38 @@ public class Window extends JFrame {
     }
 
     /**
-     * Crea un área de texto con estilo realista de Panel de Vuelos (FIDS).
+     * Crea la tabla con estilo realista de Panel de Vuelos (FIDS).
      * Fondo negro, texto ámbar brillante, fuente monoespaciada en 15pt para efecto LED.
      * Imita la apariencia de pantallas de información de vuelos en aeropuertos reales.
      * 
-     * @param title Título a mostrar en el borde del panel en color ámbar.
-     * @return JTextArea configurado con el estilo de aeropuerto (FIDS).
+     * @param model Modelo con una fila por vuelo.
+     * @return JTable configurada con el estilo de aeropuerto (FIDS).
      */
-    private JTextArea createAirportPanelTextArea(String title) {
-        JTextArea area = new JTextArea();
-        area.setEditable(false);
-
-        // 1. FONDO NEGRO PURO
-        area.setBackground(Color.BLACK);
-        // 2. TEXTO ÁMBAR BRILLANTE
-        area.setForeground(AIRPORT_AMBER);
-        // Cambiamos también el color del cursor para que no desentone
-        area.setCaretColor(AIRPORT_AMBER);
+    private JTable createAirportTable(FlightTableModel model) {
+        JTable table = new JTable(model);
+        table.setEnabled(false); // Solo lectura, sin selección ni edición
 
-        // 3. FUENTE: Monospaced más grande y negrita para efecto "pantalla LED"
-        area.setFont(new Font("Monospaced", Font.BOLD, 15));
+        // 1. FONDO NEGRO PURO Y TEXTO ÁMBAR BRILLANTE
+        table.setBackground(Color.BLACK);
+        table.setForeground(AIRPORT_AMBER);
+        table.setFillsViewportHeight(true);
 
-        // Margen interno generoso
-        area.setMargin(new Insets(15, 15, 15, 15));
+        // 2. FUENTE: Monospaced más grande y negrita para efecto "pantalla LED"
+        table.setFont(new Font("Monospaced", Font.BOLD, 15));
+        table.setRowHeight(22);
+        table.setShowGrid(false);
+        table.setIntercellSpacing(new Dimension(0, 0));
 
-        // 4. BORDE: Línea sólida del mismo color Ámbar
-        TitledBorder border = BorderFactory.createTitledBorder(
-                BorderFactory.createLineBorder(AIRPORT_AMBER, 2), // Borde de 2px
-                title);
-        // Título centrado, grande y en color Ámbar
-        border.setTitleFont(new Font("Monospaced", Font.BOLD, 18));
-        border.setTitleColor(AIRPORT_AMBER);
-        border.setTitleJustification(TitledBorder.CENTER);
+        // 3. CABECERA: ámbar sobre negro, como el resto del panel
+        table.getTableHeader().setReorderingAllowed(false);
+        table.getTableHeader().setBackground(Color.BLACK);
+        table.getTableHeader().setForeground(AIRPORT_AMBER);
+        table.getTableHeader().setFont(new Font("Monospaced", Font.BOLD, 15));
 
-        area.setBorder(border);
+        // La columna de estado necesita más sitio (LANDING_REQUESTED...)
+        table.getColumnModel().getColumn(1).setPreferredWidth(200);
 
-        return area;
+        return table;
     }
 
     /**
@@ -161,13 +177,23 @@ public class Window extends JFrame {
      * Fondo negro tanto en el viewport como en las barras de desplazamiento
      * para mantener el efecto de pantalla FIDS de aeropuerto.
      * 
-     * @param view Componente a incluir en el scroll pane (área de texto ámbar).
+     * @param view Componente a incluir en el scroll pane (tabla ámbar).
+     * @param title Título a mostrar en el borde del panel en color ámbar.
      * @return JScrollPane configurado con tema negro oscuro.
      */
-    private JScrollPane createAirportScrollPane(JComponent view) {
+    private JScrollPane createAirportScrollPane(JComponent view, String title) {
         JScrollPane scroll = new JScrollPane(view);
-        scroll.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
-        scroll.getViewport().setBackground(Color.BLACK); // El fondo detrás del texto
+
+        // BORDE: Línea sólida del mismo color Ámbar
+        TitledBorder border = BorderFactory.createTitledBorder(
+                BorderFactory.createLineBorder(AIRPORT_AMBER, 2), // Borde de 2px
+                title);
+        // Título centrado, grande y en color Ámbar
+        border.setTitleFont(new Font("Monospaced", Font.BOLD, 18));
+        border.setTitleColor(AIRPORT_AMBER);
+        border.setTitleJustification(TitledBorder.CENTER);
+        scroll.setBorder(BorderFactory.createCompoundBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5), border));
+        scroll.getViewport().setBackground(Color.BLACK); // El fondo detrás de la tabla
         scroll.setBackground(Color.BLACK); // El fondo de las barras de desplazamiento
         // Opcional: personalizar las barras de scroll (más complejo en Swing puro)
         return scroll;
@@ -175,6 +201,24 @@ public class Window extends JFrame {
 
     // ================= MÉTODOS DE ACTUALIZACIÓN THREAD-SAFE =================
 
+    /**
+     * Muestra la vista de Gantt de la ocupación de pistas y puertas bajo los paneles.
+     * Solo se crea una vez: las llamadas posteriores (torre reutilizada) no hacen nada.
+     * 
+     * @param timeline Historial de ocupación que mantiene la torre.
+     */
+    public void showOccupancyTimeline(OccupancyTimeline timeline) {
+        SwingUtilities.invokeLater(() -> {
+            if (ganttPanel != null) return;
+            ganttPanel = new GanttPanel(timeline);
+            JScrollPane scroll = createStyledScrollPane(ganttPanel);
+            scroll.setPreferredSize(new Dimension(getWidth(),
+                    Math.min(260, ganttPanel.getPreferredSize().height + 14)));
+            this.add(scroll, BorderLayout.SOUTH);
+            this.revalidate();
+        });
+    }
+
     /**
      * Añade un evento de avión al panel de eventos.
      * Utiliza SwingUtilities.invokeLater() para garantizar thread-safety
@@ -204,18 +248,13 @@ public class Window extends JFrame {
 
 
     /**
-     * Actualiza el Panel de Vuelos (estilo FIDS) con nuevos datos.
-     * Reemplaza completamente el contenido con los datos del panel.
-     * Posiciona el cursor al inicio para asegurar que la cabecera siempre sea visible.
-     * Utiliza SwingUtilities.invokeLater() para garantizar thread-safety.
+     * Obtiene el modelo del Panel de Vuelos (estilo FIDS).
+     * Sus métodos de publicación se pueden llamar desde cualquier hilo: los cambios
+     * se aplican en el EDT agrupados por fotograma.
      * 
-     * @param panelData Texto formateado con la información de vuelos (salidas/llegadas).
+     * @return Modelo de la tabla de vuelos.
      */
-    public void updateFlightPanel(String panelData) {
-        SwingUtilities.invokeLater(() -> {
-            flightPanelArea.setText(panelData);
-            // Posiciona el cursor al inicio para que la cabecera sea siempre visible
-            flightPanelArea.setCaretPosition(0);
-        });
+    public FlightTableModel getFlightTableModel() {
+        return flightTableModel;
     }
 }
\ No newline at end of file
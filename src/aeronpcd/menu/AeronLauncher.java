@@ -1,7 +1,14 @@
 package aeronpcd.menu;
 
+import aeronpcd.concurrente.model.CapacityPlanner;
+import aeronpcd.concurrente.model.GrantPolicyType;
+import aeronpcd.concurrente.model.LandingScheduler;
 import aeronpcd.concurrente.model.MainConcurrente;
+import aeronpcd.concurrente.model.MonteCarloRunner;
+import aeronpcd.concurrente.model.OperatorRuntime;
+import aeronpcd.concurrente.model.SimulationConfig;
 import aeronpcd.secuencial.model.MainSecuencial;
+import java.io.FileNotFoundException;
 import java.util.Scanner;
 
 /**
@@ -39,6 +46,9 @@ public class AeronLauncher {
         System.out.println("Seleccione el modo de ejecución:");
         System.out.println("1. Modo SECUENCIAL (Simulación lineal)");
         System.out.println("2. Modo CONCURRENTE (Simulación con múltiples threads)");
+        System.out.println("3. Reanudar simulación concurrente desde instantánea");
+        System.out.println("4. Análisis MONTE CARLO (réplicas concurrentes en paralelo)");
+        System.out.println("5. Planificador de CAPACIDAD (mínimo de pistas/puertas/operarios para un objetivo)");
         System.out.println("0. Salir");
         System.out.print(">> Opción: ");
 
@@ -49,6 +59,29 @@ public class AeronLauncher {
             return;
         }
 
+        if (opcion == 3) {
+            // La configuración del aeropuerto se recupera de la instantánea
+            System.out.print("Ruta de la instantánea (.snapshot): ");
+            String snapshotPath = scanner.next();
+            System.out.print("Ruta del diario de la ejecución (.journal, '-' si no hay): ");
+            String journalPath = scanner.next();
+            System.out.print("Intervalo de nuevas instantáneas en ms (0 = desactivadas): ");
+            int intervalo = leerEntero(scanner);
+
+            System.out.println("\nReanudando MODO CONCURRENTE...");
+            MainConcurrente.resumeSimulation(snapshotPath, journalPath.equals("-") ? null : journalPath,
+                    Math.max(0, intervalo));
+            scanner.close();
+            return;
+        }
+
+        if (opcion == 5) {
+            // El planificador elige pistas, puertas y operarios: solo se pide el tráfico y el objetivo
+            planCapacity(scanner);
+            scanner.close();
+            return;
+        }
+
         // --- CONFIGURACIÓN DE PARÁMETROS ---
         System.out.println("\n--- CONFIGURACIÓN DEL AEROPUERTO ---");
         
@@ -75,9 +108,112 @@ public class AeronLauncher {
             int operarios = leerEntero(scanner);
             if (operarios <= 0) operarios = 5;
 
+            System.out.print("Runtime de OPERARIOS (1 = Cola compartida, 2 = Work-stealing, 3 = Elástico) (Default 1): ");
+            int runtime = leerEntero(scanner);
+
+            SimulationConfig config = new SimulationConfig(aviones, pistas, puertas, operarios);
+            if (runtime == 2) config.setOperatorRuntime(OperatorRuntime.WORK_STEALING);
+            if (runtime == 3) {
+                config.setOperatorRuntime(OperatorRuntime.ELASTIC);
+                System.out.print("Mínimo de OPERARIOS activos (Default 1, máximo " + operarios + "): ");
+                config.setMinOperarios(leerEntero(scanner));
+            }
+
+            System.out.print("¿Configurar opciones avanzadas? (s/N): ");
+            if (leerSiNo(scanner)) {
+                System.out.print("Política de concesión (1 = Greedy, 2 = FIFO, 3 = Por antigüedad, 4 = Menor trabajo restante) (Default 1): ");
+                int politica = leerEntero(scanner);
+                if (politica == 2) config.setGrantPolicy(GrantPolicyType.FIFO);
+                else if (politica == 3) config.setGrantPolicy(GrantPolicyType.AGE_WEIGHTED);
+                else if (politica == 4) config.setGrantPolicy(GrantPolicyType.SHORTEST_REMAINING_WORK);
+                System.out.print("Planificación de aterrizajes (1 = Greedy, 2 = Con anticipación y reserva de puertas) (Default 1): ");
+                if (leerEntero(scanner) == 2) config.setLandingScheduler(LandingScheduler.LOOKAHEAD);
+                System.out.print("Porcentaje de aviones de fuselaje ancho (Default 0): ");
+                config.setWideBodyPercent(leerEntero(scanner));
+                if (config.getWideBodyPercent() > 0) {
+                    System.out.print("Pistas exclusivas de fuselaje ancho (Default 0): ");
+                    config.setHeavyOnlyRunways(Math.max(0, leerEntero(scanner)));
+                    System.out.print("Pistas cortas, solo fuselaje estrecho (Default 0): ");
+                    config.setStandardRunways(Math.max(0, leerEntero(scanner)));
+                    System.out.print("Puertas anchas (Default todas): ");
+                    int anchas = leerEntero(scanner);
+                    if (anchas > 0) config.setWideGates(anchas);
+                }
+                System.out.print("Número de terminales (Default 1): ");
+                config.setNumTerminals(leerEntero(scanner));
+                System.out.print("Tiempo máximo de la simulación en segundos (0 = sin límite): ");
+                config.setRunTimeoutMs(Math.max(0, leerEntero(scanner)) * 1000L);
+                System.out.print("¿Log fusionado por instante (búferes por hilo, sin cerrojos)? (s/N): ");
+                config.setMergedLogEnabled(leerSiNo(scanner));
+                System.out.print("¿Log binario estructurado (.blog, se lee con LogRenderer)? (s/N): ");
+                config.setBinaryLogEnabled(leerSiNo(scanner));
+                System.out.print("Rotar el log cada N KB (0 = sin rotación por tamaño): ");
+                config.setLogSegmentBytes(Math.max(0, leerEntero(scanner)) * 1024L);
+                System.out.print("Rotar el log cada N segundos (0 = sin rotación por tiempo): ");
+                config.setLogSegmentMs(Math.max(0, leerEntero(scanner)) * 1000L);
+                if (config.getLogSegmentBytes() > 0 || config.getLogSegmentMs() > 0) {
+                    System.out.print("Tamaño máximo de los segmentos comprimidos en MB (0 = conservar todos): ");
+                    config.setLogArchiveBytes(Math.max(0, leerEntero(scanner)) * 1024L * 1024L);
+                }
+                System.out.print("¿Registrar diario binario de decisiones? (s/N): ");
+                config.setJournalEnabled(leerSiNo(scanner));
+                System.out.print("Intervalo de instantáneas de la torre en ms (0 = desactivadas): ");
+                config.setSnapshotIntervalMs(Math.max(0, leerEntero(scanner)));
+                System.out.print("Puerto HTTP de métricas en vivo (0 = desactivado): ");
+                config.setMetricsPort(Math.max(0, leerEntero(scanner)));
+                System.out.print("Puerto HTTP del stream SSE del panel de vuelos (0 = desactivado): ");
+                config.setFlightStreamPort(Math.max(0, leerEntero(scanner)));
+                System.out.print("¿Activar vigilante de interbloqueos e inanición? (s/N): ");
+                config.setWatchdogEnabled(leerSiNo(scanner));
+                System.out.print("¿Publicar panel de vuelos binario en memoria compartida? (s/N): ");
+                config.setFlightBoardEnabled(leerSiNo(scanner));
+                if (config.getFlightStreamPort() > 0) {
+                    System.out.print("¿Seguir escribiendo el panel de vuelos en archivo JSON? (s/N): ");
+                    config.setFlightPanelFileEnabled(leerSiNo(scanner));
+                }
+            }
+
             System.out.println("\nIniciando MODO CONCURRENTE...");
-            MainConcurrente.runSimulation(aviones, pistas, puertas, operarios);
+            MainConcurrente.runSimulation(config);
             
+        } else if (opcion == 4) {
+            System.out.print("Número de OPERARIOS (Default 5): ");
+            int operarios = leerEntero(scanner);
+            if (operarios <= 0) operarios = 5;
+            SimulationConfig config = new SimulationConfig(aviones, pistas, puertas, operarios);
+
+            int cores = Runtime.getRuntime().availableProcessors();
+            System.out.print("Número de RÉPLICAS (Default 100): ");
+            int replicas = leerEntero(scanner);
+            if (replicas <= 0) replicas = 100;
+            System.out.print("Réplicas simultáneas (Default " + cores + "): ");
+            int hilos = leerEntero(scanner);
+            if (hilos <= 0) hilos = cores;
+            System.out.print("Semilla base (Default 42): ");
+            int semilla = leerEntero(scanner);
+            System.out.print("Variabilidad de las maniobras en % (Default 20): ");
+            int jitter = leerEntero(scanner);
+            config.setTimingJitterPercent(jitter < 0 ? 20 : jitter);
+            System.out.print("Ventana de llegadas en ms (Default 1000): ");
+            int llegadas = leerEntero(scanner);
+            config.setArrivalSpreadMs(llegadas < 0 ? 1000 : llegadas);
+            System.out.print("Escala del reloj en % del tiempo real (Default 100): ");
+            int escala = leerEntero(scanner);
+            config.setTimeScale(escala <= 0 ? 1.0 : escala / 100.0);
+
+            System.out.println("\nIniciando ANÁLISIS MONTE CARLO...");
+            MonteCarloRunner runner = new MonteCarloRunner(config, replicas, hilos, semilla < 0 ? 42 : semilla);
+            try {
+                runner.run();
+                System.out.println(runner.getSummary());
+                System.out.println("Resumen escrito en: " + runner.writeSummary());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.err.println("Análisis interrumpido.");
+            } catch (FileNotFoundException e) {
+                System.err.println("No se pudo escribir el resumen: " + e.getMessage());
+            }
+
         } else {
             System.err.println("Opción no válida.");
         }
@@ -85,6 +221,57 @@ public class AeronLauncher {
         scanner.close();
     }
 
+    /**
+     * Pide el perfil de tráfico, el objetivo y los límites de búsqueda, ejecuta el
+     * planificador de capacidad y muestra la frontera de Pareto coste/latencia.
+     * 
+     * @param scanner Scanner vinculado a la entrada estándar (System.in).
+     */
+    private static void planCapacity(Scanner scanner) {
+        System.out.println("\n--- PERFIL DE TRÁFICO Y OBJETIVO ---");
+        System.out.print("Número de AVIONES (Default 20): ");
+        int aviones = leerEntero(scanner);
+        if (aviones <= 0) aviones = 20;
+        System.out.print("Objetivo: turnaround p95 máximo en ms (Default 2000): ");
+        int objetivo = leerEntero(scanner);
+        if (objetivo <= 0) objetivo = 2000;
+        System.out.print("Máximo de PISTAS a considerar (Default 4): ");
+        int maxPistas = leerEntero(scanner);
+        System.out.print("Máximo de PUERTAS a considerar (Default 6): ");
+        int maxPuertas = leerEntero(scanner);
+        System.out.print("Máximo de OPERARIOS a considerar (Default 8): ");
+        int maxOperarios = leerEntero(scanner);
+        System.out.print("Réplicas por configuración (Default 5): ");
+        int replicas = leerEntero(scanner);
+        System.out.print("Variabilidad de las maniobras en % (Default 20): ");
+        int jitter = leerEntero(scanner);
+        System.out.print("Ventana de llegadas en ms (Default 1000): ");
+        int llegadas = leerEntero(scanner);
+        System.out.print("Escala del reloj en % del tiempo real (Default 100): ");
+        int escala = leerEntero(scanner);
+
+        SimulationConfig profile = new SimulationConfig(aviones, 1, 1, 1);
+        profile.setTimingJitterPercent(jitter < 0 ? 20 : jitter);
+        profile.setArrivalSpreadMs(llegadas < 0 ? 1000 : llegadas);
+        profile.setTimeScale(escala <= 0 ? 1.0 : escala / 100.0);
+
+        CapacityPlanner planner = new CapacityPlanner(profile, objetivo, maxPistas <= 0 ? 4 : maxPistas,
+                maxPuertas <= 0 ? 6 : maxPuertas, maxOperarios <= 0 ? 8 : maxOperarios);
+        planner.setReplications(replicas <= 0 ? 5 : replicas, Runtime.getRuntime().availableProcessors());
+
+        System.out.println("\nIniciando PLANIFICADOR DE CAPACIDAD...");
+        try {
+            planner.run();
+            System.out.println(planner.getReport());
+            System.out.println("Informe escrito en: " + planner.writeReport());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Planificación interrumpida.");
+        } catch (FileNotFoundException e) {
+            System.err.println("No se pudo escribir el informe: " + e.getMessage());
+        }
+    }
+
     /**
      * Método auxiliar para leer un número entero de entrada estándar.
      * 
@@ -102,4 +289,15 @@ public class AeronLauncher {
             return -1; // Valor inválido
         }
     }
+
+    /**
+     * Método auxiliar para leer una respuesta sí/no de entrada estándar.
+     * 
+     * @param sc Scanner vinculado a la entrada estándar (System.in).
+     * @return true si el usuario responde "s" o "si", false en cualquier otro caso.
+     */
+    private static boolean leerSiNo(Scanner sc) {
+        String input = sc.next().trim().toLowerCase();
+        return input.equals("s") || input.equals("si") || input.equals("sí");
+    }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package aeronpcd.secuencial.model;
 
 import aeronpcd.concurrente.exceptions.CSVWriteException;
 import aeronpcd.concurrente.exceptions.LogWriteException;
+import aeronpcd.concurrente.exceptions.ResultStoreException;
 import aeronpcd.secuencial.util.Logger;
 import aeronpcd.secuencial.util.ReportManager;
 import aeronpcd.secuencial.util.Window;
@@ -52,6 +53,11 @@ public class MainSecuencial {
             // Tiempo total de ejecución
             long tiempoFin = System.currentTimeMillis();
             long tiempoTotal = tiempoFin - tiempoInicio;
+            try {
+                ReportManager.storeResults(airplanes, "SEQUENTIAL", numPistas, numPuertas, numOperarios, tiempoTotal);
+            } catch (ResultStoreException e) {
+                System.err.println(e.getMessage());
+            }
             Logger.log("");
             Logger.log("════════════════════════════════════════════════════════════");
             Logger.log(String.format("TIEMPO TOTAL DE EJECUCIÓN: %d ms (%.2f segundos)", tiempoTotal, tiempoTotal / 1000.0));
@@ -1,6 +1,8 @@
 package aeronpcd.secuencial.util;
 
 import aeronpcd.concurrente.exceptions.CSVWriteException;
+import aeronpcd.concurrente.exceptions.ResultStoreException;
+import aeronpcd.concurrente.util.ResultStore;
 import aeronpcd.secuencial.model.Airplane;
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -8,6 +10,7 @@ import java.io.PrintWriter;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 
@@ -75,4 +78,26 @@ public class ReportManager {
             throw new CSVWriteException(fileName, e);
         }
     }
+
+    /**
+     * Guarda la ejecución en el almacén columnar de resultados compartido con el
+     * modo concurrente, para comparar ambos modos sin leer sus CSV.
+     * La política de la torre se registra como "SECUENCIAL".
+     * 
+     * @param airplanes Lista de aviones con sus datos de tiempo de ejecución.
+     * @param mode Modo de ejecución: "CONCURRENT" o "SEQUENTIAL".
+     * @param nPistas Número de pistas del aeropuerto.
+     * @param nPuertas Número de puertas de embarque.
+     * @param nOperarios Número de operarios en la simulación.
+     * @param totalMs Tiempo total de la ejecución en ms.
+     * @throws ResultStoreException Si no se puede escribir el almacén.
+     */
+    public static void storeResults(List<Airplane> airplanes, String mode, int nPistas, int nPuertas, int nOperarios,
+                                    long totalMs) throws ResultStoreException {
+        long[] times = new long[airplanes.size()];
+        for (int i = 0; i < times.length; i++) times[i] = airplanes.get(i).getDuracionEnMs();
+        Arrays.sort(times);
+        ResultStore.getDefault().append(System.currentTimeMillis(), mode.toUpperCase(), "SECUENCIAL",
+                airplanes.size(), nPistas, nPuertas, nOperarios, totalMs, times, true);
+    }
 }
\ No newline at end of file